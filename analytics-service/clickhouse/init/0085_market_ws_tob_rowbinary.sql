@@ -0,0 +1,47 @@
+-- Binary market WS top-of-book ingestion.
+--
+-- Enabled when services set hft.events.market-ws-tob-binary-topic=polybot.events.tob: market_ws.tob events are then
+-- published as one ClickHouse RowBinary row per message (polybot-core TopOfBookRowBinaryCodec) instead of JSON on
+-- polybot.events, and land in polybot.market_ws_tob without going through analytics_events.
+-- Column order and types below must match the codec byte-for-byte.
+
+CREATE TABLE IF NOT EXISTS polybot.kafka_market_ws_tob_bin (
+  ts DateTime64(3),
+  source String,
+  asset_id String,
+  best_bid_price Float64,
+  best_bid_size Float64,
+  best_ask_price Float64,
+  best_ask_size Float64,
+  last_trade_price Float64,
+  tob_updated_at DateTime64(3),
+  last_trade_at Nullable(DateTime64(3))
+)
+ENGINE = Kafka
+SETTINGS
+  kafka_broker_list = 'redpanda:29092',
+  kafka_topic_list = 'polybot.events.tob',
+  kafka_group_name = 'clickhouse-polybot-tob-bin',
+  kafka_format = 'RowBinary',
+  kafka_num_consumers = 1;
+
+CREATE MATERIALIZED VIEW IF NOT EXISTS polybot.market_ws_tob_bin_mv
+TO polybot.market_ws_tob
+AS
+SELECT
+  ts,
+  tob_updated_at AS captured_at,
+  asset_id,
+  best_bid_price,
+  best_bid_size,
+  best_ask_price,
+  best_ask_size,
+  last_trade_price,
+  tob_updated_at,
+  last_trade_at,
+  ifNull(_key, '') AS event_key,
+  now64(3) AS ingested_at,
+  toInt32(_partition) AS kafka_partition,
+  toInt64(_offset) AS kafka_offset,
+  toDateTime64(_timestamp, 3) AS kafka_timestamp
+FROM polybot.kafka_market_ws_tob_bin;
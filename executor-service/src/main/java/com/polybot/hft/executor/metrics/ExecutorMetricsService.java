@@ -3,17 +3,19 @@ package com.polybot.hft.executor.metrics;
 import com.polybot.hft.metrics.PolybotMetrics;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Metrics service for executor-service.
- * Tracks order placement, fills, cancellations, and slippage.
+ * Tracks order placement, fills, cancellations, slippage, and order status reconciliation cost.
  */
 @Service
 @RequiredArgsConstructor
@@ -31,6 +33,12 @@ public class ExecutorMetricsService {
     private Counter ordersRejectedCounter;
     private Counter ordersRejectedTotalCounter;
 
+    // Order status reconciliation
+    private Counter statusBulkRequestsCounter;
+    private Counter statusSingleRequestsCounter;
+    private Counter statusRequestsSavedCounter;
+    private Timer statusReconcileLagTimer;
+
     // Gauges
     private AtomicReference<BigDecimal> averageSlippageTicks;
 
@@ -85,6 +93,29 @@ public class ExecutorMetricsService {
                 BigDecimal.ZERO
         );
 
+        // Order status reconciliation
+        statusBulkRequestsCounter = metrics.createCounter(
+                "polybot_order_status_requests_total",
+                "CLOB requests made to reconcile order status",
+                Tag.of("kind", "bulk")
+        );
+
+        statusSingleRequestsCounter = metrics.createCounter(
+                "polybot_order_status_requests_total",
+                "CLOB requests made to reconcile order status",
+                Tag.of("kind", "single")
+        );
+
+        statusRequestsSavedCounter = metrics.createCounter(
+                "polybot_order_status_requests_saved_total",
+                "Per-order status lookups avoided by bulk reconciliation"
+        );
+
+        statusReconcileLagTimer = metrics.createHistogramTimer(
+                "polybot_order_status_reconcile_lag",
+                "Time from requesting a bulk order snapshot to applying it"
+        );
+
         log.info("Executor metrics initialized successfully");
     }
 
@@ -124,6 +155,30 @@ public class ExecutorMetricsService {
         ordersRejectedTotalCounter.increment();
     }
 
+    /**
+     * Record one bulk reconciliation pass.
+     * @param dueOrders Orders whose status was due, i.e. per-order lookups the pass replaced
+     * @param bulkRequests Paged bulk requests made
+     * @param singleRequests Per-order lookups still needed for orders missing from the bulk result
+     * @param lagNanos Time from the first bulk request to the diff being applied
+     */
+    public void recordStatusReconcile(int dueOrders, int bulkRequests, int singleRequests, long lagNanos) {
+        statusBulkRequestsCounter.increment(bulkRequests);
+        statusSingleRequestsCounter.increment(singleRequests);
+        int saved = dueOrders - bulkRequests - singleRequests;
+        if (saved > 0) {
+            statusRequestsSavedCounter.increment(saved);
+        }
+        statusReconcileLagTimer.record(lagNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record per-order status lookups made outside a bulk pass.
+     */
+    public void recordStatusLookups(int singleRequests) {
+        statusSingleRequestsCounter.increment(singleRequests);
+    }
+
     /**
      * Update the average slippage metric.
      */
@@ -9,9 +9,15 @@ import com.polybot.hft.events.HftEventTypes;
 import com.polybot.hft.executor.events.ExecutorOrderStatusEvent;
 import com.polybot.hft.executor.metrics.ExecutorMetricsService;
 import com.polybot.hft.polymarket.service.PolymarketTradingService;
+import com.polybot.hft.polymarket.ws.ClobUserMessageDecoder;
+import com.polybot.hft.polymarket.ws.ClobUserWebSocketClient;
+import com.polybot.hft.polymarket.ws.UserOrderUpdate;
+import com.polybot.hft.polymarket.ws.UserTrade;
+import jakarta.annotation.PostConstruct;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -19,18 +25,45 @@ import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
+/**
+ * Tracks orders placed through this executor until they reach a terminal state and publishes
+ * {@code executor.order.status} events (and {@link OrderStatusStream} entries) on every change.
+ * <p>
+ * Status arrives from two sources: CLOB user websocket pushes ({@link ClobUserWebSocketClient}), and a REST
+ * reconcile. While the user channel is connected the reconcile only runs every
+ * {@link HftProperties.Polymarket#userWsReconcileMillis()} as a safety net; otherwise every second. Matched size never
+ * moves backwards, so a REST snapshot that predates a push cannot undo it; the one exception is a counted trade that
+ * the user channel later reports {@code FAILED}, whose size is taken back out.
+ * <p>
+ * The reconcile reads all open orders and recent trades through the paged bulk endpoints and diffs them against the
+ * tracked orders, so its cost does not grow with the number of open orders. Only tracked orders absent from the open
+ * set and not shown fully filled by the trades (usually cancelled ones) are looked up one by one.
+ */
 @Component
 @Slf4j
 @RequiredArgsConstructor
 public class ExecutorOrderMonitor {
 
   private static final Duration TRACK_TTL = Duration.ofHours(6);
+  private static final long POLL_INTERVAL_MILLIS = 1_000L;
   private static final int MAX_ERRORS_PER_ORDER = 25;
   private static final int ORDER_JSON_MAX_LEN = 25_000;
+  private static final int MAX_EARLY_UPDATES = 1_024;
+  // Below this many due orders, per-order lookups cost no more than the bulk pages
+  private static final int BULK_RECONCILE_MIN_ORDERS = 3;
+  private static final int BULK_MAX_PAGES = 10;
+  private static final String END_CURSOR = "LTE=";
+  private static final Duration TRADES_OVERLAP = Duration.ofSeconds(10);
 
   private final @NonNull HftProperties properties;
   private final @NonNull PolymarketTradingService tradingService;
@@ -38,14 +71,70 @@ public class ExecutorOrderMonitor {
   private final @NonNull ObjectMapper objectMapper;
   private final @NonNull Clock clock;
   private final @NonNull ExecutorMetricsService metricsService;
+  private final @NonNull ObjectProvider<ClobUserWebSocketClient> userWsProvider;
+  private final @NonNull OrderStatusStream statusStream;
+
+  /**
+   * Null unless {@code hft.polymarket.user-ws-enabled}; the reconcile then always runs every second.
+   */
+  private ClobUserWebSocketClient userWs;
 
   private final Map<String, TrackedOrder> trackedByOrderId = new ConcurrentHashMap<>();
+  private final Map<String, Map<String, BigDecimal>> tradeFillsByOrderId = new ConcurrentHashMap<>();
+
+  /**
+   * Start of the last complete bulk trades read; the next read resumes from here (less an overlap).
+   */
+  private Instant tradesSyncedAt;
+
+  /**
+   * Where a trades read cut off by {@link #BULK_MAX_PAGES} continues on the next pass; null when the last read was
+   * complete.
+   */
+  private TradesResume tradesResume;
+
+  /**
+   * Pushes for orders not tracked yet: a crossing order can match before its placement response is processed.
+   */
+  private final Map<String, UserOrderUpdate> earlyUpdates = new LinkedHashMap<>(16, 0.75f, false) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, UserOrderUpdate> eldest) {
+      return size() > MAX_EARLY_UPDATES;
+    }
+  };
+
+  @PostConstruct
+  void subscribeUserChannel() {
+    userWs = userWsProvider.getIfAvailable();
+    if (userWs == null) {
+      return;
+    }
+    userWs.addListener(new ClobUserWebSocketClient.UserChannelListener() {
+      @Override
+      public void onOrder(UserOrderUpdate update) {
+        onUserOrder(update);
+      }
+
+      @Override
+      public void onTrade(UserTrade trade) {
+        onUserTrade(trade);
+      }
+    });
+  }
 
   public void trackNewOrder(String orderId, String tokenId, OrderSide side, BigDecimal price, BigDecimal size) {
     if (orderId == null || orderId.isBlank()) {
       return;
     }
-    trackedByOrderId.putIfAbsent(orderId, new TrackedOrder(orderId, tokenId, side, price, size, clock.instant(), null, null, null, 0));
+    Instant now = clock.instant();
+    trackedByOrderId.putIfAbsent(orderId, new TrackedOrder(orderId, tokenId, side, price, size, now, now, null, null, null, 0));
+    UserOrderUpdate early;
+    synchronized (earlyUpdates) {
+      early = earlyUpdates.remove(orderId);
+    }
+    if (early != null) {
+      onUserOrder(early);
+    }
   }
 
   @Scheduled(initialDelay = 2_000L, fixedDelay = 1_000L)
@@ -58,31 +147,183 @@ public class ExecutorOrderMonitor {
     }
 
     Instant now = clock.instant();
+    long intervalMillis = userWs != null && userWs.isConnected() ? properties.polymarket().userWsReconcileMillis() : POLL_INTERVAL_MILLIS;
+    List<TrackedOrder> due = new ArrayList<>();
     for (TrackedOrder tracked : trackedByOrderId.values()) {
       if (tracked == null) {
         continue;
       }
       if (tracked.trackedAt() != null && Duration.between(tracked.trackedAt(), now).compareTo(TRACK_TTL) > 0) {
-        trackedByOrderId.remove(tracked.orderId());
+        untrack(tracked.orderId());
+        continue;
+      }
+      if (tracked.lastPolledAt() != null && Duration.between(tracked.lastPolledAt(), now).toMillis() < intervalMillis) {
         continue;
       }
-      pollOne(tracked);
+      due.add(tracked);
+    }
+    if (due.size() >= BULK_RECONCILE_MIN_ORDERS) {
+      reconcile(due);
+      return;
     }
+    pollEach(due);
+    metricsService.recordStatusLookups(due.size());
   }
 
-  private void pollOne(TrackedOrder tracked) {
-    if (tracked == null || tracked.orderId() == null || tracked.orderId().isBlank()) {
+  /**
+   * One bulk pass: open orders, then trades since the last pass, diffed against {@code due}; per-order lookups only for
+   * what neither explains. Falls back to per-order polling if the open orders cannot be read.
+   */
+  private void reconcile(List<TrackedOrder> due) {
+    long startNanos = System.nanoTime();
+    Instant startedAt = clock.instant();
+    int[] bulkRequests = {0};
+
+    Map<String, JsonNode> openById = new LinkedHashMap<>();
+    try {
+      // A truncated read only leaves orders unexplained, and those are looked up one by one below
+      for (JsonNode row : fetchAllPages(tradingService::getOrders, new LinkedHashMap<>(), null, bulkRequests).rows()) {
+        String id = firstText(row, "id", "orderID", "orderId");
+        if (id != null) {
+          openById.put(id, row);
+        }
+      }
+    } catch (Exception e) {
+      log.debug("Bulk open orders read failed, polling {} orders individually: {}", due.size(), e.toString());
+      pollEach(due);
+      metricsService.recordStatusLookups(bulkRequests[0] + due.size());
       return;
     }
 
-    JsonNode order = null;
-    String error = null;
+    // Orders that left the open set were filled or cancelled; trades tell the fills apart without a lookup
+    boolean anyMissing = due.stream().anyMatch(t -> !openById.containsKey(t.orderId()));
+    if (anyMissing) {
+      syncTrades(startedAt, bulkRequests);
+    }
+
+    List<TrackedOrder> unexplained = new ArrayList<>();
+    for (TrackedOrder tracked : due) {
+      JsonNode row = openById.get(tracked.orderId());
+      if (row != null) {
+        applyOrderJson(tracked.orderId(), row, null);
+        continue;
+      }
+      TrackedOrder current = trackedByOrderId.get(tracked.orderId());
+      if (current != null) {
+        unexplained.add(current);
+      }
+    }
+    pollEach(unexplained);
+    metricsService.recordStatusReconcile(due.size(), bulkRequests[0], unexplained.size(), System.nanoTime() - startNanos);
+  }
+
+  /**
+   * Reads trades since the watermark. The watermark only advances once a read reaches the last page; a read cut off by
+   * the page cap continues from its cursor on the next pass, with the same {@code after} bound.
+   */
+  private void syncTrades(Instant startedAt, int[] bulkRequests) {
+    TradesResume resume = tradesResume;
+    Map<String, String> query = new LinkedHashMap<>();
+    if (resume != null) {
+      if (resume.after() != null) {
+        query.put("after", resume.after());
+      }
+    } else {
+      Instant from = tradesSyncedAt;
+      if (from == null) {
+        for (TrackedOrder tracked : trackedByOrderId.values()) {
+          if (tracked.trackedAt() != null && (from == null || tracked.trackedAt().isBefore(from))) {
+            from = tracked.trackedAt();
+          }
+        }
+      }
+      if (from != null) {
+        query.put("after", Long.toString(from.minus(TRADES_OVERLAP).getEpochSecond()));
+      }
+    }
+    Instant readStartedAt = resume != null ? resume.startedAt() : startedAt;
     try {
-      order = tradingService.getOrder(tracked.orderId());
+      BulkRead read = fetchAllPages(tradingService::getTrades, query, resume == null ? null : resume.cursor(), bulkRequests);
+      for (JsonNode row : read.rows()) {
+        onUserTrade(ClobUserMessageDecoder.trade(row));
+      }
+      if (read.nextCursor() == null) {
+        tradesSyncedAt = readStartedAt;
+        tradesResume = null;
+      } else {
+        tradesResume = new TradesResume(query.get("after"), read.nextCursor(), readStartedAt);
+        log.debug("Bulk trades read hit {} pages, continuing from cursor {} next pass", BULK_MAX_PAGES, read.nextCursor());
+      }
     } catch (Exception e) {
-      error = e.getMessage() != null ? e.getMessage() : e.toString();
+      // A stale cursor must not wedge the sync; start over from the watermark
+      tradesResume = null;
+      log.debug("Bulk trades read failed: {}", e.toString());
     }
+  }
 
+  /**
+   * Follows {@code next_cursor}, starting at {@code cursor} (null for the first page), until the end marker, an empty
+   * page, or {@link #BULK_MAX_PAGES}. The result's cursor is where a read cut off by the cap would continue.
+   */
+  private static BulkRead fetchAllPages(Function<Map<String, String>, JsonNode> endpoint, Map<String, String> query,
+                                        String cursor, int[] requests) {
+    List<JsonNode> rows = new ArrayList<>();
+    for (int page = 0; page < BULK_MAX_PAGES; page++) {
+      if (cursor != null) {
+        query.put("next_cursor", cursor);
+      }
+      JsonNode root = endpoint.apply(query);
+      requests[0]++;
+      JsonNode data = root == null ? null : root.isArray() ? root : root.get("data");
+      if (data == null || !data.isArray() || data.isEmpty()) {
+        return new BulkRead(rows, null);
+      }
+      data.forEach(rows::add);
+      String next = root.isArray() ? null : firstText(root, "next_cursor", "nextCursor");
+      if (next == null || END_CURSOR.equals(next) || next.equals(cursor)) {
+        return new BulkRead(rows, null);
+      }
+      cursor = next;
+    }
+    return new BulkRead(rows, cursor);
+  }
+
+  /**
+   * Looks up each order on its own, with all lookups in flight at once, and applies the answers in order on the
+   * calling thread.
+   */
+  private void pollEach(List<TrackedOrder> orders) {
+    List<String> orderIds = new ArrayList<>(orders.size());
+    List<CompletableFuture<JsonNode>> lookups = new ArrayList<>(orders.size());
+    for (TrackedOrder tracked : orders) {
+      if (tracked == null || tracked.orderId() == null || tracked.orderId().isBlank()) {
+        continue;
+      }
+      orderIds.add(tracked.orderId());
+      lookups.add(lookup(tracked.orderId()));
+    }
+    for (int i = 0; i < orderIds.size(); i++) {
+      JsonNode order = null;
+      String error = null;
+      try {
+        order = lookups.get(i).join();
+      } catch (Exception e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        error = cause.getMessage() != null ? cause.getMessage() : cause.toString();
+      }
+      applyOrderJson(orderIds.get(i), order, error);
+    }
+  }
+
+  private CompletableFuture<JsonNode> lookup(String orderId) {
+    try {
+      return tradingService.getOrderAsync(orderId);
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  private void applyOrderJson(String orderId, JsonNode order, String error) {
     String status = order == null ? null : firstText(order,
         "status",
         "state",
@@ -105,6 +346,98 @@ public class ExecutorOrderMonitor {
         "size_remaining",
         "sizeRemaining"
     );
+    applyStatus(orderId, status, matched, remaining, order, error, true, false);
+  }
+
+  void onUserOrder(UserOrderUpdate update) {
+    if (update == null || update.orderId() == null) {
+      return;
+    }
+    if (!trackedByOrderId.containsKey(update.orderId())) {
+      synchronized (earlyUpdates) {
+        earlyUpdates.put(update.orderId(), update);
+      }
+      return;
+    }
+    applyStatus(update.orderId(), update.status(), update.sizeMatched(), update.remainingSize(),
+        objectMapper.valueToTree(update), null, false, false);
+  }
+
+  /**
+   * Trade pushes can precede the matching {@code order} update; their per-order sizes are summed by trade id so the
+   * repeated {@code MINED}/{@code CONFIRMED} reports of one trade are counted once. A trade reported {@code FAILED}
+   * after it was counted is removed again and its size taken off the order's matched size.
+   */
+  void onUserTrade(UserTrade trade) {
+    if (trade == null || trade.tradeId() == null) {
+      return;
+    }
+    List<String> orderIds = new ArrayList<>();
+    orderIds.add(trade.takerOrderId());
+    for (UserTrade.MakerFill maker : trade.makerOrders()) {
+      orderIds.add(maker.orderId());
+    }
+    for (String orderId : orderIds) {
+      TrackedOrder tracked = orderId == null ? null : trackedByOrderId.get(orderId);
+      if (tracked == null) {
+        continue;
+      }
+      if (trade.failed()) {
+        retractTrade(orderId, trade);
+        continue;
+      }
+      BigDecimal filled = trade.matchedFor(orderId);
+      if (filled == null) {
+        continue;
+      }
+      Map<String, BigDecimal> fills = tradeFillsByOrderId.computeIfAbsent(orderId, k -> new ConcurrentHashMap<>());
+      fills.put(trade.tradeId(), filled);
+      applyStatus(orderId, tracked.lastStatus(), sum(fills), null, objectMapper.valueToTree(trade), null, false, false);
+    }
+  }
+
+  /**
+   * Takes a failed trade's size back off the order, if it was counted. The matched size may also include fills
+   * seen only through order updates or polls, so the trade is subtracted from it rather than recomputed from the
+   * remaining trades alone, but never below what those trades account for.
+   */
+  private synchronized void retractTrade(String orderId, UserTrade trade) {
+    TrackedOrder tracked = trackedByOrderId.get(orderId);
+    Map<String, BigDecimal> fills = tradeFillsByOrderId.get(orderId);
+    BigDecimal counted = tracked == null || fills == null ? null : fills.remove(trade.tradeId());
+    if (counted == null) {
+      return;
+    }
+    BigDecimal fromTrades = sum(fills);
+    BigDecimal matched = tracked.lastMatchedSize() == null ? fromTrades
+        : tracked.lastMatchedSize().subtract(counted).max(fromTrades);
+    log.info("Trade {} failed, matched size of order {} back to {}", trade.tradeId(), tracked.orderId(), matched);
+    applyStatus(tracked.orderId(), tracked.lastStatus(), matched, null, objectMapper.valueToTree(trade), null, false, true);
+  }
+
+  private static BigDecimal sum(Map<String, BigDecimal> fills) {
+    return fills.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+  }
+
+  /**
+   * Applies one observation of an order's state, from a REST poll ({@code polled}) or a push. Serialized so the two
+   * sources cannot interleave on the same order. Only a {@code retraction} of a failed trade may lower matched size.
+   */
+  private synchronized void applyStatus(String orderId, String status, BigDecimal matched, BigDecimal remaining,
+                                        JsonNode order, String error, boolean polled, boolean retraction) {
+    TrackedOrder tracked = trackedByOrderId.get(orderId);
+    if (tracked == null) {
+      return;
+    }
+    if (polled) {
+      tracked = tracked.withLastPolledAt(clock.instant());
+    }
+
+    if (!retraction && matched != null && tracked.lastMatchedSize() != null
+        && matched.compareTo(tracked.lastMatchedSize()) < 0) {
+      matched = tracked.lastMatchedSize();
+      remaining = null;
+    }
     if (remaining == null && matched != null && tracked.requestedSize() != null) {
       remaining = tracked.requestedSize().subtract(matched);
       if (remaining.compareTo(BigDecimal.ZERO) < 0) {
@@ -117,8 +450,8 @@ public class ExecutorOrderMonitor {
         || !decimalEq(remaining, tracked.lastRemainingSize())
         || error != null;
 
-    if (changed && events.isEnabled()) {
-      events.publish(clock.instant(), HftEventTypes.EXECUTOR_ORDER_STATUS, tracked.orderId(), new ExecutorOrderStatusEvent(
+    if (changed) {
+      ExecutorOrderStatusEvent event = new ExecutorOrderStatusEvent(
           tracked.orderId(),
           tracked.tokenId(),
           tracked.side(),
@@ -129,13 +462,17 @@ public class ExecutorOrderMonitor {
           remaining,
           truncateJson(order),
           error
-      ));
+      );
+      statusStream.append(event);
+      if (events.isEnabled()) {
+        events.publish(clock.instant(), HftEventTypes.EXECUTOR_ORDER_STATUS, tracked.orderId(), event);
+      }
     }
 
     if (error != null) {
       int nextErrors = tracked.errorCount() + 1;
       if (nextErrors >= MAX_ERRORS_PER_ORDER) {
-        trackedByOrderId.remove(tracked.orderId());
+        untrack(tracked.orderId());
       } else {
         trackedByOrderId.put(tracked.orderId(), tracked.withErrorCount(nextErrors));
       }
@@ -148,10 +485,15 @@ public class ExecutorOrderMonitor {
     // Record metrics for terminal states
     if (isTerminal(status, matched, remaining, tracked.requestedSize())) {
       recordTerminalMetrics(status, matched, tracked.requestedSize());
-      trackedByOrderId.remove(tracked.orderId());
+      untrack(tracked.orderId());
     }
   }
 
+  private void untrack(String orderId) {
+    trackedByOrderId.remove(orderId);
+    tradeFillsByOrderId.remove(orderId);
+  }
+
   private static boolean isTerminal(String status, BigDecimal matched, BigDecimal remaining, BigDecimal requestedSize) {
     if (remaining != null && remaining.compareTo(BigDecimal.ZERO) == 0) {
       return true;
@@ -275,6 +617,15 @@ public class ExecutorOrderMonitor {
     }
   }
 
+  /**
+   * Rows of a paged read, and the cursor of the first unread page when the read was cut off (null when complete).
+   */
+  private record BulkRead(List<JsonNode> rows, String nextCursor) {
+  }
+
+  private record TradesResume(String after, String cursor, Instant startedAt) {
+  }
+
   private record TrackedOrder(
       String orderId,
       String tokenId,
@@ -282,17 +633,22 @@ public class ExecutorOrderMonitor {
       BigDecimal requestedPrice,
       BigDecimal requestedSize,
       Instant trackedAt,
+      Instant lastPolledAt,
       String lastStatus,
       BigDecimal lastMatchedSize,
       BigDecimal lastRemainingSize,
       int errorCount
   ) {
     TrackedOrder withLast(String status, BigDecimal matched, BigDecimal remaining) {
-      return new TrackedOrder(orderId, tokenId, side, requestedPrice, requestedSize, trackedAt, status, matched, remaining, errorCount);
+      return new TrackedOrder(orderId, tokenId, side, requestedPrice, requestedSize, trackedAt, lastPolledAt, status, matched, remaining, errorCount);
     }
 
     TrackedOrder withErrorCount(int next) {
-      return new TrackedOrder(orderId, tokenId, side, requestedPrice, requestedSize, trackedAt, lastStatus, lastMatchedSize, lastRemainingSize, next);
+      return new TrackedOrder(orderId, tokenId, side, requestedPrice, requestedSize, trackedAt, lastPolledAt, lastStatus, lastMatchedSize, lastRemainingSize, next);
+    }
+
+    TrackedOrder withLastPolledAt(Instant at) {
+      return new TrackedOrder(orderId, tokenId, side, requestedPrice, requestedSize, trackedAt, at, lastStatus, lastMatchedSize, lastRemainingSize, errorCount);
     }
   }
 }
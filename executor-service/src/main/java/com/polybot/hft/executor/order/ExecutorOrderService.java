@@ -0,0 +1,398 @@
+package com.polybot.hft.executor.order;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.polybot.hft.config.HftProperties;
+import com.polybot.hft.domain.OrderSide;
+import com.polybot.hft.events.HftEventPublisher;
+import com.polybot.hft.events.HftEventTypes;
+import com.polybot.hft.executor.events.ExecutorCancelOrderEvent;
+import com.polybot.hft.executor.events.ExecutorLimitOrderEvent;
+import com.polybot.hft.executor.events.ExecutorMarketOrderEvent;
+import com.polybot.hft.executor.events.ExecutorOrderError;
+import com.polybot.hft.executor.metrics.ExecutorMetricsService;
+import com.polybot.hft.executor.portfolio.PolymarketBankrollService;
+import com.polybot.hft.executor.sim.PaperExchangeSimulator;
+import com.polybot.hft.polymarket.api.ExecutorGateway;
+import com.polybot.hft.polymarket.api.LimitOrderRequest;
+import com.polybot.hft.polymarket.api.MarketOrderRequest;
+import com.polybot.hft.polymarket.api.OrderSubmissionResult;
+import com.polybot.hft.polymarket.api.PolymarketAccountResponse;
+import com.polybot.hft.polymarket.api.PolymarketBankrollResponse;
+import com.polybot.hft.polymarket.auth.PolymarketAuthContext;
+import com.polybot.hft.polymarket.data.PolymarketDataApiClient;
+import com.polybot.hft.polymarket.data.PolymarketPosition;
+import com.polybot.hft.polymarket.http.PolymarketHttpException;
+import com.polybot.hft.polymarket.service.PolymarketTradingService;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.web3j.crypto.Credentials;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Order entry, cancels and account reads of the executor: routes to the {@link PaperExchangeSimulator} or the CLOB,
+ * tracks live orders in {@link ExecutorOrderMonitor} and publishes the {@code executor.order.*} events.
+ * <p>
+ * Serves both {@code PolymarketController} (split deployments, over HTTP) and strategies co-located in this JVM,
+ * which call it directly as their {@link ExecutorGateway}.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExecutorOrderService implements ExecutorGateway {
+
+  private static final int ERROR_MAX_LEN = 512;
+
+  private final @NonNull HftProperties properties;
+  private final @NonNull PolymarketAuthContext authContext;
+  private final @NonNull PolymarketTradingService tradingService;
+  private final @NonNull PolymarketDataApiClient dataApiClient;
+  private final @NonNull PolymarketBankrollService bankrollService;
+  private final @NonNull HftEventPublisher events;
+  private final @NonNull ExecutorOrderMonitor orderMonitor;
+  private final @NonNull PaperExchangeSimulator simulator;
+  private final @NonNull ObjectMapper objectMapper;
+  private final @NonNull ExecutorMetricsService metricsService;
+
+  private static String normalizeAddress(String address) {
+    if (address == null) {
+      return null;
+    }
+    String trimmed = address.trim();
+    if (trimmed.isEmpty()) {
+      return null;
+    }
+    return trimmed.toLowerCase();
+  }
+
+  private String signerAddress() {
+    return authContext.signerCredentials()
+        .map(Credentials::getAddress)
+        .map(ExecutorOrderService::normalizeAddress)
+        .orElse(null);
+  }
+
+  private String funderAddress() {
+    return authContext.funderAddress().map(ExecutorOrderService::normalizeAddress).orElse(null);
+  }
+
+  private String makerAddress() {
+    String funder = funderAddress();
+    return funder != null ? funder : signerAddress();
+  }
+
+  @Override
+  public PolymarketAccountResponse getAccount() {
+    return new PolymarketAccountResponse(
+        properties.mode().name(),
+        signerAddress(),
+        makerAddress(),
+        funderAddress()
+    );
+  }
+
+  @Override
+  public PolymarketBankrollResponse getBankroll() {
+    return bankrollService.snapshot();
+  }
+
+  /**
+   * Positions as returned by the data API (or the simulator); null when no user is given and no maker address is
+   * configured.
+   */
+  public JsonNode getPositionsJson(String user, int limit, int offset) {
+    if (simulator.enabled()) {
+      return objectMapper.valueToTree(simulator.getPositions(limit, offset));
+    }
+    String resolvedUser = (user != null && !user.isBlank()) ? user : makerAddress();
+    if (resolvedUser == null || resolvedUser.isBlank()) {
+      return null;
+    }
+    return dataApiClient.getPositions(resolvedUser, limit, offset);
+  }
+
+  @Override
+  public PolymarketPosition[] getPositions(String user, int limit, int offset) {
+    if (simulator.enabled()) {
+      return simulator.getPositions(limit, offset);
+    }
+    JsonNode positions = getPositionsJson(user, limit, offset);
+    if (positions == null) {
+      throw new IllegalArgumentException("No user given and no maker address configured");
+    }
+    try {
+      return objectMapper.treeToValue(positions, PolymarketPosition[].class);
+    } catch (Exception e) {
+      throw new IllegalStateException("Failed to decode positions", e);
+    }
+  }
+
+  @Override
+  public BigDecimal getTickSize(String tokenId) {
+    return tradingService.getTickSize(tokenId);
+  }
+
+  @Override
+  public void warmTokenMetadata(List<String> tokenIds) {
+    tradingService.warmTokenMetadata(tokenIds);
+  }
+
+  @Override
+  public OrderSubmissionResult placeLimitOrder(LimitOrderRequest request) {
+    try {
+      metricsService.recordOrderPlaced();
+      OrderSubmissionResult result = simulator.enabled()
+          ? simulator.placeLimitOrder(request)
+          : tradingService.placeLimitOrder(request);
+      String orderId = resolveOrderId(result);
+      if (!simulator.enabled() && orderId != null && !orderId.isBlank()) {
+        orderMonitor.trackNewOrder(orderId, request.tokenId(), request.side(), request.price(), request.size());
+      }
+      safePublishLimitOrderEvent(request, result, null);
+      return result;
+    } catch (RuntimeException e) {
+      safePublishLimitOrderEvent(request, null, e);
+      throw e;
+    }
+  }
+
+  @Override
+  public List<OrderSubmissionResult> placeLimitOrders(List<LimitOrderRequest> orders) {
+    List<OrderSubmissionResult> results;
+    try {
+      orders.forEach(o -> metricsService.recordOrderPlaced());
+      results = simulator.enabled() ? simulateLimitOrders(orders) : tradingService.placeLimitOrders(orders);
+    } catch (RuntimeException e) {
+      orders.forEach(o -> safePublishLimitOrderEvent(o, null, e));
+      throw e;
+    }
+    for (int i = 0; i < orders.size(); i++) {
+      LimitOrderRequest order = orders.get(i);
+      OrderSubmissionResult result = results.get(i);
+      String orderId = resolveOrderId(result);
+      if (!simulator.enabled() && orderId != null && !orderId.isBlank()) {
+        orderMonitor.trackNewOrder(orderId, order.tokenId(), order.side(), order.price(), order.size());
+      }
+      safePublishLimitOrderEvent(order, result, null);
+    }
+    return results;
+  }
+
+  public OrderSubmissionResult placeMarketOrder(MarketOrderRequest request) {
+    try {
+      metricsService.recordOrderPlaced();
+      OrderSubmissionResult result = simulator.enabled()
+          ? simulator.placeMarketOrder(request)
+          : tradingService.placeMarketOrder(request);
+      String orderId = resolveOrderId(result);
+      if (!simulator.enabled() && orderId != null && !orderId.isBlank()) {
+        // For BUY market orders, request.amount is USDC; size in shares is unknown without querying.
+        BigDecimal size = request.side() == OrderSide.SELL ? request.amount() : null;
+        orderMonitor.trackNewOrder(orderId, request.tokenId(), request.side(), request.price(), size);
+      }
+      safePublishMarketOrderEvent(request, result, null);
+      return result;
+    } catch (RuntimeException e) {
+      safePublishMarketOrderEvent(request, null, e);
+      throw e;
+    }
+  }
+
+  @Override
+  public JsonNode cancelOrder(String orderId) {
+    try {
+      JsonNode result = simulator.enabled()
+          ? simulator.cancelOrder(orderId)
+          : tradingService.cancelOrder(orderId);
+      safePublishCancelOrderEvent(orderId, result, null);
+      return result;
+    } catch (RuntimeException e) {
+      safePublishCancelOrderEvent(orderId, null, e);
+      throw e;
+    }
+  }
+
+  @Override
+  public JsonNode cancelOrders(List<String> orderIds) {
+    JsonNode result;
+    try {
+      result = simulator.enabled() ? simulateCancels(orderIds) : tradingService.cancelOrders(orderIds);
+    } catch (RuntimeException e) {
+      orderIds.forEach(orderId -> safePublishCancelOrderEvent(orderId, null, e));
+      throw e;
+    }
+    JsonNode notCanceled = result == null ? null : result.get("not_canceled");
+    for (String orderId : orderIds) {
+      JsonNode reason = notCanceled == null ? null : notCanceled.get(orderId);
+      safePublishCancelOrderEvent(orderId, result, reason == null ? null : new IllegalStateException("not canceled: " + reason.asText()));
+    }
+    return result;
+  }
+
+  @Override
+  public JsonNode getOrder(String orderId) {
+    return simulator.enabled() ? simulator.getOrder(orderId) : tradingService.getOrder(orderId);
+  }
+
+  private List<OrderSubmissionResult> simulateLimitOrders(List<LimitOrderRequest> orders) {
+    List<OrderSubmissionResult> results = new ArrayList<>(orders.size());
+    for (LimitOrderRequest order : orders) {
+      results.add(simulator.placeLimitOrder(order));
+    }
+    return results;
+  }
+
+  private JsonNode simulateCancels(List<String> orderIds) {
+    ObjectNode resp = objectMapper.createObjectNode().put("mode", "SIM");
+    ArrayNode canceled = resp.putArray("canceled");
+    ObjectNode notCanceled = resp.putObject("not_canceled");
+    for (String orderId : orderIds) {
+      JsonNode r = simulator.cancelOrder(orderId);
+      if (r.path("canceled").asBoolean(false)) {
+        canceled.add(orderId);
+      } else {
+        notCanceled.put(orderId, r.hasNonNull("status") ? r.get("status").asText() : "order not found");
+      }
+    }
+    return resp;
+  }
+
+  private void safePublishLimitOrderEvent(LimitOrderRequest request, OrderSubmissionResult result, RuntimeException error) {
+    if (!events.isEnabled()) {
+      return;
+    }
+    try {
+      String mode = result != null && result.mode() != null ? result.mode().name() : null;
+      String orderId = resolveOrderId(result);
+      ExecutorOrderError err = error == null ? null : toOrderError(error);
+      events.publish(
+          HftEventTypes.EXECUTOR_ORDER_LIMIT,
+          request.tokenId(),
+          new ExecutorLimitOrderEvent(
+              request.tokenId(),
+              request.side(),
+              request.price(),
+              request.size(),
+              request.orderType(),
+              request.tickSize(),
+              request.negRisk(),
+              request.feeRateBps(),
+              request.nonce(),
+              request.expirationSeconds(),
+              request.deferExec(),
+              mode,
+              error == null,
+              orderId,
+              err
+          )
+      );
+    } catch (Exception ignored) {
+    }
+  }
+
+  private void safePublishMarketOrderEvent(MarketOrderRequest request, OrderSubmissionResult result, RuntimeException error) {
+    if (!events.isEnabled()) {
+      return;
+    }
+    try {
+      String mode = result != null && result.mode() != null ? result.mode().name() : null;
+      String orderId = resolveOrderId(result);
+      ExecutorOrderError err = error == null ? null : toOrderError(error);
+      events.publish(
+          HftEventTypes.EXECUTOR_ORDER_MARKET,
+          request.tokenId(),
+          new ExecutorMarketOrderEvent(
+              request.tokenId(),
+              request.side(),
+              request.amount(),
+              request.price(),
+              request.orderType(),
+              request.tickSize(),
+              request.negRisk(),
+              request.feeRateBps(),
+              request.nonce(),
+              request.deferExec(),
+              mode,
+              error == null,
+              orderId,
+              err
+          )
+      );
+    } catch (Exception ignored) {
+    }
+  }
+
+  private void safePublishCancelOrderEvent(String orderId, JsonNode result, RuntimeException error) {
+    if (!events.isEnabled()) {
+      return;
+    }
+    try {
+      String mode = result != null && result.hasNonNull("mode") ? result.get("mode").asText(null) : null;
+      ExecutorOrderError err = error == null ? null : toOrderError(error);
+      events.publish(
+          HftEventTypes.EXECUTOR_ORDER_CANCEL,
+          orderId,
+          new ExecutorCancelOrderEvent(orderId, mode, error == null, err)
+      );
+    } catch (Exception ignored) {
+    }
+  }
+
+  private static String resolveOrderId(OrderSubmissionResult result) {
+    if (result == null) {
+      return null;
+    }
+    JsonNode resp = result.clobResponse();
+    if (resp == null) {
+      if (result.mode() != null && "PAPER".equalsIgnoreCase(result.mode().name())) {
+        return "paper-" + UUID.randomUUID();
+      }
+      return null;
+    }
+    if (resp.hasNonNull("orderID")) {
+      return resp.get("orderID").asText();
+    }
+    if (resp.hasNonNull("orderId")) {
+      return resp.get("orderId").asText();
+    }
+    if (resp.hasNonNull("order_id")) {
+      return resp.get("order_id").asText();
+    }
+    return null;
+  }
+
+  private static ExecutorOrderError toOrderError(RuntimeException e) {
+    if (e instanceof PolymarketHttpException phe) {
+      return new ExecutorOrderError(
+          phe.getClass().getSimpleName(),
+          phe.statusCode(),
+          phe.method(),
+          phe.uri().toString(),
+          truncate(phe.getMessage(), ERROR_MAX_LEN)
+      );
+    }
+    return new ExecutorOrderError(
+        e.getClass().getSimpleName(),
+        null,
+        null,
+        null,
+        truncate(e.getMessage() != null ? e.getMessage() : e.toString(), ERROR_MAX_LEN)
+    );
+  }
+
+  private static String truncate(String s, int max) {
+    if (s == null) {
+      return null;
+    }
+    if (max <= 0 || s.length() <= max) {
+      return s;
+    }
+    return s.substring(0, max) + "...";
+  }
+}
@@ -0,0 +1,168 @@
+package com.polybot.hft.executor.order;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.polybot.hft.executor.events.ExecutorOrderStatusEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sequenced in-memory log of {@link ExecutorOrderStatusEvent}s, served to subscribers as server-sent events.
+ * <p>
+ * Each event gets the next sequence number of this process ({@link #epoch()} identifies the process). A subscriber
+ * passes the epoch and last sequence it saw and receives everything after it from the last {@value #CAPACITY} events,
+ * then live events. The first event of every stream is {@code hello} with {@code resumed=false} when that replay is
+ * impossible (new subscriber, executor restart, or too far behind), telling the subscriber to re-read its open orders.
+ * <p>
+ * Every subscriber is drained by its own daemon thread, so a slow consumer never blocks the trading paths that
+ * {@link #append} events.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class OrderStatusStream {
+
+  static final int CAPACITY = 4_096;
+  static final String EVENT_HELLO = "hello";
+  static final String EVENT_ORDER_STATUS = "order-status";
+  private static final long KEEPALIVE_MILLIS = 15_000L;
+
+  private final @NonNull ObjectMapper objectMapper;
+
+  private final String epoch = UUID.randomUUID().toString();
+  private final Object lock = new Object();
+  private final Entry[] ring = new Entry[CAPACITY];
+  private final AtomicInteger subscriberIds = new AtomicInteger();
+  private long lastSeq;
+  private volatile boolean stopped;
+
+  public String epoch() {
+    return epoch;
+  }
+
+  public long append(ExecutorOrderStatusEvent event) {
+    synchronized (lock) {
+      long seq = ++lastSeq;
+      ring[(int) (seq % CAPACITY)] = new Entry(seq, event);
+      lock.notifyAll();
+      return seq;
+    }
+  }
+
+  /**
+   * Opens a stream resuming after {@code since} when {@code epoch} is this process and the events are still held;
+   * otherwise the stream starts at the current head with {@code resumed=false}.
+   */
+  public SseEmitter subscribe(String epoch, Long since) {
+    SseEmitter emitter = new SseEmitter(0L);
+    long head;
+    synchronized (lock) {
+      head = lastSeq;
+    }
+    boolean resumed = this.epoch.equals(epoch) && since != null && since <= head && since >= head - CAPACITY;
+    long cursor = resumed ? since : head;
+
+    Subscriber subscriber = new Subscriber(emitter, cursor);
+    emitter.onCompletion(subscriber::stop);
+    emitter.onTimeout(subscriber::stop);
+    emitter.onError(e -> subscriber.stop());
+    try {
+      emitter.send(SseEmitter.event()
+          .name(EVENT_HELLO)
+          .data(Map.of("epoch", this.epoch, "seq", cursor, "resumed", resumed), MediaType.APPLICATION_JSON));
+    } catch (Exception e) {
+      emitter.completeWithError(e);
+      return emitter;
+    }
+    Thread t = new Thread(subscriber, "order-status-sse-" + subscriberIds.incrementAndGet());
+    t.setDaemon(true);
+    t.start();
+    log.info("Order status stream subscriber connected (resumed={}, cursor={}, head={})", resumed, cursor, head);
+    return emitter;
+  }
+
+  @PreDestroy
+  void shutdown() {
+    stopped = true;
+    synchronized (lock) {
+      lock.notifyAll();
+    }
+  }
+
+  private record Entry(long seq, ExecutorOrderStatusEvent event) {
+  }
+
+  private final class Subscriber implements Runnable {
+    private final SseEmitter emitter;
+    private volatile boolean done;
+    private long cursor;
+
+    private Subscriber(SseEmitter emitter, long cursor) {
+      this.emitter = emitter;
+      this.cursor = cursor;
+    }
+
+    void stop() {
+      done = true;
+      synchronized (lock) {
+        lock.notifyAll();
+      }
+    }
+
+    @Override
+    public void run() {
+      try {
+        while (!done && !stopped) {
+          List<Entry> batch = new ArrayList<>();
+          boolean overrun = false;
+          synchronized (lock) {
+            if (lastSeq <= cursor) {
+              lock.wait(KEEPALIVE_MILLIS);
+            }
+            if (lastSeq - cursor > CAPACITY) {
+              overrun = true;
+            } else {
+              for (long seq = cursor + 1; seq <= lastSeq; seq++) {
+                batch.add(ring[(int) (seq % CAPACITY)]);
+              }
+            }
+          }
+          if (overrun) {
+            // Too far behind to replay; the subscriber reconnects and resyncs.
+            log.warn("Order status stream subscriber fell more than {} events behind; closing", CAPACITY);
+            emitter.complete();
+            return;
+          }
+          if (batch.isEmpty()) {
+            emitter.send(SseEmitter.event().comment("keepalive"));
+            continue;
+          }
+          for (Entry entry : batch) {
+            emitter.send(SseEmitter.event()
+                .id(Long.toString(entry.seq()))
+                .name(EVENT_ORDER_STATUS)
+                .data(objectMapper.writeValueAsString(entry.event()), MediaType.APPLICATION_JSON));
+            cursor = entry.seq();
+          }
+        }
+        emitter.complete();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        emitter.complete();
+      } catch (Exception e) {
+        log.debug("Order status stream subscriber closed: {}", e.toString());
+        emitter.completeWithError(e);
+      }
+    }
+  }
+}
@@ -0,0 +1,32 @@
+package com.polybot.hft.executor.order;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.polybot.hft.config.HftProperties;
+import com.polybot.hft.metrics.PolybotMetrics;
+import com.polybot.hft.polymarket.auth.PolymarketAuthContext;
+import com.polybot.hft.polymarket.ws.ClobUserWebSocketClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+
+/**
+ * Registers the CLOB user channel for {@link ExecutorOrderMonitor}. Kept out of component scanning of the
+ * {@code ws} package, which other services (the ingestor) scan without having API creds.
+ */
+@Configuration(proxyBeanMethods = false)
+public class UserWsConfiguration {
+
+  @Bean
+  @ConditionalOnProperty(prefix = "hft.polymarket", name = "user-ws-enabled", havingValue = "true")
+  public ClobUserWebSocketClient clobUserWebSocketClient(
+      HftProperties properties,
+      HttpClient httpClient,
+      ObjectMapper objectMapper,
+      PolymarketAuthContext authContext,
+      PolybotMetrics metrics
+  ) {
+    return new ClobUserWebSocketClient(properties, httpClient, objectMapper, authContext, metrics);
+  }
+}
@@ -5,16 +5,19 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.polybot.hft.config.HftProperties;
+import com.polybot.hft.domain.FixedPoint;
 import com.polybot.hft.domain.OrderSide;
 import com.polybot.hft.events.HftEventPublisher;
 import com.polybot.hft.events.HftEventTypes;
 import com.polybot.hft.executor.events.ExecutorOrderStatusEvent;
+import com.polybot.hft.executor.order.OrderStatusStream;
 import com.polybot.hft.polymarket.api.LimitOrderRequest;
 import com.polybot.hft.polymarket.api.MarketOrderRequest;
 import com.polybot.hft.polymarket.api.OrderSubmissionResult;
 import com.polybot.hft.polymarket.data.PolymarketPosition;
 import com.polybot.hft.polymarket.gamma.PolymarketGammaClient;
 import com.polybot.hft.polymarket.ws.ClobMarketWebSocketClient;
+import com.polybot.hft.polymarket.ws.TickTopOfBookStore;
 import com.polybot.hft.polymarket.ws.TopOfBook;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -53,6 +56,7 @@ import java.util.concurrent.ThreadLocalRandom;
 public class PaperExchangeSimulator {
 
   private static final String USER_TRADE_EVENT_TYPE = "polymarket.user.trade";
+  private static final int SIM_TICK_TICKS = FixedPoint.ceilTicks(0.01);
 
   private final @NonNull HftProperties hft;
   private final @NonNull ExecutorSimulationProperties sim;
@@ -61,6 +65,7 @@ public class PaperExchangeSimulator {
   private final @NonNull HftEventPublisher events;
   private final @NonNull ClobMarketWebSocketClient marketWs;
   private final @NonNull PolymarketGammaClient gammaClient;
+  private final @NonNull OrderStatusStream statusStream;
 
   private final ConcurrentMap<String, SimOrder> ordersById = new ConcurrentHashMap<>();
   private final ConcurrentMap<String, Position> positionsByTokenId = new ConcurrentHashMap<>();
@@ -386,15 +391,16 @@ public class PaperExchangeSimulator {
       return;
     }
 
+    TickTopOfBookStore.Snapshot tob = new TickTopOfBookStore.Snapshot();
     for (SimOrder order : ordersById.values()) {
       if (order == null) {
         continue;
       }
-      simulateOne(order);
+      simulateOne(order, tob);
     }
   }
 
-  private void simulateOne(SimOrder order) {
+  private void simulateOne(SimOrder order, TickTopOfBookStore.Snapshot tob) {
     if (order == null) {
       return;
     }
@@ -402,30 +408,29 @@ public class PaperExchangeSimulator {
       return;
     }
 
-    TopOfBook tob = marketWs.getTopOfBook(order.tokenId).orElse(null);
-    if (tob == null || tob.bestBid() == null || tob.bestAsk() == null || tob.updatedAt() == null) {
+    if (!marketWs.readTickTopOfBook(order.tokenId, tob) || !tob.hasBidAndAsk() || tob.updatedAtMillis() <= 0) {
       return;
     }
-    long ageMs = Math.max(0, Instant.now(clock).toEpochMilli() - tob.updatedAt().toEpochMilli());
+    long ageMs = Math.max(0, clock.millis() - tob.updatedAtMillis());
     if (ageMs > 2_000) {
       return;
     }
 
-    BigDecimal bestBid = tob.bestBid();
-    BigDecimal bestAsk = tob.bestAsk();
-    BigDecimal price = order.requestedPrice;
-    if (price == null) {
+    int bestBidTicks = tob.bestBidTicks();
+    int bestAskTicks = tob.bestAskTicks();
+    int priceTicks = order.requestedPriceTicks;
+    if (priceTicks == FixedPoint.NONE) {
       return;
     }
 
     // Crossed book -> fill immediately at best ask (taker-like).
-    if (bestAsk.compareTo(price) <= 0) {
-      fill(order, order.remainingSize, bestAsk, "TAKER");
+    if (bestAskTicks <= priceTicks) {
+      fill(order, order.remainingSize, FixedPoint.price(bestAskTicks), "TAKER");
       return;
     }
 
     // Maker-like fill heuristic: if we're at/above the best bid, we sometimes get hit.
-    if (bestBid.compareTo(price) > 0) {
+    if (bestBidTicks > priceTicks) {
       return;
     }
 
@@ -435,15 +440,7 @@ public class PaperExchangeSimulator {
     }
 
     // Queue/priority proxy: if we improve above the best bid, fill odds increase.
-    int ticksAboveBestBid = 0;
-    try {
-      BigDecimal tickSize = BigDecimal.valueOf(0.01);
-      BigDecimal diff = price.subtract(bestBid);
-      if (diff.compareTo(BigDecimal.ZERO) > 0 && tickSize.compareTo(BigDecimal.ZERO) > 0) {
-        ticksAboveBestBid = diff.divide(tickSize, 0, RoundingMode.DOWN).intValue();
-      }
-    } catch (Exception ignored) {
-    }
+    int ticksAboveBestBid = (priceTicks - bestBidTicks) / SIM_TICK_TICKS;
 
     double mult = sim.makerFillProbabilityMultiplierPerTick();
     if (ticksAboveBestBid > 0 && mult > 0 && mult != 1.0) {
@@ -471,7 +468,7 @@ public class PaperExchangeSimulator {
     if (fill.compareTo(BigDecimal.valueOf(0.01)) < 0) {
       fill = remaining.min(BigDecimal.valueOf(0.01));
     }
-    fill(order, fill, price, "MAKER");
+    fill(order, fill, order.requestedPrice, "MAKER");
   }
 
   private void fill(SimOrder order, BigDecimal fillSize, BigDecimal fillPrice, String kind) {
@@ -624,9 +621,6 @@ public class PaperExchangeSimulator {
   }
 
   private void publishOrderStatus(SimOrder order, String error) {
-    if (!events.isEnabled()) {
-      return;
-    }
     if (order == null) {
       return;
     }
@@ -657,7 +651,7 @@ public class PaperExchangeSimulator {
       orderJson = null;
     }
 
-    events.publish(clock.instant(), HftEventTypes.EXECUTOR_ORDER_STATUS, order.orderId, new ExecutorOrderStatusEvent(
+    ExecutorOrderStatusEvent event = new ExecutorOrderStatusEvent(
         order.orderId,
         order.tokenId,
         order.side,
@@ -668,7 +662,11 @@ public class PaperExchangeSimulator {
         remaining,
         orderJson,
         error
-    ));
+    );
+    statusStream.append(event);
+    if (events.isEnabled()) {
+      events.publish(clock.instant(), HftEventTypes.EXECUTOR_ORDER_STATUS, order.orderId, event);
+    }
   }
 
   private static boolean isTerminal(String status) {
@@ -762,6 +760,7 @@ public class PaperExchangeSimulator {
     private final String tokenId;
     private final OrderSide side;
     private final BigDecimal requestedPrice;
+    private final int requestedPriceTicks;
     private final BigDecimal requestedSize;
     private final Instant createdAt;
 
@@ -788,6 +787,7 @@ public class PaperExchangeSimulator {
       this.tokenId = tokenId;
       this.side = side;
       this.requestedPrice = requestedPrice;
+      this.requestedPriceTicks = FixedPoint.priceTicks(requestedPrice);
       this.requestedSize = requestedSize;
       this.createdAt = createdAt;
       this.status = status;
@@ -1,45 +1,35 @@
 package com.polybot.hft.executor.web;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.polybot.hft.config.HftProperties;
-import com.polybot.hft.domain.OrderSide;
-import com.polybot.hft.events.HftEventPublisher;
-import com.polybot.hft.events.HftEventTypes;
-import com.polybot.hft.executor.events.ExecutorCancelOrderEvent;
-import com.polybot.hft.executor.events.ExecutorLimitOrderEvent;
-import com.polybot.hft.executor.events.ExecutorMarketOrderEvent;
-import com.polybot.hft.executor.events.ExecutorOrderError;
-import com.polybot.hft.executor.portfolio.PolymarketBankrollService;
-import com.polybot.hft.executor.metrics.ExecutorMetricsService;
-import com.polybot.hft.executor.order.ExecutorOrderMonitor;
-import com.polybot.hft.executor.sim.PaperExchangeSimulator;
+import com.polybot.hft.executor.order.ExecutorOrderService;
+import com.polybot.hft.executor.order.OrderStatusStream;
+import com.polybot.hft.polymarket.api.BatchCancelOrderRequest;
+import com.polybot.hft.polymarket.api.BatchLimitOrderRequest;
 import com.polybot.hft.polymarket.api.PolymarketAccountResponse;
+import com.polybot.hft.polymarket.api.TokenMetadataWarmUpRequest;
 import com.polybot.hft.polymarket.api.LimitOrderRequest;
 import com.polybot.hft.polymarket.api.MarketOrderRequest;
 import com.polybot.hft.polymarket.api.OrderSubmissionResult;
 import com.polybot.hft.polymarket.api.PolymarketBankrollResponse;
 import com.polybot.hft.polymarket.api.PolymarketHealthResponse;
-import com.polybot.hft.polymarket.auth.PolymarketAuthContext;
-import com.polybot.hft.polymarket.data.PolymarketDataApiClient;
-import com.polybot.hft.polymarket.http.PolymarketHttpException;
 import com.polybot.hft.polymarket.model.OrderBook;
 import com.polybot.hft.polymarket.service.PolymarketTradingService;
 import com.polybot.hft.polymarket.ws.ClobMarketWebSocketClient;
 import com.polybot.hft.polymarket.ws.TopOfBook;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.UUID;
-import org.web3j.crypto.Credentials;
 
 @RestController
 @RequestMapping("/api/polymarket")
@@ -48,46 +38,10 @@ import org.web3j.crypto.Credentials;
 @Slf4j
 public class PolymarketController {
 
-  private static final int ERROR_MAX_LEN = 512;
-
-  private final @NonNull HftProperties properties;
-  private final @NonNull PolymarketAuthContext authContext;
   private final @NonNull PolymarketTradingService tradingService;
   private final @NonNull ClobMarketWebSocketClient marketWebSocketClient;
-  private final @NonNull PolymarketDataApiClient dataApiClient;
-  private final @NonNull PolymarketBankrollService bankrollService;
-  private final @NonNull HftEventPublisher events;
-  private final @NonNull ExecutorOrderMonitor orderMonitor;
-  private final @NonNull PaperExchangeSimulator simulator;
-  private final @NonNull ObjectMapper objectMapper;
-  private final @NonNull ExecutorMetricsService metricsService;
-
-  private static String normalizeAddress(String address) {
-    if (address == null) {
-      return null;
-    }
-    String trimmed = address.trim();
-    if (trimmed.isEmpty()) {
-      return null;
-    }
-    return trimmed.toLowerCase();
-  }
-
-  private String signerAddress() {
-    return authContext.signerCredentials()
-        .map(Credentials::getAddress)
-        .map(PolymarketController::normalizeAddress)
-        .orElse(null);
-  }
-
-  private String funderAddress() {
-    return authContext.funderAddress().map(PolymarketController::normalizeAddress).orElse(null);
-  }
-
-  private String makerAddress() {
-    String funder = funderAddress();
-    return funder != null ? funder : signerAddress();
-  }
+  private final @NonNull ExecutorOrderService orderService;
+  private final @NonNull OrderStatusStream statusStream;
 
   @GetMapping("/health")
   public ResponseEntity<PolymarketHealthResponse> getHealth(
@@ -100,19 +54,12 @@ public class PolymarketController {
 
   @GetMapping("/account")
   public ResponseEntity<PolymarketAccountResponse> getAccount() {
-    return ResponseEntity.ok(
-        new PolymarketAccountResponse(
-            properties.mode().name(),
-            signerAddress(),
-            makerAddress(),
-            funderAddress()
-        )
-    );
+    return ResponseEntity.ok(orderService.getAccount());
   }
 
   @GetMapping("/bankroll")
   public ResponseEntity<PolymarketBankrollResponse> getBankroll() {
-    return ResponseEntity.ok(bankrollService.snapshot());
+    return ResponseEntity.ok(orderService.getBankroll());
   }
 
   @GetMapping("/positions")
@@ -121,15 +68,9 @@ public class PolymarketController {
       @RequestParam(name="limit", required=false, defaultValue="200") int limit,
       @RequestParam(name="offset", required=false, defaultValue="0") int offset
   ) {
-    if (simulator.enabled()) {
-      return ResponseEntity.ok(objectMapper.valueToTree(simulator.getPositions(limit, offset)));
-    }
-    String resolvedUser = (user != null && !user.isBlank()) ? user : makerAddress();
-    if (resolvedUser == null || resolvedUser.isBlank()) {
-      return ResponseEntity.badRequest().build();
-    }
-    log.info("api /positions user={} limit={} offset={}", resolvedUser, limit, offset);
-    return ResponseEntity.ok(dataApiClient.getPositions(resolvedUser, limit, offset));
+    log.info("api /positions user={} limit={} offset={}", user, limit, offset);
+    JsonNode positions = orderService.getPositionsJson(user, limit, offset);
+    return positions == null ? ResponseEntity.badRequest().build() : ResponseEntity.ok(positions);
   }
 
   @GetMapping("/orderbook/{tokenId}")
@@ -141,7 +82,7 @@ public class PolymarketController {
   @GetMapping("/tick-size/{tokenId}")
   public ResponseEntity<BigDecimal> getTickSize(@PathVariable String tokenId) {
     log.info("api /tick-size tokenId={}", tokenId);
-    return ResponseEntity.ok(tradingService.getTickSize(tokenId));
+    return ResponseEntity.ok(orderService.getTickSize(tokenId));
   }
 
   @GetMapping("/neg-risk/{tokenId}")
@@ -150,6 +91,16 @@ public class PolymarketController {
     return ResponseEntity.ok(tradingService.isNegRisk(tokenId));
   }
 
+  /**
+   * Prefetches tick size, neg-risk and fee rate for newly discovered tokens; returns before the fetches complete.
+   */
+  @PostMapping("/token-metadata/warm")
+  public ResponseEntity<Void> warmTokenMetadata(@Valid @RequestBody TokenMetadataWarmUpRequest request) {
+    log.info("api /token-metadata/warm count={}", request.tokenIds().size());
+    orderService.warmTokenMetadata(request.tokenIds());
+    return ResponseEntity.accepted().build();
+  }
+
   @GetMapping("/marketdata/top/{tokenId}")
   public ResponseEntity<TopOfBook> getTopOfBook(@PathVariable String tokenId) {
     log.info("api /marketdata/top tokenId={}", tokenId);
@@ -162,65 +113,60 @@ public class PolymarketController {
   public ResponseEntity<OrderSubmissionResult> placeLimitOrder(@Valid @RequestBody LimitOrderRequest request) {
     log.info("api /orders/limit tokenId={} side={} price={} size={} orderType={}",
         request.tokenId(), request.side(), request.price(), request.size(), request.orderType());
-    try {
-      metricsService.recordOrderPlaced();
-      OrderSubmissionResult result = simulator.enabled()
-          ? simulator.placeLimitOrder(request)
-          : tradingService.placeLimitOrder(request);
-      String orderId = resolveOrderId(result);
-      if (!simulator.enabled() && orderId != null && !orderId.isBlank()) {
-        orderMonitor.trackNewOrder(orderId, request.tokenId(), request.side(), request.price(), request.size());
-      }
-      safePublishLimitOrderEvent(request, result, null);
-      return ResponseEntity.ok(result);
-    } catch (RuntimeException e) {
-      safePublishLimitOrderEvent(request, null, e);
-      throw e;
-    }
+    return ResponseEntity.ok(orderService.placeLimitOrder(request));
+  }
+
+  /**
+   * Places several limit orders with one CLOB request (e.g. both legs of a market). Results are in request order.
+   */
+  @PostMapping("/orders/batch")
+  public ResponseEntity<List<OrderSubmissionResult>> placeLimitOrders(@Valid @RequestBody BatchLimitOrderRequest request) {
+    List<LimitOrderRequest> orders = request.orders();
+    log.info("api /orders/batch count={}", orders.size());
+    return ResponseEntity.ok(orderService.placeLimitOrders(orders));
   }
 
   @PostMapping("/orders/market")
   public ResponseEntity<OrderSubmissionResult> placeMarketOrder(@Valid @RequestBody MarketOrderRequest request) {
     log.info("api /orders/market tokenId={} side={} amount={} price={} orderType={}",
         request.tokenId(), request.side(), request.amount(), request.price(), request.orderType());
-    try {
-      metricsService.recordOrderPlaced();
-      OrderSubmissionResult result = simulator.enabled()
-          ? simulator.placeMarketOrder(request)
-          : tradingService.placeMarketOrder(request);
-      String orderId = resolveOrderId(result);
-      if (!simulator.enabled() && orderId != null && !orderId.isBlank()) {
-        // For BUY market orders, request.amount is USDC; size in shares is unknown without querying.
-        BigDecimal size = request.side() == OrderSide.SELL ? request.amount() : null;
-        orderMonitor.trackNewOrder(orderId, request.tokenId(), request.side(), request.price(), size);
-      }
-      safePublishMarketOrderEvent(request, result, null);
-      return ResponseEntity.ok(result);
-    } catch (RuntimeException e) {
-      safePublishMarketOrderEvent(request, null, e);
-      throw e;
-    }
+    return ResponseEntity.ok(orderService.placeMarketOrder(request));
   }
 
   @DeleteMapping("/orders/{orderId}")
   public ResponseEntity<JsonNode> cancelOrder(@PathVariable String orderId) {
     log.info("api /orders/cancel orderId={}", orderId);
-    try {
-      JsonNode result = simulator.enabled()
-          ? simulator.cancelOrder(orderId)
-          : tradingService.cancelOrder(orderId);
-      safePublishCancelOrderEvent(orderId, result, null);
-      return ResponseEntity.ok(result);
-    } catch (RuntimeException e) {
-      safePublishCancelOrderEvent(orderId, null, e);
-      throw e;
-    }
+    return ResponseEntity.ok(orderService.cancelOrder(orderId));
+  }
+
+  /**
+   * Cancels several orders with one CLOB request; the response lists {@code canceled} ids and {@code not_canceled}
+   * reasons by id.
+   */
+  @PostMapping("/orders/cancel-batch")
+  public ResponseEntity<JsonNode> cancelOrders(@Valid @RequestBody BatchCancelOrderRequest request) {
+    List<String> orderIds = request.orderIds();
+    log.info("api /orders/cancel-batch count={}", orderIds.size());
+    return ResponseEntity.ok(orderService.cancelOrders(orderIds));
+  }
+
+  /**
+   * Server-sent {@code executor.order.status} transitions; pass the {@code epoch} and {@code since} (last event id)
+   * of a previous stream to resume it.
+   */
+  @GetMapping(path = "/orders/status-stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamOrderStatus(
+      @RequestParam(name = "epoch", required = false) String epoch,
+      @RequestParam(name = "since", required = false) Long since
+  ) {
+    log.info("api /orders/status-stream epoch={} since={}", epoch, since);
+    return statusStream.subscribe(epoch, since);
   }
 
   @GetMapping("/orders/{orderId}")
   public ResponseEntity<JsonNode> getOrder(@PathVariable String orderId) {
     log.info("api /orders/get orderId={}", orderId);
-    return ResponseEntity.ok(simulator.enabled() ? simulator.getOrder(orderId) : tradingService.getOrder(orderId));
+    return ResponseEntity.ok(orderService.getOrder(orderId));
   }
 
   @GetMapping("/orders")
@@ -282,137 +228,4 @@ public class PolymarketController {
     log.info("api /trades maker_address={} market={} asset_id={} before={} after={} id={} next_cursor={}", makerAddress, market, assetId, before, after, id, nextCursor);
     return ResponseEntity.ok(tradingService.getTrades(query));
   }
-
-  private void safePublishLimitOrderEvent(LimitOrderRequest request, OrderSubmissionResult result, RuntimeException error) {
-    if (!events.isEnabled()) {
-      return;
-    }
-    try {
-      String mode = result != null && result.mode() != null ? result.mode().name() : null;
-      String orderId = resolveOrderId(result);
-      ExecutorOrderError err = error == null ? null : toOrderError(error);
-      events.publish(
-          HftEventTypes.EXECUTOR_ORDER_LIMIT,
-          request.tokenId(),
-          new ExecutorLimitOrderEvent(
-              request.tokenId(),
-              request.side(),
-              request.price(),
-              request.size(),
-              request.orderType(),
-              request.tickSize(),
-              request.negRisk(),
-              request.feeRateBps(),
-              request.nonce(),
-              request.expirationSeconds(),
-              request.deferExec(),
-              mode,
-              error == null,
-              orderId,
-              err
-          )
-      );
-    } catch (Exception ignored) {
-    }
-  }
-
-  private void safePublishMarketOrderEvent(MarketOrderRequest request, OrderSubmissionResult result, RuntimeException error) {
-    if (!events.isEnabled()) {
-      return;
-    }
-    try {
-      String mode = result != null && result.mode() != null ? result.mode().name() : null;
-      String orderId = resolveOrderId(result);
-      ExecutorOrderError err = error == null ? null : toOrderError(error);
-      events.publish(
-          HftEventTypes.EXECUTOR_ORDER_MARKET,
-          request.tokenId(),
-          new ExecutorMarketOrderEvent(
-              request.tokenId(),
-              request.side(),
-              request.amount(),
-              request.price(),
-              request.orderType(),
-              request.tickSize(),
-              request.negRisk(),
-              request.feeRateBps(),
-              request.nonce(),
-              request.deferExec(),
-              mode,
-              error == null,
-              orderId,
-              err
-          )
-      );
-    } catch (Exception ignored) {
-    }
-  }
-
-  private void safePublishCancelOrderEvent(String orderId, JsonNode result, RuntimeException error) {
-    if (!events.isEnabled()) {
-      return;
-    }
-    try {
-      String mode = result != null && result.hasNonNull("mode") ? result.get("mode").asText(null) : null;
-      ExecutorOrderError err = error == null ? null : toOrderError(error);
-      events.publish(
-          HftEventTypes.EXECUTOR_ORDER_CANCEL,
-          orderId,
-          new ExecutorCancelOrderEvent(orderId, mode, error == null, err)
-      );
-    } catch (Exception ignored) {
-    }
-  }
-
-  private static String resolveOrderId(OrderSubmissionResult result) {
-    if (result == null) {
-      return null;
-    }
-    JsonNode resp = result.clobResponse();
-    if (resp == null) {
-      if (result.mode() != null && "PAPER".equalsIgnoreCase(result.mode().name())) {
-        return "paper-" + UUID.randomUUID();
-      }
-      return null;
-    }
-    if (resp.hasNonNull("orderID")) {
-      return resp.get("orderID").asText();
-    }
-    if (resp.hasNonNull("orderId")) {
-      return resp.get("orderId").asText();
-    }
-    if (resp.hasNonNull("order_id")) {
-      return resp.get("order_id").asText();
-    }
-    return null;
-  }
-
-  private static ExecutorOrderError toOrderError(RuntimeException e) {
-    if (e instanceof PolymarketHttpException phe) {
-      return new ExecutorOrderError(
-          phe.getClass().getSimpleName(),
-          phe.statusCode(),
-          phe.method(),
-          phe.uri().toString(),
-          truncate(phe.getMessage(), ERROR_MAX_LEN)
-      );
-    }
-    return new ExecutorOrderError(
-        e.getClass().getSimpleName(),
-        null,
-        null,
-        null,
-        truncate(e.getMessage() != null ? e.getMessage() : e.toString(), ERROR_MAX_LEN)
-    );
-  }
-
-  private static String truncate(String s, int max) {
-    if (s == null) {
-      return null;
-    }
-    if (max <= 0 || s.length() <= max) {
-      return s;
-    }
-    return s.substring(0, max) + "...";
-  }
 }
@@ -0,0 +1,331 @@
+package com.polybot.hft.executor.order;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.polybot.hft.config.HftProperties;
+import com.polybot.hft.domain.OrderSide;
+import com.polybot.hft.events.HftEventPublisher;
+import com.polybot.hft.executor.events.ExecutorOrderStatusEvent;
+import com.polybot.hft.executor.metrics.ExecutorMetricsService;
+import com.polybot.hft.metrics.PolybotMetrics;
+import com.polybot.hft.polymarket.auth.PolymarketAuthContext;
+import com.polybot.hft.polymarket.clob.PolymarketClobClient;
+import com.polybot.hft.polymarket.clob.TokenMetadataCache;
+import com.polybot.hft.polymarket.config.PolymarketConfiguration;
+import com.polybot.hft.polymarket.http.HttpConnectionMetrics;
+import com.polybot.hft.polymarket.service.PolymarketTradingService;
+import com.polybot.hft.polymarket.service.PresignedOrderCache;
+import com.polybot.hft.polymarket.ws.ClobUserWebSocketClient;
+import com.polybot.hft.polymarket.ws.UserOrderUpdate;
+import com.polybot.hft.polymarket.ws.UserTrade;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.math.BigDecimal;
+import java.net.http.HttpClient;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExecutorOrderMonitorTest {
+
+  private static final BigDecimal PRICE = new BigDecimal("0.40");
+  private static final BigDecimal SIZE = new BigDecimal("10");
+
+  private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+  private final MutableClock clock = new MutableClock();
+  private final List<ExecutorOrderStatusEvent> published = new ArrayList<>();
+  private StubTradingService tradingService;
+  private ExecutorOrderMonitor monitor;
+
+  @BeforeEach
+  void setUp() {
+    HftProperties properties = new HftProperties(HftProperties.TradingMode.LIVE, null, null, null, null);
+    PolybotMetrics metrics = new PolybotMetrics(new SimpleMeterRegistry());
+    PolymarketConfiguration config = new PolymarketConfiguration();
+    PolymarketClobClient clobClient = config.polymarketClobClient(properties, config.polymarketHttpTransport(
+        properties, HttpClient.newHttpClient(), objectMapper, clock, metrics, new HttpConnectionMetrics(metrics)), objectMapper, clock);
+    tradingService = new StubTradingService(properties,
+        new PolymarketAuthContext(properties, clobClient, new StandardEnvironment()), clobClient, objectMapper,
+        new PresignedOrderCache(properties, metrics, clock), new TokenMetadataCache(properties, clobClient, metrics, clock));
+
+    ExecutorMetricsService metricsService = new ExecutorMetricsService(metrics);
+    metricsService.initializeMetrics();
+    monitor = new ExecutorOrderMonitor(properties, tradingService, new RecordingEvents(), objectMapper, clock, metricsService,
+        new StaticListableBeanFactory().getBeanProvider(ClobUserWebSocketClient.class), new OrderStatusStream(objectMapper));
+    monitor.subscribeUserChannel();
+  }
+
+  @Test
+  void failedTrade_pushedAfterMatch_removesOnlyItsFill() {
+    monitor.trackNewOrder("o1", "up", OrderSide.BUY, PRICE, SIZE);
+    monitor.onUserTrade(makerTrade("t1", "MATCHED", "o1", "4"));
+    monitor.onUserTrade(makerTrade("t2", "MATCHED", "o1", "3"));
+    assertThat(lastEvent().matchedSize()).isEqualByComparingTo("7");
+
+    monitor.onUserTrade(makerTrade("t1", "MINED", "o1", "4"));
+    monitor.onUserTrade(makerTrade("t1", "FAILED", "o1", "4"));
+
+    assertThat(lastEvent().matchedSize()).isEqualByComparingTo("3");
+    assertThat(lastEvent().remainingSize()).isEqualByComparingTo("7");
+  }
+
+  @Test
+  void failedTrade_neverCounted_changesNothing() {
+    monitor.trackNewOrder("o1", "up", OrderSide.BUY, PRICE, SIZE);
+    monitor.onUserTrade(makerTrade("t1", "MATCHED", "o1", "4"));
+    int before = published.size();
+
+    monitor.onUserTrade(makerTrade("t9", "FAILED", "o1", "2"));
+
+    assertThat(published).hasSize(before);
+    assertThat(lastEvent().matchedSize()).isEqualByComparingTo("4");
+  }
+
+  @Test
+  void tradePushedBeforePoll_staleSnapshotKeepsFill_failureRemovesIt() {
+    monitor.trackNewOrder("o1", "up", OrderSide.BUY, PRICE, SIZE);
+    monitor.onUserTrade(makerTrade("t1", "MATCHED", "o1", "4"));
+
+    tradingService.orders.put("o1", order("LIVE", "0"));
+    clock.advanceMillis(1_000L);
+    monitor.poll();
+    assertThat(lastEvent().exchangeStatus()).isEqualTo("LIVE");
+    assertThat(lastEvent().matchedSize()).isEqualByComparingTo("4");
+
+    monitor.onUserTrade(makerTrade("t1", "FAILED", "o1", "4"));
+    assertThat(lastEvent().matchedSize()).isEqualByComparingTo("0");
+
+    int before = published.size();
+    clock.advanceMillis(1_000L);
+    monitor.poll();
+    assertThat(published).hasSize(before);
+  }
+
+  @Test
+  void orderUpdatePushedBeforeTracking_isAppliedWhenTracked() {
+    monitor.onUserOrder(new UserOrderUpdate("o1", "up", "m1", OrderSide.BUY, PRICE, SIZE, new BigDecimal("2"),
+        "UPDATE", clock.instant()));
+    assertThat(published).isEmpty();
+
+    monitor.trackNewOrder("o1", "up", OrderSide.BUY, PRICE, SIZE);
+
+    assertThat(lastEvent().matchedSize()).isEqualByComparingTo("2");
+    assertThat(lastEvent().remainingSize()).isEqualByComparingTo("8");
+  }
+
+  @Test
+  void bulkReconcile_explainsOrdersFromOpenSetAndTrades_looksUpOnlyTheRest() {
+    trackThree();
+    tradingService.openOrders = page("LTE=", order("o1", "LIVE", "2"));
+    tradingService.tradePages.add(page("LTE=", makerTradeRow("t1", "o2", "10")));
+    tradingService.orders.put("o3", order("CANCELED", "0"));
+
+    clock.advanceMillis(1_000L);
+    monitor.poll();
+
+    assertThat(tradingService.lookups).containsExactly("o3");
+    assertThat(lastEvent("o1").matchedSize()).isEqualByComparingTo("2");
+    assertThat(lastEvent("o2").matchedSize()).isEqualByComparingTo("10");
+    assertThat(lastEvent("o3").exchangeStatus()).isEqualTo("CANCELED");
+  }
+
+  @Test
+  void bulkOpenOrdersReadFailure_fallsBackToPerOrderLookups() {
+    trackThree();
+    tradingService.openOrdersFailure = new IllegalStateException("boom");
+    for (String id : List.of("o1", "o2", "o3")) {
+      tradingService.orders.put(id, order("LIVE", "1"));
+    }
+
+    clock.advanceMillis(1_000L);
+    monitor.poll();
+
+    assertThat(tradingService.lookups).containsExactlyInAnyOrder("o1", "o2", "o3");
+    assertThat(tradingService.tradeQueries).isEmpty();
+    assertThat(lastEvent("o2").matchedSize()).isEqualByComparingTo("1");
+  }
+
+  @Test
+  void tradesBeyondPageCap_areReadFromTheCursorBeforeTheWatermarkMoves() {
+    trackThree();
+    tradingService.openOrders = page("LTE=");
+    for (int i = 0; i < 10; i++) {
+      tradingService.tradePages.add(page("c" + (i + 1), makerTradeRow("t" + i, "other" + i, "1")));
+    }
+    tradingService.tradePages.add(page("LTE=", makerTradeRow("t10", "o1", "4")));
+    for (String id : List.of("o1", "o2", "o3")) {
+      tradingService.orders.put(id, order("LIVE", "0"));
+    }
+
+    clock.advanceMillis(1_000L);
+    monitor.poll();
+    assertThat(tradingService.tradeQueries).hasSize(10);
+    assertThat(lastEvent("o1").matchedSize()).isEqualByComparingTo("0");
+
+    clock.advanceMillis(1_000L);
+    monitor.poll();
+    Map<String, String> first = tradingService.tradeQueries.get(0);
+    Map<String, String> resumed = tradingService.tradeQueries.get(10);
+    assertThat(resumed).containsEntry("next_cursor", "c10").containsEntry("after", first.get("after"));
+    assertThat(lastEvent("o1").matchedSize()).isEqualByComparingTo("4");
+
+    tradingService.tradePages.clear();
+    clock.advanceMillis(1_000L);
+    monitor.poll();
+    Map<String, String> next = tradingService.tradeQueries.get(11);
+    assertThat(next).doesNotContainKey("next_cursor");
+    assertThat(next.get("after")).isNotEqualTo(first.get("after"));
+  }
+
+  private void trackThree() {
+    for (String id : List.of("o1", "o2", "o3")) {
+      monitor.trackNewOrder(id, "up", OrderSide.BUY, PRICE, SIZE);
+    }
+  }
+
+  private ExecutorOrderStatusEvent lastEvent(String orderId) {
+    List<ExecutorOrderStatusEvent> events = published.stream().filter(e -> orderId.equals(e.orderId())).toList();
+    assertThat(events).isNotEmpty();
+    return events.get(events.size() - 1);
+  }
+
+  private ExecutorOrderStatusEvent lastEvent() {
+    assertThat(published).isNotEmpty();
+    return published.get(published.size() - 1);
+  }
+
+  private UserTrade makerTrade(String tradeId, String status, String orderId, String matched) {
+    return new UserTrade(tradeId, status, "taker-" + tradeId, "up", OrderSide.SELL, PRICE, new BigDecimal(matched),
+        List.of(new UserTrade.MakerFill(orderId, "up", new BigDecimal(matched), PRICE)), clock.instant());
+  }
+
+  private JsonNode order(String orderId, String status, String matched) {
+    return ((ObjectNode) order(status, matched)).put("id", orderId);
+  }
+
+  private JsonNode makerTradeRow(String tradeId, String orderId, String matched) {
+    ObjectNode row = objectMapper.createObjectNode()
+        .put("id", tradeId)
+        .put("status", "MATCHED")
+        .put("taker_order_id", "taker-" + tradeId)
+        .put("asset_id", "up")
+        .put("side", "SELL")
+        .put("price", PRICE.toPlainString())
+        .put("size", matched);
+    row.putArray("maker_orders").addObject()
+        .put("order_id", orderId)
+        .put("asset_id", "up")
+        .put("matched_amount", matched)
+        .put("price", PRICE.toPlainString());
+    return row;
+  }
+
+  private JsonNode page(String nextCursor, JsonNode... rows) {
+    ObjectNode root = objectMapper.createObjectNode().put("next_cursor", nextCursor);
+    ArrayNode data = root.putArray("data");
+    for (JsonNode row : rows) {
+      data.add(row);
+    }
+    return root;
+  }
+
+  private JsonNode order(String status, String matched) {
+    return objectMapper.createObjectNode().put("status", status).put("size_matched", matched)
+        .put("original_size", SIZE.toPlainString());
+  }
+
+  private final class RecordingEvents implements HftEventPublisher {
+    @Override
+    public boolean isEnabled() {
+      return true;
+    }
+
+    @Override
+    public void publish(Instant ts, String type, String key, Object data) {
+      if (data instanceof ExecutorOrderStatusEvent event) {
+        published.add(event);
+      }
+    }
+  }
+
+  private static final class MutableClock extends Clock {
+    private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+    void advanceMillis(long millis) {
+      now = now.plusMillis(millis);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+
+  /**
+   * Order and trade reads answered from scripted maps and pages instead of the CLOB. Trade pages are served by
+   * cursor: page {@code i} is requested with {@code next_cursor=c<i>}.
+   */
+  private static final class StubTradingService extends PolymarketTradingService {
+    private final Map<String, JsonNode> orders = new ConcurrentHashMap<>();
+    private final List<String> lookups = new ArrayList<>();
+    private final List<JsonNode> tradePages = new ArrayList<>();
+    private final List<Map<String, String>> tradeQueries = new ArrayList<>();
+    private JsonNode openOrders;
+    private RuntimeException openOrdersFailure;
+
+    private StubTradingService(HftProperties properties, PolymarketAuthContext authContext, PolymarketClobClient clobClient,
+                               ObjectMapper objectMapper, PresignedOrderCache presignedOrders, TokenMetadataCache tokenMetadata) {
+      super(properties, authContext, clobClient, objectMapper, presignedOrders, tokenMetadata);
+    }
+
+    @Override
+    public CompletableFuture<JsonNode> getOrderAsync(String orderId) {
+      lookups.add(orderId);
+      JsonNode order = orders.get(orderId);
+      return order == null
+          ? CompletableFuture.failedFuture(new IllegalStateException("unknown order " + orderId))
+          : CompletableFuture.completedFuture(order);
+    }
+
+    @Override
+    public JsonNode getOrders(Map<String, String> query) {
+      if (openOrdersFailure != null) {
+        throw openOrdersFailure;
+      }
+      return openOrders;
+    }
+
+    @Override
+    public JsonNode getTrades(Map<String, String> query) {
+      tradeQueries.add(new LinkedHashMap<>(query));
+      String cursor = query.get("next_cursor");
+      int index = cursor == null ? 0 : Integer.parseInt(cursor.substring(1));
+      return index < tradePages.size() ? tradePages.get(index) : null;
+    }
+  }
+}
@@ -3,7 +3,10 @@ package com.polybot.ingestor.ingest;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.polybot.hft.domain.FixedPoint;
 import com.polybot.hft.events.HftEventPublisher;
+import com.polybot.hft.polymarket.ws.ClobMarketWebSocketClient;
+import com.polybot.hft.polymarket.ws.L2OrderBook;
 import com.polybot.ingestor.config.IngestorProperties;
 import com.polybot.ingestor.polymarket.PolymarketClobApiClient;
 import com.polybot.ingestor.polymarket.PolymarketDataApiClient;
@@ -35,6 +38,8 @@ public class PolymarketMarketContextIngestor {
   private static final String MARKET_TRADE_EVENT_TYPE = "polymarket.market.trade";
 
   private static final int DEFAULT_SEEN_MARKET_TRADE_KEYS_CAPACITY = 250_000;
+  private static final int BOOK_LEVELS = 10;
+  private static final long WS_BOOK_MAX_AGE_MILLIS = 60_000L;
 
   private final @NonNull IngestorProperties properties;
   private final @NonNull PolymarketGammaApiClient gammaApi;
@@ -43,6 +48,7 @@ public class PolymarketMarketContextIngestor {
   private final @NonNull HftEventPublisher events;
   private final @NonNull ObjectMapper objectMapper;
   private final @NonNull Clock clock;
+  private final @NonNull ClobMarketWebSocketClient marketWs;
 
   private final EvictingKeySet seenMarketTradeKeys = new EvictingKeySet(DEFAULT_SEEN_MARKET_TRADE_KEYS_CAPACITY);
 
@@ -318,19 +324,22 @@ public class PolymarketMarketContextIngestor {
       return;
     }
 
-    JsonNode book;
-    try {
-      book = clobApi.getOrderBook(tokenId);
-    } catch (Exception e) {
-      failures.incrementAndGet();
-      log.debug("market-context clob book fetch failed tokenId={} error={}", tokenId, e.toString());
-      return;
-    }
-    if (PolymarketClobApiClient.isNotFoundError(book)) {
-      return;
+    // Prefer the live websocket depth when this token is subscribed; fall back to a REST /book round-trip.
+    Map<String, Object> tob = liveTopOfBook(tokenId, nowMillis);
+    if (tob == null) {
+      JsonNode book;
+      try {
+        book = clobApi.getOrderBook(tokenId);
+      } catch (Exception e) {
+        failures.incrementAndGet();
+        log.debug("market-context clob book fetch failed tokenId={} error={}", tokenId, e.toString());
+        return;
+      }
+      if (PolymarketClobApiClient.isNotFoundError(book)) {
+        return;
+      }
+      tob = topOfBook(book);
     }
-
-    Map<String, Object> tob = topOfBook(book);
     state.tobByTokenId.put(tokenId, new CachedTob(nowMillis, tob));
     publishClobTobEvent(
         username,
@@ -560,6 +569,61 @@ public class PolymarketMarketContextIngestor {
     return outcomes.get(maxIdx);
   }
 
+  private Map<String, Object> liveTopOfBook(String tokenId, long nowMillis) {
+    if (!marketWs.isStarted()) {
+      return null;
+    }
+    L2OrderBook book = marketWs.getOrderBook(tokenId).orElse(null);
+    if (book == null) {
+      return null;
+    }
+    int[] ticks = new int[BOOK_LEVELS];
+    long[] sizes = new long[BOOK_LEVELS];
+    synchronized (book) {
+      long updatedAtMillis = book.updatedAtMillis();
+      if (nowMillis - updatedAtMillis > WS_BOOK_MAX_AGE_MILLIS) {
+        return null;
+      }
+      List<Map<String, Object>> bidLevels = levels(ticks, sizes, book.bidLevels(ticks, sizes));
+      List<Map<String, Object>> askLevels = levels(ticks, sizes, book.askLevels(ticks, sizes));
+      return topOfBook(
+          tokenId,
+          String.valueOf(updatedAtMillis),
+          null,
+          "ws",
+          level(book.bestBidTicks(), book.bestBidCentiShares()),
+          level(book.bestAskTicks(), book.bestAskCentiShares()),
+          FixedPoint.price(book.bestBidTicks()),
+          FixedPoint.price(book.bestAskTicks()),
+          bidLevels,
+          askLevels
+      );
+    }
+  }
+
+  private static Map<String, Object> level(int priceTicks, long centiShares) {
+    if (priceTicks == FixedPoint.NONE) {
+      return null;
+    }
+    Map<String, Object> level = new LinkedHashMap<>();
+    level.put("price", FixedPoint.price(priceTicks).toPlainString());
+    level.put("size", FixedPoint.shares(centiShares).toPlainString());
+    return level;
+  }
+
+  private static List<Map<String, Object>> levels(int[] ticks, long[] sizes, int count) {
+    List<Map<String, Object>> result = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      if (ticks[i] > 0 && sizes[i] > 0) {
+        result.add(Map.of(
+            "price", FixedPoint.price(ticks[i]).doubleValue(),
+            "size", FixedPoint.shares(sizes[i]).doubleValue()
+        ));
+      }
+    }
+    return result;
+  }
+
   private static Map<String, Object> topOfBook(JsonNode book) {
     JsonNode bids = book.path("bids");
     if (!bids.isArray()) {
@@ -572,15 +636,35 @@ public class PolymarketMarketContextIngestor {
     JsonNode bestBid = bestBidLevel(bids);
     JsonNode bestAsk = bestAskLevel(asks);
 
-    BigDecimal bid = priceOrNull(bestBid);
-    BigDecimal ask = priceOrNull(bestAsk);
+    return topOfBook(
+        textOrNull(book.path("asset_id")),
+        textOrNull(book.path("timestamp")),
+        textOrNull(book.path("hash")),
+        "rest",
+        bestBid,
+        bestAsk,
+        priceOrNull(bestBid),
+        priceOrNull(bestAsk),
+        extractLevels(bids, BOOK_LEVELS, true),
+        extractLevels(asks, BOOK_LEVELS, false)
+    );
+  }
+
+  private static Map<String, Object> topOfBook(
+      String assetId,
+      String timestamp,
+      String hash,
+      String source,
+      Object bestBid,
+      Object bestAsk,
+      BigDecimal bid,
+      BigDecimal ask,
+      List<Map<String, Object>> bidLevels,
+      List<Map<String, Object>> askLevels
+  ) {
     BigDecimal mid = bid != null && ask != null ? bid.add(ask).divide(BigDecimal.valueOf(2), 18, RoundingMode.HALF_UP) : null;
     BigDecimal spread = bid != null && ask != null ? ask.subtract(bid) : null;
 
-    // Extract full book levels (top 10)
-    List<Map<String, Object>> bidLevels = extractLevels(bids, 10, true);
-    List<Map<String, Object>> askLevels = extractLevels(asks, 10, false);
-
     // Calculate total volumes
     double totalBidVolume = bidLevels.stream().mapToDouble(l -> (Double) l.get("size")).sum();
     double totalAskVolume = askLevels.stream().mapToDouble(l -> (Double) l.get("size")).sum();
@@ -596,9 +680,10 @@ public class PolymarketMarketContextIngestor {
     }
 
     Map<String, Object> out = new LinkedHashMap<>();
-    out.put("assetId", textOrNull(book.path("asset_id")));
-    out.put("timestamp", textOrNull(book.path("timestamp")));
-    out.put("hash", textOrNull(book.path("hash")));
+    out.put("assetId", assetId);
+    out.put("timestamp", timestamp);
+    out.put("hash", hash);
+    out.put("source", source);
     out.put("bestBid", bestBid);
     out.put("bestAsk", bestAsk);
     out.put("mid", mid == null ? null : mid.toPlainString());
@@ -0,0 +1,28 @@
+package com.polybot.ingestor;
+
+import com.polybot.hft.polymarket.ws.ClobMarketWebSocketClient;
+import com.polybot.hft.polymarket.ws.ClobUserWebSocketClient;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+    "hft.polymarket.user-ws-enabled=true",
+    "ingestor.polling.enabled=false",
+    "ingestor.market-context.enabled=false"
+})
+class IngestorServiceApplicationTests {
+
+  @Autowired
+  private ApplicationContext context;
+
+  @Test
+  void contextLoads() {
+    // The ingestor scans the ws package but has no API creds: only the market channel may be picked up
+    assertThat(context.getBeansOfType(ClobMarketWebSocketClient.class)).hasSize(1);
+    assertThat(context.getBeansOfType(ClobUserWebSocketClient.class)).isEmpty();
+  }
+}
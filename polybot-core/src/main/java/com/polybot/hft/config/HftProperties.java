@@ -53,19 +53,47 @@ public record HftProperties(
 
 
   private static Executor defaultExecutor() {
-    return new Executor(null, null);
+    return new Executor(null, null, null, null);
   }
 
   private static Polymarket defaultPolymarket() {
-    return new Polymarket(null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null);
+    return new Polymarket(null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null);
+  }
+
+  private static TokenMetadata defaultTokenMetadata() {
+    return new TokenMetadata(null, null);
+  }
+
+  private static OrderPresign defaultOrderPresign() {
+    return new OrderPresign(null, null, null, null);
   }
 
   private static Rest defaultRest() {
-    return new Rest(null, null);
+    return new Rest(null, null, null);
+  }
+
+  private static Connection defaultConnection() {
+    return new Connection(null, null, null);
   }
 
   private static RateLimit defaultRateLimit() {
-    return new RateLimit(null, null, null);
+    return new RateLimit(null, null, null, null);
+  }
+
+  /**
+   * Per-endpoint buckets for the CLOB routes the bot hits hardest; order post/cancel run in the priority lane.
+   */
+  private static List<RouteLimit> defaultRouteLimits() {
+    return List.of(
+        new RouteLimit("POST", "/order", 40.0, 240, true),
+        new RouteLimit("DELETE", "/order", 40.0, 240, true),
+        new RouteLimit("POST", "/orders", 20.0, 80, true),
+        new RouteLimit("DELETE", "/orders", 20.0, 80, true),
+        new RouteLimit("GET", "/book", 20.0, 50, false),
+        new RouteLimit("GET", "/data/order/", 15.0, 50, false),
+        new RouteLimit("GET", "/data/orders", 15.0, 50, false),
+        new RouteLimit("GET", "/data/trades", 15.0, 50, false)
+    );
   }
 
   private static Retry defaultRetry() {
@@ -108,7 +136,17 @@ public record HftProperties(
 
   public record Executor(
       String baseUrl,
-      @NotNull Boolean sendLiveAck
+      @NotNull Boolean sendLiveAck,
+      /**
+       * Follow the executor's order-status event stream instead of polling each open order every second; polling
+       * then only runs as a periodic reconcile and while the stream is down.
+       */
+      @NotNull Boolean orderStatusStreamEnabled,
+      /**
+       * When the strategy runs inside the executor JVM (the {@code colocated} build), call the executor directly
+       * instead of over HTTP at {@link #baseUrl()}. Has no effect in split deployments.
+       */
+      @NotNull Boolean inProcess
   ) {
     public Executor {
       if (baseUrl == null || baseUrl.isBlank()) {
@@ -117,6 +155,12 @@ public record HftProperties(
       if (sendLiveAck == null) {
         sendLiveAck = true;
       }
+      if (orderStatusStreamEnabled == null) {
+        orderStatusStreamEnabled = true;
+      }
+      if (inProcess == null) {
+        inProcess = true;
+      }
     }
   }
 
@@ -134,8 +178,10 @@ public record HftProperties(
       @Valid Rest rest,
       @Valid Auth auth,
       /**
-       * Optional path to persist the market WS top-of-book cache (JSON). When blank, disabled.
+       * Optional path to persist the market WS top-of-book cache. When blank, disabled.
        * Useful to warm-start after restarts (avoids an empty TOB cache until the first WS update).
+       * A {@code .json} path keeps the legacy whole-map JSON snapshot; any other path uses a memory-mapped
+       * fixed-record file updated in place for changed assets only.
        */
       String marketWsCachePath,
       /**
@@ -151,7 +197,39 @@ public record HftProperties(
       /**
        * Minimum interval between reconnect attempts when the WS is stale/disconnected.
        */
-      @NotNull @PositiveOrZero Long marketWsReconnectBackoffMillis
+      @NotNull @PositiveOrZero Long marketWsReconnectBackoffMillis,
+      /**
+       * Decode market WS frames with the token-level streaming parser instead of building a JSON tree per frame.
+       * Set to false to fall back to the tree-based decoder.
+       */
+      @NotNull Boolean marketWsStreamingDecode,
+      /**
+       * Number of market WS connections; subscribed assets are sharded across them by hash so a subscription change
+       * only reconnects the affected shards.
+       */
+      @NotNull @Min(1) Integer marketWsShards,
+      /**
+       * When a shard resubscribes, open the replacement socket and wait for its initial {@code book} snapshots before
+       * closing the old one, so the shard never goes dark. Set to false to close first, then reconnect.
+       */
+      @NotNull Boolean marketWsMakeBeforeBreak,
+      /**
+       * Longest a replacement socket may spend collecting snapshots before it takes over anyway.
+       */
+      @NotNull @PositiveOrZero Long marketWsHandoverTimeoutMillis,
+      /**
+       * Speculative pre-signing of limit orders around recently placed quotes (executor side).
+       */
+      @Valid OrderPresign orderPresign,
+      /**
+       * Caching of per-token CLOB metadata (tick size, neg-risk, fee rate) used when building orders.
+       */
+      @Valid TokenMetadata tokenMetadata,
+      /**
+       * While the user websocket channel is connected, tracked orders are still polled over REST this often as a
+       * safety net for missed events. Without the channel they are polled every second.
+       */
+      @NotNull @PositiveOrZero Long userWsReconcileMillis
   ) {
     public Polymarket {
       if (clobRestUrl == null || clobRestUrl.isBlank()) {
@@ -198,10 +276,82 @@ public record HftProperties(
       if (marketWsReconnectBackoffMillis == null) {
         marketWsReconnectBackoffMillis = 10_000L;
       }
+      if (marketWsStreamingDecode == null) {
+        marketWsStreamingDecode = true;
+      }
+      if (marketWsShards == null) {
+        marketWsShards = 1;
+      }
+      if (marketWsMakeBeforeBreak == null) {
+        marketWsMakeBeforeBreak = true;
+      }
+      if (marketWsHandoverTimeoutMillis == null) {
+        marketWsHandoverTimeoutMillis = 10_000L;
+      }
+      if (orderPresign == null) {
+        orderPresign = defaultOrderPresign();
+      }
+      if (tokenMetadata == null) {
+        tokenMetadata = defaultTokenMetadata();
+      }
+      if (userWsReconcileMillis == null) {
+        userWsReconcileMillis = 30_000L;
+      }
+    }
+  }
+
+  public record TokenMetadata(
+      /**
+       * How long a fetched value is served before it must be fetched again inline.
+       */
+      @NotNull @Min(1_000) Long ttlMillis,
+      /**
+       * A hit within this long of expiry triggers a background refresh, so hot tokens never expire inline.
+       */
+      @NotNull @PositiveOrZero Long refreshAheadMillis
+  ) {
+    public TokenMetadata {
+      if (ttlMillis == null) {
+        ttlMillis = 300_000L;
+      }
+      if (refreshAheadMillis == null) {
+        refreshAheadMillis = 60_000L;
+      }
     }
   }
 
-  public record Rest(@Valid RateLimit rateLimit, @Valid Retry retry) {
+  public record OrderPresign(
+      @NotNull Boolean enabled,
+      /**
+       * Ticks either side of the last placed price to pre-sign, for that order's token, side and size.
+       */
+      @NotNull @Min(1) Integer ladderTicks,
+      /**
+       * Upper bound on pre-signed orders held across all tokens.
+       */
+      @NotNull @Min(1) Integer maxOrders,
+      /**
+       * Drop a token's ladder when no order has been placed on it for this long.
+       */
+      @NotNull @Min(1_000) Long idleEvictMillis
+  ) {
+    public OrderPresign {
+      if (enabled == null) {
+        enabled = false;
+      }
+      if (ladderTicks == null) {
+        ladderTicks = 3;
+      }
+      if (maxOrders == null) {
+        maxOrders = 512;
+      }
+      if (idleEvictMillis == null) {
+        idleEvictMillis = 60_000L;
+      }
+    }
+  }
+
+  public record Rest(@Valid RateLimit rateLimit, @Valid Retry retry, @Valid Connection connection) {
     public Rest {
       if (rateLimit == null) {
         rateLimit = defaultRateLimit();
@@ -209,13 +359,48 @@ public record HftProperties(
       if (retry == null) {
         retry = defaultRetry();
       }
+      if (connection == null) {
+        connection = defaultConnection();
+      }
+    }
+  }
+
+  public record Connection(
+      /**
+       * Negotiate HTTP/2 (ALPN) so concurrent REST calls multiplex over one TLS connection per host.
+       * Falls back to HTTP/1.1 when the server does not offer h2.
+       */
+      @NotNull Boolean http2Enabled,
+      @NotNull @Min(1) Long connectTimeoutMillis,
+      /**
+       * Send a lightweight CLOB request whenever the REST transport has been idle this long, so the next order does
+       * not pay a fresh TCP+TLS handshake. Keep it below the client's idle timeout
+       * ({@code jdk.httpclient.keepalive.timeout}, 30s by default). 0 disables.
+       */
+      @NotNull @PositiveOrZero Long keepWarmIntervalMillis
+  ) {
+    public Connection {
+      if (http2Enabled == null) {
+        http2Enabled = false;
+      }
+      if (connectTimeoutMillis == null) {
+        connectTimeoutMillis = 5_000L;
+      }
+      if (keepWarmIntervalMillis == null) {
+        keepWarmIntervalMillis = 0L;
+      }
     }
   }
 
   public record RateLimit(
       @NotNull Boolean enabled,
       @NotNull @PositiveOrZero Double requestsPerSecond,
-      @NotNull @PositiveOrZero Integer burst
+      @NotNull @PositiveOrZero Integer burst,
+      /**
+       * Extra buckets for individual routes, applied before the shared bucket above. Requests on a priority route
+       * are served ahead of everything else when the shared bucket is exhausted. Set to an empty list to disable.
+       */
+      List<@Valid RouteLimit> routes
   ) {
     public RateLimit {
       if (enabled == null) {
@@ -227,6 +412,29 @@ public record HftProperties(
       if (burst == null) {
         burst = 50;
       }
+      if (routes == null) {
+        routes = defaultRouteLimits();
+      }
+    }
+  }
+
+  public record RouteLimit(
+      /**
+       * HTTP method the route applies to (e.g. {@code POST}).
+       */
+      @NotNull String method,
+      /**
+       * Request path prefix; the longest matching prefix wins, so {@code /order} does not capture {@code /orders}.
+       */
+      @NotNull String pathPrefix,
+      @NotNull @PositiveOrZero Double requestsPerSecond,
+      @NotNull @Min(1) Integer burst,
+      @NotNull Boolean priority
+  ) {
+    public RouteLimit {
+      if (priority == null) {
+        priority = false;
+      }
     }
   }
 
@@ -334,6 +542,8 @@ public record HftProperties(
         null,
         null,
         null,
+        null,
+        null,
         null
     );
   }
@@ -496,6 +706,17 @@ public record HftProperties(
        * Typical: 0.02 (2 ticks) means spread cost of 2 cents per share.
        */
       @NotNull @PositiveOrZero BigDecimal takerModeMaxSpread,
+      /**
+       * Evaluate a market when one of its books changes on the market WS instead of re-evaluating every market each
+       * {@code refreshMillis}. The periodic tick then only applies time-driven rules (lifetime, time window, stale
+       * books) and housekeeping.
+       */
+      @NotNull Boolean eventDrivenEvaluation,
+      /**
+       * Market evaluation worker threads. Each market is pinned to one worker by slug hash, so its state stays
+       * single-threaded while a slow executor call on one market does not stall the others.
+       */
+      @NotNull @Min(1) Integer evaluationWorkers,
       @Valid List<GabagoolMarket> markets
   ) {
     public Gabagool {
@@ -598,6 +819,12 @@ public record HftProperties(
       if (takerModeMaxSpread == null) {
         takerModeMaxSpread = BigDecimal.valueOf(0.02);  // Max 2 ticks spread cost
       }
+      if (eventDrivenEvaluation == null) {
+        eventDrivenEvaluation = false;
+      }
+      if (evaluationWorkers == null) {
+        evaluationWorkers = 4;
+      }
       markets = sanitizeGabagoolMarkets(markets);
     }
   }
@@ -0,0 +1,133 @@
+package com.polybot.hft.domain;
+
+import lombok.experimental.UtilityClass;
+
+import java.math.BigDecimal;
+
+/**
+ * Fixed-point price/size representation for hot paths.
+ * <p>
+ * Prices are integer price ticks of {@code 0.0001} (the finest CLOB tick), so every valid price in {@code [0, 1]}
+ * is an {@code int} in {@code [0, 10_000]}. Sizes are integer centi-shares ({@code 0.01} shares, the CLOB size
+ * precision). A price level packs both into one {@code long}: ticks in the high 32 bits, centi-shares in the low 32.
+ * <p>
+ * Conversion to/from {@link BigDecimal} happens at the REST/JSON edges; {@link #price(int)} is served from a
+ * precomputed table so converting back for an order request does not allocate.
+ */
+@UtilityClass
+public class FixedPoint {
+
+  public static final int PRICE_SCALE = 4;
+  public static final int TICKS_PER_UNIT = 10_000;
+  public static final int SIZE_SCALE = 2;
+  public static final long CENTI_SHARES_PER_SHARE = 100L;
+
+  /**
+   * Sentinel for a missing price ({@code int}) or size ({@code long}).
+   */
+  public static final int NONE = -1;
+
+  /**
+   * Packed level with neither price nor size.
+   */
+  public static final long EMPTY_LEVEL = -1L;
+
+  private static final long SIZE_MASK = 0xFFFF_FFFFL;
+  private static final double EPSILON = 1e-6;
+
+  private static final BigDecimal[] PRICES = new BigDecimal[TICKS_PER_UNIT + 1];
+
+  static {
+    for (int i = 0; i <= TICKS_PER_UNIT; i++) {
+      BigDecimal p = BigDecimal.valueOf(i, PRICE_SCALE).stripTrailingZeros();
+      PRICES[i] = p.scale() < 0 ? p.setScale(0) : p;
+    }
+  }
+
+  /**
+   * Price ticks for {@code price}, or {@link #NONE} when null or outside {@code [0, 1]}.
+   */
+  public static int priceTicks(BigDecimal price) {
+    if (price == null) {
+      return NONE;
+    }
+    long ticks = Math.round(price.doubleValue() * TICKS_PER_UNIT);
+    if (ticks < 0 || ticks > TICKS_PER_UNIT) {
+      return NONE;
+    }
+    return (int) ticks;
+  }
+
+  /**
+   * Largest tick count not above {@code value} (e.g. a configured max spread).
+   */
+  public static int floorTicks(double value) {
+    return (int) Math.floor(value * TICKS_PER_UNIT + EPSILON);
+  }
+
+  /**
+   * Smallest tick count not below {@code value} (e.g. a configured min edge).
+   */
+  public static int ceilTicks(double value) {
+    return (int) Math.ceil(value * TICKS_PER_UNIT - EPSILON);
+  }
+
+  public static BigDecimal price(int ticks) {
+    if (ticks == NONE) {
+      return null;
+    }
+    if (ticks >= 0 && ticks <= TICKS_PER_UNIT) {
+      return PRICES[ticks];
+    }
+    return BigDecimal.valueOf(ticks, PRICE_SCALE);
+  }
+
+  /**
+   * Centi-shares for {@code size}, rounded down, or {@link #NONE} when null or negative.
+   */
+  public static long centiShares(BigDecimal size) {
+    if (size == null || size.signum() < 0) {
+      return NONE;
+    }
+    return (long) Math.floor(size.doubleValue() * CENTI_SHARES_PER_SHARE + EPSILON);
+  }
+
+  /**
+   * Signed centi-shares (e.g. inventory imbalance), rounded toward zero; 0 when null.
+   */
+  public static long signedCentiShares(BigDecimal size) {
+    if (size == null) {
+      return 0L;
+    }
+    double v = size.doubleValue() * CENTI_SHARES_PER_SHARE;
+    return (long) (v >= 0 ? Math.floor(v + EPSILON) : Math.ceil(v - EPSILON));
+  }
+
+  public static BigDecimal shares(long centiShares) {
+    if (centiShares == NONE) {
+      return null;
+    }
+    return BigDecimal.valueOf(centiShares, SIZE_SCALE);
+  }
+
+  public static long packLevel(int priceTicks, long centiShares) {
+    if (priceTicks == NONE) {
+      return EMPTY_LEVEL;
+    }
+    long size = centiShares < 0 ? SIZE_MASK : Math.min(centiShares, SIZE_MASK - 1);
+    return ((long) priceTicks << 32) | size;
+  }
+
+  public static long packLevel(BigDecimal price, BigDecimal size) {
+    return packLevel(priceTicks(price), centiShares(size));
+  }
+
+  public static int levelPriceTicks(long level) {
+    return level == EMPTY_LEVEL ? NONE : (int) (level >> 32);
+  }
+
+  public static long levelCentiShares(long level) {
+    long size = level & SIZE_MASK;
+    return size == SIZE_MASK ? NONE : size;
+  }
+}
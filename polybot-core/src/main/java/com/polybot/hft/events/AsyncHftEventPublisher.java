@@ -0,0 +1,264 @@
+package com.polybot.hft.events;
+
+import com.polybot.hft.metrics.PolybotMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Tag;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link HftEventPublisher} decorator that takes serialization and Kafka back-pressure off the caller's thread.
+ * <p>
+ * {@link #publish} claims a slot in a preallocated multi-producer ring (per-slot sequence numbers, no locks) and
+ * returns; a single {@code hft-events-publisher} thread drains the ring into the delegate. A missing timestamp is
+ * stamped at enqueue time, so queueing delay does not shift event times.
+ * <p>
+ * Overflow is decided per event type (see {@link HftEventsProperties.Async}): conflated types keep only the newest
+ * pending event per key, blocking types wait for a free slot, and everything else is dropped when the ring is full.
+ */
+@Slf4j
+public final class AsyncHftEventPublisher implements HftEventPublisher, AutoCloseable {
+
+  private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+  private static final long BLOCKED_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+  private final HftEventPublisher delegate;
+  private final Clock clock;
+  private final List<String> conflateTypePrefixes;
+  private final List<String> blockTypePrefixes;
+
+  private final Slot[] slots;
+  private final AtomicLongArray sequences;
+  private final int mask;
+  private final AtomicLong tail = new AtomicLong();
+  private final AtomicLong head = new AtomicLong();
+
+  private final Map<ConflationKey, Slot> pendingByKey = new ConcurrentHashMap<>();
+
+  private final Counter droppedFull;
+  private final Counter droppedConflated;
+  private final Counter blocked;
+  private final Counter failed;
+
+  private final Thread drainThread;
+  private volatile boolean drainParked;
+  private volatile boolean running = true;
+
+  public AsyncHftEventPublisher(HftEventPublisher delegate, HftEventsProperties.Async cfg, Clock clock, PolybotMetrics metrics) {
+    this.delegate = Objects.requireNonNull(delegate, "delegate");
+    this.clock = Objects.requireNonNull(clock, "clock");
+    this.conflateTypePrefixes = List.copyOf(cfg.conflateTypePrefixes());
+    this.blockTypePrefixes = List.copyOf(cfg.blockTypePrefixes());
+
+    int capacity = Integer.highestOneBit(Math.max(2, cfg.capacity()) - 1) << 1;
+    this.slots = new Slot[capacity];
+    this.sequences = new AtomicLongArray(capacity);
+    for (int i = 0; i < capacity; i++) {
+      slots[i] = new Slot();
+      sequences.set(i, i);
+    }
+    this.mask = capacity - 1;
+
+    this.droppedFull = metrics.createCounter("polybot_events_dropped_total", "Events dropped before publishing", Tag.of("reason", "full"));
+    this.droppedConflated = metrics.createCounter("polybot_events_dropped_total", "Events dropped before publishing", Tag.of("reason", "conflated"));
+    this.blocked = metrics.createCounter("polybot_events_blocked_total", "Publishes that waited for ring space");
+    this.failed = metrics.createCounter("polybot_events_publish_errors_total", "Events the delegate publisher threw on");
+    metrics.registerIntGauge("polybot_events_queue_depth", "Events waiting in the publish ring", this::depth);
+    metrics.registerIntGauge("polybot_events_queue_capacity", "Publish ring capacity", () -> capacity);
+
+    this.drainThread = new Thread(this::drainLoop, "hft-events-publisher");
+    this.drainThread.setDaemon(true);
+    this.drainThread.start();
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return delegate.isEnabled();
+  }
+
+  @Override
+  public void publish(Instant ts, String type, String key, Object data) {
+    if (!running || !delegate.isEnabled() || type == null) {
+      return;
+    }
+    Instant when = ts != null ? ts : Instant.now(clock);
+
+    if (key != null && matches(type, conflateTypePrefixes)) {
+      publishConflated(when, type, key, data);
+      return;
+    }
+    if (offer(when, type, key, data, null)) {
+      return;
+    }
+    if (!matches(type, blockTypePrefixes)) {
+      droppedFull.increment();
+      return;
+    }
+    blocked.increment();
+    while (running && !offer(when, type, key, data, null)) {
+      LockSupport.parkNanos(BLOCKED_PARK_NANOS);
+    }
+  }
+
+  public int depth() {
+    return (int) Math.max(0L, tail.get() - head.get());
+  }
+
+  /**
+   * Stops accepting events, drains what is queued, then closes the delegate if it is closeable.
+   */
+  @Override
+  public void close() {
+    running = false;
+    LockSupport.unpark(drainThread);
+    try {
+      drainThread.join(TimeUnit.SECONDS.toMillis(5));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (delegate instanceof AutoCloseable closeable) {
+      try {
+        closeable.close();
+      } catch (Exception e) {
+        log.warn("event publisher delegate close failed: {}", e.toString());
+      }
+    }
+  }
+
+  /**
+   * The ring carries a marker; the event itself sits in {@code pendingByKey} until the drain thread takes it, so a
+   * newer event for the same key simply replaces it there.
+   */
+  private void publishConflated(Instant when, String type, String key, Object data) {
+    ConflationKey conflationKey = new ConflationKey(type, key);
+    Slot event = new Slot();
+    event.ts = when;
+    event.type = type;
+    event.key = key;
+    event.data = data;
+    if (pendingByKey.put(conflationKey, event) != null) {
+      droppedConflated.increment();
+      return;
+    }
+    if (!offer(null, type, key, null, conflationKey)) {
+      // Unconditional: an event that replaced ours meanwhile has no marker queued either.
+      pendingByKey.remove(conflationKey);
+      droppedFull.increment();
+    }
+  }
+
+  private boolean offer(Instant ts, String type, String key, Object data, ConflationKey conflationKey) {
+    long pos = tail.get();
+    while (true) {
+      int index = (int) (pos & mask);
+      long diff = sequences.getAcquire(index) - pos;
+      if (diff == 0) {
+        if (tail.compareAndSet(pos, pos + 1)) {
+          Slot slot = slots[index];
+          slot.ts = ts;
+          slot.type = type;
+          slot.key = key;
+          slot.data = data;
+          slot.conflationKey = conflationKey;
+          sequences.setRelease(index, pos + 1);
+          if (drainParked) {
+            LockSupport.unpark(drainThread);
+          }
+          return true;
+        }
+        pos = tail.get();
+      } else if (diff < 0) {
+        return false;
+      } else {
+        pos = tail.get();
+      }
+    }
+  }
+
+  private void drainLoop() {
+    while (true) {
+      if (drainOne()) {
+        continue;
+      }
+      if (!running) {
+        return;
+      }
+      drainParked = true;
+      if (!drainOne()) {
+        LockSupport.parkNanos(IDLE_PARK_NANOS);
+      }
+      drainParked = false;
+    }
+  }
+
+  private boolean drainOne() {
+    long pos = head.get();
+    int index = (int) (pos & mask);
+    if (sequences.getAcquire(index) != pos + 1) {
+      return false;
+    }
+    Slot slot = slots[index];
+    Instant ts = slot.ts;
+    String type = slot.type;
+    String key = slot.key;
+    Object data = slot.data;
+    ConflationKey conflationKey = slot.conflationKey;
+    slot.clear();
+    sequences.setRelease(index, pos + mask + 1);
+    head.lazySet(pos + 1);
+
+    if (conflationKey != null) {
+      Slot event = pendingByKey.remove(conflationKey);
+      if (event == null) {
+        return true;
+      }
+      ts = event.ts;
+      data = event.data;
+    }
+    try {
+      delegate.publish(ts, type, key, data);
+    } catch (RuntimeException e) {
+      failed.increment();
+      log.debug("event publish failed type={} key={} error={}", type, key, e.toString());
+    }
+    return true;
+  }
+
+  private static boolean matches(String type, List<String> prefixes) {
+    for (int i = 0; i < prefixes.size(); i++) {
+      if (type.startsWith(prefixes.get(i))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private record ConflationKey(String type, String key) {
+  }
+
+  private static final class Slot {
+    private Instant ts;
+    private String type;
+    private String key;
+    private Object data;
+    private ConflationKey conflationKey;
+
+    private void clear() {
+      ts = null;
+      type = null;
+      key = null;
+      data = null;
+      conflationKey = null;
+    }
+  }
+}
@@ -1,22 +1,30 @@
 package com.polybot.hft.events;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.List;
+
 @Validated
 @ConfigurationProperties(prefix="hft.events")
 public record HftEventsProperties(
     @NotNull Boolean enabled,
     String topic,
+    /**
+     * Per-asset conflation window for market WS top-of-book events: at most one event per asset per window, and the
+     * latest state is always flushed once the window passes. 0 publishes every update.
+     */
     @NotNull @PositiveOrZero Long marketWsTobMinIntervalMillis,
     /**
      * Optional periodic "snapshot republish" interval for market WS top-of-book.
      *
      * Why: WS only emits when something changes. For decision-time ASOF joins (and to measure freshness), we want a
      * near-continuous TOB stream even when the book is stable. When > 0, the WS client periodically republishes the
-     * latest cached TOB for subscribed assets with {@code updatedAt=now}.
+     * latest cached TOB with {@code updatedAt=now} for subscribed assets that published nothing within the interval.
      *
      * Set to 0 to disable.
      */
@@ -27,7 +35,17 @@ public record HftEventsProperties(
      * This helps maintain ASOF join coverage across restarts (at the cost of using older book snapshots until fresh
      * WS updates arrive).
      */
-    @NotNull Boolean marketWsCachePublishOnStart
+    @NotNull Boolean marketWsCachePublishOnStart,
+    /**
+     * When set, {@code market_ws.tob} events are published to this topic as fixed-layout ClickHouse RowBinary rows
+     * (see {@code TopOfBookRowBinaryCodec}) instead of JSON envelopes on {@link #topic}. ClickHouse reads the topic
+     * with a RowBinary Kafka engine table straight into {@code polybot.market_ws_tob}.
+     *
+     * Blank keeps the JSON envelope.
+     */
+    String marketWsTobBinaryTopic,
+    @Valid Producer producer,
+    @Valid Async async
 ) {
   public HftEventsProperties {
     if (enabled == null) {
@@ -45,5 +63,69 @@ public record HftEventsProperties(
     if (marketWsCachePublishOnStart == null) {
       marketWsCachePublishOnStart = false;
     }
+    if (marketWsTobBinaryTopic != null && marketWsTobBinaryTopic.isBlank()) {
+      marketWsTobBinaryTopic = null;
+    }
+    if (producer == null) {
+      producer = new Producer(null, null, null);
+    }
+    if (async == null) {
+      async = new Async(null, null, null, null);
+    }
+  }
+
+  /**
+   * Off-thread publishing: callers enqueue into a preallocated ring buffer and a dedicated thread serializes and
+   * sends. When the ring is full, events whose type starts with a {@code blockTypePrefixes} entry wait for space and
+   * every other event is dropped. Events whose type starts with a {@code conflateTypePrefixes} entry are also
+   * conflated per key: a newer event replaces one that is still queued.
+   */
+  public record Async(
+      @NotNull Boolean enabled,
+      /**
+       * Ring size, rounded up to a power of two.
+       */
+      @NotNull @Min(2) Integer capacity,
+      List<String> conflateTypePrefixes,
+      List<String> blockTypePrefixes
+  ) {
+    public Async {
+      if (enabled == null) {
+        enabled = true;
+      }
+      if (capacity == null) {
+        capacity = 8_192;
+      }
+      if (conflateTypePrefixes == null) {
+        conflateTypePrefixes = List.of(HftEventTypes.MARKET_WS_TOB);
+      }
+      if (blockTypePrefixes == null) {
+        blockTypePrefixes = List.of("strategy.", "executor.order.");
+      }
+    }
+  }
+
+  /**
+   * Producer settings for the event publisher; they override {@code spring.kafka.producer.*} for this producer only.
+   */
+  public record Producer(
+      @NotNull @PositiveOrZero Integer batchSizeBytes,
+      @NotNull @PositiveOrZero Long lingerMillis,
+      /**
+       * {@code none}, {@code gzip}, {@code snappy}, {@code lz4} or {@code zstd}.
+       */
+      @NotNull String compressionType
+  ) {
+    public Producer {
+      if (batchSizeBytes == null) {
+        batchSizeBytes = 65_536;
+      }
+      if (lingerMillis == null) {
+        lingerMillis = 5L;
+      }
+      if (compressionType == null || compressionType.isBlank()) {
+        compressionType = "lz4";
+      }
+    }
   }
 }
@@ -1,24 +1,37 @@
 package com.polybot.hft.events.kafka;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.polybot.hft.events.HftEventPublisher;
+import com.polybot.hft.events.HftEventTypes;
 import com.polybot.hft.events.HftEventsProperties;
+import com.polybot.hft.events.payload.MarketTopOfBookEvent;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 
+import java.io.IOException;
 import java.time.Clock;
 import java.time.Instant;
-import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Publishes events to Kafka as UTF-8 JSON envelopes ({@code ts}, {@code source}, {@code type}, {@code data}),
+ * written straight into a per-thread reusable buffer.
+ * <p>
+ * When {@code hft.events.market-ws-tob-binary-topic} is set, {@code market_ws.tob} events skip JSON entirely and go
+ * to that topic as {@link TopOfBookRowBinaryCodec} rows.
+ */
 @Slf4j
-public final class KafkaHftEventPublisher implements HftEventPublisher {
+public final class KafkaHftEventPublisher implements HftEventPublisher, AutoCloseable {
+
+  private static final ThreadLocal<ByteArrayBuilder> BUFFER = ThreadLocal.withInitial(() -> new ByteArrayBuilder(512));
 
   private final HftEventsProperties properties;
-  private final KafkaTemplate<String, String> kafkaTemplate;
+  private final KafkaTemplate<String, byte[]> kafkaTemplate;
   private final ObjectMapper objectMapper;
   private final Clock clock;
   private final String source;
@@ -27,7 +40,7 @@ public final class KafkaHftEventPublisher implements HftEventPublisher {
 
   public KafkaHftEventPublisher(
       @NonNull HftEventsProperties properties,
-      @NonNull KafkaTemplate<String, String> kafkaTemplate,
+      @NonNull KafkaTemplate<String, byte[]> kafkaTemplate,
       @NonNull ObjectMapper objectMapper,
       @NonNull Clock clock,
       @NonNull String source
@@ -53,30 +66,55 @@ public final class KafkaHftEventPublisher implements HftEventPublisher {
       return;
     }
     Instant when = ts != null ? ts : Instant.now(clock);
+    String eventType = type.trim();
 
-    Map<String, Object> envelope = new LinkedHashMap<>();
-    envelope.put("ts", when);
-    envelope.put("source", source);
-    envelope.put("type", type.trim());
-    envelope.put("data", data == null ? Map.of() : data);
+    String binaryTopic = properties.marketWsTobBinaryTopic();
+    if (binaryTopic != null && data instanceof MarketTopOfBookEvent tob && HftEventTypes.MARKET_WS_TOB.equals(eventType)) {
+      send(binaryTopic, key, TopOfBookRowBinaryCodec.encode(when, source, tob));
+      return;
+    }
 
-    String json;
+    byte[] json;
     try {
-      json = objectMapper.writeValueAsString(envelope);
+      json = encodeEnvelope(when, eventType, data);
     } catch (Exception e) {
       maybeLogFailure("serialize", e);
       return;
     }
+    send(properties.topic(), key, json);
+  }
+
+  /**
+   * Closes the dedicated producer.
+   */
+  @Override
+  public void close() {
+    kafkaTemplate.getProducerFactory().reset();
+  }
+
+  private byte[] encodeEnvelope(Instant when, String type, Object data) throws IOException {
+    ByteArrayBuilder buffer = BUFFER.get();
+    buffer.reset();
+    try (JsonGenerator gen = objectMapper.createGenerator(buffer)) {
+      gen.writeStartObject();
+      gen.writeObjectField("ts", when);
+      gen.writeStringField("source", source);
+      gen.writeStringField("type", type);
+      gen.writeObjectField("data", data == null ? Map.of() : data);
+      gen.writeEndObject();
+    }
+    return buffer.toByteArray();
+  }
 
-    String topic = properties.topic();
+  private void send(String topic, String key, byte[] value) {
     if (key == null || key.isBlank()) {
-      kafkaTemplate.send(topic, json).exceptionally(ex -> {
+      kafkaTemplate.send(topic, value).exceptionally(ex -> {
         maybeLogFailure("send", ex);
         return null;
       });
       return;
     }
-    kafkaTemplate.send(topic, key, json).exceptionally(ex -> {
+    kafkaTemplate.send(topic, key, value).exceptionally(ex -> {
       maybeLogFailure("send", ex);
       return null;
     });
@@ -1,32 +1,67 @@
 package com.polybot.hft.events.kafka;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.polybot.hft.events.AsyncHftEventPublisher;
 import com.polybot.hft.events.HftEventPublisher;
 import com.polybot.hft.events.HftEventsProperties;
+import com.polybot.hft.metrics.PolybotMetrics;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 
 import java.time.Clock;
+import java.util.Map;
 
 @Configuration(proxyBeanMethods=false)
 @ConditionalOnClass(KafkaTemplate.class)
 public class KafkaHftEventsConfiguration {
 
+  /**
+   * Dedicated byte[] producer: {@code spring.kafka.*} settings (bootstrap servers, security) are inherited, batching
+   * and compression come from {@code hft.events.producer}.
+   */
+  private static KafkaTemplate<String, byte[]> eventsKafkaTemplate(
+      HftEventsProperties properties,
+      KafkaProperties kafkaProperties,
+      SslBundles sslBundles
+  ) {
+    HftEventsProperties.Producer producer = properties.producer();
+    Map<String, Object> config = kafkaProperties.buildProducerProperties(sslBundles);
+    config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+    config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+    config.put(ProducerConfig.BATCH_SIZE_CONFIG, producer.batchSizeBytes());
+    config.put(ProducerConfig.LINGER_MS_CONFIG, producer.lingerMillis());
+    config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, producer.compressionType());
+    return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(config));
+  }
+
   @Bean
   @ConditionalOnProperty(prefix="hft.events", name="enabled", havingValue="true")
   public HftEventPublisher kafkaHftEventPublisher(
       HftEventsProperties properties,
-      KafkaTemplate<String, String> kafkaTemplate,
+      KafkaProperties kafkaProperties,
+      ObjectProvider<SslBundles> sslBundles,
       ObjectMapper objectMapper,
       Clock clock,
-      Environment env
+      Environment env,
+      PolybotMetrics metrics
   ) {
     String source = env.getProperty("spring.application.name", "app");
-    return new KafkaHftEventPublisher(properties, kafkaTemplate, objectMapper, clock, source);
+    KafkaTemplate<String, byte[]> kafkaTemplate = eventsKafkaTemplate(properties, kafkaProperties, sslBundles.getIfAvailable());
+    KafkaHftEventPublisher publisher = new KafkaHftEventPublisher(properties, kafkaTemplate, objectMapper, clock, source);
+    if (!properties.async().enabled()) {
+      return publisher;
+    }
+    return new AsyncHftEventPublisher(publisher, properties.async(), clock, metrics);
   }
 }
-
@@ -0,0 +1,122 @@
+package com.polybot.hft.events.kafka;
+
+import com.polybot.hft.events.payload.MarketTopOfBookEvent;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Fixed-layout encoding of {@link MarketTopOfBookEvent} as one ClickHouse {@code RowBinary} row, so the Kafka
+ * engine table {@code polybot.kafka_market_ws_tob_bin} decodes it without JSON parsing on either side.
+ * <p>
+ * Column order (must match {@code 0085_market_ws_tob_rowbinary.sql}):
+ * <pre>
+ *   ts               DateTime64(3)            Int64 LE epoch millis
+ *   source           String                   LEB128 length + UTF-8
+ *   asset_id         String                   LEB128 length + UTF-8
+ *   best_bid_price   Float64                  IEEE 754 LE
+ *   best_bid_size    Float64
+ *   best_ask_price   Float64
+ *   best_ask_size    Float64
+ *   last_trade_price Float64
+ *   tob_updated_at   DateTime64(3)
+ *   last_trade_at    Nullable(DateTime64(3))  UInt8 null flag [+ Int64 LE]
+ * </pre>
+ * Missing prices and sizes encode as {@code 0}, matching what {@code JSONExtractFloat} yields for the JSON envelope;
+ * a missing {@code updatedAt} encodes as {@code ts}.
+ */
+public final class TopOfBookRowBinaryCodec {
+
+  private static final int INITIAL_CAPACITY = 256;
+
+  private static final ThreadLocal<ByteBuffer> BUFFER = ThreadLocal.withInitial(() -> allocate(INITIAL_CAPACITY));
+
+  private TopOfBookRowBinaryCodec() {
+  }
+
+  public static byte[] encode(Instant ts, String source, MarketTopOfBookEvent tob) {
+    byte[] sourceBytes = source.getBytes(StandardCharsets.UTF_8);
+    byte[] assetBytes = tob.assetId() == null ? new byte[0] : tob.assetId().getBytes(StandardCharsets.UTF_8);
+    int size = 8 + 5 + sourceBytes.length + 5 + assetBytes.length + 5 * 8 + 8 + 1 + 8;
+
+    ByteBuffer buf = BUFFER.get();
+    if (buf.capacity() < size) {
+      buf = allocate(Math.max(size, buf.capacity() * 2));
+      BUFFER.set(buf);
+    }
+    buf.clear();
+
+    long tsMillis = ts.toEpochMilli();
+    buf.putLong(tsMillis);
+    putString(buf, sourceBytes);
+    putString(buf, assetBytes);
+    buf.putDouble(toDouble(tob.bestBid()));
+    buf.putDouble(toDouble(tob.bestBidSize()));
+    buf.putDouble(toDouble(tob.bestAsk()));
+    buf.putDouble(toDouble(tob.bestAskSize()));
+    buf.putDouble(toDouble(tob.lastTradePrice()));
+    buf.putLong(tob.updatedAt() == null ? tsMillis : tob.updatedAt().toEpochMilli());
+    if (tob.lastTradeAt() == null) {
+      buf.put((byte) 1);
+    } else {
+      buf.put((byte) 0);
+      buf.putLong(tob.lastTradeAt().toEpochMilli());
+    }
+    return Arrays.copyOf(buf.array(), buf.position());
+  }
+
+  public static Decoded decode(byte[] row) {
+    ByteBuffer buf = ByteBuffer.wrap(row).order(ByteOrder.LITTLE_ENDIAN);
+    Instant ts = Instant.ofEpochMilli(buf.getLong());
+    String source = getString(buf);
+    String assetId = getString(buf);
+    BigDecimal bestBid = BigDecimal.valueOf(buf.getDouble());
+    BigDecimal bestBidSize = BigDecimal.valueOf(buf.getDouble());
+    BigDecimal bestAsk = BigDecimal.valueOf(buf.getDouble());
+    BigDecimal bestAskSize = BigDecimal.valueOf(buf.getDouble());
+    BigDecimal lastTradePrice = BigDecimal.valueOf(buf.getDouble());
+    Instant updatedAt = Instant.ofEpochMilli(buf.getLong());
+    Instant lastTradeAt = buf.get() == 1 ? null : Instant.ofEpochMilli(buf.getLong());
+    return new Decoded(ts, source, new MarketTopOfBookEvent(assetId, bestBid, bestBidSize, bestAsk, bestAskSize,
+        lastTradePrice, updatedAt, lastTradeAt));
+  }
+
+  private static ByteBuffer allocate(int capacity) {
+    return ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  private static double toDouble(BigDecimal value) {
+    return value == null ? 0.0 : value.doubleValue();
+  }
+
+  private static void putString(ByteBuffer buf, byte[] bytes) {
+    int len = bytes.length;
+    while ((len & ~0x7F) != 0) {
+      buf.put((byte) ((len & 0x7F) | 0x80));
+      len >>>= 7;
+    }
+    buf.put((byte) len);
+    buf.put(bytes);
+  }
+
+  private static String getString(ByteBuffer buf) {
+    int len = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = buf.get();
+      len |= (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    String value = new String(buf.array(), buf.position(), len, StandardCharsets.UTF_8);
+    buf.position(buf.position() + len);
+    return value;
+  }
+
+  public record Decoded(Instant ts, String source, MarketTopOfBookEvent tob) {
+  }
+}
@@ -4,6 +4,7 @@ import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -108,6 +109,19 @@ public class PolybotMetrics {
         return counter;
     }
 
+    /**
+     * Create a timer that publishes a percentile histogram, for latency distributions.
+     */
+    public Timer createHistogramTimer(String name, String description, Tag... tags) {
+        Timer timer = Timer.builder(name)
+                .description(description)
+                .tags(List.of(tags))
+                .publishPercentileHistogram()
+                .register(registry);
+        log.debug("Created histogram timer: {} with description: {}", name, description);
+        return timer;
+    }
+
     /**
      * Increment a counter by name (creates if doesn't exist).
      */
@@ -0,0 +1,11 @@
+package com.polybot.hft.polymarket.api;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public record BatchCancelOrderRequest(
+    @NotEmpty List<@NotBlank String> orderIds
+) {
+}
@@ -0,0 +1,16 @@
+package com.polybot.hft.polymarket.api;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Limit orders posted to the CLOB in one request (the CLOB accepts at most {@value #MAX_ORDERS} per batch).
+ */
+public record BatchLimitOrderRequest(
+    @NotEmpty @Size(max = MAX_ORDERS) List<@Valid LimitOrderRequest> orders
+) {
+  public static final int MAX_ORDERS = 15;
+}
@@ -0,0 +1,49 @@
+package com.polybot.hft.polymarket.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.polybot.hft.polymarket.data.PolymarketPosition;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * The executor operations a strategy uses, as a plain Java interface. The executor implements it for strategies
+ * co-located in its JVM; split deployments reach the same operations over the executor's HTTP API.
+ * <p>
+ * Calls block until the executor (and, for orders, the CLOB) has answered and throw the executor's exceptions as is.
+ */
+public interface ExecutorGateway {
+
+  BigDecimal getTickSize(String tokenId);
+
+  /**
+   * Starts prefetching order metadata for {@code tokenIds}; returns before the fetches complete.
+   */
+  void warmTokenMetadata(List<String> tokenIds);
+
+  OrderSubmissionResult placeLimitOrder(LimitOrderRequest request);
+
+  /**
+   * Places several limit orders with one CLOB request; results are in request order.
+   */
+  List<OrderSubmissionResult> placeLimitOrders(List<LimitOrderRequest> requests);
+
+  JsonNode cancelOrder(String orderId);
+
+  /**
+   * Cancels several orders with one CLOB request; the response lists {@code canceled} ids and {@code not_canceled}
+   * reasons by id.
+   */
+  JsonNode cancelOrders(List<String> orderIds);
+
+  JsonNode getOrder(String orderId);
+
+  PolymarketAccountResponse getAccount();
+
+  PolymarketBankrollResponse getBankroll();
+
+  /**
+   * Positions of {@code user}, or of the executor's maker address when {@code user} is blank.
+   */
+  PolymarketPosition[] getPositions(String user, int limit, int offset);
+}
@@ -0,0 +1,11 @@
+package com.polybot.hft.polymarket.api;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public record TokenMetadataWarmUpRequest(
+    @NotEmpty List<@NotBlank String> tokenIds
+) {
+}
@@ -0,0 +1,80 @@
+package com.polybot.hft.polymarket.clob;
+
+import com.polybot.hft.config.HftProperties;
+import com.polybot.hft.metrics.PolybotMetrics;
+import com.polybot.hft.polymarket.http.HttpConnectionMetrics;
+import io.micrometer.core.instrument.Counter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the CLOB REST connection open through quiet periods.
+ * <p>
+ * Every {@code keepWarmIntervalMillis / 2}, if no REST request went to the CLOB host for
+ * {@code keepWarmIntervalMillis}, sends a {@code GET /time}; requests to gamma or the data-api do not count. Busy periods cost nothing; after a lull the first order reuses the warm connection instead
+ * of paying TCP+TLS setup, which {@code polybot_http_tls_handshakes_total} and the {@code connection} tag on
+ * {@code polybot_http_time_to_first_byte} make visible.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ClobConnectionKeepWarm {
+
+  private final @NonNull HftProperties properties;
+  private final @NonNull PolymarketClobClient clobClient;
+  private final @NonNull HttpConnectionMetrics connectionMetrics;
+  private final @NonNull PolybotMetrics metrics;
+
+  private String clobHost;
+  private ScheduledExecutorService scheduler;
+  private Counter pings;
+  private Counter pingFailures;
+
+  @PostConstruct
+  void start() {
+    long intervalMillis = properties.polymarket().rest().connection().keepWarmIntervalMillis();
+    if (intervalMillis <= 0) {
+      return;
+    }
+    clobHost = URI.create(properties.polymarket().clobRestUrl()).getHost();
+    pings = metrics.createCounter("polybot_http_keep_warm_pings_total", "Keep-warm requests sent to the CLOB");
+    pingFailures = metrics.createCounter("polybot_http_keep_warm_failures_total", "Keep-warm requests that failed");
+    scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r, "clob-keep-warm");
+      t.setDaemon(true);
+      return t;
+    });
+    long periodMillis = Math.max(1L, intervalMillis / 2);
+    scheduler.scheduleAtFixedRate(() -> pingIfIdle(intervalMillis), periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    log.info("CLOB keep-warm enabled intervalMillis={}", intervalMillis);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+    }
+  }
+
+  private void pingIfIdle(long intervalMillis) {
+    if (connectionMetrics.idleNanos(clobHost) < TimeUnit.MILLISECONDS.toNanos(intervalMillis)) {
+      return;
+    }
+    pings.increment();
+    clobClient.pingAsync().whenComplete((body, error) -> {
+      if (error != null) {
+        pingFailures.increment();
+        log.debug("CLOB keep-warm ping failed: {}", error.toString());
+      }
+    });
+  }
+}
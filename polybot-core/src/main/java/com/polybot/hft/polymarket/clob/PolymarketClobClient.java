@@ -20,14 +20,22 @@ import java.net.http.HttpRequest;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicLong;
 
 public final class PolymarketClobClient {
 
+  /**
+   * Most orders the CLOB accepts in one {@link #postOrders} request.
+   */
+  public static final int MAX_BATCH_ORDERS = 15;
+
   private static final Duration HTTP_TIMEOUT = Duration.ofSeconds(10);
   private static final String DEFAULT_USER_AGENT = "polybot/1.0";
 
@@ -63,6 +71,13 @@ public final class PolymarketClobClient {
     return Long.parseLong(raw.trim());
   }
 
+  /**
+   * Unauthenticated, unretried {@code GET /time}; used to keep the REST connection warm.
+   */
+  public CompletableFuture<String> pingAsync() {
+    return transport.sendStringAsync(getRequest(PolymarketClobPaths.TIME, Map.of(), Map.of()), false);
+  }
+
   public OrderBook getOrderBook(String tokenId) {
     return getJson(PolymarketClobPaths.BOOK, Map.of("token_id", tokenId), Map.of(), OrderBook.class);
   }
@@ -99,6 +114,18 @@ public final class PolymarketClobClient {
     return getJsonNode(endpoint, Map.of(), headers);
   }
 
+  /**
+   * Non-blocking {@link #getOrder}; many status polls can be in flight without holding a thread each.
+   */
+  public CompletableFuture<JsonNode> getOrderAsync(Credentials signingCredentials, ApiCreds apiCreds, String orderId) {
+    if (orderId == null || orderId.isBlank()) {
+      throw new IllegalArgumentException("orderId must not be blank");
+    }
+    String endpoint = PolymarketClobPaths.DATA_ORDER_PREFIX + orderId.trim();
+    Map<String, String> headers = l2Headers(signingCredentials, apiCreds, HttpMethod.GET, endpoint, "");
+    return getJsonAsync(endpoint, Map.of(), headers, JsonNode.class);
+  }
+
   public JsonNode getOrders(Credentials signingCredentials, ApiCreds apiCreds, Map<String, String> query) {
     Map<String, String> headers = l2Headers(signingCredentials, apiCreds, HttpMethod.GET, PolymarketClobPaths.DATA_ORDERS, "");
     return getJsonNode(PolymarketClobPaths.DATA_ORDERS, query == null ? Map.of() : query, headers);
@@ -138,6 +165,50 @@ public final class PolymarketClobClient {
       ClobOrderType orderType,
       boolean deferExec
   ) {
+    String body = writeJson(orderPayload(apiCreds, order, orderType, deferExec));
+    Map<String, String> headers = l2Headers(signingCredentials, apiCreds, HttpMethod.POST, PolymarketClobPaths.ORDER, body);
+    return postJsonNode(PolymarketClobPaths.ORDER, Map.of(), headers, body);
+  }
+
+  /**
+   * Posts several signed orders in one request. The response is an array with one entry per order, in order.
+   */
+  public JsonNode postOrders(Credentials signingCredentials, ApiCreds apiCreds, List<OrderPost> orders) {
+    if (orders == null || orders.isEmpty()) {
+      throw new IllegalArgumentException("orders must not be empty");
+    }
+    if (orders.size() > MAX_BATCH_ORDERS) {
+      throw new IllegalArgumentException("at most " + MAX_BATCH_ORDERS + " orders per batch, got " + orders.size());
+    }
+    List<Map<String, Object>> payload = new ArrayList<>(orders.size());
+    for (OrderPost post : orders) {
+      payload.add(orderPayload(apiCreds, post.order(), post.orderType(), post.deferExec()));
+    }
+    String body = writeJson(payload);
+    Map<String, String> headers = l2Headers(signingCredentials, apiCreds, HttpMethod.POST, PolymarketClobPaths.ORDERS, body);
+    return postJsonNode(PolymarketClobPaths.ORDERS, Map.of(), headers, body);
+  }
+
+  public JsonNode cancelOrder(Credentials signingCredentials, ApiCreds apiCreds, String orderId) {
+    Map<String, Object> payload = Map.of("orderID", orderId);
+    String body = writeJson(payload);
+    Map<String, String> headers = l2Headers(signingCredentials, apiCreds, HttpMethod.DELETE, PolymarketClobPaths.ORDER, body);
+    return deleteJsonNode(PolymarketClobPaths.ORDER, headers, body);
+  }
+
+  /**
+   * Cancels several orders in one request; the response lists {@code canceled} ids and {@code not_canceled} reasons.
+   */
+  public JsonNode cancelOrders(Credentials signingCredentials, ApiCreds apiCreds, List<String> orderIds) {
+    if (orderIds == null || orderIds.isEmpty()) {
+      throw new IllegalArgumentException("orderIds must not be empty");
+    }
+    String body = writeJson(orderIds);
+    Map<String, String> headers = l2Headers(signingCredentials, apiCreds, HttpMethod.DELETE, PolymarketClobPaths.ORDERS, body);
+    return deleteJsonNode(PolymarketClobPaths.ORDERS, headers, body);
+  }
+
+  private static Map<String, Object> orderPayload(ApiCreds apiCreds, SignedOrder order, ClobOrderType orderType, boolean deferExec) {
     Objects.requireNonNull(order, "order");
     if (order.signature() == null || order.signature().isBlank()) {
       throw new IllegalArgumentException("order.signature must be set");
@@ -161,17 +232,7 @@ public final class PolymarketClobClient {
     payload.put("owner", apiCreds.key());
     payload.put("orderType", orderType.name());
     payload.put("deferExec", deferExec);
-
-    String body = writeJson(payload);
-    Map<String, String> headers = l2Headers(signingCredentials, apiCreds, HttpMethod.POST, PolymarketClobPaths.ORDER, body);
-    return postJsonNode(PolymarketClobPaths.ORDER, Map.of(), headers, body);
-  }
-
-  public JsonNode cancelOrder(Credentials signingCredentials, ApiCreds apiCreds, String orderId) {
-    Map<String, Object> payload = Map.of("orderID", orderId);
-    String body = writeJson(payload);
-    Map<String, String> headers = l2Headers(signingCredentials, apiCreds, HttpMethod.DELETE, PolymarketClobPaths.ORDER, body);
-    return deleteJsonNode(PolymarketClobPaths.ORDER, headers, body);
+    return payload;
   }
 
   private <T> T l1Auth(
@@ -225,14 +286,21 @@ public final class PolymarketClobClient {
   }
 
   private <T> T getJson(String path, Map<String, String> query, Map<String, String> headers, Class<T> type) {
+    return sendJson(getRequest(path, query, headers), type);
+  }
+
+  private <T> CompletableFuture<T> getJsonAsync(String path, Map<String, String> query, Map<String, String> headers, Class<T> type) {
+    return transport.sendJsonAsync(getRequest(path, query, headers), type);
+  }
+
+  private HttpRequest getRequest(String path, Map<String, String> query, Map<String, String> headers) {
     HttpRequest.Builder builder = requestFactory.request(path, query)
         .GET()
         .timeout(HTTP_TIMEOUT)
         .header("Accept", "application/json")
         .header("User-Agent", DEFAULT_USER_AGENT);
     HttpHeadersUtil.apply(builder, headers);
-    HttpRequest request = builder.build();
-    return sendJson(request, type);
+    return builder.build();
   }
 
   private JsonNode postJsonNode(String path, Map<String, String> query, Map<String, String> headers, String body) {
@@ -290,6 +358,9 @@ public final class PolymarketClobClient {
     }
   }
 
+  public record OrderPost(SignedOrder order, ClobOrderType orderType, boolean deferExec) {
+  }
+
   private record ApiCredsRaw(String apiKey, String secret, String passphrase) {
     ApiCreds toCreds() {
       return new ApiCreds(
@@ -15,6 +15,7 @@ public final class PolymarketClobPaths {
   public static final String AUTH_API_KEY = "/auth/api-key";
   public static final String AUTH_DERIVE_API_KEY = "/auth/derive-api-key";
   public static final String ORDER = "/order";
+  public static final String ORDERS = "/orders";
 
   private PolymarketClobPaths() {
   }
@@ -0,0 +1,192 @@
+package com.polybot.hft.polymarket.clob;
+
+import com.polybot.hft.config.HftProperties;
+import com.polybot.hft.metrics.PolybotMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Tag;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Per-token CLOB metadata (tick size, neg-risk, base fee rate) shared by order building and the executor endpoints.
+ * <p>
+ * Values are served for {@code ttlMillis}; a hit within {@code refreshAheadMillis} of expiry refreshes the value in
+ * the background, so tokens that are traded continuously only pay the REST round-trip on first use, or not at all
+ * when {@link #warmUp} ran at discovery time. A failed background refresh keeps serving the previous value until
+ * it expires.
+ * <p>
+ * Expired entries are swept on every {@link #warmUp}, which discovery calls each cycle, so tokens of markets that
+ * have rolled off do not accumulate for the life of the process.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class TokenMetadataCache {
+
+  private final @NonNull HftProperties properties;
+  private final @NonNull PolymarketClobClient clobClient;
+  private final @NonNull PolybotMetrics metrics;
+  private final @NonNull Clock clock;
+
+  private final ExecutorService refreshExecutor = Executors.newFixedThreadPool(2, r -> {
+    Thread t = new Thread(r, "token-metadata-refresh");
+    t.setDaemon(true);
+    return t;
+  });
+
+  private Field<BigDecimal> tickSize;
+  private Field<Boolean> negRisk;
+  private Field<Integer> feeRateBps;
+
+  @PostConstruct
+  void init() {
+    tickSize = new Field<>("tick_size", clobClient::getMinimumTickSize);
+    negRisk = new Field<>("neg_risk", clobClient::isNegRisk);
+    feeRateBps = new Field<>("fee_rate", clobClient::getBaseFeeBps);
+    metrics.registerIntGauge("polybot_token_metadata_tokens", "Tokens with cached tick size", tickSize.entries::size);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    refreshExecutor.shutdownNow();
+  }
+
+  public BigDecimal tickSize(String tokenId) {
+    return tickSize.get(tokenId);
+  }
+
+  public boolean negRisk(String tokenId) {
+    return negRisk.get(tokenId);
+  }
+
+  public int feeRateBps(String tokenId) {
+    return feeRateBps.get(tokenId);
+  }
+
+  /**
+   * Fetches metadata for tokens not cached yet, in the background; returns immediately.
+   */
+  public void warmUp(Collection<String> tokenIds) {
+    evictExpired();
+    if (tokenIds == null) {
+      return;
+    }
+    int queued = 0;
+    for (String tokenId : tokenIds) {
+      if (tokenId == null || tokenId.isBlank()) {
+        continue;
+      }
+      String id = tokenId.trim();
+      for (Field<?> field : new Field<?>[]{tickSize, negRisk, feeRateBps}) {
+        if (!field.entries.containsKey(id)) {
+          field.refreshAsync(id, null);
+          queued++;
+        }
+      }
+    }
+    if (queued > 0) {
+      log.debug("token metadata warm-up queued {} fetch(es) for {} token(s)", queued, tokenIds.size());
+    }
+  }
+
+  /**
+   * Drops every cached field of {@code tokenId}; the market websocket calls this on {@code tick_size_change}.
+   */
+  public void invalidate(String tokenId) {
+    tickSize.entries.remove(tokenId);
+    negRisk.entries.remove(tokenId);
+    feeRateBps.entries.remove(tokenId);
+  }
+
+  private void evictExpired() {
+    long cutoff = clock.millis() - properties.polymarket().tokenMetadata().ttlMillis();
+    tickSize.evictFetchedBefore(cutoff);
+    negRisk.evictFetchedBefore(cutoff);
+    feeRateBps.evictFetchedBefore(cutoff);
+  }
+
+  private record Entry<T>(T value, long fetchedAtMillis, AtomicBoolean refreshing) {
+  }
+
+  private final class Field<T> {
+    private final String name;
+    private final Function<String, T> loader;
+    private final Map<String, Entry<T>> entries = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter refreshFailures;
+
+    private Field(String name, Function<String, T> loader) {
+      this.name = name;
+      this.loader = loader;
+      Tag tag = Tag.of("field", name);
+      this.hits = metrics.createCounter("polybot_token_metadata_hits_total", "Token metadata served from cache", tag);
+      this.misses = metrics.createCounter("polybot_token_metadata_misses_total", "Token metadata fetched inline", tag);
+      this.refreshFailures = metrics.createCounter("polybot_token_metadata_refresh_failures_total",
+          "Background token metadata refreshes that failed", tag);
+    }
+
+    T get(String tokenId) {
+      HftProperties.TokenMetadata cfg = properties.polymarket().tokenMetadata();
+      long now = clock.millis();
+      Entry<T> entry = entries.get(tokenId);
+      if (entry != null) {
+        long age = now - entry.fetchedAtMillis();
+        if (age < cfg.ttlMillis()) {
+          hits.increment();
+          if (age >= cfg.ttlMillis() - cfg.refreshAheadMillis()) {
+            refreshAsync(tokenId, entry);
+          }
+          return entry.value();
+        }
+      }
+      misses.increment();
+      T value = loader.apply(tokenId);
+      entries.put(tokenId, new Entry<>(value, clock.millis(), new AtomicBoolean()));
+      return value;
+    }
+
+    void evictFetchedBefore(long cutoffMillis) {
+      entries.values().removeIf(e -> e.fetchedAtMillis() <= cutoffMillis);
+    }
+
+    void refreshAsync(String tokenId, Entry<T> current) {
+      if (current != null && !current.refreshing().compareAndSet(false, true)) {
+        return;
+      }
+      try {
+        refreshExecutor.execute(() -> {
+          try {
+            T value = loader.apply(tokenId);
+            entries.put(tokenId, new Entry<>(value, clock.millis(), new AtomicBoolean()));
+          } catch (Exception e) {
+            refreshFailures.increment();
+            if (current != null) {
+              current.refreshing().set(false);
+            }
+            log.debug("token metadata refresh failed field={} tokenId={} error={}", name, tokenId, e.toString());
+          }
+        });
+      } catch (RejectedExecutionException e) {
+        if (current != null) {
+          current.refreshing().set(false);
+        }
+      }
+    }
+  }
+}
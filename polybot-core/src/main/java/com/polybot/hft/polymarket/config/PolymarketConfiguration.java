@@ -2,10 +2,13 @@ package com.polybot.hft.polymarket.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.polybot.hft.config.HftProperties;
+import com.polybot.hft.metrics.PolybotMetrics;
 import com.polybot.hft.polymarket.clob.PolymarketClobClient;
 import com.polybot.hft.polymarket.data.PolymarketDataApiClient;
 import com.polybot.hft.polymarket.gamma.PolymarketGammaClient;
+import com.polybot.hft.polymarket.http.HttpConnectionMetrics;
 import com.polybot.hft.polymarket.http.PolymarketHttpTransport;
+import com.polybot.hft.polymarket.http.PriorityRateLimiter;
 import com.polybot.hft.polymarket.http.RequestRateLimiter;
 import com.polybot.hft.polymarket.http.RetryPolicy;
 import com.polybot.hft.polymarket.http.TokenBucketRateLimiter;
@@ -16,18 +19,33 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.time.Clock;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 @Configuration(proxyBeanMethods=false)
 public class PolymarketConfiguration {
 
-  private static RequestRateLimiter buildRateLimiter(HftProperties.RateLimit cfg, Clock clock) {
+  private static RequestRateLimiter buildRateLimiter(HftProperties.RateLimit cfg, Clock clock, PolybotMetrics metrics) {
     if (cfg == null || !cfg.enabled()) {
       return RequestRateLimiter.noop();
     }
     if (cfg.requestsPerSecond() <= 0 || cfg.burst() <= 0) {
       return RequestRateLimiter.noop();
     }
-    return new TokenBucketRateLimiter(cfg.requestsPerSecond(), cfg.burst(), clock);
+    TokenBucketRateLimiter shared = new TokenBucketRateLimiter(cfg.requestsPerSecond(), cfg.burst(), clock);
+    List<PriorityRateLimiter.Route> routes = new ArrayList<>();
+    for (HftProperties.RouteLimit route : cfg.routes()) {
+      if (route.requestsPerSecond() <= 0) {
+        continue;
+      }
+      routes.add(new PriorityRateLimiter.Route(
+          route.method(),
+          route.pathPrefix(),
+          new TokenBucketRateLimiter(route.requestsPerSecond(), route.burst(), clock),
+          route.priority() ? PriorityRateLimiter.Lane.ORDER : PriorityRateLimiter.Lane.READ
+      ));
+    }
+    return new PriorityRateLimiter(shared, routes, metrics);
   }
 
   private static RetryPolicy buildRetryPolicy(HftProperties.Retry cfg) {
@@ -48,24 +66,32 @@ public class PolymarketConfiguration {
   }
 
   @Bean
-  public HttpClient httpClient() {
+  public HttpClient httpClient(HftProperties properties) {
+    HftProperties.Connection connection = properties.polymarket().rest().connection();
     return HttpClient.newBuilder()
-        .connectTimeout(Duration.ofSeconds(5))
-        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofMillis(connection.connectTimeoutMillis()))
+        .version(connection.http2Enabled() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
         .build();
   }
 
+  @Bean
+  public HttpConnectionMetrics httpConnectionMetrics(PolybotMetrics metrics) {
+    return new HttpConnectionMetrics(metrics);
+  }
+
   @Bean
   public PolymarketHttpTransport polymarketHttpTransport(
       HftProperties properties,
       HttpClient httpClient,
       ObjectMapper objectMapper,
-      Clock clock
+      Clock clock,
+      PolybotMetrics metrics,
+      HttpConnectionMetrics connectionMetrics
   ) {
     HftProperties.Polymarket polymarket = properties.polymarket();
-    RequestRateLimiter rateLimiter = buildRateLimiter(polymarket.rest().rateLimit(), clock);
+    RequestRateLimiter rateLimiter = buildRateLimiter(polymarket.rest().rateLimit(), clock, metrics);
     RetryPolicy retry = buildRetryPolicy(polymarket.rest().retry());
-    return new PolymarketHttpTransport(httpClient, objectMapper, rateLimiter, retry);
+    return new PolymarketHttpTransport(httpClient, objectMapper, rateLimiter, retry, connectionMetrics);
   }
 
   @Bean
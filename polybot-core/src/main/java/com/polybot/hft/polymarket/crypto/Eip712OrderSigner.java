@@ -0,0 +1,127 @@
+package com.polybot.hft.polymarket.crypto;
+
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.Hash;
+
+import java.math.BigInteger;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * EIP-712 order signing for one (chainId, exchange contract) domain.
+ * <p>
+ * The domain separator and the {@code Order} type hash are computed once. Per order, fields are encoded from
+ * primitives into a per-thread buffer, token id and address words come from a cache, and the remaining work is the
+ * two keccak hashes plus the ECDSA signature. Signatures are identical to {@link Eip712Signer#signOrder}.
+ */
+public final class Eip712OrderSigner {
+
+  private static final int WORD = 32;
+  private static final int ORDER_WORDS = 13;
+  private static final int MAX_CACHED_WORDS = 4096;
+
+  private static final Map<Domain, Eip712OrderSigner> SIGNERS = new ConcurrentHashMap<>();
+  private static final Map<String, byte[]> TOKEN_WORDS = new ConcurrentHashMap<>();
+  private static final Map<String, byte[]> ADDRESS_WORDS = new ConcurrentHashMap<>();
+  private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+  private final byte[] domainSeparator;
+
+  private Eip712OrderSigner(int chainId, String verifyingContract) {
+    this.domainSeparator = Eip712Signer.orderDomainSeparator(chainId, verifyingContract);
+  }
+
+  public static Eip712OrderSigner forExchange(int chainId, String verifyingContract) {
+    if (verifyingContract == null) {
+      throw new IllegalArgumentException("verifyingContract must not be null");
+    }
+    Domain domain = new Domain(chainId, verifyingContract.trim().toLowerCase(Locale.ROOT));
+    return SIGNERS.computeIfAbsent(domain, d -> new Eip712OrderSigner(d.chainId(), d.verifyingContract()));
+  }
+
+  public String sign(Credentials credentials, long salt, String maker, String signer, String taker, String tokenId, long makerAmount, long takerAmount, long expiration, long nonce, int feeRateBps, int side, int signatureType) {
+    byte[] digest = digest(salt, maker, signer, taker, tokenId, makerAmount, takerAmount, expiration, nonce, feeRateBps, side, signatureType);
+    return Eip712Signer.signDigest(credentials, digest);
+  }
+
+  byte[] digest(long salt, String maker, String signer, String taker, String tokenId, long makerAmount, long takerAmount, long expiration, long nonce, int feeRateBps, int side, int signatureType) {
+    Scratch scratch = SCRATCH.get();
+    byte[] struct = scratch.struct;
+    System.arraycopy(Eip712Signer.ORDER_TYPE_HASH, 0, struct, 0, WORD);
+    putUint(struct, 1, salt);
+    putWord(struct, 2, addressWord(maker));
+    putWord(struct, 3, addressWord(signer));
+    putWord(struct, 4, addressWord(taker));
+    putWord(struct, 5, tokenWord(tokenId));
+    putUint(struct, 6, makerAmount);
+    putUint(struct, 7, takerAmount);
+    putUint(struct, 8, expiration);
+    putUint(struct, 9, nonce);
+    putUint(struct, 10, feeRateBps);
+    putUint(struct, 11, side);
+    putUint(struct, 12, signatureType);
+    byte[] messageHash = Hash.sha3(struct);
+
+    byte[] prefixed = scratch.digest;
+    prefixed[0] = (byte) 0x19;
+    prefixed[1] = (byte) 0x01;
+    System.arraycopy(domainSeparator, 0, prefixed, 2, WORD);
+    System.arraycopy(messageHash, 0, prefixed, 2 + WORD, WORD);
+    return Hash.sha3(prefixed);
+  }
+
+  private static byte[] tokenWord(String tokenId) {
+    if (tokenId == null) {
+      throw new IllegalArgumentException("tokenId must not be null");
+    }
+    byte[] word = TOKEN_WORDS.get(tokenId);
+    if (word == null) {
+      word = Eip712Signer.uint256(new BigInteger(tokenId));
+      if (TOKEN_WORDS.size() >= MAX_CACHED_WORDS) {
+        TOKEN_WORDS.clear();
+      }
+      TOKEN_WORDS.put(tokenId, word);
+    }
+    return word;
+  }
+
+  private static byte[] addressWord(String address) {
+    String key = address == null ? "" : address;
+    byte[] word = ADDRESS_WORDS.get(key);
+    if (word == null) {
+      word = Eip712Signer.address(key);
+      if (ADDRESS_WORDS.size() >= MAX_CACHED_WORDS) {
+        ADDRESS_WORDS.clear();
+      }
+      ADDRESS_WORDS.put(key, word);
+    }
+    return word;
+  }
+
+  private static void putWord(byte[] struct, int index, byte[] word) {
+    System.arraycopy(word, 0, struct, index * WORD, WORD);
+  }
+
+  private static void putUint(byte[] struct, int index, long value) {
+    if (value < 0) {
+      throw new IllegalArgumentException("uint256 cannot be negative");
+    }
+    int end = (index + 1) * WORD;
+    for (int i = index * WORD; i < end - Long.BYTES; i++) {
+      struct[i] = 0;
+    }
+    for (int i = end - 1; i >= end - Long.BYTES; i--) {
+      struct[i] = (byte) value;
+      value >>>= 8;
+    }
+  }
+
+  private record Domain(int chainId, String verifyingContract) {
+  }
+
+  private static final class Scratch {
+    private final byte[] struct = new byte[ORDER_WORDS * WORD];
+    private final byte[] digest = new byte[2 + 2 * WORD];
+  }
+}
@@ -24,16 +24,31 @@ public class Eip712Signer {
     return signDigest(credentials, digest);
   }
 
+  static final byte[] ORDER_DOMAIN_TYPE_HASH = Hash.sha3("EIP712Domain(string name,string version,uint256 chainId,address verifyingContract)".getBytes(StandardCharsets.UTF_8));
+  static final byte[] ORDER_TYPE_HASH = Hash.sha3(("Order(uint256 salt,address maker,address signer,address taker,uint256 tokenId,uint256 makerAmount," + "uint256 takerAmount,uint256 expiration,uint256 nonce,uint256 feeRateBps,uint8 side,uint8 signatureType)").getBytes(StandardCharsets.UTF_8));
+
+  /**
+   * Reference order signature from decimal-string fields; the order builder signs through {@link Eip712OrderSigner},
+   * which produces the same signature without re-deriving the domain per order.
+   */
   public static String signOrder(Credentials credentials, int chainId, String verifyingContract, String salt, String maker, String signer, String taker, String tokenId, String makerAmount, String takerAmount, String expiration, String nonce, String feeRateBps, int side, int signatureType) {
-    byte[] domainSeparator = hashStruct(Hash.sha3("EIP712Domain(string name,string version,uint256 chainId,address verifyingContract)".getBytes(StandardCharsets.UTF_8)), hashString("Polymarket CTF Exchange"), hashString("1"), uint256(BigInteger.valueOf(chainId)), address(verifyingContract));
+    byte[] digest = orderDigest(chainId, verifyingContract, salt, maker, signer, taker, tokenId, makerAmount, takerAmount, expiration, nonce, feeRateBps, side, signatureType);
+    return signDigest(credentials, digest);
+  }
 
-    byte[] messageHash = hashStruct(Hash.sha3(("Order(uint256 salt,address maker,address signer,address taker,uint256 tokenId,uint256 makerAmount," + "uint256 takerAmount,uint256 expiration,uint256 nonce,uint256 feeRateBps,uint8 side,uint8 signatureType)").getBytes(StandardCharsets.UTF_8)), uint256(new BigInteger(salt)), address(maker), address(signer), address(taker), uint256(new BigInteger(tokenId)), uint256(new BigInteger(makerAmount)), uint256(new BigInteger(takerAmount)), uint256(new BigInteger(expiration)), uint256(new BigInteger(nonce)), uint256(new BigInteger(feeRateBps)), uint256(BigInteger.valueOf(side)), uint256(BigInteger.valueOf(signatureType)));
+  static byte[] orderDigest(int chainId, String verifyingContract, String salt, String maker, String signer, String taker, String tokenId, String makerAmount, String takerAmount, String expiration, String nonce, String feeRateBps, int side, int signatureType) {
+    byte[] domainSeparator = orderDomainSeparator(chainId, verifyingContract);
 
-    byte[] digest = eip712Digest(domainSeparator, messageHash);
-    return signDigest(credentials, digest);
+    byte[] messageHash = hashStruct(ORDER_TYPE_HASH, uint256(new BigInteger(salt)), address(maker), address(signer), address(taker), uint256(new BigInteger(tokenId)), uint256(new BigInteger(makerAmount)), uint256(new BigInteger(takerAmount)), uint256(new BigInteger(expiration)), uint256(new BigInteger(nonce)), uint256(new BigInteger(feeRateBps)), uint256(BigInteger.valueOf(side)), uint256(BigInteger.valueOf(signatureType)));
+
+    return eip712Digest(domainSeparator, messageHash);
+  }
+
+  static byte[] orderDomainSeparator(int chainId, String verifyingContract) {
+    return hashStruct(ORDER_DOMAIN_TYPE_HASH, hashString("Polymarket CTF Exchange"), hashString("1"), uint256(BigInteger.valueOf(chainId)), address(verifyingContract));
   }
 
-  private static String signDigest(Credentials credentials, byte[] digest32) {
+  static String signDigest(Credentials credentials, byte[] digest32) {
     Sign.SignatureData signatureData = Sign.signMessage(digest32, credentials.getEcKeyPair(), false);
     byte v = signatureData.getV()[0];
     if (v == 0 || v == 1) {
@@ -73,14 +88,14 @@ public class Eip712Signer {
     return Hash.sha3(value.getBytes(StandardCharsets.UTF_8));
   }
 
-  private static byte[] uint256(BigInteger value) {
+  static byte[] uint256(BigInteger value) {
     if (value.signum() < 0) {
       throw new IllegalArgumentException("uint256 cannot be negative");
     }
     return Numeric.toBytesPadded(value, 32);
   }
 
-  private static byte[] address(String address) {
+  static byte[] address(String address) {
     byte[] addr = Numeric.hexStringToByteArray(address == null ? "" : address.trim());
     if (addr.length != 20) {
       throw new IllegalArgumentException("Expected 20-byte address, got " + addr.length);
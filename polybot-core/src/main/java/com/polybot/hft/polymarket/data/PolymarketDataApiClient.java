@@ -33,6 +33,10 @@ public final class PolymarketDataApiClient {
   }
 
   private JsonNode getArray(String path, String userAddress, int limit, int offset) {
+    return transport.sendJson(arrayRequest(path, userAddress, limit, offset), JsonNode.class);
+  }
+
+  private HttpRequest arrayRequest(String path, String userAddress, int limit, int offset) {
     if (userAddress == null || userAddress.isBlank()) {
       throw new IllegalArgumentException("userAddress must not be blank");
     }
@@ -42,12 +46,11 @@ public final class PolymarketDataApiClient {
     query.put("limit", Integer.toString(Math.max(1, limit)));
     query.put("offset", Integer.toString(Math.max(0, offset)));
 
-    HttpRequest request = requestFactory.request(path, query)
+    return requestFactory.request(path, query)
         .GET()
         .timeout(HTTP_TIMEOUT)
         .header("Accept", "application/json")
         .build();
-    return transport.sendJson(request, JsonNode.class);
   }
 }
 
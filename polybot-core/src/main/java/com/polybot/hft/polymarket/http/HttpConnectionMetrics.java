@@ -0,0 +1,130 @@
+package com.polybot.hft.polymarket.http;
+
+import com.polybot.hft.metrics.PolybotMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+
+import javax.net.ssl.SSLSession;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Connection-level view of the REST transport: TLS handshakes, connection reuse and time-to-first-byte.
+ * <p>
+ * {@link HttpClient} does not expose its pool, so a connection is identified by its TLS session: the session id plus
+ * creation time. Not by the {@link SSLSession} instance, since every response wraps the session in a new object.
+ * A full handshake always yields a new key; a resumed session counts as new when it gets a fresh id (TLS 1.3
+ * resumption does), while a TLS 1.2 resumption that keeps the original id is indistinguishable from reuse.
+ * Plain-HTTP responses carry no session and are counted as {@code unknown}.
+ * <p>
+ * Idle time is tracked per host: the CLOB, gamma and data-api hosts share this transport but not connections.
+ */
+public final class HttpConnectionMetrics {
+
+  private static final int MAX_TRACKED_SESSIONS = 256;
+
+  // Access order, so the least recently used connection is dropped when full
+  private final Map<SessionKey, Boolean> sessions = new LinkedHashMap<>(64, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<SessionKey, Boolean> eldest) {
+      return size() > MAX_TRACKED_SESSIONS;
+    }
+  };
+  private final AtomicLong handshakes = new AtomicLong();
+  private final AtomicLong reused = new AtomicLong();
+  private final Map<String, AtomicLong> lastSendNanosByHost = new ConcurrentHashMap<>();
+  private final long createdNanos = System.nanoTime();
+
+  private final Counter handshakeCounter;
+  private final Timer ttfbNew;
+  private final Timer ttfbReused;
+  private final Timer ttfbUnknown;
+
+  public HttpConnectionMetrics(PolybotMetrics metrics) {
+    this.handshakeCounter = metrics.createCounter("polybot_http_tls_handshakes_total",
+        "REST responses served on a freshly handshaked TLS connection");
+    this.ttfbNew = ttfbTimer(metrics, "new");
+    this.ttfbReused = ttfbTimer(metrics, "reused");
+    this.ttfbUnknown = ttfbTimer(metrics, "unknown");
+    metrics.registerDoubleGauge("polybot_http_connection_reuse_ratio",
+        "Share of TLS REST responses served on an already open connection", this::reuseRatio);
+  }
+
+  private static Timer ttfbTimer(PolybotMetrics metrics, String connection) {
+    return metrics.createHistogramTimer("polybot_http_time_to_first_byte",
+        "Time from sending a REST request to receiving its response headers", Tag.of("connection", connection));
+  }
+
+  /**
+   * Sends {@code request} on {@code httpClient}, timing from the send to the response headers.
+   */
+  CompletableFuture<HttpResponse<String>> send(HttpClient httpClient, HttpRequest request) {
+    long start = System.nanoTime();
+    markSent(request.uri().getHost(), start);
+    long[] firstByteNanos = new long[1];
+    HttpResponse.BodyHandler<String> handler = info -> {
+      firstByteNanos[0] = System.nanoTime();
+      return HttpResponse.BodyHandlers.ofString().apply(info);
+    };
+    return httpClient.sendAsync(request, handler).whenComplete((response, error) -> {
+      if (response != null) {
+        record(response.sslSession().orElse(null), firstByteNanos[0] - start);
+      }
+    });
+  }
+
+  /**
+   * Nanoseconds since the last request to {@code host} went out, or since startup if none did.
+   */
+  public long idleNanos(String host) {
+    AtomicLong last = host == null ? null : lastSendNanosByHost.get(host);
+    return System.nanoTime() - (last == null ? createdNanos : last.get());
+  }
+
+  void markSent(String host, long nanos) {
+    if (host != null) {
+      lastSendNanosByHost.computeIfAbsent(host, h -> new AtomicLong()).set(nanos);
+    }
+  }
+
+  public long handshakes() {
+    return handshakes.get();
+  }
+
+  public double reuseRatio() {
+    long r = reused.get();
+    long total = r + handshakes.get();
+    return total == 0 ? 0.0 : (double) r / total;
+  }
+
+  void record(SSLSession session, long ttfbNanos) {
+    if (session == null) {
+      ttfbUnknown.record(ttfbNanos, TimeUnit.NANOSECONDS);
+      return;
+    }
+    if (firstSeen(session)) {
+      handshakes.incrementAndGet();
+      handshakeCounter.increment();
+      ttfbNew.record(ttfbNanos, TimeUnit.NANOSECONDS);
+    } else {
+      reused.incrementAndGet();
+      ttfbReused.record(ttfbNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private synchronized boolean firstSeen(SSLSession session) {
+    return sessions.put(new SessionKey(ByteBuffer.wrap(session.getId()), session.getCreationTime()), Boolean.TRUE) == null;
+  }
+
+  private record SessionKey(ByteBuffer id, long creationTime) {
+  }
+}
@@ -8,26 +8,39 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Rate-limited, retrying HTTP transport for the Polymarket REST APIs.
+ * <p>
+ * Everything runs through {@link #sendStringAsync}: the rate limiter hands out a delay instead of blocking, and
+ * both rate-limit waits and retry backoff are scheduled, so in-flight requests do not hold a thread. The blocking
+ * {@link #sendString}/{@link #sendJson} wait on the same pipeline.
+ */
 public final class PolymarketHttpTransport {
 
   private final HttpClient httpClient;
   private final ObjectMapper objectMapper;
   private final RequestRateLimiter rateLimiter;
   private final RetryPolicy retryPolicy;
+  private final HttpConnectionMetrics connectionMetrics;
 
   public PolymarketHttpTransport(
       HttpClient httpClient,
       ObjectMapper objectMapper,
       RequestRateLimiter rateLimiter,
-      RetryPolicy retryPolicy
+      RetryPolicy retryPolicy,
+      HttpConnectionMetrics connectionMetrics
   ) {
     this.httpClient = Objects.requireNonNull(httpClient, "httpClient");
     this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper");
     this.rateLimiter = Objects.requireNonNull(rateLimiter, "rateLimiter");
     this.retryPolicy = Objects.requireNonNull(retryPolicy, "retryPolicy");
+    this.connectionMetrics = Objects.requireNonNull(connectionMetrics, "connectionMetrics");
   }
 
   private static boolean isIdempotent(String method) {
@@ -42,64 +55,84 @@ public final class PolymarketHttpTransport {
     return delayMillis + jitter;
   }
 
-  private static void sleepQuietly(long delayMillis) {
-    if (delayMillis <= 0) {
-      return;
-    }
+  private static CompletableFuture<Void> delay(long delay, TimeUnit unit) {
+    return CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(delay, unit));
+  }
+
+  private static <T> T await(CompletableFuture<T> future, HttpRequest request) {
     try {
-      TimeUnit.MILLISECONDS.sleep(delayMillis);
+      return future.get();
     } catch (InterruptedException e) {
+      future.cancel(true);
       Thread.currentThread().interrupt();
+      throw new RuntimeException("HTTP request interrupted: " + request.uri(), e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException re) {
+        throw re;
+      }
+      throw new RuntimeException("HTTP request failed: " + request.uri(), cause);
     }
   }
 
   public <T> T sendJson(HttpRequest request, Class<T> type) {
-    String body = sendString(request, isIdempotent(request.method()));
-    try {
-      return objectMapper.readValue(body, type);
-    } catch (IOException e) {
-      throw new RuntimeException("Failed to decode JSON response from " + request.uri(), e);
-    }
+    return await(sendJsonAsync(request, type), request);
   }
 
   public String sendString(HttpRequest request, boolean idempotent) {
+    return await(sendStringAsync(request, idempotent), request);
+  }
+
+  public <T> CompletableFuture<T> sendJsonAsync(HttpRequest request, Class<T> type) {
+    return sendStringAsync(request, isIdempotent(request.method())).thenApply(body -> {
+      try {
+        return objectMapper.readValue(body, type);
+      } catch (IOException e) {
+        throw new RuntimeException("Failed to decode JSON response from " + request.uri(), e);
+      }
+    });
+  }
+
+  /**
+   * Sends {@code request}, retrying retryable statuses and I/O errors when {@code idempotent}; the future fails
+   * with {@link PolymarketHttpException} for a non-2xx final response.
+   */
+  public CompletableFuture<String> sendStringAsync(HttpRequest request, boolean idempotent) {
     int maxAttempts = (idempotent && retryPolicy.enabled())
         ? Math.max(1, retryPolicy.maxAttempts())
         : 1;
+    return attempt(request, 1, maxAttempts);
+  }
 
-    for (int attempt = 1; attempt <= maxAttempts; attempt++) {
-      rateLimiter.acquire();
-      try {
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-        int status = response.statusCode();
-        if (status >= 200 && status < 300) {
-          return response.body();
-        }
+  private CompletableFuture<String> attempt(HttpRequest request, int attempt, int maxAttempts) {
+    CompletableFuture<HttpResponse<String>> sent = rateLimiter.acquireAsync(request)
+        .thenCompose(ignored -> connectionMetrics.send(httpClient, request));
 
-        if (attempt < maxAttempts && retryPolicy.isRetryableStatus(status)) {
-          long delayMillis = retryPolicy.computeDelayMillis(
-              attempt,
-              response.headers().firstValue("retry-after")
-          );
-          sleepQuietly(jitter(delayMillis));
-          continue;
+    return sent.handle((response, error) -> {
+      if (error != null) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof IOException && attempt < maxAttempts) {
+          return retryAfter(request, attempt, maxAttempts, retryPolicy.computeDelayMillis(attempt, Optional.empty()));
         }
-
-        throw new PolymarketHttpException(request.method(), request.uri(), status, response.body());
-      } catch (InterruptedException e) {
-        Thread.currentThread().interrupt();
-        throw new RuntimeException("HTTP request interrupted: " + request.uri(), e);
-      } catch (IOException e) {
-        if (attempt < maxAttempts) {
-          long delayMillis = retryPolicy.computeDelayMillis(attempt, Optional.empty());
-          sleepQuietly(jitter(delayMillis));
-          continue;
+        if (cause instanceof RuntimeException re) {
+          return CompletableFuture.<String>failedFuture(re);
         }
-        throw new RuntimeException("HTTP request failed: " + request.uri(), e);
+        return CompletableFuture.<String>failedFuture(new RuntimeException("HTTP request failed: " + request.uri(), cause));
       }
-    }
 
-    throw new IllegalStateException("Unreachable");
+      int status = response.statusCode();
+      if (status >= 200 && status < 300) {
+        return CompletableFuture.completedFuture(response.body());
+      }
+      if (attempt < maxAttempts && retryPolicy.isRetryableStatus(status)) {
+        long delayMillis = retryPolicy.computeDelayMillis(attempt, response.headers().firstValue("retry-after"));
+        return retryAfter(request, attempt, maxAttempts, delayMillis);
+      }
+      return CompletableFuture.<String>failedFuture(new PolymarketHttpException(request.method(), request.uri(), status, response.body()));
+    }).thenCompose(f -> f);
+  }
+
+  private CompletableFuture<String> retryAfter(HttpRequest request, int attempt, int maxAttempts, long delayMillis) {
+    return delay(jitter(delayMillis), TimeUnit.MILLISECONDS).thenCompose(ignored -> attempt(request, attempt + 1, maxAttempts));
   }
 }
-
@@ -0,0 +1,169 @@
+package com.polybot.hft.polymarket.http;
+
+import com.polybot.hft.metrics.PolybotMetrics;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+
+import java.net.http.HttpRequest;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limiter with per-route buckets and two priority lanes in front of a shared bucket.
+ * <p>
+ * A request first waits on the bucket of its route (longest matching method + path prefix), so a burst of status
+ * polls only spends the polling route's budget. It then takes a slot from the shared bucket; while that bucket is
+ * exhausted, waiting requests are served {@link Lane#ORDER} first, so order posts and cancels jump every queued
+ * read. Time spent waiting is recorded per lane in {@code polybot_http_rate_limit_wait}.
+ */
+public final class PriorityRateLimiter implements RequestRateLimiter {
+
+  private static final CompletableFuture<Void> GRANTED = CompletableFuture.completedFuture(null);
+
+  public enum Lane {
+    ORDER,
+    READ
+  }
+
+  public record Route(String method, String pathPrefix, TokenBucketRateLimiter bucket, Lane lane) {
+    public Route {
+      method = method.toUpperCase(Locale.ROOT);
+      Objects.requireNonNull(pathPrefix, "pathPrefix");
+      Objects.requireNonNull(bucket, "bucket");
+      Objects.requireNonNull(lane, "lane");
+    }
+
+    boolean matches(String requestMethod, String path) {
+      return method.equalsIgnoreCase(requestMethod) && path.startsWith(pathPrefix);
+    }
+  }
+
+  private final TokenBucketRateLimiter shared;
+  private final List<Route> routes;
+  private final Map<Lane, Queue<CompletableFuture<Void>>> waiting = new EnumMap<>(Lane.class);
+  private final Map<Lane, Timer> waitTimers = new EnumMap<>(Lane.class);
+
+  private boolean drainScheduled;
+
+  public PriorityRateLimiter(TokenBucketRateLimiter shared, List<Route> routes, PolybotMetrics metrics) {
+    this.shared = Objects.requireNonNull(shared, "shared");
+    List<Route> sorted = new ArrayList<>(routes == null ? List.of() : routes);
+    sorted.sort(Comparator.comparingInt((Route r) -> r.pathPrefix().length()).reversed());
+    this.routes = List.copyOf(sorted);
+    for (Lane lane : Lane.values()) {
+      waiting.put(lane, new ArrayDeque<>());
+      waitTimers.put(lane, metrics.createHistogramTimer("polybot_http_rate_limit_wait",
+          "Time HTTP requests spend waiting on the rate limiter", Tag.of("lane", lane.name().toLowerCase(Locale.ROOT))));
+    }
+  }
+
+  /**
+   * Blocking callers without a request bypass the lanes and reserve from the shared bucket directly.
+   */
+  @Override
+  public long reserveNanos() {
+    return shared.reserveNanos();
+  }
+
+  @Override
+  public CompletableFuture<Void> acquireAsync(HttpRequest request) {
+    Route route = route(request);
+    Lane lane = route == null ? Lane.READ : route.lane();
+    long routeWaitNanos = route == null ? 0L : route.bucket().reserveNanos();
+    long start = System.nanoTime();
+
+    CompletableFuture<Void> permit = routeWaitNanos <= 0
+        ? enqueue(lane)
+        : CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(routeWaitNanos, TimeUnit.NANOSECONDS))
+            .thenCompose(ignored -> enqueue(lane));
+    Timer timer = waitTimers.get(lane);
+    if (permit.isDone()) {
+      timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      return permit;
+    }
+    return permit.whenComplete((v, e) -> timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+  }
+
+  Route route(HttpRequest request) {
+    String path = request.uri().getRawPath();
+    if (path == null) {
+      return null;
+    }
+    for (Route route : routes) {
+      if (route.matches(request.method(), path)) {
+        return route;
+      }
+    }
+    return null;
+  }
+
+  private CompletableFuture<Void> enqueue(Lane lane) {
+    CompletableFuture<Void> permit;
+    synchronized (this) {
+      if (nothingWaiting() && shared.tryReserveNanos() <= 0) {
+        return GRANTED;
+      }
+      permit = new CompletableFuture<>();
+      waiting.get(lane).add(permit);
+    }
+    drain();
+    return permit;
+  }
+
+  private void drain() {
+    List<CompletableFuture<Void>> granted = new ArrayList<>();
+    long retryNanos = 0L;
+    synchronized (this) {
+      while (!nothingWaiting()) {
+        long waitNanos = shared.tryReserveNanos();
+        if (waitNanos > 0) {
+          if (!drainScheduled) {
+            drainScheduled = true;
+            retryNanos = waitNanos;
+          }
+          break;
+        }
+        granted.add(nextWaiter());
+      }
+    }
+    if (retryNanos > 0) {
+      CompletableFuture.delayedExecutor(retryNanos, TimeUnit.NANOSECONDS).execute(() -> {
+        synchronized (this) {
+          drainScheduled = false;
+        }
+        drain();
+      });
+    }
+    for (CompletableFuture<Void> permit : granted) {
+      permit.complete(null);
+    }
+  }
+
+  private CompletableFuture<Void> nextWaiter() {
+    for (Lane lane : Lane.values()) {
+      CompletableFuture<Void> next = waiting.get(lane).poll();
+      if (next != null) {
+        return next;
+      }
+    }
+    return null;
+  }
+
+  private boolean nothingWaiting() {
+    for (Queue<CompletableFuture<Void>> queue : waiting.values()) {
+      if (!queue.isEmpty()) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
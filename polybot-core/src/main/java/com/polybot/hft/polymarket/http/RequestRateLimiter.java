@@ -1,12 +1,29 @@
 package com.polybot.hft.polymarket.http;
 
+import java.net.http.HttpRequest;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 public interface RequestRateLimiter {
 
   static RequestRateLimiter noop() {
-    return () -> {
-    };
+    return () -> 0L;
   }
 
-  void acquire();
-}
+  /**
+   * Reserves the next request slot without blocking and returns how long the caller must wait before sending, in
+   * nanoseconds ({@code 0} when it may send immediately). A reservation is never given back.
+   */
+  long reserveNanos();
 
+  /**
+   * Completes when {@code request} may be sent; never blocks the caller.
+   */
+  default CompletableFuture<Void> acquireAsync(HttpRequest request) {
+    long waitNanos = reserveNanos();
+    if (waitNanos <= 0) {
+      return CompletableFuture.completedFuture(null);
+    }
+    return CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS));
+  }
+}
@@ -1,19 +1,22 @@
 package com.polybot.hft.polymarket.http;
 
 import java.time.Clock;
-import java.time.Duration;
 import java.time.Instant;
 import java.util.Objects;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Token bucket expressed as a reservation timeline (GCRA): each request advances the theoretical arrival time by
+ * one emission interval, and may go immediately while that time is within {@code burst} intervals of now.
+ * Reservations are a single CAS, so callers never block on the limiter itself; they either send straight away or
+ * schedule the send after the returned delay.
+ */
 public final class TokenBucketRateLimiter implements RequestRateLimiter {
 
-  private final double tokensPerSecond;
-  private final double burst;
+  private final long intervalNanos;
+  private final long burstNanos;
   private final Clock clock;
-
-  private double availableTokens;
-  private Instant lastRefill;
+  private final AtomicLong theoreticalArrivalNanos = new AtomicLong(Long.MIN_VALUE);
 
   public TokenBucketRateLimiter(double tokensPerSecond, int burst, Clock clock) {
     if (tokensPerSecond <= 0) {
@@ -22,47 +25,44 @@ public final class TokenBucketRateLimiter implements RequestRateLimiter {
     if (burst <= 0) {
       throw new IllegalArgumentException("burst must be > 0");
     }
-    this.tokensPerSecond = tokensPerSecond;
-    this.burst = burst;
+    this.intervalNanos = Math.max(1L, (long) Math.ceil(1_000_000_000.0 / tokensPerSecond));
+    this.burstNanos = intervalNanos * burst;
     this.clock = Objects.requireNonNull(clock, "clock");
-    this.availableTokens = burst;
-    this.lastRefill = Instant.now(clock);
   }
 
-  private static void sleepQuietly(long millis) {
-    try {
-      TimeUnit.MILLISECONDS.sleep(millis);
-    } catch (InterruptedException e) {
-      Thread.currentThread().interrupt();
+  @Override
+  public long reserveNanos() {
+    long now = nowNanos();
+    while (true) {
+      long tat = theoreticalArrivalNanos.get();
+      long next = Math.max(tat, now) + intervalNanos;
+      if (theoreticalArrivalNanos.compareAndSet(tat, next)) {
+        return Math.max(0L, next - burstNanos - now);
+      }
     }
   }
 
-  @Override
-  public void acquire() {
+  /**
+   * Takes a slot only if one is free now and returns {@code 0}; otherwise reserves nothing and returns the wait
+   * until the next slot frees up.
+   */
+  public long tryReserveNanos() {
+    long now = nowNanos();
     while (true) {
-      long sleepMillis = 0;
-      synchronized (this) {
-        refill();
-        if (availableTokens >= 1.0) {
-          availableTokens -= 1.0;
-          return;
-        }
-        double missing = 1.0 - availableTokens;
-        sleepMillis = Math.max(1, (long) Math.ceil(missing / tokensPerSecond * 1000.0));
+      long tat = theoreticalArrivalNanos.get();
+      long next = Math.max(tat, now) + intervalNanos;
+      long waitNanos = next - burstNanos - now;
+      if (waitNanos > 0) {
+        return waitNanos;
+      }
+      if (theoreticalArrivalNanos.compareAndSet(tat, next)) {
+        return 0L;
       }
-      sleepQuietly(sleepMillis);
     }
   }
 
-  private void refill() {
-    Instant now = Instant.now(clock);
-    Duration elapsed = Duration.between(lastRefill, now);
-    if (elapsed.isNegative() || elapsed.isZero()) {
-      return;
-    }
-    double add = elapsed.toNanos() / 1_000_000_000.0 * tokensPerSecond;
-    availableTokens = Math.min(burst, availableTokens + add);
-    lastRefill = now;
+  private long nowNanos() {
+    Instant now = clock.instant();
+    return now.getEpochSecond() * 1_000_000_000L + now.getNano();
   }
 }
-
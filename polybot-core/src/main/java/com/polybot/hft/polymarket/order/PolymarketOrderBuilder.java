@@ -1,7 +1,7 @@
 package com.polybot.hft.polymarket.order;
 
 import com.polybot.hft.domain.OrderSide;
-import com.polybot.hft.polymarket.crypto.Eip712Signer;
+import com.polybot.hft.polymarket.crypto.Eip712OrderSigner;
 import com.polybot.hft.polymarket.model.SignedOrder;
 import com.polybot.hft.polymarket.onchain.ContractConfig;
 import org.web3j.crypto.Credentials;
@@ -17,16 +17,20 @@ public final class PolymarketOrderBuilder {
 
   private static final String ZERO_ADDRESS = "0x0000000000000000000000000000000000000000";
 
-  private final int chainId;
   private final Credentials signerCredentials;
   private final int signatureType;
   private final String funderAddress;
+  private final ContractConfig contractConfig;
+  private final Eip712OrderSigner exchangeSigner;
+  private final Eip712OrderSigner negRiskExchangeSigner;
 
   public PolymarketOrderBuilder(int chainId, Credentials signerCredentials, int signatureType, String funderAddress) {
-    this.chainId = chainId;
     this.signerCredentials = Objects.requireNonNull(signerCredentials, "signerCredentials");
     this.signatureType = signatureType;
     this.funderAddress = (funderAddress == null || funderAddress.isBlank()) ? null : funderAddress;
+    this.contractConfig = ContractConfig.forChainId(chainId);
+    this.exchangeSigner = Eip712OrderSigner.forExchange(chainId, contractConfig.exchange());
+    this.negRiskExchangeSigner = Eip712OrderSigner.forExchange(chainId, contractConfig.negRiskExchange());
   }
 
   private static void validatePrice(BigDecimal price, BigDecimal tickSize) {
@@ -107,7 +111,7 @@ public final class PolymarketOrderBuilder {
       rawTakerAmt = clampAmountDecimals(rawTakerAmt, roundConfig.amountDecimals());
     }
 
-    return signOrder(tokenId, side, toBaseUnits(rawMakerAmt, ContractConfig.forChainId(chainId).collateralTokenDecimals()), toBaseUnits(rawTakerAmt, ContractConfig.forChainId(chainId).collateralTokenDecimals()), negRisk, feeRateBps, nonce, expirationSeconds, taker);
+    return signOrder(tokenId, side, toBaseUnits(rawMakerAmt, contractConfig.collateralTokenDecimals()), toBaseUnits(rawTakerAmt, contractConfig.collateralTokenDecimals()), negRisk, feeRateBps, nonce, expirationSeconds, taker);
   }
 
   public SignedOrder buildMarketOrder(String tokenId, OrderSide side, BigDecimal amount, BigDecimal price, BigDecimal tickSize, boolean negRisk, Integer feeRateBps, Long nonce, String taker) {
@@ -128,24 +132,24 @@ public final class PolymarketOrderBuilder {
       rawTakerAmt = clampAmountDecimals(rawTakerAmt, roundConfig.amountDecimals());
     }
 
-    return signOrder(tokenId, side, toBaseUnits(rawMakerAmt, ContractConfig.forChainId(chainId).collateralTokenDecimals()), toBaseUnits(rawTakerAmt, ContractConfig.forChainId(chainId).collateralTokenDecimals()), negRisk, feeRateBps, nonce, 0L, taker);
+    return signOrder(tokenId, side, toBaseUnits(rawMakerAmt, contractConfig.collateralTokenDecimals()), toBaseUnits(rawTakerAmt, contractConfig.collateralTokenDecimals()), negRisk, feeRateBps, nonce, 0L, taker);
   }
 
   private SignedOrder signOrder(String tokenId, OrderSide side, BigInteger makerAmount, BigInteger takerAmount, boolean negRisk, Integer feeRateBps, Long nonce, Long expirationSeconds, String taker) {
-    ContractConfig contractConfig = ContractConfig.forChainId(chainId);
-    String exchangeContract = negRisk ? contractConfig.negRiskExchange() : contractConfig.exchange();
+    Eip712OrderSigner orderSigner = negRisk ? negRiskExchangeSigner : exchangeSigner;
 
     String signerAddress = signerCredentials.getAddress();
     String makerAddress = (funderAddress == null) ? signerAddress : funderAddress;
     String takerAddress = (taker == null || taker.isBlank()) ? ZERO_ADDRESS : taker;
 
-    String salt = Long.toString(Math.round(ThreadLocalRandom.current().nextDouble() * (double) Instant.now().toEpochMilli()));
+    long salt = Math.round(ThreadLocalRandom.current().nextDouble() * (double) Instant.now().toEpochMilli());
+    long expiration = expirationSeconds == null ? 0L : expirationSeconds;
+    long orderNonce = nonce == null ? 0L : nonce;
+    int feeRate = feeRateBps == null ? 0 : feeRateBps;
 
-    SignedOrder unsignedOrder = new SignedOrder(salt, makerAddress, signerAddress, takerAddress, tokenId, makerAmount.toString(), takerAmount.toString(), Long.toString(expirationSeconds == null ? 0L : expirationSeconds), Long.toString(nonce == null ? 0L : nonce), Integer.toString(feeRateBps == null ? 0 : feeRateBps), side, signatureType, "");
+    String signature = orderSigner.sign(signerCredentials, salt, makerAddress, signerAddress, takerAddress, tokenId, makerAmount.longValueExact(), takerAmount.longValueExact(), expiration, orderNonce, feeRate, side.toEip712Value(), signatureType);
 
-    String signature = Eip712Signer.signOrder(signerCredentials, chainId, exchangeContract, unsignedOrder.salt(), unsignedOrder.maker(), unsignedOrder.signer(), unsignedOrder.taker(), unsignedOrder.tokenId(), unsignedOrder.makerAmount(), unsignedOrder.takerAmount(), unsignedOrder.expiration(), unsignedOrder.nonce(), unsignedOrder.feeRateBps(), unsignedOrder.side().toEip712Value(), unsignedOrder.signatureType());
-
-    return new SignedOrder(unsignedOrder.salt(), unsignedOrder.maker(), unsignedOrder.signer(), unsignedOrder.taker(), unsignedOrder.tokenId(), unsignedOrder.makerAmount(), unsignedOrder.takerAmount(), unsignedOrder.expiration(), unsignedOrder.nonce(), unsignedOrder.feeRateBps(), unsignedOrder.side(), unsignedOrder.signatureType(), signature);
+    return new SignedOrder(Long.toString(salt), makerAddress, signerAddress, takerAddress, tokenId, makerAmount.toString(), takerAmount.toString(), Long.toString(expiration), Long.toString(orderNonce), Integer.toString(feeRate), side, signatureType, signature);
   }
 
   private record RoundConfig(int priceDecimals, int sizeDecimals, int amountDecimals) {
@@ -2,6 +2,8 @@ package com.polybot.hft.polymarket.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.polybot.hft.config.HftProperties;
 import com.polybot.hft.domain.OrderSide;
 import com.polybot.hft.polymarket.api.LimitOrderRequest;
@@ -10,6 +12,7 @@ import com.polybot.hft.polymarket.api.OrderSubmissionResult;
 import com.polybot.hft.polymarket.api.PolymarketHealthResponse;
 import com.polybot.hft.polymarket.auth.PolymarketAuthContext;
 import com.polybot.hft.polymarket.clob.PolymarketClobClient;
+import com.polybot.hft.polymarket.clob.TokenMetadataCache;
 import com.polybot.hft.polymarket.model.ApiCreds;
 import com.polybot.hft.polymarket.model.ClobOrderType;
 import com.polybot.hft.polymarket.model.OrderBook;
@@ -22,9 +25,12 @@ import org.springframework.stereotype.Service;
 import org.web3j.crypto.Credentials;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.UUID;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @Slf4j
@@ -35,6 +41,8 @@ public class PolymarketTradingService {
   private final @NonNull PolymarketAuthContext authContext;
   private final @NonNull PolymarketClobClient clobClient;
   private final @NonNull ObjectMapper objectMapper;
+  private final @NonNull PresignedOrderCache presignedOrders;
+  private final @NonNull TokenMetadataCache tokenMetadata;
 
   public OrderBook getOrderBook(String tokenId) {
     log.info("Fetching order book for tokenId={}", tokenId);
@@ -42,15 +50,23 @@ public class PolymarketTradingService {
   }
 
   public BigDecimal getTickSize(String tokenId) {
-    return clobClient.getMinimumTickSize(tokenId);
+    return tokenMetadata.tickSize(tokenId);
   }
 
   public boolean isNegRisk(String tokenId) {
-    return clobClient.isNegRisk(tokenId);
+    return tokenMetadata.negRisk(tokenId);
   }
 
   public int getFeeRateBps(String tokenId) {
-    return clobClient.getBaseFeeBps(tokenId);
+    return tokenMetadata.feeRateBps(tokenId);
+  }
+
+  /**
+   * Fetches tick size, neg-risk and fee rate for the given tokens in the background so the first order on each
+   * does not wait on metadata round-trips.
+   */
+  public void warmTokenMetadata(List<String> tokenIds) {
+    tokenMetadata.warmUp(tokenIds);
   }
 
   public OrderSubmissionResult placeLimitOrder(LimitOrderRequest request) {
@@ -60,27 +76,10 @@ public class PolymarketTradingService {
     enforceRiskLimits(request.side(), request.price(), request.size());
 
     Credentials signer = authContext.requireSignerCredentials();
-    SignedOrder order = orderBuilder(signer).buildLimitOrder(
-        request.tokenId(),
-        request.side(),
-        request.price(),
-        request.size(),
-        resolveTickSize(request.tokenId(), request.tickSize()),
-        resolveNegRisk(request.tokenId(), request.negRisk()),
-        resolveFeeRateBps(request.tokenId(), request.feeRateBps()),
-        request.nonce(),
-        request.expirationSeconds(),
-        request.taker()
-    );
+    SignedOrder order = buildLimitOrder(orderBuilder(signer), request);
 
     if (properties.mode() == HftProperties.TradingMode.PAPER) {
-      String paperOrderId = "paper-" + UUID.randomUUID();
-      JsonNode paperResp = objectMapper.createObjectNode()
-          .put("mode", properties.mode().name())
-          .put("orderID", paperOrderId)
-          .put("orderId", paperOrderId)
-          .put("status", "OPEN");
-      return new OrderSubmissionResult(properties.mode(), order, paperResp);
+      return new OrderSubmissionResult(properties.mode(), order, paperOrderResponse());
     }
 
     ApiCreds creds = authContext.requireApiCreds();
@@ -95,6 +94,85 @@ public class PolymarketTradingService {
     return new OrderSubmissionResult(properties.mode(), order, resp);
   }
 
+  /**
+   * Signs and posts several limit orders, in CLOB requests of at most {@link PolymarketClobClient#MAX_BATCH_ORDERS}.
+   * Risk limits apply to every order and reject the whole batch. Results are returned in request order, each carrying
+   * that order's entry of the CLOB response; when a response does not have exactly one entry per order, the orders of
+   * that request are reported failed rather than paired with the wrong entry. A request failing after an earlier one
+   * went through fails only its own orders, so the ones already on the book are still reported.
+   */
+  public List<OrderSubmissionResult> placeLimitOrders(List<LimitOrderRequest> requests) {
+    if (properties.risk().killSwitch()) {
+      throw new IllegalStateException("Trading disabled by kill switch (hft.risk.kill-switch=true)");
+    }
+    for (LimitOrderRequest request : requests) {
+      enforceRiskLimits(request.side(), request.price(), request.size());
+    }
+
+    Credentials signer = authContext.requireSignerCredentials();
+    PolymarketOrderBuilder builder = orderBuilder(signer);
+    List<SignedOrder> orders = new ArrayList<>(requests.size());
+    for (LimitOrderRequest request : requests) {
+      orders.add(buildLimitOrder(builder, request));
+    }
+
+    List<OrderSubmissionResult> results = new ArrayList<>(orders.size());
+    if (properties.mode() == HftProperties.TradingMode.PAPER) {
+      for (SignedOrder order : orders) {
+        results.add(new OrderSubmissionResult(properties.mode(), order, paperOrderResponse()));
+      }
+      return results;
+    }
+
+    ApiCreds creds = authContext.requireApiCreds();
+    for (int from = 0; from < orders.size(); from += PolymarketClobClient.MAX_BATCH_ORDERS) {
+      int to = Math.min(from + PolymarketClobClient.MAX_BATCH_ORDERS, orders.size());
+      List<PolymarketClobClient.OrderPost> posts = new ArrayList<>(to - from);
+      for (int i = from; i < to; i++) {
+        LimitOrderRequest request = requests.get(i);
+        posts.add(new PolymarketClobClient.OrderPost(
+            orders.get(i),
+            request.orderType() == null ? ClobOrderType.GTC : request.orderType(),
+            request.deferExec() != null && request.deferExec()
+        ));
+      }
+
+      JsonNode resp;
+      String failure = null;
+      try {
+        resp = clobClient.postOrders(signer, creds, posts);
+      } catch (RuntimeException e) {
+        if (from == 0) {
+          throw e;
+        }
+        resp = null;
+        failure = e.toString();
+      }
+      boolean aligned = resp != null && resp.isArray() && resp.size() == posts.size();
+      if (!aligned && failure == null) {
+        failure = "batch response has " + (resp != null && resp.isArray() ? resp.size() : 1) + " entries for " + posts.size() + " orders";
+      }
+      if (failure != null) {
+        log.warn("Marking {} batch orders failed: {}", posts.size(), failure);
+      }
+      for (int i = from; i < to; i++) {
+        JsonNode entry = aligned ? resp.get(i - from) : failedOrderResponse(failure, resp);
+        results.add(new OrderSubmissionResult(properties.mode(), orders.get(i), entry));
+      }
+    }
+    return results;
+  }
+
+  private JsonNode failedOrderResponse(String error, JsonNode response) {
+    ObjectNode failed = objectMapper.createObjectNode()
+        .put("success", false)
+        .put("errorMsg", error);
+    if (response != null) {
+      failed.set("response", response);
+    }
+    return failed;
+  }
+
   public OrderSubmissionResult placeMarketOrder(MarketOrderRequest request) {
     if (properties.risk().killSwitch()) {
       throw new IllegalStateException("Trading disabled by kill switch (hft.risk.kill-switch=true)");
@@ -149,6 +227,22 @@ public class PolymarketTradingService {
     return clobClient.cancelOrder(signer, creds, orderId);
   }
 
+  public JsonNode cancelOrders(List<String> orderIds) {
+    if (properties.mode() == HftProperties.TradingMode.PAPER) {
+      ObjectNode resp = objectMapper.createObjectNode().put("mode", properties.mode().name());
+      ArrayNode canceled = resp.putArray("canceled");
+      for (String orderId : orderIds) {
+        canceled.add(orderId);
+      }
+      resp.putObject("not_canceled");
+      return resp;
+    }
+
+    Credentials signer = authContext.requireSignerCredentials();
+    ApiCreds creds = authContext.requireApiCreds();
+    return clobClient.cancelOrders(signer, creds, orderIds);
+  }
+
   public JsonNode getOrder(String orderId) {
     if (properties.mode() == HftProperties.TradingMode.PAPER) {
       return objectMapper.createObjectNode()
@@ -160,6 +254,18 @@ public class PolymarketTradingService {
     return clobClient.getOrder(signer, creds, orderId);
   }
 
+  /**
+   * Non-blocking {@link #getOrder}, so status lookups of many orders can be in flight at once.
+   */
+  public CompletableFuture<JsonNode> getOrderAsync(String orderId) {
+    if (properties.mode() == HftProperties.TradingMode.PAPER) {
+      return CompletableFuture.completedFuture(getOrder(orderId));
+    }
+    Credentials signer = authContext.requireSignerCredentials();
+    ApiCreds creds = authContext.requireApiCreds();
+    return clobClient.getOrderAsync(signer, creds, orderId);
+  }
+
   public JsonNode getOrders(Map<String, String> query) {
     if (properties.mode() == HftProperties.TradingMode.PAPER) {
       return objectMapper.createObjectNode()
@@ -226,16 +332,38 @@ public class PolymarketTradingService {
     );
   }
 
+  private SignedOrder buildLimitOrder(PolymarketOrderBuilder builder, LimitOrderRequest request) {
+    Integer feeRateBps = resolveFeeRateBps(request.tokenId(), request.feeRateBps());
+    PresignedOrderCache.Terms terms = new PresignedOrderCache.Terms(
+        resolveTickSize(request.tokenId(), request.tickSize()),
+        resolveNegRisk(request.tokenId(), request.negRisk()),
+        feeRateBps == null ? 0 : feeRateBps,
+        request.nonce() == null ? 0L : request.nonce(),
+        request.expirationSeconds() == null ? 0L : request.expirationSeconds(),
+        request.taker()
+    );
+    return presignedOrders.signLimitOrder(builder, request.tokenId(), request.side(), request.price(), request.size(), terms);
+  }
+
+  private JsonNode paperOrderResponse() {
+    String paperOrderId = "paper-" + UUID.randomUUID();
+    return objectMapper.createObjectNode()
+        .put("mode", properties.mode().name())
+        .put("orderID", paperOrderId)
+        .put("orderId", paperOrderId)
+        .put("status", "OPEN");
+  }
+
   private BigDecimal resolveTickSize(String tokenId, BigDecimal tickSizeOverride) {
-    return tickSizeOverride != null ? tickSizeOverride : clobClient.getMinimumTickSize(tokenId);
+    return tickSizeOverride != null ? tickSizeOverride : tokenMetadata.tickSize(tokenId);
   }
 
   private boolean resolveNegRisk(String tokenId, Boolean negRiskOverride) {
-    return negRiskOverride != null ? negRiskOverride : clobClient.isNegRisk(tokenId);
+    return negRiskOverride != null ? negRiskOverride : tokenMetadata.negRisk(tokenId);
   }
 
   private Integer resolveFeeRateBps(String tokenId, Integer feeRateBpsOverride) {
-    return feeRateBpsOverride != null ? feeRateBpsOverride : clobClient.getBaseFeeBps(tokenId);
+    return feeRateBpsOverride != null ? feeRateBpsOverride : tokenMetadata.feeRateBps(tokenId);
   }
 
   private void enforceRiskLimits(OrderSide side, BigDecimal price, BigDecimal size) {
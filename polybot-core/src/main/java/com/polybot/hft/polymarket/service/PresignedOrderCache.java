@@ -0,0 +1,228 @@
+package com.polybot.hft.polymarket.service;
+
+import com.polybot.hft.config.HftProperties;
+import com.polybot.hft.domain.OrderSide;
+import com.polybot.hft.metrics.PolybotMetrics;
+import com.polybot.hft.polymarket.model.SignedOrder;
+import com.polybot.hft.polymarket.order.PolymarketOrderBuilder;
+import io.micrometer.core.instrument.Counter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limit orders pre-signed around recently placed quotes.
+ * <p>
+ * After a limit order is signed, a background thread signs the same token, side and size at the neighbouring ticks,
+ * so a cancel/replace to a nearby price can post an already-signed order instead of paying for the secp256k1
+ * signature inline. Every pre-signed order has its own salt and is handed out at most once.
+ * <p>
+ * A token's ladder is dropped as soon as a request arrives with different signed terms (nonce, expiration, fee
+ * rate, exchange, taker or tick size), and when the token has been idle for {@code idleEvictMillis}.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PresignedOrderCache {
+
+  private final @NonNull HftProperties properties;
+  private final @NonNull PolybotMetrics metrics;
+  private final @NonNull Clock clock;
+
+  private final Map<String, TokenLadder> laddersByToken = new ConcurrentHashMap<>();
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong signNanosSaved = new AtomicLong();
+  private final ExecutorService presignExecutor = Executors.newSingleThreadExecutor(r -> {
+    Thread t = new Thread(r, "order-presign");
+    t.setDaemon(true);
+    return t;
+  });
+
+  private volatile long avgSignNanos;
+  private Counter hitCounter;
+  private Counter missCounter;
+  private Counter invalidationCounter;
+
+  @PostConstruct
+  void initMetrics() {
+    hitCounter = metrics.createCounter("polybot_order_presign_hits_total", "Limit orders posted from a pre-signed ladder");
+    missCounter = metrics.createCounter("polybot_order_presign_misses_total", "Limit orders signed inline");
+    invalidationCounter = metrics.createCounter("polybot_order_presign_invalidations_total",
+        "Pre-signed ladders dropped because the signed order terms changed");
+    metrics.registerDoubleGauge("polybot_order_presign_hit_rate", "Share of limit orders served pre-signed", this::hitRate);
+    metrics.registerDoubleGauge("polybot_order_presign_sign_time_saved_ms", "Estimated inline signing time saved",
+        () -> signNanosSaved.get() / 1_000_000.0);
+    metrics.registerIntGauge("polybot_order_presign_orders", "Pre-signed orders currently held", this::size);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    presignExecutor.shutdownNow();
+  }
+
+  /**
+   * Returns a signed limit order for the given fields: a pre-signed one when the ladder has it, otherwise one signed
+   * inline. Either way the ladder around {@code price} is refilled in the background.
+   */
+  public SignedOrder signLimitOrder(PolymarketOrderBuilder builder, String tokenId, OrderSide side, BigDecimal price, BigDecimal size, Terms terms) {
+    HftProperties.OrderPresign cfg = properties.polymarket().orderPresign();
+    if (!cfg.enabled() || terms.tickSize() == null || price == null || size == null) {
+      return sign(builder, tokenId, side, price, size, terms);
+    }
+
+    TokenLadder ladder = ladderFor(tokenId, terms);
+    ladder.lastUsedMillis = clock.millis();
+    SignedOrder order = ladder.orders.remove(new Rung(side, price.stripTrailingZeros(), size.stripTrailingZeros()));
+    if (order != null) {
+      hits.incrementAndGet();
+      hitCounter.increment();
+      signNanosSaved.addAndGet(avgSignNanos);
+    } else {
+      misses.incrementAndGet();
+      missCounter.increment();
+      order = sign(builder, tokenId, side, price, size, terms);
+    }
+    scheduleRefill(builder, tokenId, ladder, side, price, size, cfg);
+    return order;
+  }
+
+  public Stats stats() {
+    return new Stats(hits.get(), misses.get(), hitRate(), signNanosSaved.get() / 1_000_000L, size());
+  }
+
+  private TokenLadder ladderFor(String tokenId, Terms terms) {
+    while (true) {
+      TokenLadder ladder = laddersByToken.computeIfAbsent(tokenId, k -> new TokenLadder(terms));
+      if (ladder.terms.equals(terms)) {
+        return ladder;
+      }
+      if (laddersByToken.remove(tokenId, ladder)) {
+        invalidationCounter.increment();
+        log.debug("presign ladder invalidated tokenId={} terms={} -> {}", tokenId, ladder.terms, terms);
+      }
+    }
+  }
+
+  private void scheduleRefill(PolymarketOrderBuilder builder, String tokenId, TokenLadder ladder, OrderSide side, BigDecimal price, BigDecimal size, HftProperties.OrderPresign cfg) {
+    ladder.center = new Rung(side, price.stripTrailingZeros(), size.stripTrailingZeros());
+    if (!ladder.refillQueued.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      presignExecutor.execute(() -> {
+        ladder.refillQueued.set(false);
+        try {
+          refill(builder, tokenId, ladder, cfg);
+        } catch (Exception e) {
+          log.warn("presign refill failed tokenId={} error={}", tokenId, e.toString());
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      ladder.refillQueued.set(false);
+    }
+  }
+
+  private void refill(PolymarketOrderBuilder builder, String tokenId, TokenLadder ladder, HftProperties.OrderPresign cfg) {
+    evictIdle(cfg.idleEvictMillis());
+    Rung center = ladder.center;
+    BigDecimal tick = ladder.terms.tickSize();
+    int ticks = cfg.ladderTicks();
+    BigDecimal span = tick.multiply(BigDecimal.valueOf(ticks));
+
+    ladder.orders.keySet().removeIf(r -> r.side() == center.side()
+        && (r.size().compareTo(center.size()) != 0 || r.price().subtract(center.price()).abs().compareTo(span) > 0));
+
+    BigDecimal max = BigDecimal.ONE.subtract(tick);
+    for (int i = 0; i <= ticks; i++) {
+      for (int sign : i == 0 ? new int[]{1} : new int[]{1, -1}) {
+        if (laddersByToken.get(tokenId) != ladder || ladder.center != center) {
+          return;
+        }
+        BigDecimal price = center.price().add(tick.multiply(BigDecimal.valueOf((long) sign * i))).stripTrailingZeros();
+        if (price.compareTo(tick) < 0 || price.compareTo(max) > 0) {
+          continue;
+        }
+        Rung rung = new Rung(center.side(), price, center.size());
+        if (ladder.orders.containsKey(rung)) {
+          continue;
+        }
+        if (size() >= cfg.maxOrders()) {
+          return;
+        }
+        ladder.orders.put(rung, sign(builder, tokenId, rung.side(), rung.price(), rung.size(), ladder.terms));
+      }
+    }
+  }
+
+  private void evictIdle(long idleEvictMillis) {
+    long cutoff = clock.millis() - idleEvictMillis;
+    laddersByToken.entrySet().removeIf(e -> e.getValue().lastUsedMillis < cutoff);
+  }
+
+  private SignedOrder sign(PolymarketOrderBuilder builder, String tokenId, OrderSide side, BigDecimal price, BigDecimal size, Terms terms) {
+    long start = System.nanoTime();
+    SignedOrder order = builder.buildLimitOrder(tokenId, side, price, size, terms.tickSize(), terms.negRisk(), terms.feeRateBps(), terms.nonce(), terms.expirationSeconds(), terms.taker());
+    long elapsed = System.nanoTime() - start;
+    long avg = avgSignNanos;
+    avgSignNanos = avg == 0 ? elapsed : avg + (elapsed - avg) / 8;
+    return order;
+  }
+
+  private double hitRate() {
+    long h = hits.get();
+    long total = h + misses.get();
+    return total == 0 ? 0.0 : (double) h / total;
+  }
+
+  private int size() {
+    int n = 0;
+    for (TokenLadder ladder : laddersByToken.values()) {
+      n += ladder.orders.size();
+    }
+    return n;
+  }
+
+  /**
+   * Order fields that are part of the signature but not of the ladder position; a change invalidates the ladder.
+   */
+  public record Terms(BigDecimal tickSize, boolean negRisk, int feeRateBps, long nonce, long expirationSeconds, String taker) {
+    public Terms {
+      tickSize = tickSize == null ? null : tickSize.stripTrailingZeros();
+      if (taker != null && taker.isBlank()) {
+        taker = null;
+      }
+    }
+  }
+
+  public record Stats(long hits, long misses, double hitRate, long signMillisSaved, int presignedOrders) {
+  }
+
+  private record Rung(OrderSide side, BigDecimal price, BigDecimal size) {
+  }
+
+  private static final class TokenLadder {
+    private final Terms terms;
+    private final Map<Rung, SignedOrder> orders = new ConcurrentHashMap<>();
+    private final AtomicBoolean refillQueued = new AtomicBoolean();
+    private volatile Rung center;
+    private volatile long lastUsedMillis;
+
+    private TokenLadder(Terms terms) {
+      this.terms = terms;
+    }
+  }
+}
@@ -0,0 +1,864 @@
+package com.polybot.hft.polymarket.ws;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.polybot.hft.domain.FixedPoint;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Decodes CLOB market websocket frames ({@code book}, {@code price_change}, {@code last_trade_price},
+ * {@code tick_size_change}) into {@link Handler} callbacks.
+ * <p>
+ * {@link #decode(CharSequence, Handler)} walks the frame token by token: price levels are compared as scaled longs
+ * and reported as {@link FixedPoint} ticks and centi-shares, and asset ids are interned per decoder, so a frame for
+ * an already seen asset allocates neither a {@link JsonNode} tree, decimals nor strings.
+ * {@link #decodeTree(JsonNode, Handler)} is the original tree-based path, kept as a fallback and as the reference
+ * implementation.
+ * <p>
+ * Both paths also report full depth ({@link Handler#onBookDepth}) and per-level deltas ({@link Handler#onPriceLevel}),
+ * for {@link L2OrderBook}.
+ * <p>
+ * Instances hold reusable scratch buffers and are not thread-safe; use one per websocket listener.
+ */
+public final class ClobMarketMessageDecoder {
+
+  static final String EVENT_BOOK = "book";
+  static final String EVENT_PRICE_CHANGE = "price_change";
+  static final String EVENT_LAST_TRADE_PRICE = "last_trade_price";
+  static final String EVENT_TICK_SIZE_CHANGE = "tick_size_change";
+  private static final String EVENT_OTHER = "";
+
+  private static final int PRICE_SCALE = 9;
+  private static final long NOT_SCALED = Long.MIN_VALUE;
+  private static final long SCALED_PER_TICK = 100_000L;
+  private static final long SCALED_PER_CENTI_SHARE = 10_000_000L;
+
+  private final JsonFactory jsonFactory;
+
+  private char[] frame = new char[8192];
+
+  private final LevelScan bids = new LevelScan(true);
+  private final LevelScan buys = new LevelScan(true);
+  private final LevelScan asks = new LevelScan(false);
+  private final LevelScan sells = new LevelScan(false);
+  private final DecimalScratch lastTradePrice = new DecimalScratch();
+  private final DecimalScratch price = new DecimalScratch();
+  private final DecimalScratch newTickSize = new DecimalScratch();
+  private final AssetIds assetIds = new AssetIds();
+  private PriceChangeScratch[] priceChanges = new PriceChangeScratch[4];
+  private int priceChangeCount;
+  private boolean priceChangesIsArray;
+
+  public ClobMarketMessageDecoder(JsonFactory jsonFactory) {
+    this.jsonFactory = Objects.requireNonNull(jsonFactory, "jsonFactory");
+    for (int i = 0; i < priceChanges.length; i++) {
+      priceChanges[i] = new PriceChangeScratch();
+    }
+  }
+
+  public interface Handler {
+
+    /**
+     * Best levels of a {@code book} snapshot as packed {@link FixedPoint} levels ({@link FixedPoint#EMPTY_LEVEL} for
+     * an empty side) and its last trade price in ticks ({@link FixedPoint#NONE} when absent).
+     */
+    void onBook(String assetId, long bestBidLevel, long bestAskLevel, int lastTradePriceTicks);
+
+    /**
+     * Called once per {@code price_change} event, before its {@link #onPriceChange} entries.
+     */
+    void onPriceChangeMessage();
+
+    /**
+     * Best prices (ticks) and sizes (centi-shares) of one {@code price_change} entry, each {@link FixedPoint#NONE}
+     * when absent.
+     */
+    void onPriceChange(String assetId, int bestBidTicks, int bestAskTicks, long bestBidCentiShares, long bestAskCentiShares);
+
+    void onLastTradePrice(String assetId, int priceTicks);
+
+    /**
+     * The asset's minimum tick size changed to {@code newTickSize} (null when absent from the event).
+     */
+    default void onTickSizeChange(String assetId, BigDecimal newTickSize) {
+    }
+
+    /**
+     * Server {@code timestamp} (epoch millis, 0 when absent) and book {@code hash} (null when absent) of the event
+     * about to be delivered; called before its other callbacks.
+     */
+    default void onEventMeta(long serverTimestampMillis, String hash) {
+    }
+
+    /**
+     * Full depth of a {@code book} snapshot, called right after its {@link #onBook}. Levels are in message order and
+     * only valid for the duration of the call.
+     */
+    default void onBookDepth(String assetId, Levels bids, Levels asks) {
+    }
+
+    /**
+     * Level delta carried by a {@code price_change} entry ({@code price}/{@code size}/{@code side}), called right
+     * before its {@link #onPriceChange}. A size of 0 removes the level.
+     */
+    default void onPriceLevel(String assetId, boolean bid, int priceTicks, long centiShares) {
+    }
+  }
+
+  /**
+   * Reusable list of price levels as {@link FixedPoint} ticks and centi-shares ({@link FixedPoint#NONE} when the
+   * size is missing).
+   */
+  public static final class Levels {
+    private int[] priceTicks = new int[64];
+    private long[] centiShares = new long[64];
+    private int count;
+
+    public int count() {
+      return count;
+    }
+
+    public int priceTicks(int i) {
+      return priceTicks[i];
+    }
+
+    public long centiShares(int i) {
+      return centiShares[i];
+    }
+
+    void clear() {
+      count = 0;
+    }
+
+    void add(int ticks, long size) {
+      if (ticks == FixedPoint.NONE) {
+        return;
+      }
+      if (count == priceTicks.length) {
+        priceTicks = Arrays.copyOf(priceTicks, count * 2);
+        centiShares = Arrays.copyOf(centiShares, count * 2);
+      }
+      priceTicks[count] = ticks;
+      centiShares[count] = size;
+      count++;
+    }
+  }
+
+  public void decode(CharSequence message, Handler handler) throws IOException {
+    int len = message.length();
+    if (frame.length < len) {
+      frame = new char[Math.max(len, frame.length * 2)];
+    }
+    if (message instanceof String s) {
+      s.getChars(0, len, frame, 0);
+    } else if (message instanceof StringBuilder sb) {
+      sb.getChars(0, len, frame, 0);
+    } else {
+      for (int i = 0; i < len; i++) {
+        frame[i] = message.charAt(i);
+      }
+    }
+    try (JsonParser p = jsonFactory.createParser(frame, 0, len)) {
+      JsonToken t = p.nextToken();
+      if (t != null) {
+        decodeValue(p, t, handler);
+      }
+    }
+  }
+
+  private void decodeValue(JsonParser p, JsonToken t, Handler handler) throws IOException {
+    if (t == JsonToken.START_ARRAY) {
+      JsonToken next;
+      while ((next = p.nextToken()) != null && next != JsonToken.END_ARRAY) {
+        decodeValue(p, next, handler);
+      }
+      return;
+    }
+    if (t == JsonToken.START_OBJECT) {
+      decodeEvent(p, handler);
+    }
+  }
+
+  private void decodeEvent(JsonParser p, Handler handler) throws IOException {
+    String eventType = EVENT_OTHER;
+    String assetId = null;
+    long timestampMillis = 0L;
+    String hash = null;
+    bids.reset();
+    buys.reset();
+    asks.reset();
+    sells.reset();
+    lastTradePrice.clear();
+    price.clear();
+    newTickSize.clear();
+    priceChangeCount = 0;
+    priceChangesIsArray = false;
+
+    while (p.nextToken() == JsonToken.FIELD_NAME) {
+      String field = p.currentName();
+      JsonToken v = p.nextToken();
+      switch (field) {
+        case "event_type" -> eventType = eventType(p, v);
+        case "asset_id" -> assetId = assetIdOrNull(p, v);
+        case "timestamp" -> timestampMillis = millis(p, v);
+        case "hash" -> hash = textOrNull(p, v);
+        case "bids" -> bids.scan(p, v);
+        case "buys" -> buys.scan(p, v);
+        case "asks" -> asks.scan(p, v);
+        case "sells" -> sells.scan(p, v);
+        case "last_trade_price" -> lastTradePrice.capture(p, v);
+        case "price" -> price.capture(p, v);
+        case "new_tick_size" -> newTickSize.capture(p, v);
+        case "price_changes" -> scanPriceChanges(p, v);
+        default -> p.skipChildren();
+      }
+    }
+
+    switch (eventType) {
+      case EVENT_BOOK -> {
+        if (assetId == null) {
+          return;
+        }
+        LevelScan bid = bids.present ? bids : buys;
+        LevelScan ask = asks.present ? asks : sells;
+        handler.onEventMeta(timestampMillis, hash);
+        handler.onBook(assetId, bid.bestLevel(), ask.bestLevel(), lastTradePrice.priceTicks());
+        handler.onBookDepth(assetId, bid.levels, ask.levels);
+      }
+      case EVENT_PRICE_CHANGE -> {
+        handler.onEventMeta(timestampMillis, hash);
+        handler.onPriceChangeMessage();
+        if (!priceChangesIsArray) {
+          return;
+        }
+        for (int i = 0; i < priceChangeCount; i++) {
+          PriceChangeScratch change = priceChanges[i];
+          if (change.assetId == null) {
+            continue;
+          }
+          if (change.sidePresent && change.price.present) {
+            handler.onPriceLevel(change.assetId, change.bid, change.price.priceTicks(), change.size.centiShares());
+          }
+          handler.onPriceChange(
+              change.assetId,
+              change.bestBid.priceTicks(),
+              change.bestAsk.priceTicks(),
+              change.bestBidSize.centiShares(),
+              change.bestAskSize.centiShares()
+          );
+        }
+      }
+      case EVENT_LAST_TRADE_PRICE -> {
+        if (assetId == null) {
+          return;
+        }
+        handler.onEventMeta(timestampMillis, hash);
+        handler.onLastTradePrice(assetId, price.priceTicks());
+      }
+      case EVENT_TICK_SIZE_CHANGE -> {
+        if (assetId == null) {
+          return;
+        }
+        handler.onEventMeta(timestampMillis, hash);
+        handler.onTickSizeChange(assetId, newTickSize.toDecimal());
+      }
+      default -> {
+      }
+    }
+  }
+
+  private void scanPriceChanges(JsonParser p, JsonToken t) throws IOException {
+    if (t != JsonToken.START_ARRAY) {
+      p.skipChildren();
+      return;
+    }
+    priceChangesIsArray = true;
+    JsonToken next;
+    while ((next = p.nextToken()) != null && next != JsonToken.END_ARRAY) {
+      if (next != JsonToken.START_OBJECT) {
+        p.skipChildren();
+        continue;
+      }
+      PriceChangeScratch change = nextPriceChange();
+      while (p.nextToken() == JsonToken.FIELD_NAME) {
+        String field = p.currentName();
+        JsonToken v = p.nextToken();
+        switch (field) {
+          case "asset_id" -> change.assetId = assetIdOrNull(p, v);
+          case "price" -> change.price.capture(p, v);
+          case "size" -> change.size.capture(p, v);
+          case "side" -> change.captureSide(p, v);
+          case "best_bid" -> change.bestBid.capture(p, v);
+          case "best_ask" -> change.bestAsk.capture(p, v);
+          case "best_bid_size" -> change.bestBidSize.capture(p, v);
+          case "best_ask_size" -> change.bestAskSize.capture(p, v);
+          default -> p.skipChildren();
+        }
+      }
+    }
+  }
+
+  private PriceChangeScratch nextPriceChange() {
+    if (priceChangeCount == priceChanges.length) {
+      int prev = priceChanges.length;
+      priceChanges = Arrays.copyOf(priceChanges, prev * 2);
+      for (int i = prev; i < priceChanges.length; i++) {
+        priceChanges[i] = new PriceChangeScratch();
+      }
+    }
+    PriceChangeScratch change = priceChanges[priceChangeCount++];
+    change.clear();
+    return change;
+  }
+
+  private static String eventType(JsonParser p, JsonToken t) throws IOException {
+    if (t != JsonToken.VALUE_STRING) {
+      p.skipChildren();
+      return EVENT_OTHER;
+    }
+    char[] chars = p.getTextCharacters();
+    int off = p.getTextOffset();
+    int len = p.getTextLength();
+    if (regionEquals(EVENT_BOOK, chars, off, len)) {
+      return EVENT_BOOK;
+    }
+    if (regionEquals(EVENT_PRICE_CHANGE, chars, off, len)) {
+      return EVENT_PRICE_CHANGE;
+    }
+    if (regionEquals(EVENT_LAST_TRADE_PRICE, chars, off, len)) {
+      return EVENT_LAST_TRADE_PRICE;
+    }
+    if (regionEquals(EVENT_TICK_SIZE_CHANGE, chars, off, len)) {
+      return EVENT_TICK_SIZE_CHANGE;
+    }
+    return EVENT_OTHER;
+  }
+
+  private static long millis(JsonParser p, JsonToken t) throws IOException {
+    if (t == JsonToken.VALUE_NUMBER_INT) {
+      return p.getLongValue();
+    }
+    if (t != JsonToken.VALUE_STRING) {
+      p.skipChildren();
+      return 0L;
+    }
+    char[] chars = p.getTextCharacters();
+    int off = p.getTextOffset();
+    int len = p.getTextLength();
+    if (len == 0 || len > 18) {
+      return 0L;
+    }
+    long value = 0L;
+    for (int i = off; i < off + len; i++) {
+      char c = chars[i];
+      if (c < '0' || c > '9') {
+        return 0L;
+      }
+      value = value * 10 + (c - '0');
+    }
+    return value;
+  }
+
+  private static int priceTicks(long scaled) {
+    if (scaled < 0 || scaled > FixedPoint.TICKS_PER_UNIT * SCALED_PER_TICK) {
+      return FixedPoint.NONE;
+    }
+    return (int) ((scaled + SCALED_PER_TICK / 2) / SCALED_PER_TICK);
+  }
+
+  private static long centiShares(long scaled) {
+    return scaled < 0 ? FixedPoint.NONE : scaled / SCALED_PER_CENTI_SHARE;
+  }
+
+  private static boolean regionEquals(String expected, char[] chars, int off, int len) {
+    if (expected.length() != len) {
+      return false;
+    }
+    for (int i = 0; i < len; i++) {
+      if (expected.charAt(i) != chars[off + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private String assetIdOrNull(JsonParser p, JsonToken t) throws IOException {
+    if (t == JsonToken.VALUE_STRING || t == JsonToken.VALUE_NUMBER_INT) {
+      return assetIds.intern(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+    }
+    p.skipChildren();
+    return null;
+  }
+
+  private static String textOrNull(JsonParser p, JsonToken t) throws IOException {
+    if (t == JsonToken.VALUE_STRING || t == JsonToken.VALUE_NUMBER_INT || t == JsonToken.VALUE_NUMBER_FLOAT) {
+      return p.getText();
+    }
+    p.skipChildren();
+    return null;
+  }
+
+  /**
+   * Parses a plain decimal ({@code 0.53}, {@code 12}, {@code -1.5}) into a long scaled by {@link #PRICE_SCALE}.
+   * Returns {@link #NOT_SCALED} for anything it cannot represent exactly (exponents, too many digits), in which
+   * case callers fall back to {@link BigDecimal} parsing.
+   */
+  static long parseScaled(char[] chars, int off, int len) {
+    int i = off;
+    int end = off + len;
+    boolean negative = false;
+    if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+      negative = chars[i] == '-';
+      i++;
+    }
+    long value = 0;
+    int fractionDigits = -1;
+    boolean anyDigit = false;
+    for (; i < end; i++) {
+      char c = chars[i];
+      if (c == '.') {
+        if (fractionDigits >= 0) {
+          return NOT_SCALED;
+        }
+        fractionDigits = 0;
+        continue;
+      }
+      if (c < '0' || c > '9') {
+        return NOT_SCALED;
+      }
+      if (fractionDigits >= 0) {
+        if (fractionDigits == PRICE_SCALE) {
+          return NOT_SCALED;
+        }
+        fractionDigits++;
+      }
+      if (value > (Long.MAX_VALUE - 9) / 10) {
+        return NOT_SCALED;
+      }
+      value = value * 10 + (c - '0');
+      anyDigit = true;
+    }
+    if (!anyDigit) {
+      return NOT_SCALED;
+    }
+    for (int d = Math.max(fractionDigits, 0); d < PRICE_SCALE; d++) {
+      if (value > Long.MAX_VALUE / 10) {
+        return NOT_SCALED;
+      }
+      value *= 10;
+    }
+    return negative ? -value : value;
+  }
+
+  /**
+   * Tree-based decode: builds best levels from an already parsed {@link JsonNode}.
+   */
+  public static void decodeTree(JsonNode node, Handler handler) {
+    if (node == null || node.isNull()) {
+      return;
+    }
+    if (node.isArray()) {
+      for (JsonNode n : node) {
+        decodeTree(n, handler);
+      }
+      return;
+    }
+
+    String eventType = node.path("event_type").asText("");
+    switch (eventType) {
+      case EVENT_BOOK -> decodeTreeBook(node, handler);
+      case EVENT_PRICE_CHANGE -> decodeTreePriceChange(node, handler);
+      case EVENT_LAST_TRADE_PRICE -> decodeTreeLastTradePrice(node, handler);
+      case EVENT_TICK_SIZE_CHANGE -> decodeTreeTickSizeChange(node, handler);
+      default -> {
+      }
+    }
+  }
+
+  private static void decodeTreeBook(JsonNode node, Handler handler) {
+    String assetId = node.path("asset_id").asText(null);
+    if (assetId == null) {
+      return;
+    }
+    handler.onEventMeta(treeMillis(node), node.path("hash").asText(null));
+    JsonNode bidsNode = node.has("bids") ? node.get("bids") : node.get("buys");
+    JsonNode asksNode = node.has("asks") ? node.get("asks") : node.get("sells");
+
+    TopLevel bestBidLevel = extractBestLevel(bidsNode, true);
+    TopLevel bestAskLevel = extractBestLevel(asksNode, false);
+
+    handler.onBook(
+        assetId,
+        bestBidLevel == null ? FixedPoint.EMPTY_LEVEL : FixedPoint.packLevel(bestBidLevel.price(), bestBidLevel.size()),
+        bestAskLevel == null ? FixedPoint.EMPTY_LEVEL : FixedPoint.packLevel(bestAskLevel.price(), bestAskLevel.size()),
+        FixedPoint.priceTicks(parseDecimal(node.path("last_trade_price").asText(null)))
+    );
+    handler.onBookDepth(assetId, extractLevels(bidsNode), extractLevels(asksNode));
+  }
+
+  private static Levels extractLevels(JsonNode levels) {
+    Levels out = new Levels();
+    if (levels == null || !levels.isArray()) {
+      return out;
+    }
+    for (JsonNode level : levels) {
+      BigDecimal price = parseDecimal(level.path("price").asText(null));
+      if (price == null) {
+        continue;
+      }
+      out.add(FixedPoint.priceTicks(price), FixedPoint.centiShares(parseDecimal(level.path("size").asText(null))));
+    }
+    return out;
+  }
+
+  private static void decodeTreePriceChange(JsonNode node, Handler handler) {
+    handler.onEventMeta(treeMillis(node), node.path("hash").asText(null));
+    handler.onPriceChangeMessage();
+    JsonNode changes = node.path("price_changes");
+    if (!changes.isArray()) {
+      return;
+    }
+    for (JsonNode change : changes) {
+      String assetId = change.path("asset_id").asText(null);
+      if (assetId == null) {
+        continue;
+      }
+      BigDecimal price = parseDecimal(change.path("price").asText(null));
+      String side = change.path("side").asText(null);
+      if (price != null && ("BUY".equals(side) || "SELL".equals(side))) {
+        handler.onPriceLevel(
+            assetId,
+            "BUY".equals(side),
+            FixedPoint.priceTicks(price),
+            FixedPoint.centiShares(parseDecimal(change.path("size").asText(null)))
+        );
+      }
+      handler.onPriceChange(
+          assetId,
+          FixedPoint.priceTicks(parseDecimal(change.path("best_bid").asText(null))),
+          FixedPoint.priceTicks(parseDecimal(change.path("best_ask").asText(null))),
+          FixedPoint.centiShares(parseDecimal(change.path("best_bid_size").asText(null))),
+          FixedPoint.centiShares(parseDecimal(change.path("best_ask_size").asText(null)))
+      );
+    }
+  }
+
+  private static void decodeTreeLastTradePrice(JsonNode node, Handler handler) {
+    String assetId = node.path("asset_id").asText(null);
+    if (assetId == null) {
+      return;
+    }
+    handler.onEventMeta(treeMillis(node), node.path("hash").asText(null));
+    handler.onLastTradePrice(assetId, FixedPoint.priceTicks(parseDecimal(node.path("price").asText(null))));
+  }
+
+  private static void decodeTreeTickSizeChange(JsonNode node, Handler handler) {
+    String assetId = node.path("asset_id").asText(null);
+    if (assetId == null) {
+      return;
+    }
+    handler.onEventMeta(treeMillis(node), node.path("hash").asText(null));
+    handler.onTickSizeChange(assetId, parseDecimal(node.path("new_tick_size").asText(null)));
+  }
+
+  private static long treeMillis(JsonNode node) {
+    JsonNode ts = node.path("timestamp");
+    if (ts.isIntegralNumber()) {
+      return ts.asLong();
+    }
+    String s = ts.asText("");
+    if (s.isEmpty() || s.length() > 18 || !s.chars().allMatch(Character::isDigit)) {
+      return 0L;
+    }
+    return Long.parseLong(s);
+  }
+
+  private static TopLevel extractBestLevel(JsonNode levels, boolean bestIsMax) {
+    if (levels == null || !levels.isArray()) {
+      return null;
+    }
+    BigDecimal bestPrice = null;
+    BigDecimal bestSize = null;
+    for (JsonNode level : levels) {
+      BigDecimal price = parseDecimal(level.path("price").asText(null));
+      if (price == null) {
+        continue;
+      }
+      BigDecimal size = parseDecimal(level.path("size").asText(null));
+      if (bestPrice == null) {
+        bestPrice = price;
+        bestSize = size;
+        continue;
+      }
+      int cmp = price.compareTo(bestPrice);
+      boolean better = bestIsMax ? (cmp > 0) : (cmp < 0);
+      if (better) {
+        bestPrice = price;
+        bestSize = size;
+      }
+    }
+    if (bestPrice == null) {
+      return null;
+    }
+    return new TopLevel(bestPrice, bestSize);
+  }
+
+  private static BigDecimal parseDecimal(String s) {
+    if (s == null || s.isBlank()) {
+      return null;
+    }
+    return new BigDecimal(s);
+  }
+
+  private record TopLevel(BigDecimal price, BigDecimal size) {}
+
+  /**
+   * Reusable copy of a scalar JSON value's characters; materialized into a {@link BigDecimal} on demand.
+   */
+  private static final class DecimalScratch {
+    private char[] chars = new char[32];
+    private int len;
+    private boolean present;
+
+    void clear() {
+      len = 0;
+      present = false;
+    }
+
+    void capture(JsonParser p, JsonToken t) throws IOException {
+      if (t != JsonToken.VALUE_STRING && t != JsonToken.VALUE_NUMBER_INT && t != JsonToken.VALUE_NUMBER_FLOAT) {
+        p.skipChildren();
+        clear();
+        return;
+      }
+      int n = p.getTextLength();
+      if (chars.length < n) {
+        chars = new char[Math.max(n, chars.length * 2)];
+      }
+      System.arraycopy(p.getTextCharacters(), p.getTextOffset(), chars, 0, n);
+      len = n;
+      present = !isBlank();
+    }
+
+    long scaled() {
+      return parseScaled(chars, 0, len);
+    }
+
+    int priceTicks() {
+      if (!present) {
+        return FixedPoint.NONE;
+      }
+      long scaled = scaled();
+      return scaled == NOT_SCALED ? FixedPoint.priceTicks(toDecimal()) : ClobMarketMessageDecoder.priceTicks(scaled);
+    }
+
+    long centiShares() {
+      if (!present) {
+        return FixedPoint.NONE;
+      }
+      long scaled = scaled();
+      return scaled == NOT_SCALED ? FixedPoint.centiShares(toDecimal()) : ClobMarketMessageDecoder.centiShares(scaled);
+    }
+
+    BigDecimal toDecimal() {
+      return present ? new BigDecimal(chars, 0, len) : null;
+    }
+
+    private boolean isBlank() {
+      for (int i = 0; i < len; i++) {
+        if (!Character.isWhitespace(chars[i])) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Best-level scan over a {@code bids}/{@code asks} array; keeps the best level seen so far as ticks and
+   * centi-shares.
+   */
+  private static final class LevelScan {
+    private final boolean bestIsMax;
+    private final DecimalScratch levelPrice = new DecimalScratch();
+    private final DecimalScratch levelSize = new DecimalScratch();
+    private final Levels levels = new Levels();
+    private long bestScaled;
+    private int bestTicks;
+    private long bestCentiShares;
+    private boolean found;
+    private boolean present;
+
+    LevelScan(boolean bestIsMax) {
+      this.bestIsMax = bestIsMax;
+    }
+
+    void reset() {
+      found = false;
+      present = false;
+      levels.clear();
+    }
+
+    void scan(JsonParser p, JsonToken t) throws IOException {
+      present = true;
+      if (t != JsonToken.START_ARRAY) {
+        p.skipChildren();
+        return;
+      }
+      JsonToken next;
+      while ((next = p.nextToken()) != null && next != JsonToken.END_ARRAY) {
+        if (next != JsonToken.START_OBJECT) {
+          p.skipChildren();
+          continue;
+        }
+        levelPrice.clear();
+        levelSize.clear();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+          String field = p.currentName();
+          JsonToken v = p.nextToken();
+          if ("price".equals(field)) {
+            levelPrice.capture(p, v);
+          } else if ("size".equals(field)) {
+            levelSize.capture(p, v);
+          } else {
+            p.skipChildren();
+          }
+        }
+        if (!levelPrice.present) {
+          continue;
+        }
+        long scaled = levelPrice.scaled();
+        int ticks = scaled == NOT_SCALED ? FixedPoint.priceTicks(levelPrice.toDecimal()) : priceTicks(scaled);
+        long centiShares = levelSize.centiShares();
+        levels.add(ticks, centiShares);
+        if (!found || isBetter(scaled, ticks)) {
+          bestScaled = scaled;
+          bestTicks = ticks;
+          bestCentiShares = centiShares;
+          found = true;
+        }
+      }
+    }
+
+    private boolean isBetter(long scaled, int ticks) {
+      // Exponent notation is not scaled; such levels compare at tick precision.
+      int cmp = scaled != NOT_SCALED && bestScaled != NOT_SCALED
+          ? Long.compare(scaled, bestScaled)
+          : Integer.compare(ticks, bestTicks);
+      return bestIsMax ? cmp > 0 : cmp < 0;
+    }
+
+    long bestLevel() {
+      return found ? FixedPoint.packLevel(bestTicks, bestCentiShares) : FixedPoint.EMPTY_LEVEL;
+    }
+  }
+
+  /**
+   * Open-addressing intern table of asset ids keyed by their characters, so a known id is resolved to the same
+   * {@link String} without allocating. Cleared once it outgrows {@link #MAX_TABLE_SIZE}, so ids of rolled-off
+   * markets do not accumulate.
+   */
+  private static final class AssetIds {
+    private static final int MAX_TABLE_SIZE = 1 << 14;
+
+    private String[] table = new String[256];
+    private int size;
+
+    String intern(char[] chars, int off, int len) {
+      int hash = 0;
+      for (int i = off; i < off + len; i++) {
+        hash = 31 * hash + chars[i];
+      }
+      int mask = table.length - 1;
+      for (int i = spread(hash) & mask; table[i] != null; i = (i + 1) & mask) {
+        String id = table[i];
+        if (id.hashCode() == hash && regionEquals(id, chars, off, len)) {
+          return id;
+        }
+      }
+      String id = new String(chars, off, len);
+      if ((size + 1) * 2 > table.length) {
+        resize();
+      }
+      insert(id);
+      return id;
+    }
+
+    private void resize() {
+      String[] old = table;
+      if (old.length == MAX_TABLE_SIZE) {
+        table = new String[old.length];
+        size = 0;
+        return;
+      }
+      table = new String[old.length * 2];
+      size = 0;
+      for (String id : old) {
+        if (id != null) {
+          insert(id);
+        }
+      }
+    }
+
+    private void insert(String id) {
+      int mask = table.length - 1;
+      int i = spread(id.hashCode()) & mask;
+      while (table[i] != null) {
+        i = (i + 1) & mask;
+      }
+      table[i] = id;
+      size++;
+    }
+
+    private static int spread(int hash) {
+      return hash ^ (hash >>> 16);
+    }
+  }
+
+  private static final class PriceChangeScratch {
+    private String assetId;
+    private final DecimalScratch price = new DecimalScratch();
+    private final DecimalScratch size = new DecimalScratch();
+    private boolean sidePresent;
+    private boolean bid;
+    private final DecimalScratch bestBid = new DecimalScratch();
+    private final DecimalScratch bestAsk = new DecimalScratch();
+    private final DecimalScratch bestBidSize = new DecimalScratch();
+    private final DecimalScratch bestAskSize = new DecimalScratch();
+
+    void clear() {
+      assetId = null;
+      price.clear();
+      size.clear();
+      sidePresent = false;
+      bid = false;
+      bestBid.clear();
+      bestAsk.clear();
+      bestBidSize.clear();
+      bestAskSize.clear();
+    }
+
+    void captureSide(JsonParser p, JsonToken t) throws IOException {
+      if (t != JsonToken.VALUE_STRING) {
+        p.skipChildren();
+        return;
+      }
+      char[] chars = p.getTextCharacters();
+      int off = p.getTextOffset();
+      int len = p.getTextLength();
+      if (regionEquals("BUY", chars, off, len)) {
+        sidePresent = true;
+        bid = true;
+      } else if (regionEquals("SELL", chars, off, len)) {
+        sidePresent = true;
+        bid = false;
+      }
+    }
+  }
+}
@@ -1,18 +1,21 @@
 package com.polybot.hft.polymarket.ws;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.polybot.hft.config.HftProperties;
+import com.polybot.hft.domain.FixedPoint;
 import com.polybot.hft.events.HftEventPublisher;
-import com.polybot.hft.events.HftEventTypes;
 import com.polybot.hft.events.HftEventsProperties;
-import com.polybot.hft.events.payload.MarketTopOfBookEvent;
+import com.polybot.hft.metrics.PolybotMetrics;
+import com.polybot.hft.polymarket.clob.TokenMetadataCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
-import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -26,9 +29,11 @@ import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.time.Clock;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -37,6 +42,17 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
+/**
+ * CLOB market-channel client. Subscribed assets are sharded by hash across
+ * {@link HftProperties.Polymarket#marketWsShards()} sockets (one by default). Added and removed assets are
+ * subscribed and unsubscribed in-band on the shard's open sockets; a shard only reconnects when its active socket is
+ * lost or stops delivering.
+ * <p>
+ * A reconnecting shard opens its replacement socket before closing the old one and hands over once the replacement
+ * has delivered a {@code book} snapshot for every asset. While both sockets stream, events are ordered per asset by
+ * server timestamp (older ones are dropped) and the duplicate snapshot is recognized by its book hash, so consumers
+ * see neither a gap nor a regression.
+ */
 @Component
 @Slf4j
 @RequiredArgsConstructor
@@ -51,18 +67,21 @@ public class ClobMarketWebSocketClient {
   private final @NonNull Clock clock;
   private final @NonNull HftEventsProperties eventsProperties;
   private final @NonNull HftEventPublisher events;
+  private final @NonNull PolybotMetrics metrics;
+  private final @NonNull ObjectProvider<TokenMetadataCache> tokenMetadata;
 
-  private final Map<String, TopOfBook> topOfBookByAssetId = new ConcurrentHashMap<>();
+  private final TickTopOfBookStore tickTopOfBooks = new TickTopOfBookStore();
+  private final Map<String, L2OrderBook> orderBookByAssetId = new ConcurrentHashMap<>();
   private final Set<String> subscribedAssetIds = ConcurrentHashMap.newKeySet();
-  private final Map<String, AtomicLong> lastTobEventAtMillisByAssetId = new ConcurrentHashMap<>();
+  private final Map<String, BookSequence> sequenceByAssetId = new ConcurrentHashMap<>();
 
   private final AtomicLong messagesReceived = new AtomicLong(0);
   private final AtomicLong bookMessages = new AtomicLong(0);
   private final AtomicLong priceChangeMessages = new AtomicLong(0);
   private final AtomicLong lastTradeMessages = new AtomicLong(0);
   private final AtomicLong lastMessageAtMillis = new AtomicLong(0);
-  private final AtomicLong lastReconnectAttemptAtMillis = new AtomicLong(0);
   private final AtomicBoolean maintenanceScheduled = new AtomicBoolean(false);
+  private final List<TopOfBookListener> topOfBookListeners = new CopyOnWriteArrayList<>();
 
   private final ScheduledExecutorService pingExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
     Thread t = new Thread(r, "clob-ws-ping");
@@ -70,73 +89,20 @@ public class ClobMarketWebSocketClient {
     return t;
   });
 
-  private volatile WebSocket webSocket;
-  @Getter
-  private volatile boolean started = false;
+  private volatile Shard[] shards;
+  private final Object tobConflatorLock = new Object();
+  private volatile TopOfBookConflator tobConflator;
+  private final Object mappedCacheLock = new Object();
+  private MappedTopOfBookCache mappedCache;
+  private boolean mappedCacheClosed;
+  private Counter outOfOrderDropped;
+  private Counter duplicateSnapshots;
 
   private static URI buildMarketWsUri(String baseWsUrl) {
     String base = baseWsUrl.endsWith("/") ? baseWsUrl.substring(0, baseWsUrl.length() - 1) : baseWsUrl;
     return URI.create(base + "/ws/market");
   }
 
-  private static BigDecimal extractBestPrice(JsonNode levels, boolean bestIsMax) {
-    if (levels == null || !levels.isArray()) {
-      return null;
-    }
-    BigDecimal best = null;
-    for (JsonNode level : levels) {
-      BigDecimal p = parseDecimal(level.path("price").asText(null));
-      if (p == null) {
-        continue;
-      }
-      if (best == null) {
-        best = p;
-      } else if (bestIsMax && p.compareTo(best) > 0) {
-        best = p;
-      } else if (!bestIsMax && p.compareTo(best) < 0) {
-        best = p;
-      }
-    }
-    return best;
-  }
-
-  private static TopLevel extractBestLevel(JsonNode levels, boolean bestIsMax) {
-    if (levels == null || !levels.isArray()) {
-      return null;
-    }
-    BigDecimal bestPrice = null;
-    BigDecimal bestSize = null;
-    for (JsonNode level : levels) {
-      BigDecimal price = parseDecimal(level.path("price").asText(null));
-      if (price == null) {
-        continue;
-      }
-      BigDecimal size = parseDecimal(level.path("size").asText(null));
-      if (bestPrice == null) {
-        bestPrice = price;
-        bestSize = size;
-        continue;
-      }
-      int cmp = price.compareTo(bestPrice);
-      boolean better = bestIsMax ? (cmp > 0) : (cmp < 0);
-      if (better) {
-        bestPrice = price;
-        bestSize = size;
-      }
-    }
-    if (bestPrice == null) {
-      return null;
-    }
-    return new TopLevel(bestPrice, bestSize);
-  }
-
-  private static BigDecimal parseDecimal(String s) {
-    if (s == null || s.isBlank()) {
-      return null;
-    }
-    return new BigDecimal(s);
-  }
-
   private static String sampleAssetSuffixes(List<String> assetIds, int max) {
     if (assetIds == null || assetIds.isEmpty() || max <= 0) {
       return "[]";
@@ -162,8 +128,77 @@ public class ClobMarketWebSocketClient {
     return assetIds.stream().filter(s -> s != null && !s.isBlank()).map(String::trim).distinct().collect(Collectors.toList());
   }
 
+  /**
+   * Decimal view of {@link #getTickTopOfBook}, built on each call; prices at tick and sizes at centi-share precision.
+   */
   public Optional<TopOfBook> getTopOfBook(String assetId) {
-    return Optional.ofNullable(topOfBookByAssetId.get(assetId));
+    return getTickTopOfBook(assetId).map(TickTopOfBook::toTopOfBook);
+  }
+
+  /**
+   * Primitive top-of-book, for allocation-free price math. Read lock-free from {@link TickTopOfBookStore}, which is
+   * the only copy of the book state.
+   */
+  public Optional<TickTopOfBook> getTickTopOfBook(String assetId) {
+    return Optional.ofNullable(tickTopOfBooks.get(assetId));
+  }
+
+  /**
+   * Allocation-free variant of {@link #getTickTopOfBook}: copies the latest top-of-book into {@code into}; false when
+   * none is known for the asset.
+   */
+  public boolean readTickTopOfBook(String assetId, TickTopOfBookStore.Snapshot into) {
+    return tickTopOfBooks.read(assetId, into);
+  }
+
+  /**
+   * Full-depth book maintained from {@code book} snapshots and {@code price_change} deltas; present once a snapshot
+   * has been received for the asset.
+   */
+  public Optional<L2OrderBook> getOrderBook(String assetId) {
+    return Optional.ofNullable(orderBookByAssetId.get(assetId));
+  }
+
+  /**
+   * True when at least one shard has a live (or connecting) socket.
+   */
+  public boolean isStarted() {
+    Shard[] current = shards;
+    if (current == null) {
+      return false;
+    }
+    for (Shard shard : current) {
+      if (shard.started()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public int shardCount() {
+    Shard[] current = shards;
+    return current == null ? 0 : current.length;
+  }
+
+  public List<ShardStatus> shardStatuses() {
+    Shard[] current = shards;
+    if (current == null) {
+      return List.of();
+    }
+    long now = System.currentTimeMillis();
+    List<ShardStatus> out = new ArrayList<>(current.length);
+    for (Shard shard : current) {
+      out.add(shard.status(now));
+    }
+    return out;
+  }
+
+  /**
+   * Registers a callback for top-of-book changes received on the websocket (not for periodic snapshot republishes).
+   * Runs on the websocket thread while the asset's shard is locked, so it must only hand off work.
+   */
+  public void addTopOfBookListener(TopOfBookListener listener) {
+    topOfBookListeners.add(listener);
   }
 
   public int subscribedAssetCount() {
@@ -171,7 +206,7 @@ public class ClobMarketWebSocketClient {
   }
 
   public int topOfBookCount() {
-    return topOfBookByAssetId.size();
+    return tickTopOfBooks.size();
   }
 
   @PostConstruct
@@ -203,13 +238,11 @@ public class ClobMarketWebSocketClient {
     }
 
     synchronized (this) {
-      boolean changed = subscribedAssetIds.addAll(sanitized);
-      if (!started) {
-        connectLocked();
-        return;
-      }
-      if (changed) {
-        reconnectLocked();
+      subscribedAssetIds.addAll(sanitized);
+      Shard[] current = shardsLocked();
+      for (Shard shard : current) {
+        List<String> mine = sanitized.stream().filter(a -> shardOf(a, current.length) == shard.index).toList();
+        shard.addAssetsLocked(mine);
       }
     }
   }
@@ -239,81 +272,109 @@ public class ClobMarketWebSocketClient {
       subscribedAssetIds.addAll(desired);
 
       // Prune stale caches so we don't persist/heartbeat thousands of dead markets.
-      topOfBookByAssetId.keySet().retainAll(desired);
-      lastTobEventAtMillisByAssetId.keySet().retainAll(desired);
-
-      if (!started) {
-        connectLocked();
-        return;
+      tickTopOfBooks.retainAll(desired);
+      orderBookByAssetId.keySet().retainAll(desired);
+      tobConflator().retainAll(desired);
+      sequenceByAssetId.keySet().retainAll(desired);
+
+      // Additions go out in-band; only shards whose slice lost assets reconnect.
+      Shard[] current = shardsLocked();
+      for (Shard shard : current) {
+        Set<String> mine = desired.stream().filter(a -> shardOf(a, current.length) == shard.index).collect(Collectors.toSet());
+        shard.replaceAssetsLocked(mine);
       }
-      reconnectLocked();
     }
   }
 
-  private void reconnectLocked() {
-    WebSocket ws = this.webSocket;
-    if (ws != null) {
-      try {
-        ws.sendClose(WebSocket.NORMAL_CLOSURE, "resubscribe").join();
-      } catch (Exception ignored) {
-      }
-    }
-    this.webSocket = null;
-    started = false;
-    lastMessageAtMillis.set(0);
-    lastTobEventAtMillisByAssetId.clear();
-    connectLocked();
+  static int shardOf(String assetId, int shardCount) {
+    return Math.floorMod(assetId.hashCode(), shardCount);
+  }
+
+  private Shard[] shardsLocked() {
+    Shard[] current = shards;
+    if (current != null) {
+      return current;
+    }
+    outOfOrderDropped = metrics.createCounter("polybot_market_ws_out_of_order_dropped_total",
+        "Market WS events dropped because a newer event for the asset was already applied");
+    duplicateSnapshots = metrics.createCounter("polybot_market_ws_duplicate_snapshots_total",
+        "Market WS book snapshots skipped because the same snapshot was already applied");
+    int count = Math.max(1, properties.polymarket().marketWsShards());
+    current = new Shard[count];
+    for (int i = 0; i < count; i++) {
+      current[i] = new Shard(i);
+    }
+    shards = current;
+    scheduleMaintenanceOnce();
+    log.info("Market WS pool initialized with {} shard(s)", count);
+    return current;
   }
 
-  private void connectLocked() {
-    if (started) {
+  private void scheduleMaintenanceOnce() {
+    if (!maintenanceScheduled.compareAndSet(false, true)) {
       return;
     }
-    started = true;
-
-    URI wsUri = buildMarketWsUri(properties.polymarket().clobWsUrl());
-    log.info("Connecting to CLOB market websocket: {}", wsUri);
-
-    CompletableFuture<WebSocket> cf = httpClient.newWebSocketBuilder().buildAsync(wsUri, new Listener());
-    this.webSocket = cf.join();
-
-    if (maintenanceScheduled.compareAndSet(false, true)) {
-      pingExecutor.scheduleAtFixedRate(() -> {
-        WebSocket ws = this.webSocket;
-        if (ws != null) {
-          try {
-            ws.sendPing(ByteBuffer.wrap(new byte[]{1}));
-          } catch (Exception ignored) {
+    pingExecutor.scheduleAtFixedRate(() -> {
+      Shard[] current = shards;
+      if (current == null) {
+        return;
+      }
+      for (Shard shard : current) {
+        for (Listener l : new Listener[]{shard.active, shard.pending}) {
+          WebSocket ws = l == null ? null : l.socket;
+          if (ws != null) {
+            try {
+              ws.sendPing(ByteBuffer.wrap(new byte[]{1}));
+            } catch (Exception ignored) {
+            }
           }
         }
-      }, 10, 10, TimeUnit.SECONDS);
+      }
+    }, 10, 10, TimeUnit.SECONDS);
 
-      pingExecutor.scheduleAtFixedRate(this::logHeartbeat, HEARTBEAT_LOG_INTERVAL_SECONDS, HEARTBEAT_LOG_INTERVAL_SECONDS, TimeUnit.SECONDS);
-      pingExecutor.scheduleAtFixedRate(this::maintainConnectionSafely, 5, 5, TimeUnit.SECONDS);
+    pingExecutor.scheduleAtFixedRate(this::logHeartbeat, HEARTBEAT_LOG_INTERVAL_SECONDS, HEARTBEAT_LOG_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    pingExecutor.scheduleAtFixedRate(this::maintainConnectionSafely, 5, 5, TimeUnit.SECONDS);
 
-      long snapshotMillis = eventsProperties.marketWsSnapshotPublishMillis();
-      if (snapshotMillis > 0) {
-        pingExecutor.scheduleAtFixedRate(this::republishSnapshotsSafely, snapshotMillis, snapshotMillis, TimeUnit.MILLISECONDS);
-      }
+    long tobIntervalMillis = eventsProperties.marketWsTobMinIntervalMillis();
+    if (tobIntervalMillis > 0) {
+      long flushMillis = Math.max(10L, tobIntervalMillis / 2);
+      pingExecutor.scheduleAtFixedRate(this::flushTopOfBooksSafely, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
 
-      long flushMillis = properties.polymarket().marketWsCacheFlushMillis();
-      if (flushMillis > 0 && isCachePersistenceEnabled()) {
-        pingExecutor.scheduleAtFixedRate(this::flushCacheSafely, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
-      }
+    long snapshotMillis = eventsProperties.marketWsSnapshotPublishMillis();
+    if (snapshotMillis > 0) {
+      pingExecutor.scheduleAtFixedRate(this::republishSnapshotsSafely, snapshotMillis, snapshotMillis, TimeUnit.MILLISECONDS);
+    }
+
+    long flushMillis = properties.polymarket().marketWsCacheFlushMillis();
+    if (flushMillis > 0 && isCachePersistenceEnabled()) {
+      pingExecutor.scheduleAtFixedRate(this::flushCacheSafely, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
     }
   }
 
   @PreDestroy
   void shutdown() {
     flushCacheSafely();
-    WebSocket ws = this.webSocket;
-    if (ws != null) {
-      try {
-        ws.sendClose(WebSocket.NORMAL_CLOSURE, "shutdown").join();
-      } catch (Exception ignored) {
+    if (events.isEnabled()) {
+      tobConflator().flush(true);
+    }
+    Shard[] current = shards;
+    if (current != null) {
+      for (Shard shard : current) {
+        for (Listener l : new Listener[]{shard.active, shard.pending}) {
+          WebSocket ws = l == null ? null : l.socket;
+          if (ws != null) {
+            l.retired = true;
+            try {
+              ws.sendClose(WebSocket.NORMAL_CLOSURE, "shutdown").join();
+            } catch (Exception ignored) {
+            }
+          }
+        }
       }
     }
     pingExecutor.shutdownNow();
+    closeMappedCache();
   }
 
   private String buildSubscribeMessage(List<String> assetIds) {
@@ -324,64 +385,52 @@ public class ClobMarketWebSocketClient {
     }
   }
 
-  private void sendSubscribeLocked() {
-    WebSocket ws = this.webSocket;
-    if (ws == null) {
-      return;
-    }
-    List<String> snapshot = subscribedAssetIds.stream().sorted().toList();
-    if (snapshot.isEmpty()) {
-      return;
-    }
-    ws.sendText(buildSubscribeMessage(snapshot), true);
-    log.info("Subscribed to {} market assets via WS (e.g. {})", snapshot.size(), sampleAssetSuffixes(snapshot, 4));
-  }
-
-  private void handleMessage(String message) {
-    if ("PONG".equalsIgnoreCase(message) || "PING".equalsIgnoreCase(message)) {
-      lastMessageAtMillis.set(System.currentTimeMillis());
-      return;
-    }
-    messagesReceived.incrementAndGet();
-    lastMessageAtMillis.set(System.currentTimeMillis());
+  /**
+   * Adds {@code assetIds} to, or with {@code operation} "unsubscribe" removes them from, an already subscribed socket.
+   */
+  private String buildInBandMessage(String operation, List<String> assetIds) {
     try {
-      JsonNode node = objectMapper.readTree(message);
-      handleMessageNode(node);
+      return objectMapper.writeValueAsString(Map.of("assets_ids", assetIds, "operation", operation));
     } catch (Exception e) {
-      log.debug("Failed to parse ws message: {}", message);
+      throw new IllegalStateException("Failed to build market ws " + operation + " message", e);
     }
   }
 
-  private void handleMessageNode(JsonNode node) {
-    if (node == null || node.isNull()) {
+  private void handleMessage(CharSequence message, Listener listener) {
+    if (listener.retired) {
       return;
     }
-    if (node.isArray()) {
-      for (JsonNode n : node) {
-        handleMessageNode(n);
-      }
+    Shard shard = listener.shard;
+    long now = System.currentTimeMillis();
+    lastMessageAtMillis.set(now);
+    shard.lastMessageAtMillis.set(now);
+    listener.lastMessageAtMillis = now;
+    if (isControlFrame(message)) {
       return;
     }
-
-    String eventType = node.path("event_type").asText("");
-    switch (eventType) {
-      case "book" -> {
-        bookMessages.incrementAndGet();
-        handleBook(node);
-      }
-      case "price_change" -> {
-        priceChangeMessages.incrementAndGet();
-        handlePriceChange(node);
-      }
-      case "last_trade_price" -> {
-        lastTradeMessages.incrementAndGet();
-        handleLastTradePrice(node);
-      }
-      default -> {
+    messagesReceived.incrementAndGet();
+    shard.messages.incrementAndGet();
+    synchronized (shard.lock) {
+      try {
+        if (properties.polymarket().marketWsStreamingDecode()) {
+          listener.decoder.decode(message, listener.handler);
+        } else {
+          ClobMarketMessageDecoder.decodeTree(objectMapper.readTree(message.toString()), listener.handler);
+        }
+      } catch (Exception e) {
+        log.debug("Failed to parse ws message: {}", message);
       }
     }
   }
 
+  private static boolean isControlFrame(CharSequence message) {
+    if (message.length() != 4) {
+      return false;
+    }
+    String s = message.toString();
+    return "PONG".equalsIgnoreCase(s) || "PING".equalsIgnoreCase(s);
+  }
+
   private void maintainConnectionSafely() {
     try {
       maintainConnection();
@@ -394,41 +443,61 @@ public class ClobMarketWebSocketClient {
     if (!properties.polymarket().marketWsEnabled()) {
       return;
     }
-    if (subscribedAssetIds.isEmpty()) {
+    Shard[] current = shards;
+    if (current == null) {
       return;
     }
 
     long staleTimeoutMillis = properties.polymarket().marketWsStaleTimeoutMillis();
     long reconnectBackoffMillis = properties.polymarket().marketWsReconnectBackoffMillis();
+    long handoverTimeoutMillis = properties.polymarket().marketWsHandoverTimeoutMillis();
     long now = System.currentTimeMillis();
 
-    boolean disconnected = !started || webSocket == null;
-    long lastAt = lastMessageAtMillis.get();
-    boolean stale = staleTimeoutMillis > 0 && lastAt > 0 && (now - lastAt) > staleTimeoutMillis;
-    if (!disconnected && !stale) {
-      return;
-    }
+    for (Shard shard : current) {
+      shard.sampleRate(now);
+      if (shard.assetIds.isEmpty()) {
+        continue;
+      }
 
-    long prevAttempt = lastReconnectAttemptAtMillis.get();
-    if (reconnectBackoffMillis > 0 && prevAttempt > 0 && now - prevAttempt < reconnectBackoffMillis) {
-      return;
-    }
-    lastReconnectAttemptAtMillis.set(now);
+      Listener next = shard.pending;
+      if (next != null) {
+        if (now - next.openedAtMillis > handoverTimeoutMillis) {
+          synchronized (this) {
+            shard.handoverTimedOutLocked(next, now);
+          }
+        }
+        continue;
+      }
 
-    String reason = disconnected ? "disconnected" : "stale";
-    long lastAgo = lastAt <= 0 ? -1 : now - lastAt;
-    log.warn("Market WS reconnecting (reason={}, subscribed={}, tobKnown={}, lastMsgAgoMs={})", reason, subscribedAssetIds.size(), topOfBookByAssetId.size(), lastAgo);
+      boolean disconnected = shard.active == null;
+      long lastAt = shard.activeLastMessageAtMillis();
+      boolean stale = staleTimeoutMillis > 0 && lastAt > 0 && (now - lastAt) > staleTimeoutMillis;
+      if (!disconnected && !stale) {
+        continue;
+      }
 
-    synchronized (this) {
-      if (subscribedAssetIds.isEmpty()) {
-        return;
+      long prevAttempt = shard.lastReconnectAttemptAtMillis.get();
+      if (reconnectBackoffMillis > 0 && prevAttempt > 0 && now - prevAttempt < reconnectBackoffMillis) {
+        continue;
+      }
+      shard.lastReconnectAttemptAtMillis.set(now);
+
+      String reason = disconnected ? "disconnected" : "stale";
+      long lastAgo = lastAt <= 0 ? -1 : now - lastAt;
+      log.warn("Market WS shard {} reconnecting (reason={}, subscribed={}, tobKnown={}, lastMsgAgoMs={})",
+          shard.index, reason, shard.assetIds.size(), tickTopOfBooks.size(), lastAgo);
+
+      synchronized (this) {
+        if (shard.assetIds.isEmpty()) {
+          continue;
+        }
+        shard.reconnectLocked(reason, disconnected ? 0L : lastAt);
       }
-      reconnectLocked();
     }
   }
 
   private void logHeartbeat() {
-    if (!started) {
+    if (!isStarted()) {
       return;
     }
     long now = System.currentTimeMillis();
@@ -436,19 +505,45 @@ public class ClobMarketWebSocketClient {
     String lastAgo = lastAt <= 0 ? "never" : (now - lastAt) + "ms ago";
 
     int subscribed = subscribedAssetIds.size();
-    int known = topOfBookByAssetId.size();
+    int known = tickTopOfBooks.size();
     int fresh = 0;
+    TickTopOfBookStore.Snapshot tob = new TickTopOfBookStore.Snapshot();
     for (String assetId : subscribedAssetIds) {
-      TopOfBook tob = topOfBookByAssetId.get(assetId);
-      if (tob == null || tob.updatedAt() == null) {
-        continue;
-      }
-      if (now - tob.updatedAt().toEpochMilli() <= FRESH_TOB_LOG_THRESHOLD_MILLIS) {
+      if (tickTopOfBooks.read(assetId, tob) && !tob.isStale(now, FRESH_TOB_LOG_THRESHOLD_MILLIS)) {
         fresh++;
       }
     }
     log.info("Market WS heartbeat subscribed={} tobKnown={} tobFresh({}ms)={} msgs={} book={} priceChange={} lastTrade={} lastMsg={}",
         subscribed, known, FRESH_TOB_LOG_THRESHOLD_MILLIS, fresh, messagesReceived.get(), bookMessages.get(), priceChangeMessages.get(), lastTradeMessages.get(), lastAgo);
+    Shard[] current = shards;
+    if (current != null && current.length > 1) {
+      log.info("Market WS shards {}", shardStatuses().stream()
+          .map(st -> "%d:%s/%d/%.1fmps/%dms".formatted(st.shard(), st.connected() ? "up" : "down", st.subscribedAssets(), st.messagesPerSecond(), st.lastMessageAgeMillis()))
+          .collect(Collectors.joining(" ", "[", "]")));
+    }
+  }
+
+  private TopOfBookConflator tobConflator() {
+    TopOfBookConflator current = tobConflator;
+    if (current != null) {
+      return current;
+    }
+    synchronized (tobConflatorLock) {
+      if (tobConflator == null) {
+        tobConflator = new TopOfBookConflator(events, eventsProperties.marketWsTobMinIntervalMillis(), clock, metrics);
+      }
+      return tobConflator;
+    }
+  }
+
+  private void flushTopOfBooksSafely() {
+    try {
+      if (events.isEnabled()) {
+        tobConflator().flush(false);
+      }
+    } catch (Exception e) {
+      log.debug("Market WS TOB flush failed: {}", e.toString());
+    }
   }
 
   private void republishSnapshotsSafely() {
@@ -460,125 +555,147 @@ public class ClobMarketWebSocketClient {
   }
 
   private void republishSnapshots() {
-    if (!started) {
+    Shard[] current = shards;
+    if (current == null) {
       return;
     }
     if (!events.isEnabled()) {
       return;
     }
-    if (subscribedAssetIds.isEmpty() || topOfBookByAssetId.isEmpty()) {
+    if (subscribedAssetIds.isEmpty() || tickTopOfBooks.size() == 0) {
       return;
     }
 
     long staleTimeoutMillis = properties.polymarket().marketWsStaleTimeoutMillis();
     long nowMillis = System.currentTimeMillis();
-    long lastAt = lastMessageAtMillis.get();
-    boolean stale = staleTimeoutMillis > 0 && lastAt > 0 && (nowMillis - lastAt) > staleTimeoutMillis;
-    if (stale) {
-      return;
-    }
-
     Instant now = Instant.now(clock);
-    for (String assetId : subscribedAssetIds) {
-      TopOfBook tob = topOfBookByAssetId.get(assetId);
-      if (tob == null || tob.bestBid() == null || tob.bestAsk() == null) {
+    for (Shard shard : current) {
+      long lastAt = shard.activeLastMessageAtMillis();
+      boolean stale = staleTimeoutMillis > 0 && lastAt > 0 && (nowMillis - lastAt) > staleTimeoutMillis;
+      if (!shard.connected() || stale) {
         continue;
       }
-
-      TopOfBook snapshot = new TopOfBook(
-          tob.bestBid(),
-          tob.bestAsk(),
-          tob.bestBidSize(),
-          tob.bestAskSize(),
-          tob.lastTradePrice(),
-          now,
-          tob.lastTradeAt()
-      );
-      topOfBookByAssetId.put(assetId, snapshot);
-      maybePublishTopOfBook(assetId, snapshot);
+      republishSnapshots(shard, now);
     }
   }
 
-  private void handleBook(JsonNode node) {
-    String assetId = node.path("asset_id").asText(null);
-    if (assetId == null) {
-      return;
+  private void republishSnapshots(Shard shard, Instant now) {
+    // Under the shard lock: the shard's listener is the only other writer of these assets.
+    synchronized (shard.lock) {
+      republishSnapshotsLocked(shard, now);
     }
-    JsonNode bidsNode = node.has("bids") ? node.get("bids") : node.get("buys");
-    JsonNode asksNode = node.has("asks") ? node.get("asks") : node.get("sells");
+  }
 
-    TopLevel bestBidLevel = extractBestLevel(bidsNode, true);
-    TopLevel bestAskLevel = extractBestLevel(asksNode, false);
+  /**
+   * Heartbeat for quiet assets only: an asset that published within the snapshot interval is already fresh.
+   */
+  private void republishSnapshotsLocked(Shard shard, Instant now) {
+    long quietSinceMillis = now.toEpochMilli() - eventsProperties.marketWsSnapshotPublishMillis();
+    TopOfBookConflator conflator = tobConflator();
+    TickTopOfBookStore.Snapshot tob = new TickTopOfBookStore.Snapshot();
+    for (String assetId : shard.assetIds) {
+      if (!tickTopOfBooks.read(assetId, tob) || !tob.hasBidAndAsk()) {
+        continue;
+      }
+      if (conflator.lastPublishedMillis(assetId) > quietSinceMillis) {
+        continue;
+      }
+      writeTopOfBook(assetId, tob.bestBidLevel(), tob.bestAskLevel(), tob.lastTradePriceTicks(), now.toEpochMilli(),
+          tob.lastTradeAtMillis(), false);
+    }
+  }
 
-    BigDecimal bestBid = bestBidLevel == null ? null : bestBidLevel.price();
-    BigDecimal bestBidSize = bestBidLevel == null ? null : bestBidLevel.size();
-    BigDecimal bestAsk = bestAskLevel == null ? null : bestAskLevel.price();
-    BigDecimal bestAskSize = bestAskLevel == null ? null : bestAskLevel.size();
-    BigDecimal lastTradePrice = parseDecimal(node.path("last_trade_price").asText(null));
+  /**
+   * Applies a {@code book} snapshot's best levels; {@code previous} is the caller's scratch for the asset's last
+   * state, which supplies a missing level size and the last trade.
+   */
+  private void handleBook(
+      String assetId,
+      long bestBidLevel,
+      long bestAskLevel,
+      int lastTradePriceTicks,
+      TickTopOfBookStore.Snapshot previous
+  ) {
+    long nowMillis = clock.millis();
+    boolean known = tickTopOfBooks.read(assetId, previous);
+    int prevLast = known ? previous.lastTradePriceTicks() : FixedPoint.NONE;
+    long prevTradeAt = known ? previous.lastTradeAtMillis() : 0L;
+
+    int nextLast = lastTradePriceTicks != FixedPoint.NONE ? lastTradePriceTicks : prevLast;
+    long nextTradeAt = lastTradePriceTicks != FixedPoint.NONE && lastTradePriceTicks != prevLast ? nowMillis : prevTradeAt;
+    long bid = withSize(bestBidLevel, known ? previous.bestBidCentiShares() : FixedPoint.NONE);
+    long ask = withSize(bestAskLevel, known ? previous.bestAskCentiShares() : FixedPoint.NONE);
+    writeTopOfBook(assetId, bid, ask, nextLast, nowMillis, nextTradeAt, true);
+  }
 
-    Instant now = Instant.now(clock);
-    TopOfBook tob = topOfBookByAssetId.compute(assetId, (k, prev) -> {
-      BigDecimal prevLast = prev == null ? null : prev.lastTradePrice();
-      Instant prevTradeAt = prev == null ? null : prev.lastTradeAt();
+  /**
+   * Applies a {@code price_change} entry; fields it does not carry keep their previous value.
+   */
+  private void handlePriceChange(
+      String assetId,
+      int bestBidTicks,
+      int bestAskTicks,
+      long bestBidCentiShares,
+      long bestAskCentiShares,
+      TickTopOfBookStore.Snapshot previous
+  ) {
+    long nowMillis = clock.millis();
+    boolean known = tickTopOfBooks.read(assetId, previous);
+    long bid = FixedPoint.packLevel(
+        bestBidTicks != FixedPoint.NONE ? bestBidTicks : (known ? previous.bestBidTicks() : FixedPoint.NONE),
+        bestBidCentiShares != FixedPoint.NONE ? bestBidCentiShares : (known ? previous.bestBidCentiShares() : FixedPoint.NONE));
+    long ask = FixedPoint.packLevel(
+        bestAskTicks != FixedPoint.NONE ? bestAskTicks : (known ? previous.bestAskTicks() : FixedPoint.NONE),
+        bestAskCentiShares != FixedPoint.NONE ? bestAskCentiShares : (known ? previous.bestAskCentiShares() : FixedPoint.NONE));
+    writeTopOfBook(assetId, bid, ask,
+        known ? previous.lastTradePriceTicks() : FixedPoint.NONE, nowMillis, known ? previous.lastTradeAtMillis() : 0L, true);
+  }
 
-      BigDecimal nextLast = lastTradePrice != null ? lastTradePrice : prevLast;
-      Instant nextTradeAt = prevTradeAt;
-      if (nextLast != null && (prevLast == null || (lastTradePrice != null && prevLast != null && lastTradePrice.compareTo(prevLast) != 0))) {
-        nextTradeAt = now;
-      }
-      BigDecimal nextBidSize = bestBidSize != null ? bestBidSize : (prev == null ? null : prev.bestBidSize());
-      BigDecimal nextAskSize = bestAskSize != null ? bestAskSize : (prev == null ? null : prev.bestAskSize());
-      return new TopOfBook(bestBid, bestAsk, nextBidSize, nextAskSize, nextLast, now, nextTradeAt);
-    });
-    maybePublishTopOfBook(assetId, tob);
+  private void handleLastTradePrice(String assetId, int priceTicks, TickTopOfBookStore.Snapshot previous) {
+    long nowMillis = clock.millis();
+    boolean known = tickTopOfBooks.read(assetId, previous);
+    writeTopOfBook(assetId, known ? previous.bestBidLevel() : FixedPoint.EMPTY_LEVEL,
+        known ? previous.bestAskLevel() : FixedPoint.EMPTY_LEVEL, priceTicks, nowMillis, nowMillis, true);
   }
 
-  private void handlePriceChange(JsonNode node) {
-    JsonNode changes = node.path("price_changes");
-    if (!changes.isArray()) {
-      return;
+  private static long withSize(long level, long fallbackCentiShares) {
+    if (level == FixedPoint.EMPTY_LEVEL || FixedPoint.levelCentiShares(level) != FixedPoint.NONE) {
+      return level;
     }
-    Instant now = Instant.now(clock);
-    for (JsonNode change : changes) {
-      String assetId = change.path("asset_id").asText(null);
-      if (assetId == null) {
-        continue;
-      }
-      BigDecimal bestBid = parseDecimal(change.path("best_bid").asText(null));
-      BigDecimal bestAsk = parseDecimal(change.path("best_ask").asText(null));
-      BigDecimal bestBidSize = parseDecimal(change.path("best_bid_size").asText(null));
-      BigDecimal bestAskSize = parseDecimal(change.path("best_ask_size").asText(null));
+    return FixedPoint.packLevel(FixedPoint.levelPriceTicks(level), fallbackCentiShares);
+  }
 
-      TopOfBook tob = topOfBookByAssetId.compute(assetId, (k, prev) -> new TopOfBook(
-          bestBid != null ? bestBid : (prev == null ? null : prev.bestBid()),
-          bestAsk != null ? bestAsk : (prev == null ? null : prev.bestAsk()),
-          bestBidSize != null ? bestBidSize : (prev == null ? null : prev.bestBidSize()),
-          bestAskSize != null ? bestAskSize : (prev == null ? null : prev.bestAskSize()),
-          prev == null ? null : prev.lastTradePrice(),
-          now,
-          prev == null ? null : prev.lastTradeAt()
-      ));
-      maybePublishTopOfBook(assetId, tob);
+  /**
+   * Publishes a new state for the asset. The {@link TopOfBook} for {@code market_ws.tob} is only built when events
+   * are enabled.
+   */
+  private void writeTopOfBook(
+      String assetId,
+      long bestBidLevel,
+      long bestAskLevel,
+      int lastTradePriceTicks,
+      long updatedAtMillis,
+      long lastTradeAtMillis,
+      boolean notify
+  ) {
+    tickTopOfBooks.write(assetId, bestBidLevel, bestAskLevel, lastTradePriceTicks, updatedAtMillis, lastTradeAtMillis);
+    if (notify) {
+      notifyTopOfBook(assetId);
+    }
+    if (events.isEnabled()) {
+      maybePublishTopOfBook(assetId,
+          new TickTopOfBook(bestBidLevel, bestAskLevel, lastTradePriceTicks, updatedAtMillis, lastTradeAtMillis).toTopOfBook());
     }
   }
 
-  private void handleLastTradePrice(JsonNode node) {
-    String assetId = node.path("asset_id").asText(null);
-    if (assetId == null) {
-      return;
+  private void notifyTopOfBook(String assetId) {
+    for (TopOfBookListener listener : topOfBookListeners) {
+      try {
+        listener.onTopOfBook(assetId);
+      } catch (Exception e) {
+        log.debug("Top-of-book listener failed for {}: {}", assetId, e.toString());
+      }
     }
-    BigDecimal price = parseDecimal(node.path("price").asText(null));
-    Instant now = Instant.now(clock);
-    TopOfBook tob = topOfBookByAssetId.compute(assetId, (k, prev) -> new TopOfBook(
-        prev == null ? null : prev.bestBid(),
-        prev == null ? null : prev.bestAsk(),
-        prev == null ? null : prev.bestBidSize(),
-        prev == null ? null : prev.bestAskSize(),
-        price,
-        now,
-        now
-    ));
-    maybePublishTopOfBook(assetId, tob);
   }
 
   private void maybePublishTopOfBook(String assetId, TopOfBook tob) {
@@ -589,40 +706,22 @@ public class ClobMarketWebSocketClient {
       return;
     }
 
-    long minIntervalMillis = eventsProperties.marketWsTobMinIntervalMillis();
-    long nowMillis = tob.updatedAt() != null ? tob.updatedAt().toEpochMilli() : System.currentTimeMillis();
-    if (minIntervalMillis > 0) {
-      AtomicLong last = lastTobEventAtMillisByAssetId.computeIfAbsent(assetId, k -> new AtomicLong(0L));
-      while (true) {
-        long prev = last.get();
-        if (nowMillis - prev < minIntervalMillis) {
-          return;
-        }
-        if (last.compareAndSet(prev, nowMillis)) {
-          break;
-        }
-      }
-    }
-
-    events.publish(tob.updatedAt(), HftEventTypes.MARKET_WS_TOB, assetId, new MarketTopOfBookEvent(
-        assetId,
-        tob.bestBid(),
-        tob.bestBidSize(),
-        tob.bestAsk(),
-        tob.bestAskSize(),
-        tob.lastTradePrice(),
-        tob.updatedAt(),
-        tob.lastTradeAt()
-    ));
+    tobConflator().offer(assetId, tob);
   }
 
-  private record TopLevel(BigDecimal price, BigDecimal size) {}
-
   private boolean isCachePersistenceEnabled() {
     String path = properties.polymarket().marketWsCachePath();
     return path != null && !path.isBlank();
   }
 
+  /**
+   * Paths ending in {@code .json} keep the legacy whole-map JSON snapshot; anything else uses the memory-mapped
+   * fixed-record cache, which is updated in place per asset.
+   */
+  private boolean isJsonCachePath(String pathStr) {
+    return pathStr.toLowerCase(Locale.ROOT).endsWith(".json");
+  }
+
   private void maybeLoadCacheFromDisk() {
     if (!isCachePersistenceEnabled()) {
       return;
@@ -635,19 +734,16 @@ public class ClobMarketWebSocketClient {
       log.warn("Market WS cache path is invalid: {}", pathStr);
       return;
     }
-    if (!Files.exists(path)) {
-      return;
-    }
     try {
-      String json = Files.readString(path);
-      if (json == null || json.isBlank()) {
-        return;
-      }
-      MarketWsCacheSnapshot snapshot = objectMapper.readValue(json, MarketWsCacheSnapshot.class);
+      MarketWsCacheSnapshot snapshot = isJsonCachePath(pathStr) ? readJsonCache(path) : readMappedCache(path);
       if (snapshot == null || snapshot.topOfBookByAssetId() == null || snapshot.topOfBookByAssetId().isEmpty()) {
         return;
       }
-      topOfBookByAssetId.putAll(snapshot.topOfBookByAssetId());
+      snapshot.topOfBookByAssetId().forEach((assetId, tob) -> {
+        if (assetId != null && tob != null) {
+          tickTopOfBooks.write(assetId, tob);
+        }
+      });
       log.info("Loaded market WS TOB cache from {} (assets={})", pathStr, snapshot.topOfBookByAssetId().size());
 
       if (Boolean.TRUE.equals(eventsProperties.marketWsCachePublishOnStart()) && events.isEnabled()) {
@@ -677,6 +773,26 @@ public class ClobMarketWebSocketClient {
     }
   }
 
+  private MarketWsCacheSnapshot readJsonCache(Path path) throws Exception {
+    if (!Files.exists(path)) {
+      return null;
+    }
+    String json = Files.readString(path);
+    if (json == null || json.isBlank()) {
+      return null;
+    }
+    return objectMapper.readValue(json, MarketWsCacheSnapshot.class);
+  }
+
+  private MarketWsCacheSnapshot readMappedCache(Path path) throws Exception {
+    synchronized (mappedCacheLock) {
+      if (mappedCache == null) {
+        mappedCache = MappedTopOfBookCache.open(path);
+      }
+      return new MarketWsCacheSnapshot(null, mappedCache.loadedSubscribedAssetIds(), mappedCache.loadedTopOfBooks());
+    }
+  }
+
   private void flushCacheSafely() {
     if (!isCachePersistenceEnabled()) {
       return;
@@ -695,6 +811,20 @@ public class ClobMarketWebSocketClient {
     }
 
     Path path = Path.of(pathStr);
+    if (!isJsonCachePath(pathStr)) {
+      synchronized (mappedCacheLock) {
+        if (mappedCacheClosed) {
+          return;
+        }
+        if (mappedCache == null) {
+          mappedCache = MappedTopOfBookCache.open(path);
+        }
+        int written = mappedCache.flush(topOfBooks(), subscribedAssetIds, Instant.now(clock));
+        log.trace("Market WS cache flush wrote {} records", written);
+      }
+      return;
+    }
+
     Path parent = path.getParent();
     if (parent != null) {
       Files.createDirectories(parent);
@@ -703,7 +833,7 @@ public class ClobMarketWebSocketClient {
     MarketWsCacheSnapshot snapshot = new MarketWsCacheSnapshot(
         Instant.now(clock),
         subscribedAssetIds.stream().sorted().toList(),
-        new HashMap<>(topOfBookByAssetId)
+        topOfBooks()
     );
 
     String json = objectMapper.writeValueAsString(snapshot);
@@ -716,24 +846,584 @@ public class ClobMarketWebSocketClient {
     }
   }
 
+  private Map<String, TopOfBook> topOfBooks() {
+    Map<String, TopOfBook> out = new HashMap<>();
+    TickTopOfBookStore.Snapshot tob = new TickTopOfBookStore.Snapshot();
+    for (String assetId : tickTopOfBooks.assetIds()) {
+      if (tickTopOfBooks.read(assetId, tob)) {
+        out.put(assetId, tob.toTickTopOfBook().toTopOfBook());
+      }
+    }
+    return out;
+  }
+
+  private void closeMappedCache() {
+    synchronized (mappedCacheLock) {
+      mappedCacheClosed = true;
+      if (mappedCache == null) {
+        return;
+      }
+      try {
+        mappedCache.close();
+      } catch (Exception e) {
+        log.debug("Market WS cache close failed: {}", e.getMessage());
+      }
+      mappedCache = null;
+    }
+  }
+
   private record MarketWsCacheSnapshot(
       Instant snapshotAt,
       List<String> subscribedAssetIds,
       Map<String, TopOfBook> topOfBookByAssetId
   ) {}
 
+  /**
+   * Applies one listener's frames. Runs under its shard's lock, so the per-asset continuity check and the book update
+   * are atomic with respect to the other socket of a handover.
+   */
+  private final class MessageHandler implements ClobMarketMessageDecoder.Handler {
+    private final Listener listener;
+    private final TickTopOfBookStore.Snapshot previous = new TickTopOfBookStore.Snapshot();
+    private long eventTimestampMillis;
+    private String eventHash;
+    private boolean bookAdmitted;
+
+    private MessageHandler(Listener listener) {
+      this.listener = listener;
+    }
+
+    @Override
+    public void onEventMeta(long serverTimestampMillis, String hash) {
+      eventTimestampMillis = serverTimestampMillis;
+      eventHash = hash;
+    }
+
+    @Override
+    public void onBook(String assetId, long bestBidLevel, long bestAskLevel, int lastTradePriceTicks) {
+      bookAdmitted = false;
+      if (!listener.shard.assetIds.contains(assetId)) {
+        return;
+      }
+      BookSequence seq = sequenceByAssetId.computeIfAbsent(assetId, k -> new BookSequence());
+      if (eventHash != null && eventHash.equals(seq.bookHash) && eventTimestampMillis == seq.serverTimestampMillis) {
+        // Same snapshot delivered by both sockets of a handover.
+        duplicateSnapshots.increment();
+        return;
+      }
+      if (!admit(seq)) {
+        return;
+      }
+      seq.bookHash = eventHash;
+      bookAdmitted = true;
+      bookMessages.incrementAndGet();
+      handleBook(assetId, bestBidLevel, bestAskLevel, lastTradePriceTicks, previous);
+    }
+
+    @Override
+    public void onPriceChangeMessage() {
+      priceChangeMessages.incrementAndGet();
+    }
+
+    @Override
+    public void onPriceChange(String assetId, int bestBidTicks, int bestAskTicks, long bestBidCentiShares, long bestAskCentiShares) {
+      if (admit(assetId)) {
+        handlePriceChange(assetId, bestBidTicks, bestAskTicks, bestBidCentiShares, bestAskCentiShares, previous);
+      }
+    }
+
+    @Override
+    public void onLastTradePrice(String assetId, int priceTicks) {
+      if (admit(assetId)) {
+        lastTradeMessages.incrementAndGet();
+        handleLastTradePrice(assetId, priceTicks, previous);
+      }
+    }
+
+    @Override
+    public void onTickSizeChange(String assetId, BigDecimal newTickSize) {
+      if (!listener.shard.assetIds.contains(assetId)) {
+        return;
+      }
+      log.info("Market WS tick size change asset={} newTickSize={}", suffix(assetId), newTickSize);
+      TokenMetadataCache cache = tokenMetadata.getIfAvailable();
+      if (cache != null) {
+        // Refetched in the background, so the next order on the asset does not pay for it inline
+        cache.invalidate(assetId);
+        cache.warmUp(List.of(assetId));
+      }
+    }
+
+    @Override
+    public void onBookDepth(String assetId, ClobMarketMessageDecoder.Levels bids, ClobMarketMessageDecoder.Levels asks) {
+      if (bookAdmitted) {
+        orderBookByAssetId.computeIfAbsent(assetId, k -> new L2OrderBook()).applySnapshot(bids, asks, clock.millis());
+      }
+      listener.snapshotReceived(assetId);
+    }
+
+    @Override
+    public void onPriceLevel(String assetId, boolean bid, int priceTicks, long centiShares) {
+      // Deltas are only meaningful on top of a snapshot; the server sends one per asset on subscribe.
+      L2OrderBook book = orderBookByAssetId.get(assetId);
+      if (book != null && admit(assetId)) {
+        book.applyLevel(bid, priceTicks, centiShares, clock.millis());
+      }
+    }
+
+    private boolean admit(String assetId) {
+      if (!listener.shard.assetIds.contains(assetId)) {
+        return false;
+      }
+      return admit(sequenceByAssetId.computeIfAbsent(assetId, k -> new BookSequence()));
+    }
+
+    /**
+     * Drops events older than the newest one already applied for the asset, whichever socket delivered it.
+     */
+    private boolean admit(BookSequence seq) {
+      if (eventTimestampMillis <= 0L) {
+        return true;
+      }
+      if (eventTimestampMillis < seq.serverTimestampMillis) {
+        outOfOrderDropped.increment();
+        return false;
+      }
+      seq.serverTimestampMillis = eventTimestampMillis;
+      return true;
+    }
+  }
+
+  /**
+   * Newest server timestamp and book hash applied for an asset. Mutated under the owning shard's lock.
+   */
+  private static final class BookSequence {
+    private long serverTimestampMillis;
+    private String bookHash;
+  }
+
+  @FunctionalInterface
+  public interface TopOfBookListener {
+    void onTopOfBook(String assetId);
+  }
+
+  /**
+   * Point-in-time view of one pool shard.
+   */
+  public record ShardStatus(
+      int shard,
+      boolean connected,
+      int subscribedAssets,
+      long messages,
+      double messagesPerSecond,
+      long lastMessageAgeMillis,
+      long reconnects,
+      boolean handoverPending
+  ) {}
+
+  /**
+   * One slot of the pool and the slice of assets it is subscribed to. {@link #active} is the socket whose data the
+   * shard currently relies on; {@link #pending} is a replacement that takes over once it has delivered a
+   * {@code book} snapshot for every asset (make-before-break). Asset slices change under the client monitor; the
+   * handover state changes under {@link #lock}, which also serializes frame handling for the shard.
+   */
+  private final class Shard {
+    private final int index;
+    private final Object lock = new Object();
+    private final Set<String> assetIds = ConcurrentHashMap.newKeySet();
+    private final AtomicLong messages = new AtomicLong(0);
+    private final AtomicLong lastMessageAtMillis = new AtomicLong(0);
+    private final AtomicLong lastReconnectAttemptAtMillis = new AtomicLong(0);
+    private final Counter reconnects;
+    private final Timer blackout;
+
+    private volatile Listener active;
+    private volatile Listener pending;
+    private volatile double messagesPerSecond;
+    private long reconnectStartedAtMillis;
+    private long blackoutStartedAtMillis;
+    private long rateSampleMessages;
+    private long rateSampleAtMillis;
+
+    private Shard(int index) {
+      this.index = index;
+      Tag tag = Tag.of("shard", Integer.toString(index));
+      this.reconnects = metrics.createCounter("polybot_market_ws_shard_reconnects_total", "Market WS shard reconnects", tag);
+      this.blackout = metrics.createHistogramTimer("polybot_market_ws_reconnect_blackout",
+          "Time a reconnecting market WS shard had no live data feed (0 for a clean make-before-break handover)", tag);
+      metrics.registerBooleanGauge("polybot_market_ws_shard_connected", "Market WS shard connection status (1 = connected)",
+          this::connected, tag);
+      metrics.registerIntGauge("polybot_market_ws_shard_assets", "Assets subscribed on a market WS shard", assetIds::size, tag);
+      metrics.registerDoubleGauge("polybot_market_ws_shard_messages_per_second", "Market WS shard message rate",
+          () -> messagesPerSecond, tag);
+      metrics.registerDoubleGauge("polybot_market_ws_shard_last_message_age_ms", "Millis since the last market WS shard message",
+          () -> {
+            long lastAt = lastMessageAtMillis.get();
+            return lastAt <= 0 ? -1.0 : (double) (System.currentTimeMillis() - lastAt);
+          }, tag);
+    }
+
+    boolean started() {
+      return active != null || pending != null;
+    }
+
+    boolean connected() {
+      Listener current = active;
+      return current != null && current.socket != null;
+    }
+
+    /**
+     * Last message of the socket the shard relies on, or 0; frames of a replacement still collecting snapshots
+     * must not make a dead active socket look alive.
+     */
+    long activeLastMessageAtMillis() {
+      Listener current = active;
+      return current == null ? 0L : current.lastMessageAtMillis;
+    }
+
+    void addAssetsLocked(List<String> assets) {
+      List<String> added = new ArrayList<>();
+      for (String assetId : assets) {
+        if (assetIds.add(assetId)) {
+          added.add(assetId);
+        }
+      }
+      if (assetIds.isEmpty()) {
+        return;
+      }
+      if (!started()) {
+        connectLocked();
+        return;
+      }
+      subscribeLocked(added);
+    }
+
+    void replaceAssetsLocked(Set<String> desired) {
+      if (assetIds.equals(desired) && (started() || desired.isEmpty())) {
+        return;
+      }
+      List<String> removed = new ArrayList<>();
+      for (String assetId : assetIds) {
+        if (!desired.contains(assetId)) {
+          removed.add(assetId);
+        }
+      }
+      assetIds.removeAll(removed);
+      List<String> added = new ArrayList<>();
+      for (String assetId : desired) {
+        if (assetIds.add(assetId)) {
+          added.add(assetId);
+        }
+      }
+      if (desired.isEmpty()) {
+        closeLocked("unsubscribe");
+        return;
+      }
+      if (!started()) {
+        connectLocked();
+        return;
+      }
+      unsubscribeLocked(removed);
+      subscribeLocked(added);
+    }
+
+    /**
+     * Unsubscribes the shard's open and connecting sockets from {@code removed} in-band. Events of removed assets
+     * that are already in flight are ignored.
+     */
+    private void unsubscribeLocked(List<String> removed) {
+      if (removed.isEmpty()) {
+        return;
+      }
+      synchronized (lock) {
+        for (Listener l : new Listener[]{active, pending}) {
+          if (l != null) {
+            l.unsubscribeLocked(removed);
+          }
+        }
+      }
+      log.info("Shard {} unsubscribed from {} market assets in-band (e.g. {})", index, removed.size(), sampleAssetSuffixes(removed, 4));
+    }
+
+    /**
+     * Subscribes the shard's open and connecting sockets to {@code added} in-band, without reconnecting.
+     */
+    private void subscribeLocked(List<String> added) {
+      if (added.isEmpty()) {
+        return;
+      }
+      synchronized (lock) {
+        for (Listener l : new Listener[]{active, pending}) {
+          if (l != null) {
+            l.subscribeLocked(added);
+          }
+        }
+      }
+      log.info("Shard {} subscribed to {} more market assets in-band (e.g. {})", index, added.size(), sampleAssetSuffixes(added, 4));
+    }
+
+    void connectLocked() {
+      if (started() || assetIds.isEmpty()) {
+        return;
+      }
+      open();
+    }
+
+    /**
+     * @param feedLostAtMillis when the current socket stopped delivering data, or 0 if it still is
+     */
+    void reconnectLocked(String reason, long feedLostAtMillis) {
+      reconnects.increment();
+      long now = System.currentTimeMillis();
+      synchronized (lock) {
+        if (reconnectStartedAtMillis == 0L) {
+          reconnectStartedAtMillis = now;
+        }
+        if (feedLostAtMillis > 0L && blackoutStartedAtMillis == 0L) {
+          blackoutStartedAtMillis = feedLostAtMillis;
+        }
+        Listener current = active;
+        if (current == null || !properties.polymarket().marketWsMakeBeforeBreak()) {
+          if (current != null) {
+            active = null;
+            current.retire(reason);
+          }
+          if (blackoutStartedAtMillis == 0L) {
+            blackoutStartedAtMillis = now;
+          }
+        }
+      }
+      open();
+    }
+
+    void closeLocked(String reason) {
+      synchronized (lock) {
+        for (Listener l : new Listener[]{active, pending}) {
+          if (l != null) {
+            l.retire(reason);
+          }
+        }
+        active = null;
+        pending = null;
+        reconnectStartedAtMillis = 0L;
+        blackoutStartedAtMillis = 0L;
+      }
+      lastMessageAtMillis.set(0);
+      tobConflator().resetWindow(assetId -> shardOf(assetId, shards.length) == index);
+    }
+
+    /**
+     * Opens a replacement socket for the current asset slice, superseding any replacement still in flight. The
+     * connect is asynchronous; the socket takes over in {@link Listener#snapshotReceived} or on handover timeout.
+     */
+    private void open() {
+      Listener next;
+      synchronized (lock) {
+        Listener prev = pending;
+        if (prev != null) {
+          prev.retire("superseded");
+        }
+        next = new Listener(this, assetIds.stream().sorted().toList(), System.currentTimeMillis());
+        pending = next;
+      }
+      URI wsUri = buildMarketWsUri(properties.polymarket().clobWsUrl());
+      log.info("Connecting CLOB market websocket shard {} ({} assets): {}", index, next.assets.size(), wsUri);
+      httpClient.newWebSocketBuilder().buildAsync(wsUri, next).whenComplete((ws, error) -> {
+        if (error != null) {
+          log.warn("CLOB market websocket shard {} connect failed: {}", index, error.toString());
+          next.closed();
+        }
+      });
+    }
+
+    /**
+     * Called by {@link #maintainConnection()} when a replacement has not collected every snapshot in time.
+     */
+    void handoverTimedOutLocked(Listener next, long nowMillis) {
+      synchronized (lock) {
+        if (pending != next) {
+          return;
+        }
+        if (next.socket == null) {
+          log.warn("Market WS shard {} replacement did not connect within {}ms; retrying", index, nowMillis - next.openedAtMillis);
+          pending = null;
+          next.retire("connect timeout");
+        } else {
+          log.warn("Market WS shard {} handover timed out; taking over with {} of {} snapshots missing",
+              index, next.awaitingSnapshot.size(), next.assets.size());
+          promoteLocked(next, nowMillis);
+          return;
+        }
+      }
+      if (active != null) {
+        open();
+      }
+    }
+
+    private void promoteLocked(Listener next, long nowMillis) {
+      Listener prev = active;
+      active = next;
+      pending = null;
+      if (prev != null) {
+        prev.retire("handover");
+      }
+      if (reconnectStartedAtMillis > 0L) {
+        long blackoutMillis = blackoutStartedAtMillis > 0L ? Math.max(0L, nowMillis - blackoutStartedAtMillis) : 0L;
+        blackout.record(blackoutMillis, TimeUnit.MILLISECONDS);
+        log.info("Market WS shard {} handed over to new connection in {}ms (blackout={}ms)",
+            index, nowMillis - reconnectStartedAtMillis, blackoutMillis);
+      }
+      reconnectStartedAtMillis = 0L;
+      blackoutStartedAtMillis = 0L;
+    }
+
+    void sampleRate(long nowMillis) {
+      long count = messages.get();
+      if (rateSampleAtMillis > 0 && nowMillis > rateSampleAtMillis) {
+        messagesPerSecond = (count - rateSampleMessages) * 1000.0 / (nowMillis - rateSampleAtMillis);
+      }
+      rateSampleMessages = count;
+      rateSampleAtMillis = nowMillis;
+    }
+
+    ShardStatus status(long nowMillis) {
+      long lastAt = lastMessageAtMillis.get();
+      return new ShardStatus(
+          index,
+          connected(),
+          assetIds.size(),
+          messages.get(),
+          messagesPerSecond,
+          lastAt <= 0 ? -1 : nowMillis - lastAt,
+          (long) reconnects.count(),
+          pending != null
+      );
+    }
+  }
+
+  /**
+   * One socket of a shard, subscribed to the shard's asset slice as of when it was opened plus any assets added
+   * in-band since. {@link #assets} and text sends are guarded by the shard's lock.
+   */
   private final class Listener implements WebSocket.Listener {
+    private final Shard shard;
+    private final List<String> assets;
+    private final Set<String> awaitingSnapshot;
+    // Text frames must not overlap, so each send waits for the previous one
+    private CompletableFuture<WebSocket> sends = CompletableFuture.completedFuture(null);
+    private final long openedAtMillis;
     private final StringBuilder buf = new StringBuilder(8192);
+    private final ClobMarketMessageDecoder decoder = new ClobMarketMessageDecoder(objectMapper.getFactory());
+    private final MessageHandler handler = new MessageHandler(this);
+
+    private volatile WebSocket socket;
+    private volatile boolean retired;
+    private volatile long lastMessageAtMillis;
+
+    private Listener(Shard shard, List<String> assets, long openedAtMillis) {
+      this.shard = shard;
+      this.assets = new ArrayList<>(assets);
+      this.awaitingSnapshot = new HashSet<>(assets);
+      this.openedAtMillis = openedAtMillis;
+    }
+
+    /**
+     * Marks the socket as no longer feeding the shard and closes it without waiting.
+     */
+    void retire(String reason) {
+      retired = true;
+      WebSocket ws = socket;
+      if (ws != null) {
+        ws.sendClose(WebSocket.NORMAL_CLOSURE, reason).exceptionally(e -> null);
+      }
+    }
+
+    /**
+     * Adds {@code added} to this socket's subscription; a replacement also waits for their snapshots before it takes
+     * over. Sent now if the socket is open, otherwise with the initial subscribe in {@link #onOpen}.
+     */
+    void subscribeLocked(List<String> added) {
+      if (retired) {
+        return;
+      }
+      assets.addAll(added);
+      if (shard.pending == this) {
+        awaitingSnapshot.addAll(added);
+      }
+      WebSocket ws = socket;
+      if (ws != null) {
+        sendLocked(ws, buildInBandMessage("subscribe", added));
+      }
+    }
+
+    /**
+     * Removes {@code removed} from this socket's subscription; a replacement no longer waits for their snapshots,
+     * and takes over if they were the last ones missing.
+     */
+    void unsubscribeLocked(List<String> removed) {
+      if (retired) {
+        return;
+      }
+      assets.removeAll(removed);
+      WebSocket ws = socket;
+      if (ws == null) {
+        awaitingSnapshot.removeAll(removed);
+        return;
+      }
+      sendLocked(ws, buildInBandMessage("unsubscribe", removed));
+      if (shard.pending == this && awaitingSnapshot.removeAll(removed) && awaitingSnapshot.isEmpty()) {
+        shard.promoteLocked(this, System.currentTimeMillis());
+      }
+    }
+
+    private void sendLocked(WebSocket ws, String message) {
+      sends = sends.exceptionally(e -> null).thenCompose(ignored -> ws.sendText(message, true));
+      sends.whenComplete((ignored, error) -> {
+        if (error != null) {
+          log.debug("Market WS shard {} send failed: {}", shard.index, error.toString());
+        }
+      });
+    }
 
-    private Listener() {
+    void snapshotReceived(String assetId) {
+      synchronized (shard.lock) {
+        if (shard.pending == this && awaitingSnapshot.remove(assetId) && awaitingSnapshot.isEmpty()) {
+          shard.promoteLocked(this, System.currentTimeMillis());
+        }
+      }
+    }
+
+    void closed() {
+      synchronized (shard.lock) {
+        retired = true;
+        socket = null;
+        if (shard.active == this) {
+          shard.active = null;
+          if (shard.blackoutStartedAtMillis == 0L) {
+            shard.blackoutStartedAtMillis = System.currentTimeMillis();
+          }
+        } else if (shard.pending == this) {
+          shard.pending = null;
+        }
+      }
     }
 
     @Override
     public void onOpen(WebSocket webSocket) {
-      log.info("CLOB market websocket opened");
-      ClobMarketWebSocketClient.this.webSocket = webSocket;
-      lastMessageAtMillis.set(System.currentTimeMillis());
-      sendSubscribeLocked();
+      List<String> subscribed;
+      synchronized (shard.lock) {
+        if (retired) {
+          webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "superseded").exceptionally(e -> null);
+          return;
+        }
+        socket = webSocket;
+        subscribed = List.copyOf(assets);
+        lastMessageAtMillis = System.currentTimeMillis();
+        shard.lastMessageAtMillis.set(lastMessageAtMillis);
+        sendLocked(webSocket, buildSubscribeMessage(subscribed));
+      }
+      log.info("CLOB market websocket shard {} opened", shard.index);
+      log.info("Shard {} subscribed to {} market assets via WS (e.g. {})", shard.index, subscribed.size(), sampleAssetSuffixes(subscribed, 4));
       webSocket.request(1);
     }
 
@@ -741,9 +1431,8 @@ public class ClobMarketWebSocketClient {
     public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
       buf.append(data);
       if (last) {
-        String message = buf.toString();
+        handleMessage(buf, this);
         buf.setLength(0);
-        handleMessage(message);
       }
       webSocket.request(1);
       return null;
@@ -751,28 +1440,29 @@ public class ClobMarketWebSocketClient {
 
     @Override
     public CompletionStage<?> onPong(WebSocket webSocket, ByteBuffer message) {
-      lastMessageAtMillis.set(System.currentTimeMillis());
+      if (!retired) {
+        long now = System.currentTimeMillis();
+        ClobMarketWebSocketClient.this.lastMessageAtMillis.set(now);
+        shard.lastMessageAtMillis.set(now);
+        lastMessageAtMillis = now;
+      }
       webSocket.request(1);
       return null;
     }
 
     @Override
     public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
-      log.warn("CLOB market websocket closed (status={}, reason={})", statusCode, reason);
-      if (ClobMarketWebSocketClient.this.webSocket == webSocket) {
-        ClobMarketWebSocketClient.this.webSocket = null;
-        started = false;
+      if (!retired) {
+        log.warn("CLOB market websocket shard {} closed (status={}, reason={})", shard.index, statusCode, reason);
       }
+      closed();
       return WebSocket.Listener.super.onClose(webSocket, statusCode, reason);
     }
 
     @Override
     public void onError(WebSocket webSocket, Throwable error) {
-      log.warn("CLOB market websocket error: {}", error.toString());
-      if (ClobMarketWebSocketClient.this.webSocket == webSocket) {
-        ClobMarketWebSocketClient.this.webSocket = null;
-        started = false;
-      }
+      log.warn("CLOB market websocket shard {} error: {}", shard.index, error.toString());
+      closed();
     }
   }
 }
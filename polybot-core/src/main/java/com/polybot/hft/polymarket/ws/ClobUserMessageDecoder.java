@@ -0,0 +1,165 @@
+package com.polybot.hft.polymarket.ws;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.polybot.hft.domain.OrderSide;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Decodes CLOB user websocket frames ({@code order}, {@code trade}) into {@link Handler} callbacks. Frames carry a
+ * single event or an array of events; anything else is ignored.
+ */
+public final class ClobUserMessageDecoder {
+
+  static final String EVENT_ORDER = "order";
+  static final String EVENT_TRADE = "trade";
+
+  private static final long EPOCH_MILLIS_THRESHOLD = 100_000_000_000L;
+
+  private ClobUserMessageDecoder() {
+  }
+
+  public interface Handler {
+
+    void onOrder(UserOrderUpdate update);
+
+    void onTrade(UserTrade trade);
+  }
+
+  public static void decode(JsonNode node, Handler handler) {
+    if (node == null || node.isNull()) {
+      return;
+    }
+    if (node.isArray()) {
+      for (JsonNode n : node) {
+        decode(n, handler);
+      }
+      return;
+    }
+
+    String eventType = node.path("event_type").asText("");
+    switch (eventType) {
+      case EVENT_ORDER -> decodeOrder(node, handler);
+      case EVENT_TRADE -> decodeTrade(node, handler);
+      default -> {
+      }
+    }
+  }
+
+  private static void decodeOrder(JsonNode node, Handler handler) {
+    String orderId = text(node, "id");
+    if (orderId == null) {
+      return;
+    }
+    handler.onOrder(new UserOrderUpdate(
+        orderId,
+        text(node, "asset_id"),
+        text(node, "market"),
+        side(text(node, "side")),
+        decimal(node, "price"),
+        decimal(node, "original_size"),
+        decimal(node, "size_matched"),
+        text(node, "type"),
+        timestamp(node.path("timestamp"))
+    ));
+  }
+
+  private static void decodeTrade(JsonNode node, Handler handler) {
+    UserTrade trade = trade(node);
+    if (trade != null) {
+      handler.onTrade(trade);
+    }
+  }
+
+  /**
+   * Decodes one trade object; the REST {@code /data/trades} rows share the channel's trade schema. Returns null without
+   * a trade id.
+   */
+  public static UserTrade trade(JsonNode node) {
+    String tradeId = node == null ? null : text(node, "id");
+    if (tradeId == null) {
+      return null;
+    }
+    List<UserTrade.MakerFill> makers = new ArrayList<>();
+    for (JsonNode maker : node.path("maker_orders")) {
+      String orderId = text(maker, "order_id");
+      if (orderId != null) {
+        makers.add(new UserTrade.MakerFill(orderId, text(maker, "asset_id"), decimal(maker, "matched_amount"), decimal(maker, "price")));
+      }
+    }
+    return new UserTrade(
+        tradeId,
+        text(node, "status"),
+        text(node, "taker_order_id"),
+        text(node, "asset_id"),
+        side(text(node, "side")),
+        decimal(node, "price"),
+        decimal(node, "size"),
+        makers,
+        timestamp(node.has("timestamp") ? node.path("timestamp") : node.path("match_time"))
+    );
+  }
+
+  private static String text(JsonNode node, String field) {
+    JsonNode v = node.get(field);
+    if (v == null || v.isNull()) {
+      return null;
+    }
+    String s = v.asText(null);
+    return s == null || s.isBlank() ? null : s;
+  }
+
+  private static BigDecimal decimal(JsonNode node, String field) {
+    JsonNode v = node.get(field);
+    if (v == null || v.isNull()) {
+      return null;
+    }
+    if (v.isNumber()) {
+      return v.decimalValue();
+    }
+    String s = v.asText("");
+    if (s.isBlank()) {
+      return null;
+    }
+    try {
+      return new BigDecimal(s.trim());
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private static OrderSide side(String s) {
+    if (s == null) {
+      return null;
+    }
+    return switch (s.trim().toUpperCase(Locale.ROOT)) {
+      case "BUY" -> OrderSide.BUY;
+      case "SELL" -> OrderSide.SELL;
+      default -> null;
+    };
+  }
+
+  /**
+   * The channel has sent both epoch seconds and epoch millis, as numbers or strings.
+   */
+  private static Instant timestamp(JsonNode ts) {
+    long value;
+    if (ts.isIntegralNumber()) {
+      value = ts.asLong();
+    } else {
+      String s = ts.asText("");
+      if (s.isEmpty() || s.length() > 18 || !s.chars().allMatch(Character::isDigit)) {
+        return null;
+      }
+      value = Long.parseLong(s);
+    }
+    if (value <= 0) {
+      return null;
+    }
+    return value < EPOCH_MILLIS_THRESHOLD ? Instant.ofEpochSecond(value) : Instant.ofEpochMilli(value);
+  }
+}
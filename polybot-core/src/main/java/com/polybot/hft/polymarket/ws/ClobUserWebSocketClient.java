@@ -0,0 +1,319 @@
+package com.polybot.hft.polymarket.ws;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.polybot.hft.config.HftProperties;
+import com.polybot.hft.metrics.PolybotMetrics;
+import com.polybot.hft.polymarket.auth.PolymarketAuthContext;
+import com.polybot.hft.polymarket.model.ApiCreds;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Tag;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Authenticated CLOB user-channel client: pushes this account's {@code order} and {@code trade} events to
+ * {@link UserChannelListener}s as they happen, so order status does not have to be polled over REST.
+ * <p>
+ * Not component-scanned: it needs a {@link PolymarketAuthContext}, so only the executor registers it (when
+ * {@link HftProperties.Polymarket#userWsEnabled()}); it connects once API creds are available. Subscribes to
+ * {@link HftProperties.Polymarket#userMarketIds()} (condition ids), or to every market when that list is empty. Stale
+ * detection and reconnect backoff share the market channel's settings.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ClobUserWebSocketClient {
+
+  private final @NonNull HftProperties properties;
+  private final @NonNull HttpClient httpClient;
+  private final @NonNull ObjectMapper objectMapper;
+  private final @NonNull PolymarketAuthContext authContext;
+  private final @NonNull PolybotMetrics metrics;
+
+  private final List<UserChannelListener> listeners = new CopyOnWriteArrayList<>();
+  private final AtomicLong lastMessageAtMillis = new AtomicLong(0);
+  private final AtomicLong lastConnectAttemptAtMillis = new AtomicLong(0);
+  private final Dispatcher dispatcher = new Dispatcher();
+
+  private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+    Thread t = new Thread(r, "clob-user-ws");
+    t.setDaemon(true);
+    return t;
+  });
+
+  private volatile Listener current;
+  private volatile boolean stopped;
+  private Counter orderEvents;
+  private Counter tradeEvents;
+  private Counter reconnects;
+
+  private static URI buildUserWsUri(String baseWsUrl) {
+    String base = baseWsUrl.endsWith("/") ? baseWsUrl.substring(0, baseWsUrl.length() - 1) : baseWsUrl;
+    return URI.create(base + "/ws/user");
+  }
+
+  @PostConstruct
+  void startIfEnabled() {
+    if (!properties.polymarket().userWsEnabled()) {
+      return;
+    }
+    orderEvents = metrics.createCounter("polybot_user_ws_events_total", "CLOB user channel events received", Tag.of("event", "order"));
+    tradeEvents = metrics.createCounter("polybot_user_ws_events_total", "CLOB user channel events received", Tag.of("event", "trade"));
+    reconnects = metrics.createCounter("polybot_user_ws_reconnects_total", "CLOB user channel reconnects");
+    metrics.registerBooleanGauge("polybot_user_ws_connected", "Whether the CLOB user channel is connected", this::isConnected);
+
+    executor.scheduleAtFixedRate(this::pingSafely, 10, 10, TimeUnit.SECONDS);
+    executor.scheduleAtFixedRate(this::maintainConnectionSafely, 0, 5, TimeUnit.SECONDS);
+    log.info("User WS enabled (markets={})", properties.polymarket().userMarketIds().isEmpty() ? "all" : properties.polymarket().userMarketIds().size());
+  }
+
+  @PreDestroy
+  void shutdown() {
+    stopped = true;
+    Listener l = current;
+    if (l != null) {
+      l.retire("shutdown");
+    }
+    executor.shutdownNow();
+  }
+
+  public void addListener(UserChannelListener listener) {
+    if (listener != null) {
+      listeners.add(listener);
+    }
+  }
+
+  /**
+   * True while a subscribed socket is open and not stale. Consumers use this to decide how much REST polling they
+   * still need.
+   */
+  public boolean isConnected() {
+    Listener l = current;
+    if (l == null || l.socket == null) {
+      return false;
+    }
+    long staleTimeoutMillis = properties.polymarket().marketWsStaleTimeoutMillis();
+    long lastAt = lastMessageAtMillis.get();
+    return staleTimeoutMillis <= 0 || System.currentTimeMillis() - lastAt <= staleTimeoutMillis;
+  }
+
+  private void pingSafely() {
+    Listener l = current;
+    WebSocket ws = l == null ? null : l.socket;
+    if (ws == null) {
+      return;
+    }
+    try {
+      ws.sendPing(ByteBuffer.wrap(new byte[]{1}));
+    } catch (Exception ignored) {
+    }
+  }
+
+  private void maintainConnectionSafely() {
+    try {
+      maintainConnection();
+    } catch (Exception e) {
+      log.debug("User WS maintenance failed: {}", e.toString());
+    }
+  }
+
+  private void maintainConnection() {
+    if (stopped || isConnected()) {
+      return;
+    }
+    Listener l = current;
+    if (l != null && !l.retired && l.socket == null && System.currentTimeMillis() - l.openedAtMillis < properties.polymarket().marketWsHandoverTimeoutMillis()) {
+      return;
+    }
+    ApiCreds creds = authContext.apiCreds().orElse(null);
+    if (creds == null) {
+      return;
+    }
+
+    long now = System.currentTimeMillis();
+    long backoffMillis = properties.polymarket().marketWsReconnectBackoffMillis();
+    long prevAttempt = lastConnectAttemptAtMillis.get();
+    if (backoffMillis > 0 && prevAttempt > 0 && now - prevAttempt < backoffMillis) {
+      return;
+    }
+    lastConnectAttemptAtMillis.set(now);
+
+    if (l != null) {
+      reconnects.increment();
+      log.warn("User WS reconnecting (reason={}, lastMsgAgoMs={})", l.socket == null ? "disconnected" : "stale", now - lastMessageAtMillis.get());
+      l.retire("reconnect");
+    }
+    connect(creds, now);
+  }
+
+  private void connect(ApiCreds creds, long nowMillis) {
+    Listener next = new Listener(buildSubscribeMessage(creds), nowMillis);
+    current = next;
+    URI wsUri = buildUserWsUri(properties.polymarket().clobWsUrl());
+    log.info("Connecting CLOB user websocket: {}", wsUri);
+    httpClient.newWebSocketBuilder().buildAsync(wsUri, next).whenComplete((ws, error) -> {
+      if (error != null) {
+        log.warn("CLOB user websocket connect failed: {}", error.toString());
+        next.closed();
+      }
+    });
+  }
+
+  private String buildSubscribeMessage(ApiCreds creds) {
+    ObjectNode msg = objectMapper.createObjectNode();
+    msg.putObject("auth")
+        .put("apiKey", creds.key())
+        .put("secret", creds.secret())
+        .put("passphrase", creds.passphrase());
+    msg.putPOJO("markets", properties.polymarket().userMarketIds());
+    msg.put("type", "user");
+    try {
+      return objectMapper.writeValueAsString(msg);
+    } catch (Exception e) {
+      throw new IllegalStateException("Failed to build user ws subscribe message", e);
+    }
+  }
+
+  private void handleMessage(CharSequence message) {
+    lastMessageAtMillis.set(System.currentTimeMillis());
+    if (message.length() == 4 && ("PONG".contentEquals(message) || "PING".contentEquals(message))) {
+      return;
+    }
+    try {
+      ClobUserMessageDecoder.decode(objectMapper.readTree(message.toString()), dispatcher);
+    } catch (Exception e) {
+      log.debug("Failed to parse user ws message: {}", e.toString());
+    }
+  }
+
+  /**
+   * Receives user-channel events on the websocket thread; implementations must not block.
+   */
+  public interface UserChannelListener {
+
+    default void onOrder(UserOrderUpdate update) {
+    }
+
+    default void onTrade(UserTrade trade) {
+    }
+  }
+
+  private final class Dispatcher implements ClobUserMessageDecoder.Handler {
+    @Override
+    public void onOrder(UserOrderUpdate update) {
+      orderEvents.increment();
+      for (UserChannelListener listener : listeners) {
+        try {
+          listener.onOrder(update);
+        } catch (Exception e) {
+          log.warn("User WS order listener failed for {}: {}", update.orderId(), e.toString());
+        }
+      }
+    }
+
+    @Override
+    public void onTrade(UserTrade trade) {
+      tradeEvents.increment();
+      for (UserChannelListener listener : listeners) {
+        try {
+          listener.onTrade(trade);
+        } catch (Exception e) {
+          log.warn("User WS trade listener failed for {}: {}", trade.tradeId(), e.toString());
+        }
+      }
+    }
+  }
+
+  private final class Listener implements WebSocket.Listener {
+    private final String subscribeMessage;
+    private final long openedAtMillis;
+    private final StringBuilder buf = new StringBuilder(4096);
+
+    private volatile WebSocket socket;
+    private volatile boolean retired;
+
+    private Listener(String subscribeMessage, long openedAtMillis) {
+      this.subscribeMessage = subscribeMessage;
+      this.openedAtMillis = openedAtMillis;
+    }
+
+    void retire(String reason) {
+      retired = true;
+      WebSocket ws = socket;
+      socket = null;
+      if (ws != null) {
+        ws.sendClose(WebSocket.NORMAL_CLOSURE, reason).exceptionally(e -> null);
+      }
+    }
+
+    void closed() {
+      retired = true;
+      socket = null;
+    }
+
+    @Override
+    public void onOpen(WebSocket webSocket) {
+      if (retired || stopped) {
+        webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "superseded").exceptionally(e -> null);
+        return;
+      }
+      socket = webSocket;
+      lastMessageAtMillis.set(System.currentTimeMillis());
+      webSocket.sendText(subscribeMessage, true);
+      log.info("CLOB user websocket opened and subscribed");
+      webSocket.request(1);
+    }
+
+    @Override
+    public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+      buf.append(data);
+      if (last) {
+        if (!retired) {
+          handleMessage(buf);
+        }
+        buf.setLength(0);
+      }
+      webSocket.request(1);
+      return null;
+    }
+
+    @Override
+    public CompletionStage<?> onPong(WebSocket webSocket, ByteBuffer message) {
+      if (!retired) {
+        lastMessageAtMillis.set(System.currentTimeMillis());
+      }
+      webSocket.request(1);
+      return null;
+    }
+
+    @Override
+    public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+      if (!retired) {
+        log.warn("CLOB user websocket closed (status={}, reason={})", statusCode, reason);
+      }
+      closed();
+      return WebSocket.Listener.super.onClose(webSocket, statusCode, reason);
+    }
+
+    @Override
+    public void onError(WebSocket webSocket, Throwable error) {
+      log.warn("CLOB user websocket error: {}", error.toString());
+      closed();
+    }
+  }
+}
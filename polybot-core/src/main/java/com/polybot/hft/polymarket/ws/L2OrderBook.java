@@ -0,0 +1,249 @@
+package com.polybot.hft.polymarket.ws;
+
+import com.polybot.hft.domain.FixedPoint;
+
+import java.util.Arrays;
+
+/**
+ * Full-depth L2 book for one asset, maintained in place from websocket {@code book} snapshots and
+ * {@code price_change} deltas.
+ * <p>
+ * Each side keeps only its non-empty levels, as parallel arrays sorted by {@link FixedPoint} price tick with a running
+ * cumulative size, so memory follows the number of resting levels rather than the {@code [0, 1]} tick range. Best
+ * levels, side totals and imbalance are O(1); depth within N ticks of the best level is a binary search over the
+ * levels plus one subtraction. A level update shifts the levels between it and the best, which is cheap because
+ * updates cluster near the top of the book. Sizes are {@link FixedPoint} centi-shares.
+ * <p>
+ * Written by the websocket listener thread; readers synchronize on the instance.
+ */
+public final class L2OrderBook {
+
+  private static final int SLOTS = FixedPoint.TICKS_PER_UNIT + 1;
+  private static final int INITIAL_LEVELS = 16;
+
+  private final Side bids = new Side(true);
+  private final Side asks = new Side(false);
+  private long updatedAtMillis;
+
+  public synchronized int bestBidTicks() {
+    return bids.best();
+  }
+
+  public synchronized int bestAskTicks() {
+    return asks.best();
+  }
+
+  public synchronized long bestBidCentiShares() {
+    return bids.bestSize();
+  }
+
+  public synchronized long bestAskCentiShares() {
+    return asks.bestSize();
+  }
+
+  public synchronized long bidCentiSharesAt(int priceTicks) {
+    return bids.sizeAt(priceTicks);
+  }
+
+  public synchronized long askCentiSharesAt(int priceTicks) {
+    return asks.sizeAt(priceTicks);
+  }
+
+  /**
+   * Bid size resting within {@code ticks} price ticks of the best bid (inclusive).
+   */
+  public synchronized long bidDepthCentiShares(int ticks) {
+    return bids.depthFromBest(ticks);
+  }
+
+  /**
+   * Ask size resting within {@code ticks} price ticks of the best ask (inclusive).
+   */
+  public synchronized long askDepthCentiShares(int ticks) {
+    return asks.depthFromBest(ticks);
+  }
+
+  public synchronized long totalBidCentiShares() {
+    return bids.total();
+  }
+
+  public synchronized long totalAskCentiShares() {
+    return asks.total();
+  }
+
+  public synchronized int bidLevelCount() {
+    return bids.levels;
+  }
+
+  public synchronized int askLevelCount() {
+    return asks.levels;
+  }
+
+  /**
+   * {@code (bids - asks) / (bids + asks)} over the full book, or {@link Double#NaN} when empty.
+   */
+  public synchronized double imbalance() {
+    return imbalance(bids.total(), asks.total());
+  }
+
+  /**
+   * {@code (bid - ask) / (bid + ask)} over the best level sizes, or {@link Double#NaN} when either side is empty.
+   */
+  public synchronized double topImbalance() {
+    if (bids.levels == 0 || asks.levels == 0) {
+      return Double.NaN;
+    }
+    return imbalance(bids.bestSize(), asks.bestSize());
+  }
+
+  /**
+   * Copies up to {@code priceTicks.length} bid levels, best first; returns the number copied.
+   */
+  public synchronized int bidLevels(int[] priceTicks, long[] centiShares) {
+    return bids.copyLevels(priceTicks, centiShares);
+  }
+
+  /**
+   * Copies up to {@code priceTicks.length} ask levels, best first; returns the number copied.
+   */
+  public synchronized int askLevels(int[] priceTicks, long[] centiShares) {
+    return asks.copyLevels(priceTicks, centiShares);
+  }
+
+  public synchronized long updatedAtMillis() {
+    return updatedAtMillis;
+  }
+
+  synchronized void applySnapshot(ClobMarketMessageDecoder.Levels bidLevels, ClobMarketMessageDecoder.Levels askLevels, long nowMillis) {
+    bids.replace(bidLevels);
+    asks.replace(askLevels);
+    updatedAtMillis = nowMillis;
+  }
+
+  synchronized void applyLevel(boolean bid, int priceTicks, long centiShares, long nowMillis) {
+    (bid ? bids : asks).set(priceTicks, centiShares);
+    updatedAtMillis = nowMillis;
+  }
+
+  private static double imbalance(long bid, long ask) {
+    long total = bid + ask;
+    return total <= 0 ? Double.NaN : (double) (bid - ask) / total;
+  }
+
+  private static final class Side {
+    private final boolean bestIsMax;
+    // Non-empty levels ordered worst to best, so the best level is last and touches near it shift little.
+    private int[] prices = new int[INITIAL_LEVELS];
+    private long[] sizes = new long[INITIAL_LEVELS];
+    // cumulative[i] = sizes[0] + ... + sizes[i]; the last entry is the side total.
+    private long[] cumulative = new long[INITIAL_LEVELS];
+    private int levels;
+
+    private Side(boolean bestIsMax) {
+      this.bestIsMax = bestIsMax;
+    }
+
+    int best() {
+      return levels == 0 ? FixedPoint.NONE : prices[levels - 1];
+    }
+
+    long bestSize() {
+      return levels == 0 ? 0L : sizes[levels - 1];
+    }
+
+    long total() {
+      return levels == 0 ? 0L : cumulative[levels - 1];
+    }
+
+    long sizeAt(int priceTicks) {
+      int i = lowerBound(key(priceTicks));
+      return i < levels && prices[i] == priceTicks ? sizes[i] : 0L;
+    }
+
+    void replace(ClobMarketMessageDecoder.Levels in) {
+      levels = 0;
+      for (int i = 0; i < in.count(); i++) {
+        set(in.priceTicks(i), in.centiShares(i));
+      }
+    }
+
+    void set(int priceTicks, long centiShares) {
+      if (priceTicks < 0 || priceTicks >= SLOTS || centiShares == FixedPoint.NONE) {
+        return;
+      }
+      int i = lowerBound(key(priceTicks));
+      boolean present = i < levels && prices[i] == priceTicks;
+      if (present && centiShares > 0L) {
+        sizes[i] = centiShares;
+      } else if (present) {
+        System.arraycopy(prices, i + 1, prices, i, levels - i - 1);
+        System.arraycopy(sizes, i + 1, sizes, i, levels - i - 1);
+        levels--;
+      } else if (centiShares > 0L) {
+        if (levels == prices.length) {
+          grow();
+        }
+        System.arraycopy(prices, i, prices, i + 1, levels - i);
+        System.arraycopy(sizes, i, sizes, i + 1, levels - i);
+        prices[i] = priceTicks;
+        sizes[i] = centiShares;
+        levels++;
+      } else {
+        return;
+      }
+      long run = i == 0 ? 0L : cumulative[i - 1];
+      for (int j = i; j < levels; j++) {
+        run += sizes[j];
+        cumulative[j] = run;
+      }
+    }
+
+    long depthFromBest(int ticks) {
+      if (levels == 0 || ticks < 0) {
+        return 0L;
+      }
+      int first = lowerBound(key(prices[levels - 1]) - ticks);
+      return total() - (first == 0 ? 0L : cumulative[first - 1]);
+    }
+
+    int copyLevels(int[] priceTicks, long[] centiShares) {
+      int n = Math.min(levels, Math.min(priceTicks.length, centiShares.length));
+      for (int k = 0; k < n; k++) {
+        priceTicks[k] = prices[levels - 1 - k];
+        centiShares[k] = sizes[levels - 1 - k];
+      }
+      return n;
+    }
+
+    /**
+     * Sort key that increases towards the best price.
+     */
+    private long key(int priceTicks) {
+      return bestIsMax ? priceTicks : -(long) priceTicks;
+    }
+
+    /**
+     * Index of the first level whose key is {@code >= key}, or {@code levels} if none.
+     */
+    private int lowerBound(long key) {
+      int lo = 0;
+      int hi = levels;
+      while (lo < hi) {
+        int mid = (lo + hi) >>> 1;
+        if (key(prices[mid]) < key) {
+          lo = mid + 1;
+        } else {
+          hi = mid;
+        }
+      }
+      return lo;
+    }
+
+    private void grow() {
+      int capacity = Math.min(prices.length * 2, SLOTS);
+      prices = Arrays.copyOf(prices, capacity);
+      sizes = Arrays.copyOf(sizes, capacity);
+      cumulative = Arrays.copyOf(cumulative, capacity);
+    }
+  }
+}
@@ -0,0 +1,307 @@
+package com.polybot.hft.polymarket.ws;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Market WS top-of-book cache persisted as fixed-size records in a memory-mapped file.
+ * <p>
+ * Each asset owns one record slot, rewritten in place only when its {@link TopOfBook} instance changed since the
+ * last flush (records are immutable, so an identity check suffices). A flush therefore costs a pass over the map and
+ * one record write per changed asset, and a warm start reads the records straight out of the mapping.
+ * <p>
+ * Layout (little-endian): a 64-byte header ({@code magic, version, recordBytes, capacity, snapshotAtMillis}) followed
+ * by {@code capacity} records of {@value #RECORD_BYTES} bytes: {@code flags, idLength, id[120]}, five decimals
+ * ({@code unscaled int64, scale int8}; scale {@code -128} = null) for bid, ask, bid size, ask size and last trade,
+ * then {@code updatedAt} and {@code lastTradeAt} as epoch nanos ({@code Long.MIN_VALUE} = null). The flags byte is
+ * written last, so a record is never seen half-initialized after a crash of the process.
+ */
+final class MappedTopOfBookCache implements AutoCloseable {
+
+  static final int RECORD_BYTES = 192;
+
+  private static final int MAGIC = 0x50425443;
+  private static final int VERSION = 1;
+  private static final int HEADER_BYTES = 64;
+  private static final int MAX_ASSET_ID_BYTES = 120;
+  private static final int INITIAL_CAPACITY = 256;
+
+  private static final byte FLAG_USED = 1;
+  private static final byte FLAG_SUBSCRIBED = 2;
+  private static final byte FLAG_HAS_TOB = 4;
+  private static final byte NULL_SCALE = Byte.MIN_VALUE;
+  private static final long NULL_INSTANT = Long.MIN_VALUE;
+
+  private static final int OFF_FLAGS = 0;
+  private static final int OFF_ID_LENGTH = 1;
+  private static final int OFF_ID = 2;
+  private static final int OFF_DECIMALS = OFF_ID + MAX_ASSET_ID_BYTES;
+  private static final int DECIMAL_BYTES = 9;
+  private static final int OFF_UPDATED_AT = OFF_DECIMALS + 5 * DECIMAL_BYTES;
+  private static final int OFF_LAST_TRADE_AT = OFF_UPDATED_AT + 8;
+
+  private final FileChannel channel;
+  private final Map<String, Slot> slots = new HashMap<>();
+  private final Deque<Integer> freeSlots = new ArrayDeque<>();
+  private final Map<String, TopOfBook> loadedTopOfBooks = new HashMap<>();
+  private final List<String> loadedSubscribedAssetIds = new ArrayList<>();
+
+  private MappedByteBuffer map;
+  private int capacity;
+  private int nextSlot;
+
+  private MappedTopOfBookCache(FileChannel channel) {
+    this.channel = channel;
+  }
+
+  static MappedTopOfBookCache open(Path path) throws IOException {
+    Path parent = path.getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    MappedTopOfBookCache cache = new MappedTopOfBookCache(channel);
+    try {
+      cache.load();
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+    return cache;
+  }
+
+  /**
+   * Top-of-books found in the file when it was opened.
+   */
+  Map<String, TopOfBook> loadedTopOfBooks() {
+    return loadedTopOfBooks;
+  }
+
+  List<String> loadedSubscribedAssetIds() {
+    return loadedSubscribedAssetIds;
+  }
+
+  /**
+   * Brings the file in line with the given state; returns the number of records written.
+   */
+  synchronized int flush(Map<String, TopOfBook> topOfBookByAssetId, Set<String> subscribedAssetIds, Instant now) throws IOException {
+    int written = 0;
+    Iterator<Map.Entry<String, Slot>> it = slots.entrySet().iterator();
+    while (it.hasNext()) {
+      Map.Entry<String, Slot> e = it.next();
+      if (!topOfBookByAssetId.containsKey(e.getKey()) && !subscribedAssetIds.contains(e.getKey())) {
+        map.put(recordOffset(e.getValue().index) + OFF_FLAGS, (byte) 0);
+        freeSlots.add(e.getValue().index);
+        it.remove();
+        written++;
+      }
+    }
+
+    Set<String> assetIds = new HashSet<>(topOfBookByAssetId.keySet());
+    assetIds.addAll(subscribedAssetIds);
+    for (String assetId : assetIds) {
+      byte[] id = assetId.getBytes(StandardCharsets.UTF_8);
+      if (id.length > MAX_ASSET_ID_BYTES) {
+        continue;
+      }
+      TopOfBook tob = topOfBookByAssetId.get(assetId);
+      boolean subscribed = subscribedAssetIds.contains(assetId);
+      Slot slot = slots.get(assetId);
+      if (slot == null) {
+        slot = new Slot(allocateSlot());
+        slots.put(assetId, slot);
+      } else if (slot.written && Objects.equals(slot.tob, tob) && slot.subscribed == subscribed) {
+        continue;
+      }
+      writeRecord(slot.index, id, tob, subscribed);
+      slot.tob = tob;
+      slot.subscribed = subscribed;
+      slot.written = true;
+      written++;
+    }
+    map.putLong(16, now.toEpochMilli());
+    return written;
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (map != null) {
+      map.force();
+    }
+    channel.close();
+  }
+
+  private void load() throws IOException {
+    long size = channel.size();
+    if (size >= HEADER_BYTES) {
+      MappedByteBuffer existing = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+      existing.order(ByteOrder.LITTLE_ENDIAN);
+      int storedCapacity = existing.getInt(12);
+      if (existing.getInt(0) == MAGIC && existing.getInt(4) == VERSION && existing.getInt(8) == RECORD_BYTES
+          && storedCapacity > 0 && HEADER_BYTES + (long) storedCapacity * RECORD_BYTES <= size) {
+        map = existing;
+        capacity = storedCapacity;
+        readRecords();
+        return;
+      }
+    }
+    channel.truncate(0);
+    remap(INITIAL_CAPACITY);
+  }
+
+  private void readRecords() {
+    int highest = -1;
+    for (int i = 0; i < capacity; i++) {
+      int base = recordOffset(i);
+      byte flags = map.get(base + OFF_FLAGS);
+      if ((flags & FLAG_USED) == 0) {
+        freeSlots.add(i);
+        continue;
+      }
+      int idLength = map.get(base + OFF_ID_LENGTH) & 0xFF;
+      if (idLength == 0 || idLength > MAX_ASSET_ID_BYTES) {
+        freeSlots.add(i);
+        continue;
+      }
+      byte[] id = new byte[idLength];
+      map.get(base + OFF_ID, id);
+      String assetId = new String(id, StandardCharsets.UTF_8);
+      Slot slot = new Slot(i);
+      slot.written = true;
+      slot.subscribed = (flags & FLAG_SUBSCRIBED) != 0;
+      if ((flags & FLAG_HAS_TOB) != 0) {
+        slot.tob = readTopOfBook(base);
+        loadedTopOfBooks.put(assetId, slot.tob);
+      }
+      if (slot.subscribed) {
+        loadedSubscribedAssetIds.add(assetId);
+      }
+      slots.put(assetId, slot);
+      highest = i;
+    }
+    nextSlot = highest + 1;
+    freeSlots.removeIf(i -> i >= nextSlot);
+  }
+
+  private int allocateSlot() throws IOException {
+    Integer free = freeSlots.poll();
+    if (free != null) {
+      return free;
+    }
+    if (nextSlot >= capacity) {
+      remap(capacity * 2);
+    }
+    return nextSlot++;
+  }
+
+  private void remap(int newCapacity) throws IOException {
+    map = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) newCapacity * RECORD_BYTES);
+    map.order(ByteOrder.LITTLE_ENDIAN);
+    map.putInt(0, MAGIC);
+    map.putInt(4, VERSION);
+    map.putInt(8, RECORD_BYTES);
+    map.putInt(12, newCapacity);
+    capacity = newCapacity;
+  }
+
+  private void writeRecord(int index, byte[] id, TopOfBook tob, boolean subscribed) {
+    int base = recordOffset(index);
+    map.put(base + OFF_FLAGS, (byte) 0);
+    map.put(base + OFF_ID_LENGTH, (byte) id.length);
+    map.put(base + OFF_ID, id);
+    byte flags = FLAG_USED;
+    if (subscribed) {
+      flags |= FLAG_SUBSCRIBED;
+    }
+    if (tob != null) {
+      flags |= FLAG_HAS_TOB;
+      putDecimal(base + OFF_DECIMALS, tob.bestBid());
+      putDecimal(base + OFF_DECIMALS + DECIMAL_BYTES, tob.bestAsk());
+      putDecimal(base + OFF_DECIMALS + 2 * DECIMAL_BYTES, tob.bestBidSize());
+      putDecimal(base + OFF_DECIMALS + 3 * DECIMAL_BYTES, tob.bestAskSize());
+      putDecimal(base + OFF_DECIMALS + 4 * DECIMAL_BYTES, tob.lastTradePrice());
+      map.putLong(base + OFF_UPDATED_AT, toEpochNanos(tob.updatedAt()));
+      map.putLong(base + OFF_LAST_TRADE_AT, toEpochNanos(tob.lastTradeAt()));
+    }
+    map.put(base + OFF_FLAGS, flags);
+  }
+
+  private TopOfBook readTopOfBook(int base) {
+    return new TopOfBook(
+        getDecimal(base + OFF_DECIMALS),
+        getDecimal(base + OFF_DECIMALS + DECIMAL_BYTES),
+        getDecimal(base + OFF_DECIMALS + 2 * DECIMAL_BYTES),
+        getDecimal(base + OFF_DECIMALS + 3 * DECIMAL_BYTES),
+        getDecimal(base + OFF_DECIMALS + 4 * DECIMAL_BYTES),
+        fromEpochNanos(map.getLong(base + OFF_UPDATED_AT)),
+        fromEpochNanos(map.getLong(base + OFF_LAST_TRADE_AT))
+    );
+  }
+
+  private void putDecimal(int offset, BigDecimal value) {
+    BigDecimal v = value;
+    if (v != null && (v.scale() > Byte.MAX_VALUE || v.scale() <= NULL_SCALE || v.unscaledValue().bitLength() > 63)) {
+      v = v.setScale(8, RoundingMode.HALF_EVEN);
+      if (v.unscaledValue().bitLength() > 63) {
+        v = null;
+      }
+    }
+    map.putLong(offset, v == null ? 0L : v.unscaledValue().longValue());
+    map.put(offset + 8, v == null ? NULL_SCALE : (byte) v.scale());
+  }
+
+  private BigDecimal getDecimal(int offset) {
+    byte scale = map.get(offset + 8);
+    return scale == NULL_SCALE ? null : new BigDecimal(BigInteger.valueOf(map.getLong(offset)), scale);
+  }
+
+  private static long toEpochNanos(Instant instant) {
+    if (instant == null) {
+      return NULL_INSTANT;
+    }
+    try {
+      return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000_000L), instant.getNano());
+    } catch (ArithmeticException e) {
+      return NULL_INSTANT;
+    }
+  }
+
+  private static Instant fromEpochNanos(long nanos) {
+    return nanos == NULL_INSTANT ? null : Instant.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L), Math.floorMod(nanos, 1_000_000_000L));
+  }
+
+  private static int recordOffset(int index) {
+    return HEADER_BYTES + index * RECORD_BYTES;
+  }
+
+  private static final class Slot {
+    private final int index;
+    private TopOfBook tob;
+    private boolean subscribed;
+    private boolean written;
+
+    private Slot(int index) {
+      this.index = index;
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package com.polybot.hft.polymarket.ws;
+
+import com.polybot.hft.domain.FixedPoint;
+
+import java.time.Instant;
+
+/**
+ * Primitive variant of {@link TopOfBook}: best levels are packed {@link FixedPoint} levels, timestamps are epoch
+ * millis (0 when unknown). Built once per book update so strategy loops can read prices without touching
+ * {@link java.math.BigDecimal}.
+ */
+public record TickTopOfBook(
+    long bestBidLevel,
+    long bestAskLevel,
+    int lastTradePriceTicks,
+    long updatedAtMillis,
+    long lastTradeAtMillis
+) {
+
+  public static TickTopOfBook from(TopOfBook tob) {
+    return new TickTopOfBook(
+        FixedPoint.packLevel(tob.bestBid(), tob.bestBidSize()),
+        FixedPoint.packLevel(tob.bestAsk(), tob.bestAskSize()),
+        FixedPoint.priceTicks(tob.lastTradePrice()),
+        tob.updatedAt() == null ? 0L : tob.updatedAt().toEpochMilli(),
+        tob.lastTradeAt() == null ? 0L : tob.lastTradeAt().toEpochMilli()
+    );
+  }
+
+  /**
+   * {@link TopOfBook} view of this state: prices at tick and sizes at centi-share precision.
+   */
+  public TopOfBook toTopOfBook() {
+    return new TopOfBook(
+        FixedPoint.price(bestBidTicks()),
+        FixedPoint.price(bestAskTicks()),
+        FixedPoint.shares(bestBidCentiShares()),
+        FixedPoint.shares(bestAskCentiShares()),
+        FixedPoint.price(lastTradePriceTicks),
+        instant(updatedAtMillis),
+        instant(lastTradeAtMillis)
+    );
+  }
+
+  public int bestBidTicks() {
+    return FixedPoint.levelPriceTicks(bestBidLevel);
+  }
+
+  public int bestAskTicks() {
+    return FixedPoint.levelPriceTicks(bestAskLevel);
+  }
+
+  public long bestBidCentiShares() {
+    return FixedPoint.levelCentiShares(bestBidLevel);
+  }
+
+  public long bestAskCentiShares() {
+    return FixedPoint.levelCentiShares(bestAskLevel);
+  }
+
+  public boolean hasBidAndAsk() {
+    return bestBidLevel != FixedPoint.EMPTY_LEVEL && bestAskLevel != FixedPoint.EMPTY_LEVEL;
+  }
+
+  /**
+   * Ask minus bid in price ticks, or {@link FixedPoint#NONE} when either side is missing.
+   */
+  public int spreadTicks() {
+    return hasBidAndAsk() ? bestAskTicks() - bestBidTicks() : FixedPoint.NONE;
+  }
+
+  public boolean isStale(long nowMillis, long maxAgeMillis) {
+    return updatedAtMillis <= 0 || nowMillis - updatedAtMillis > maxAgeMillis;
+  }
+
+  private static Instant instant(long epochMillis) {
+    return epochMillis <= 0L ? null : Instant.ofEpochMilli(epochMillis);
+  }
+}
@@ -0,0 +1,266 @@
+package com.polybot.hft.polymarket.ws;
+
+import com.polybot.hft.domain.FixedPoint;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Asset-indexed {@link TickTopOfBook} store: one preallocated slot of primitives per asset, published through a
+ * per-slot seqlock.
+ * <p>
+ * Writes for a given asset must come from one thread at a time (the asset's websocket shard); the writer makes the
+ * slot's sequence odd, stores the fields and makes it even again. Readers never lock: they retry while the sequence
+ * is odd or changed during the read, so they always see one complete write. {@link #read(int, Snapshot)} does not
+ * allocate.
+ * <p>
+ * Slots are 64 bytes, the size of a cache line, but the JVM does not align array elements to line boundaries, so a
+ * slot may straddle two lines and share each with a neighbouring slot. A read therefore touches at most two lines,
+ * and writers of adjacent assets can occasionally contend on a shared one. Slots live in fixed-size chunks that are
+ * only ever appended, so a slot index stays valid for the lifetime of the store.
+ * <p>
+ * Slots of pruned assets are reused, but only after the following {@link #retainAll}: a write that looked up the
+ * slot just before the prune has long finished by then, so a slot never has two writers. A reused slot is cleared
+ * before it is mapped to its new asset, and {@link #read(String, Snapshot)} rechecks the mapping after copying.
+ */
+public final class TickTopOfBookStore {
+
+  private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+
+  private static final int CHUNK_SHIFT = 8;
+  private static final int CHUNK_SLOTS = 1 << CHUNK_SHIFT;
+  private static final int STRIDE = 8;
+
+  private static final int SEQ = 0;
+  private static final int BID = 1;
+  private static final int ASK = 2;
+  private static final int LAST_TRADE = 3;
+  private static final int UPDATED_AT = 4;
+  private static final int LAST_TRADE_AT = 5;
+
+  private final Map<String, Integer> slotByAssetId = new ConcurrentHashMap<>();
+  private volatile long[][] chunks = new long[0][];
+  private int allocated;
+  // Slots unmapped by the last retainAll, and slots free for reuse (both guarded by this)
+  private int[] retiredSlots = new int[0];
+  private int retiredCount;
+  private int[] freeSlots = new int[0];
+  private int freeCount;
+
+  /**
+   * Slot of {@code assetId}, or {@link FixedPoint#NONE} if it was never written or has been pruned.
+   */
+  public int slotOf(String assetId) {
+    Integer slot = assetId == null ? null : slotByAssetId.get(assetId);
+    return slot == null ? FixedPoint.NONE : slot;
+  }
+
+  public int size() {
+    return slotByAssetId.size();
+  }
+
+  /**
+   * Live view of the assets that currently have a slot.
+   */
+  public Set<String> assetIds() {
+    return Collections.unmodifiableSet(slotByAssetId.keySet());
+  }
+
+  public TickTopOfBook get(String assetId) {
+    Snapshot snapshot = new Snapshot();
+    return read(assetId, snapshot) ? snapshot.toTickTopOfBook() : null;
+  }
+
+  /**
+   * Copies the latest complete write of {@code slot} into {@code into}; false when the slot has never been written.
+   */
+  public boolean read(int slot, Snapshot into) {
+    long[] chunk = chunks[slot >>> CHUNK_SHIFT];
+    int base = (slot & (CHUNK_SLOTS - 1)) * STRIDE;
+    while (true) {
+      long seq = (long) LONGS.getAcquire(chunk, base + SEQ);
+      if ((seq & 1L) != 0L) {
+        Thread.onSpinWait();
+        continue;
+      }
+      long bid = (long) LONGS.getOpaque(chunk, base + BID);
+      long ask = (long) LONGS.getOpaque(chunk, base + ASK);
+      long lastTrade = (long) LONGS.getOpaque(chunk, base + LAST_TRADE);
+      long updatedAt = (long) LONGS.getOpaque(chunk, base + UPDATED_AT);
+      long lastTradeAt = (long) LONGS.getOpaque(chunk, base + LAST_TRADE_AT);
+      VarHandle.acquireFence();
+      if ((long) LONGS.getOpaque(chunk, base + SEQ) != seq) {
+        continue;
+      }
+      into.bestBidLevel = bid;
+      into.bestAskLevel = ask;
+      into.lastTradePriceTicks = (int) lastTrade;
+      into.updatedAtMillis = updatedAt;
+      into.lastTradeAtMillis = lastTradeAt;
+      return seq != 0L;
+    }
+  }
+
+  /**
+   * Copies the latest complete write of {@code assetId} into {@code into}; false when the asset is unknown, or was
+   * pruned while being read.
+   */
+  public boolean read(String assetId, Snapshot into) {
+    int slot = slotOf(assetId);
+    return slot != FixedPoint.NONE && read(slot, into) && slotOf(assetId) == slot;
+  }
+
+  /**
+   * Publishes a new value for {@code assetId}. Callers must not write the same asset from two threads concurrently.
+   */
+  public void write(String assetId, long bestBidLevel, long bestAskLevel, int lastTradePriceTicks, long updatedAtMillis, long lastTradeAtMillis) {
+    Integer slot = slotByAssetId.get(assetId);
+    publish(slot != null ? slot : allocate(assetId), bestBidLevel, bestAskLevel, lastTradePriceTicks, updatedAtMillis, lastTradeAtMillis);
+  }
+
+  private void publish(int slot, long bestBidLevel, long bestAskLevel, int lastTradePriceTicks, long updatedAtMillis, long lastTradeAtMillis) {
+    long[] chunk = chunks[slot >>> CHUNK_SHIFT];
+    int base = (slot & (CHUNK_SLOTS - 1)) * STRIDE;
+
+    long seq = (long) LONGS.getOpaque(chunk, base + SEQ);
+    LONGS.setOpaque(chunk, base + SEQ, seq + 1L);
+    VarHandle.releaseFence();
+    LONGS.setOpaque(chunk, base + BID, bestBidLevel);
+    LONGS.setOpaque(chunk, base + ASK, bestAskLevel);
+    LONGS.setOpaque(chunk, base + LAST_TRADE, (long) lastTradePriceTicks);
+    LONGS.setOpaque(chunk, base + UPDATED_AT, updatedAtMillis);
+    LONGS.setOpaque(chunk, base + LAST_TRADE_AT, lastTradeAtMillis);
+    LONGS.setRelease(chunk, base + SEQ, seq + 2L);
+  }
+
+  public void write(String assetId, TopOfBook tob) {
+    write(
+        assetId,
+        FixedPoint.packLevel(tob.bestBid(), tob.bestBidSize()),
+        FixedPoint.packLevel(tob.bestAsk(), tob.bestAskSize()),
+        FixedPoint.priceTicks(tob.lastTradePrice()),
+        tob.updatedAt() == null ? 0L : tob.updatedAt().toEpochMilli(),
+        tob.lastTradeAt() == null ? 0L : tob.lastTradeAt().toEpochMilli()
+    );
+  }
+
+  /**
+   * Unmaps every asset not in {@code assetIds}. Their slots become reusable at the next call.
+   */
+  public synchronized void retainAll(Set<String> assetIds) {
+    for (int i = 0; i < retiredCount; i++) {
+      freeSlots = push(freeSlots, freeCount++, retiredSlots[i]);
+    }
+    retiredCount = 0;
+    Iterator<Map.Entry<String, Integer>> it = slotByAssetId.entrySet().iterator();
+    while (it.hasNext()) {
+      Map.Entry<String, Integer> entry = it.next();
+      if (!assetIds.contains(entry.getKey())) {
+        retiredSlots = push(retiredSlots, retiredCount++, entry.getValue());
+        it.remove();
+      }
+    }
+  }
+
+  private synchronized int allocate(String assetId) {
+    Integer existing = slotByAssetId.get(assetId);
+    if (existing != null) {
+      return existing;
+    }
+    if (freeCount > 0) {
+      int slot = freeSlots[--freeCount];
+      // Readers of the new asset must not see the previous owner's book
+      publish(slot, FixedPoint.EMPTY_LEVEL, FixedPoint.EMPTY_LEVEL, FixedPoint.NONE, 0L, 0L);
+      slotByAssetId.put(assetId, slot);
+      return slot;
+    }
+    int slot = allocated;
+    long[][] current = chunks;
+    if ((slot >>> CHUNK_SHIFT) == current.length) {
+      long[][] grown = Arrays.copyOf(current, current.length + 1);
+      grown[current.length] = new long[CHUNK_SLOTS * STRIDE];
+      chunks = grown;
+    }
+    allocated++;
+    slotByAssetId.put(assetId, slot);
+    return slot;
+  }
+
+  private static int[] push(int[] stack, int size, int slot) {
+    int[] s = size < stack.length ? stack : Arrays.copyOf(stack, Math.max(16, stack.length * 2));
+    s[size] = slot;
+    return s;
+  }
+
+  /**
+   * Reusable read target with the same accessors as {@link TickTopOfBook}.
+   */
+  public static final class Snapshot {
+    private long bestBidLevel = FixedPoint.EMPTY_LEVEL;
+    private long bestAskLevel = FixedPoint.EMPTY_LEVEL;
+    private int lastTradePriceTicks = FixedPoint.NONE;
+    private long updatedAtMillis;
+    private long lastTradeAtMillis;
+
+    public long bestBidLevel() {
+      return bestBidLevel;
+    }
+
+    public long bestAskLevel() {
+      return bestAskLevel;
+    }
+
+    public int bestBidTicks() {
+      return FixedPoint.levelPriceTicks(bestBidLevel);
+    }
+
+    public int bestAskTicks() {
+      return FixedPoint.levelPriceTicks(bestAskLevel);
+    }
+
+    public long bestBidCentiShares() {
+      return FixedPoint.levelCentiShares(bestBidLevel);
+    }
+
+    public long bestAskCentiShares() {
+      return FixedPoint.levelCentiShares(bestAskLevel);
+    }
+
+    public int lastTradePriceTicks() {
+      return lastTradePriceTicks;
+    }
+
+    public long updatedAtMillis() {
+      return updatedAtMillis;
+    }
+
+    public long lastTradeAtMillis() {
+      return lastTradeAtMillis;
+    }
+
+    public boolean hasBidAndAsk() {
+      return bestBidLevel != FixedPoint.EMPTY_LEVEL && bestAskLevel != FixedPoint.EMPTY_LEVEL;
+    }
+
+    /**
+     * Ask minus bid in price ticks, or {@link FixedPoint#NONE} when either side is missing.
+     */
+    public int spreadTicks() {
+      return hasBidAndAsk() ? bestAskTicks() - bestBidTicks() : FixedPoint.NONE;
+    }
+
+    public boolean isStale(long nowMillis, long maxAgeMillis) {
+      return updatedAtMillis <= 0 || nowMillis - updatedAtMillis > maxAgeMillis;
+    }
+
+    public TickTopOfBook toTickTopOfBook() {
+      return new TickTopOfBook(bestBidLevel, bestAskLevel, lastTradePriceTicks, updatedAtMillis, lastTradeAtMillis);
+    }
+  }
+}
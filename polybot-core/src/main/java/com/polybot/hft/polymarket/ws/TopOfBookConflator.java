@@ -0,0 +1,140 @@
+package com.polybot.hft.polymarket.ws;
+
+import com.polybot.hft.events.HftEventPublisher;
+import com.polybot.hft.events.HftEventTypes;
+import com.polybot.hft.events.payload.MarketTopOfBookEvent;
+import com.polybot.hft.metrics.PolybotMetrics;
+import io.micrometer.core.instrument.Counter;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Rate-bounded {@code market_ws.tob} publishing that never loses the last state.
+ * <p>
+ * An update for an asset that has not published within {@code minIntervalMillis} goes out immediately. Updates
+ * inside the window only replace the asset's pending top-of-book; {@link #flush} (run on a timer) publishes pending
+ * states once their window has passed. Each asset therefore emits at most one event per window, and its final state
+ * before a quiet period is always emitted, with its own {@code updatedAt}.
+ */
+final class TopOfBookConflator {
+
+  private final HftEventPublisher events;
+  private final long minIntervalMillis;
+  private final Clock clock;
+  private final Map<String, AssetState> states = new ConcurrentHashMap<>();
+  private final Counter published;
+  private final Counter conflated;
+
+  TopOfBookConflator(HftEventPublisher events, long minIntervalMillis, Clock clock, PolybotMetrics metrics) {
+    this.events = events;
+    this.minIntervalMillis = Math.max(0L, minIntervalMillis);
+    this.clock = clock;
+    this.published = metrics.createCounter("polybot_market_ws_tob_published_total", "market_ws.tob events published");
+    this.conflated = metrics.createCounter("polybot_market_ws_tob_conflated_total",
+        "Top-of-book updates superseded by a newer one before publishing");
+    metrics.registerIntGauge("polybot_market_ws_tob_pending", "Assets with a top-of-book waiting to be published",
+        this::pendingCount);
+  }
+
+  void offer(String assetId, TopOfBook tob) {
+    if (minIntervalMillis <= 0) {
+      publish(assetId, tob);
+      return;
+    }
+    AssetState state = states.computeIfAbsent(assetId, k -> new AssetState());
+    synchronized (state) {
+      if (state.pending != null) {
+        conflated.increment();
+      }
+      long nowMillis = clock.millis();
+      if (nowMillis - state.lastPublishedMillis >= minIntervalMillis) {
+        state.pending = null;
+        state.lastPublishedMillis = nowMillis;
+        publish(assetId, tob);
+        return;
+      }
+      state.pending = tob;
+    }
+  }
+
+  /**
+   * Publishes every pending state whose window has passed, or every pending state when {@code force} (shutdown).
+   */
+  void flush(boolean force) {
+    long nowMillis = clock.millis();
+    for (Map.Entry<String, AssetState> e : states.entrySet()) {
+      AssetState state = e.getValue();
+      synchronized (state) {
+        if (state.pending == null || (!force && nowMillis - state.lastPublishedMillis < minIntervalMillis)) {
+          continue;
+        }
+        TopOfBook tob = state.pending;
+        state.pending = null;
+        state.lastPublishedMillis = nowMillis;
+        publish(e.getKey(), tob);
+      }
+    }
+  }
+
+  /**
+   * Epoch millis of the asset's last published event, or 0.
+   */
+  long lastPublishedMillis(String assetId) {
+    AssetState state = states.get(assetId);
+    return state == null ? 0L : state.lastPublishedMillis;
+  }
+
+  /**
+   * Lets the next update of matching assets publish immediately (e.g. after a reconnect); pending states are kept.
+   */
+  void resetWindow(Predicate<String> assetIds) {
+    for (Map.Entry<String, AssetState> e : states.entrySet()) {
+      if (assetIds.test(e.getKey())) {
+        AssetState state = e.getValue();
+        synchronized (state) {
+          state.lastPublishedMillis = 0L;
+        }
+      }
+    }
+  }
+
+  /**
+   * Forgets unsubscribed assets, including anything still pending for them.
+   */
+  void retainAll(Set<String> assetIds) {
+    states.keySet().retainAll(assetIds);
+  }
+
+  private int pendingCount() {
+    int n = 0;
+    for (AssetState state : states.values()) {
+      if (state.pending != null) {
+        n++;
+      }
+    }
+    return n;
+  }
+
+  private void publish(String assetId, TopOfBook tob) {
+    published.increment();
+    events.publish(tob.updatedAt(), HftEventTypes.MARKET_WS_TOB, assetId, new MarketTopOfBookEvent(
+        assetId,
+        tob.bestBid(),
+        tob.bestBidSize(),
+        tob.bestAsk(),
+        tob.bestAskSize(),
+        tob.lastTradePrice(),
+        tob.updatedAt(),
+        tob.lastTradeAt()
+    ));
+  }
+
+  private static final class AssetState {
+    private volatile long lastPublishedMillis;
+    private volatile TopOfBook pending;
+  }
+}
@@ -0,0 +1,44 @@
+package com.polybot.hft.polymarket.ws;
+
+import com.polybot.hft.domain.OrderSide;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * One {@code order} event from the CLOB user channel. {@code type} is {@code PLACEMENT}, {@code UPDATE} (a match)
+ * or {@code CANCELLATION}; {@code sizeMatched} is cumulative.
+ */
+public record UserOrderUpdate(
+    String orderId,
+    String assetId,
+    String market,
+    OrderSide side,
+    BigDecimal price,
+    BigDecimal originalSize,
+    BigDecimal sizeMatched,
+    String type,
+    Instant timestamp
+) {
+
+  /**
+   * The status the REST order endpoint would report for this update ({@code LIVE}, {@code MATCHED} or
+   * {@code CANCELED}).
+   */
+  public String status() {
+    if ("CANCELLATION".equalsIgnoreCase(type)) {
+      return "CANCELED";
+    }
+    if (sizeMatched != null && originalSize != null && sizeMatched.compareTo(originalSize) >= 0) {
+      return "MATCHED";
+    }
+    return "LIVE";
+  }
+
+  public BigDecimal remainingSize() {
+    if (originalSize == null || sizeMatched == null) {
+      return null;
+    }
+    return originalSize.subtract(sizeMatched).max(BigDecimal.ZERO);
+  }
+}
@@ -0,0 +1,59 @@
+package com.polybot.hft.polymarket.ws;
+
+import com.polybot.hft.domain.OrderSide;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One {@code trade} event from the CLOB user channel. The same trade is reported again as its {@code status} moves
+ * through {@code MATCHED}, {@code MINED} and {@code CONFIRMED} (or {@code RETRYING}/{@code FAILED}).
+ */
+public record UserTrade(
+    String tradeId,
+    String status,
+    String takerOrderId,
+    String assetId,
+    OrderSide side,
+    BigDecimal price,
+    BigDecimal size,
+    List<MakerFill> makerOrders,
+    Instant timestamp
+) {
+
+  public UserTrade {
+    makerOrders = makerOrders == null ? List.of() : List.copyOf(makerOrders);
+  }
+
+  public boolean failed() {
+    return "FAILED".equalsIgnoreCase(status);
+  }
+
+  /**
+   * Size this trade filled on {@code orderId}, or null when the order took no part in it.
+   */
+  public BigDecimal matchedFor(String orderId) {
+    if (orderId == null) {
+      return null;
+    }
+    if (orderId.equals(takerOrderId)) {
+      return size;
+    }
+    BigDecimal matched = null;
+    for (MakerFill fill : makerOrders) {
+      if (orderId.equals(fill.orderId()) && fill.matchedAmount() != null) {
+        matched = matched == null ? fill.matchedAmount() : matched.add(fill.matchedAmount());
+      }
+    }
+    return matched;
+  }
+
+  public record MakerFill(
+      String orderId,
+      String assetId,
+      BigDecimal matchedAmount,
+      BigDecimal price
+  ) {
+  }
+}
@@ -0,0 +1,58 @@
+package com.polybot.hft.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FixedPointTest {
+
+  @Test
+  void priceTicks_roundTripsThroughTable() {
+    assertThat(FixedPoint.priceTicks(new BigDecimal("0.53"))).isEqualTo(5300);
+    assertThat(FixedPoint.priceTicks(new BigDecimal("0.5300"))).isEqualTo(5300);
+    assertThat(FixedPoint.price(5300)).isEqualByComparingTo("0.53");
+    assertThat(FixedPoint.price(5300)).isSameAs(FixedPoint.price(5300));
+    assertThat(FixedPoint.price(FixedPoint.TICKS_PER_UNIT)).isEqualByComparingTo(BigDecimal.ONE);
+  }
+
+  @Test
+  void priceTicks_rejectsMissingOrOutOfRange() {
+    assertThat(FixedPoint.priceTicks(null)).isEqualTo(FixedPoint.NONE);
+    assertThat(FixedPoint.priceTicks(new BigDecimal("-0.01"))).isEqualTo(FixedPoint.NONE);
+    assertThat(FixedPoint.priceTicks(new BigDecimal("1.01"))).isEqualTo(FixedPoint.NONE);
+    assertThat(FixedPoint.price(FixedPoint.NONE)).isNull();
+  }
+
+  @Test
+  void configThresholds_roundInTheConservativeDirection() {
+    assertThat(FixedPoint.ceilTicks(0.01)).isEqualTo(100);
+    assertThat(FixedPoint.ceilTicks(0.00015)).isEqualTo(2);
+    assertThat(FixedPoint.floorTicks(0.99)).isEqualTo(9900);
+    assertThat(FixedPoint.floorTicks(0.00015)).isEqualTo(1);
+  }
+
+  @Test
+  void sizes_areCentiShares() {
+    assertThat(FixedPoint.centiShares(new BigDecimal("120.5"))).isEqualTo(12_050L);
+    assertThat(FixedPoint.centiShares(new BigDecimal("0.019"))).isEqualTo(1L);
+    assertThat(FixedPoint.centiShares(null)).isEqualTo(FixedPoint.NONE);
+    assertThat(FixedPoint.signedCentiShares(new BigDecimal("-3.339"))).isEqualTo(-333L);
+    assertThat(FixedPoint.shares(12_050L)).isEqualByComparingTo("120.5");
+  }
+
+  @Test
+  void packedLevel_keepsPriceAndSize() {
+    long level = FixedPoint.packLevel(new BigDecimal("0.52"), new BigDecimal("120.5"));
+    assertThat(FixedPoint.levelPriceTicks(level)).isEqualTo(5200);
+    assertThat(FixedPoint.levelCentiShares(level)).isEqualTo(12_050L);
+
+    long priceOnly = FixedPoint.packLevel(new BigDecimal("0.52"), null);
+    assertThat(FixedPoint.levelPriceTicks(priceOnly)).isEqualTo(5200);
+    assertThat(FixedPoint.levelCentiShares(priceOnly)).isEqualTo(FixedPoint.NONE);
+
+    assertThat(FixedPoint.packLevel(null, new BigDecimal("1"))).isEqualTo(FixedPoint.EMPTY_LEVEL);
+    assertThat(FixedPoint.levelPriceTicks(FixedPoint.EMPTY_LEVEL)).isEqualTo(FixedPoint.NONE);
+  }
+}
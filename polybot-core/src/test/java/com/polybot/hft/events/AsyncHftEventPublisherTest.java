@@ -0,0 +1,79 @@
+package com.polybot.hft.events;
+
+import com.polybot.hft.metrics.PolybotMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncHftEventPublisherTest {
+
+  @Test
+  void conflatesPerKeyAndDropsWhenFull() throws Exception {
+    BlockingDelegate delegate = new BlockingDelegate();
+    AsyncHftEventPublisher publisher = new AsyncHftEventPublisher(delegate,
+        new HftEventsProperties.Async(true, 2, List.of(HftEventTypes.MARKET_WS_TOB), List.of("executor.order.")),
+        Clock.systemUTC(), new PolybotMetrics(new SimpleMeterRegistry()));
+
+    publisher.publish(HftEventTypes.MARKET_WS_TOB, "asset-1", "tob-1");
+    assertThat(delegate.entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+    publisher.publish(HftEventTypes.MARKET_WS_TOB, "asset-1", "tob-2");
+    publisher.publish(HftEventTypes.MARKET_WS_TOB, "asset-1", "tob-3");
+    publisher.publish("ingestor.trade", "t-1", "trade-1");
+    publisher.publish("ingestor.trade", "t-2", "trade-2");
+    assertThat(publisher.depth()).isEqualTo(2);
+
+    delegate.release.countDown();
+    publisher.close();
+
+    assertThat(delegate.published).containsExactly("tob-1", "tob-3", "trade-1");
+  }
+
+  @Test
+  void stampsMissingTimestampAtEnqueue() {
+    BlockingDelegate delegate = new BlockingDelegate();
+    delegate.release.countDown();
+    Instant fixed = Instant.parse("2025-01-01T00:00:00Z");
+    AsyncHftEventPublisher publisher = new AsyncHftEventPublisher(delegate,
+        new HftEventsProperties.Async(true, 16, null, null),
+        Clock.fixed(fixed, ZoneOffset.UTC), new PolybotMetrics(new SimpleMeterRegistry()));
+
+    publisher.publish("executor.order.limit", "o-1", "order");
+    publisher.close();
+
+    assertThat(delegate.timestamps).containsExactly(fixed);
+  }
+
+  private static final class BlockingDelegate implements HftEventPublisher {
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<Object> published = new CopyOnWriteArrayList<>();
+    private final List<Instant> timestamps = new CopyOnWriteArrayList<>();
+
+    @Override
+    public boolean isEnabled() {
+      return true;
+    }
+
+    @Override
+    public void publish(Instant ts, String type, String key, Object data) {
+      entered.countDown();
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      published.add(data);
+      timestamps.add(ts);
+    }
+  }
+}
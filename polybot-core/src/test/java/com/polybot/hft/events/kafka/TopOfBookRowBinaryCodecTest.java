@@ -0,0 +1,67 @@
+package com.polybot.hft.events.kafka;
+
+import com.polybot.hft.events.payload.MarketTopOfBookEvent;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopOfBookRowBinaryCodecTest {
+
+  private static final String ASSET_ID = "71321045679252212594626385532706912750332728571942532289631379312455583992563";
+
+  @Test
+  void roundTripsAllColumns() {
+    Instant ts = Instant.parse("2025-01-01T00:00:01.250Z");
+    MarketTopOfBookEvent tob = new MarketTopOfBookEvent(ASSET_ID, new BigDecimal("0.51"), new BigDecimal("120.5"),
+        new BigDecimal("0.53"), new BigDecimal("80"), new BigDecimal("0.52"), Instant.parse("2025-01-01T00:00:01.100Z"),
+        Instant.parse("2025-01-01T00:00:00.900Z"));
+
+    TopOfBookRowBinaryCodec.Decoded decoded = TopOfBookRowBinaryCodec.decode(TopOfBookRowBinaryCodec.encode(ts, "strategy-service", tob));
+
+    assertThat(decoded.ts()).isEqualTo(ts);
+    assertThat(decoded.source()).isEqualTo("strategy-service");
+    assertThat(decoded.tob().assetId()).isEqualTo(ASSET_ID);
+    assertThat(decoded.tob().bestBid()).isEqualByComparingTo("0.51");
+    assertThat(decoded.tob().bestBidSize()).isEqualByComparingTo("120.5");
+    assertThat(decoded.tob().bestAsk()).isEqualByComparingTo("0.53");
+    assertThat(decoded.tob().bestAskSize()).isEqualByComparingTo("80");
+    assertThat(decoded.tob().lastTradePrice()).isEqualByComparingTo("0.52");
+    assertThat(decoded.tob().updatedAt()).isEqualTo(tob.updatedAt());
+    assertThat(decoded.tob().lastTradeAt()).isEqualTo(tob.lastTradeAt());
+  }
+
+  @Test
+  void encodesRowBinaryLayout() {
+    Instant ts = Instant.ofEpochMilli(1_000L);
+    MarketTopOfBookEvent tob = new MarketTopOfBookEvent("a", null, null, null, null, null, null, null);
+
+    byte[] row = TopOfBookRowBinaryCodec.encode(ts, "s", tob);
+
+    // Int64 ts, (len 1, 's'), (len 1, 'a'), 5 x Float64, Int64 updated_at, null flag
+    assertThat(row).hasSize(8 + 2 + 2 + 40 + 8 + 1);
+    assertThat(row[0]).isEqualTo((byte) 0xE8);
+    assertThat(row[1]).isEqualTo((byte) 0x03);
+    assertThat(row[8]).isEqualTo((byte) 1);
+    assertThat(row[9]).isEqualTo((byte) 's');
+    assertThat(row[row.length - 1]).isEqualTo((byte) 1);
+
+    TopOfBookRowBinaryCodec.Decoded decoded = TopOfBookRowBinaryCodec.decode(row);
+    assertThat(decoded.tob().updatedAt()).isEqualTo(ts);
+    assertThat(decoded.tob().lastTradeAt()).isNull();
+  }
+
+  @Test
+  void encodesLongStringsWithMultiByteLength() {
+    String source = "x".repeat(300);
+    MarketTopOfBookEvent tob = new MarketTopOfBookEvent(ASSET_ID, null, null, null, null, null, null, null);
+
+    byte[] row = TopOfBookRowBinaryCodec.encode(Instant.EPOCH, source, tob);
+
+    assertThat(row[8]).isEqualTo((byte) 0xAC);
+    assertThat(row[9]).isEqualTo((byte) 0x02);
+    assertThat(TopOfBookRowBinaryCodec.decode(row).source()).isEqualTo(source);
+  }
+}
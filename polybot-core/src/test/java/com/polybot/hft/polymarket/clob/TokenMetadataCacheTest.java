@@ -0,0 +1,190 @@
+package com.polybot.hft.polymarket.clob;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.polybot.hft.config.HftProperties;
+import com.polybot.hft.metrics.PolybotMetrics;
+import com.polybot.hft.polymarket.config.PolymarketConfiguration;
+import com.polybot.hft.polymarket.http.HttpConnectionMetrics;
+import com.polybot.hft.polymarket.http.PolymarketHttpTransport;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenMetadataCacheTest {
+
+  private static final String TOKEN = "111";
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final MutableClock clock = new MutableClock();
+  private final AtomicInteger tickSizeRequests = new AtomicInteger();
+  private volatile String tickSize = "0.01";
+  private volatile boolean failing;
+  private HttpServer server;
+  private TokenMetadataCache cache;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext("/", this::serve);
+    server.start();
+
+    HftProperties properties = new HftProperties(null, null, null, null, null);
+    PolybotMetrics metrics = new PolybotMetrics(registry);
+    PolymarketHttpTransport transport = new PolymarketConfiguration().polymarketHttpTransport(
+        properties, HttpClient.newHttpClient(), objectMapper, Clock.systemUTC(), metrics, new HttpConnectionMetrics(metrics));
+    PolymarketClobClient clobClient = new PolymarketClobClient(
+        URI.create("http://localhost:" + server.getAddress().getPort()), transport, objectMapper, Clock.systemUTC(), 137, false);
+    cache = new TokenMetadataCache(properties, clobClient, metrics, clock);
+    cache.init();
+  }
+
+  @AfterEach
+  void tearDown() {
+    cache.shutdown();
+    server.stop(0);
+  }
+
+  @Test
+  void hitWithinTtl_isServedFromCache_expiredEntryIsRefetchedInline() {
+    assertThat(cache.tickSize(TOKEN)).isEqualByComparingTo("0.01");
+    clock.advanceMillis(100_000L);
+    assertThat(cache.tickSize(TOKEN)).isEqualByComparingTo("0.01");
+    assertThat(tickSizeRequests).hasValue(1);
+
+    tickSize = "0.001";
+    clock.advanceMillis(200_001L);
+
+    assertThat(cache.tickSize(TOKEN)).isEqualByComparingTo("0.001");
+    assertThat(tickSizeRequests).hasValue(2);
+  }
+
+  @Test
+  void hitWithinRefreshAhead_servesCachedValueAndRefreshesInBackground() throws InterruptedException {
+    assertThat(cache.tickSize(TOKEN)).isEqualByComparingTo("0.01");
+    tickSize = "0.001";
+    clock.advanceMillis(250_000L);
+
+    assertThat(cache.tickSize(TOKEN)).isEqualByComparingTo("0.01");
+
+    await(() -> cache.tickSize(TOKEN).compareTo(new BigDecimal("0.001")) == 0);
+    assertThat(tickSizeRequests).hasValue(2);
+  }
+
+  @Test
+  void failedBackgroundRefresh_keepsPreviousValueUntilExpiry_andIsRetried() throws InterruptedException {
+    assertThat(cache.tickSize(TOKEN)).isEqualByComparingTo("0.01");
+    failing = true;
+    clock.advanceMillis(250_000L);
+
+    assertThat(cache.tickSize(TOKEN)).isEqualByComparingTo("0.01");
+    await(() -> refreshFailures() >= 1.0);
+    assertThat(cache.tickSize(TOKEN)).isEqualByComparingTo("0.01");
+
+    failing = false;
+    tickSize = "0.001";
+    await(() -> cache.tickSize(TOKEN).compareTo(new BigDecimal("0.001")) == 0);
+
+    failing = true;
+    clock.advanceMillis(300_001L);
+    assertThatThrownBy(() -> cache.tickSize(TOKEN)).isInstanceOf(RuntimeException.class);
+  }
+
+  @Test
+  void warmUp_evictsExpiredEntries_andFetchesThemInBackgroundWithMissingOnes() throws InterruptedException {
+    cache.tickSize(TOKEN);
+    clock.advanceMillis(300_001L);
+
+    // Only an evicted token is fetched again: warm-up skips tokens that are still cached
+    cache.warmUp(List.of(TOKEN, "222"));
+
+    await(() -> tickSizeRequests.get() == 3);
+  }
+
+  @Test
+  void invalidate_forcesInlineRefetch() {
+    cache.tickSize(TOKEN);
+    tickSize = "0.001";
+
+    cache.invalidate(TOKEN);
+
+    assertThat(cache.tickSize(TOKEN)).isEqualByComparingTo("0.001");
+    assertThat(tickSizeRequests).hasValue(2);
+  }
+
+  private void serve(HttpExchange exchange) throws IOException {
+    String path = exchange.getRequestURI().getPath();
+    String body;
+    if (path.endsWith("/tick-size")) {
+      tickSizeRequests.incrementAndGet();
+      body = "{\"minimum_tick_size\":" + tickSize + "}";
+    } else if (path.endsWith("/neg-risk")) {
+      body = "{\"neg_risk\":false}";
+    } else {
+      body = "{\"base_fee\":0}";
+    }
+    byte[] bytes = (failing ? "{\"error\":\"bad request\"}" : body).getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().add("Content-Type", "application/json");
+    exchange.sendResponseHeaders(failing ? 400 : 200, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+
+  private double refreshFailures() {
+    return registry.get("polybot_token_metadata_refresh_failures_total").tag("field", "tick_size").counter().count();
+  }
+
+  private static void await(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10_000L;
+    while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(5);
+    }
+    assertThat(condition.getAsBoolean()).isTrue();
+  }
+
+  private static final class MutableClock extends Clock {
+    private volatile Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+    void advanceMillis(long millis) {
+      now = now.plusMillis(millis);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
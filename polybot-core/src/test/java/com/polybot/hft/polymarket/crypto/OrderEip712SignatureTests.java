@@ -36,4 +36,20 @@ class OrderEip712SignatureTests {
         "0x302cd9abd0b5fcaa202a344437ec0b6660da984e24ae9ad915a592a90facf5a51bb8a873cd8d270f070217fea1986531d5eec66f1162a81f66e026db653bf7ce1c"
     );
   }
+
+  @Test
+  void cachedOrderSignerMatchesReference() {
+    String privateKey = "0xac0974bec39a17e36ba4a6b4d238ff944bacb478cbed5efcae784d7bf4f2ff80";
+    Credentials creds = Credentials.create(privateKey.substring(2));
+    String address = creds.getAddress();
+    Eip712OrderSigner signer = Eip712OrderSigner.forExchange(80002, "0xdFE02Eb6733538f8Ea35D585af8DE5958AD99E40");
+
+    String sig = signer.sign(creds, 479249096354L, address, address, "0x0000000000000000000000000000000000000000",
+        "1234", 100000000L, 50000000L, 0L, 0L, 100, OrderSide.BUY.toEip712Value(), 0);
+
+    assertThat(sig).isEqualTo(
+        "0x302cd9abd0b5fcaa202a344437ec0b6660da984e24ae9ad915a592a90facf5a51bb8a873cd8d270f070217fea1986531d5eec66f1162a81f66e026db653bf7ce1c"
+    );
+    assertThat(Eip712OrderSigner.forExchange(80002, "0xDFE02EB6733538F8EA35D585AF8DE5958AD99E40")).isSameAs(signer);
+  }
 }
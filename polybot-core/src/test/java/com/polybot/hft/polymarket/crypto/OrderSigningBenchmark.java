@@ -0,0 +1,97 @@
+package com.polybot.hft.polymarket.crypto;
+
+import com.polybot.hft.domain.OrderSide;
+import com.polybot.hft.polymarket.order.PolymarketOrderBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.web3j.crypto.Credentials;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order signing: the reference {@link Eip712Signer#signOrder} (domain and type hashes re-derived, fields parsed from
+ * strings on every order) vs the cached {@link Eip712OrderSigner}, plus {@link PolymarketOrderBuilder#buildLimitOrder}
+ * end to end. The {@code *Digest} pair isolates the hashing/encoding work from the ECDSA signature.
+ * <p>
+ * Run with {@code mvn -pl polybot-core test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.polybot.hft.polymarket.crypto.OrderSigningBenchmark}; add {@code -prof gc} via the JMH CLI
+ * to compare allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderSigningBenchmark {
+
+  private static final int CHAIN_ID = 137;
+  private static final String EXCHANGE = "0x4bFb41d5B3570DeFd03C39a9A4D8dE6Bd8B8982E";
+  private static final String ZERO_ADDRESS = "0x0000000000000000000000000000000000000000";
+  private static final String TOKEN_ID = "71321045679252212594626385532706912750332728571942532289631379312455583992563";
+
+  private Credentials credentials;
+  private String address;
+  private Eip712OrderSigner orderSigner;
+  private PolymarketOrderBuilder builder;
+  private long salt;
+
+  @Setup
+  public void setup() {
+    credentials = Credentials.create("ac0974bec39a17e36ba4a6b4d238ff944bacb478cbed5efcae784d7bf4f2ff80");
+    address = credentials.getAddress();
+    orderSigner = Eip712OrderSigner.forExchange(CHAIN_ID, EXCHANGE);
+    builder = new PolymarketOrderBuilder(CHAIN_ID, credentials, 0, null);
+  }
+
+  @Benchmark
+  public byte[] referenceDigest() {
+    long s = ++salt;
+    return Eip712Signer.orderDigest(CHAIN_ID, EXCHANGE, Long.toString(s), address, address, ZERO_ADDRESS, TOKEN_ID,
+        "5100000", "10000000", "0", "0", "0", OrderSide.BUY.toEip712Value(), 0);
+  }
+
+  @Benchmark
+  public byte[] cachedDigest() {
+    long s = ++salt;
+    return orderSigner.digest(s, address, address, ZERO_ADDRESS, TOKEN_ID, 5_100_000L, 10_000_000L, 0L, 0L, 0,
+        OrderSide.BUY.toEip712Value(), 0);
+  }
+
+  @Benchmark
+  public String referenceSign() {
+    long s = ++salt;
+    return Eip712Signer.signOrder(credentials, CHAIN_ID, EXCHANGE, Long.toString(s), address, address, ZERO_ADDRESS,
+        TOKEN_ID, "5100000", "10000000", "0", "0", "0", OrderSide.BUY.toEip712Value(), 0);
+  }
+
+  @Benchmark
+  public String cachedSign() {
+    long s = ++salt;
+    return orderSigner.sign(credentials, s, address, address, ZERO_ADDRESS, TOKEN_ID, 5_100_000L, 10_000_000L, 0L, 0L,
+        0, OrderSide.BUY.toEip712Value(), 0);
+  }
+
+  @Benchmark
+  public Object buildLimitOrder() {
+    return builder.buildLimitOrder(TOKEN_ID, OrderSide.BUY, new BigDecimal("0.51"), BigDecimal.TEN,
+        new BigDecimal("0.01"), false, 0, 0L, 0L, null);
+  }
+
+  public static void main(String[] args) throws Exception {
+    new Runner(new OptionsBuilder()
+        .include(OrderSigningBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+}
@@ -0,0 +1,67 @@
+package com.polybot.hft.polymarket.http;
+
+import com.polybot.hft.metrics.PolybotMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.net.ssl.SSLSession;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpConnectionMetricsTest {
+
+  @Test
+  void separateWrappersOfOneSessionCountAsReuse() {
+    HttpConnectionMetrics metrics = new HttpConnectionMetrics(new PolybotMetrics(new SimpleMeterRegistry()));
+    SSLSession first = session(new byte[]{1, 2, 3}, 1_000L);
+    SSLSession second = session(new byte[]{1, 2, 3}, 1_000L);
+    assertThat(second).isNotSameAs(first);
+
+    metrics.record(first, 1_000L);
+    metrics.record(second, 1_000L);
+
+    assertThat(metrics.handshakes()).isEqualTo(1);
+    assertThat(metrics.reuseRatio()).isEqualTo(0.5);
+  }
+
+  @Test
+  void newIdOrCreationTimeCountsAsHandshake() {
+    HttpConnectionMetrics metrics = new HttpConnectionMetrics(new PolybotMetrics(new SimpleMeterRegistry()));
+
+    metrics.record(session(new byte[]{1}, 1_000L), 1_000L);
+    metrics.record(session(new byte[]{2}, 1_000L), 1_000L);
+    metrics.record(session(new byte[]{1}, 2_000L), 1_000L);
+    metrics.record(null, 1_000L);
+
+    assertThat(metrics.handshakes()).isEqualTo(3);
+    assertThat(metrics.reuseRatio()).isZero();
+  }
+
+  @Test
+  void idleTimeIsTrackedPerHost() {
+    HttpConnectionMetrics metrics = new HttpConnectionMetrics(new PolybotMetrics(new SimpleMeterRegistry()));
+    long longAgo = System.nanoTime() - TimeUnit.MINUTES.toNanos(5);
+    metrics.markSent("clob.polymarket.com", longAgo);
+
+    metrics.markSent("gamma-api.polymarket.com", System.nanoTime());
+
+    assertThat(metrics.idleNanos("clob.polymarket.com")).isGreaterThanOrEqualTo(TimeUnit.MINUTES.toNanos(5));
+    assertThat(metrics.idleNanos("gamma-api.polymarket.com")).isLessThan(TimeUnit.MINUTES.toNanos(1));
+  }
+
+  /**
+   * A fresh wrapper around the given session identity, like {@code HttpResponse.sslSession()} returns.
+   */
+  private static SSLSession session(byte[] id, long creationTime) {
+    return (SSLSession) Proxy.newProxyInstance(SSLSession.class.getClassLoader(), new Class<?>[]{SSLSession.class},
+        (proxy, method, args) -> switch (method.getName()) {
+          case "getId" -> id.clone();
+          case "getCreationTime" -> creationTime;
+          case "hashCode" -> System.identityHashCode(proxy);
+          case "equals" -> proxy == args[0];
+          default -> throw new UnsupportedOperationException(method.getName());
+        });
+  }
+}
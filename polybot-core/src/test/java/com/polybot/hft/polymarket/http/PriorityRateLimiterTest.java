@@ -0,0 +1,102 @@
+package com.polybot.hft.polymarket.http;
+
+import com.polybot.hft.metrics.PolybotMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriorityRateLimiterTest {
+
+  private static final PolybotMetrics METRICS = new PolybotMetrics(new SimpleMeterRegistry());
+
+  @Test
+  void routeBucketOnlyThrottlesItsOwnRoute() {
+    MutableClock clock = new MutableClock();
+    PriorityRateLimiter limiter = new PriorityRateLimiter(
+        new TokenBucketRateLimiter(1_000.0, 100, clock),
+        List.of(
+            new PriorityRateLimiter.Route("GET", "/data/order/", new TokenBucketRateLimiter(1.0, 1, clock), PriorityRateLimiter.Lane.READ),
+            new PriorityRateLimiter.Route("POST", "/order", new TokenBucketRateLimiter(1_000.0, 100, clock), PriorityRateLimiter.Lane.ORDER)
+        ),
+        METRICS
+    );
+
+    assertThat(limiter.acquireAsync(request("GET", "/data/order/0x1"))).isDone();
+    assertThat(limiter.acquireAsync(request("GET", "/data/order/0x2"))).isNotDone();
+    assertThat(limiter.acquireAsync(request("POST", "/order"))).isDone();
+    assertThat(limiter.acquireAsync(request("GET", "/book?token_id=1"))).isDone();
+  }
+
+  @Test
+  void longestPrefixWins() {
+    MutableClock clock = new MutableClock();
+    PriorityRateLimiter.Route order = new PriorityRateLimiter.Route("POST", "/order", new TokenBucketRateLimiter(1.0, 1, clock), PriorityRateLimiter.Lane.ORDER);
+    PriorityRateLimiter.Route orders = new PriorityRateLimiter.Route("POST", "/orders", new TokenBucketRateLimiter(1.0, 1, clock), PriorityRateLimiter.Lane.ORDER);
+    PriorityRateLimiter limiter = new PriorityRateLimiter(new TokenBucketRateLimiter(1.0, 1, clock), List.of(order, orders), METRICS);
+
+    assertThat(limiter.route(request("POST", "/orders"))).isSameAs(orders);
+    assertThat(limiter.route(request("POST", "/order"))).isSameAs(order);
+    assertThat(limiter.route(request("DELETE", "/order"))).isNull();
+  }
+
+  @Test
+  void orderLaneJumpsQueuedReads() throws Exception {
+    MutableClock clock = new MutableClock();
+    PriorityRateLimiter limiter = new PriorityRateLimiter(
+        new TokenBucketRateLimiter(5.0, 1, clock),
+        List.of(new PriorityRateLimiter.Route("POST", "/order", new TokenBucketRateLimiter(1_000.0, 100, clock), PriorityRateLimiter.Lane.ORDER)),
+        METRICS
+    );
+
+    assertThat(limiter.acquireAsync(request("GET", "/book"))).isDone();
+    CompletableFuture<Void> read = limiter.acquireAsync(request("GET", "/book"));
+    CompletableFuture<Void> order = limiter.acquireAsync(request("POST", "/order"));
+    assertThat(read).isNotDone();
+    assertThat(order).isNotDone();
+
+    clock.advanceMillis(200);
+    order.get(5, TimeUnit.SECONDS);
+
+    assertThat(read).isNotDone();
+  }
+
+  private static HttpRequest request(String method, String path) {
+    return HttpRequest.newBuilder(URI.create("https://clob.polymarket.com" + path))
+        .method(method, HttpRequest.BodyPublishers.noBody())
+        .build();
+  }
+
+  private static final class MutableClock extends Clock {
+    private volatile Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+    void advanceMillis(long millis) {
+      now = now.plusMillis(millis);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package com.polybot.hft.polymarket.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTest {
+
+  @Test
+  void burstIsFreeThenReservationsAreSpacedByTheRate() {
+    MutableClock clock = new MutableClock();
+    TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10.0, 3, clock);
+
+    assertThat(limiter.reserveNanos()).isZero();
+    assertThat(limiter.reserveNanos()).isZero();
+    assertThat(limiter.reserveNanos()).isZero();
+    assertThat(limiter.reserveNanos()).isEqualTo(100_000_000L);
+    assertThat(limiter.reserveNanos()).isEqualTo(200_000_000L);
+  }
+
+  @Test
+  void idleTimeRefillsUpToBurst() {
+    MutableClock clock = new MutableClock();
+    TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10.0, 2, clock);
+    limiter.reserveNanos();
+    limiter.reserveNanos();
+    assertThat(limiter.reserveNanos()).isEqualTo(100_000_000L);
+
+    clock.advanceMillis(10_000);
+
+    assertThat(limiter.reserveNanos()).isZero();
+    assertThat(limiter.reserveNanos()).isZero();
+    assertThat(limiter.reserveNanos()).isEqualTo(100_000_000L);
+  }
+
+  private static final class MutableClock extends Clock {
+    private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+    void advanceMillis(long millis) {
+      now = now.plusMillis(millis);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
@@ -0,0 +1,85 @@
+package com.polybot.hft.polymarket.service;
+
+import com.polybot.hft.config.HftProperties;
+import com.polybot.hft.domain.OrderSide;
+import com.polybot.hft.metrics.PolybotMetrics;
+import com.polybot.hft.polymarket.model.SignedOrder;
+import com.polybot.hft.polymarket.order.PolymarketOrderBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.web3j.crypto.Credentials;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PresignedOrderCacheTest {
+
+  private static final String TOKEN_ID = "1234";
+  private static final BigDecimal TICK = new BigDecimal("0.01");
+  private static final BigDecimal SIZE = BigDecimal.TEN;
+
+  private PresignedOrderCache cache;
+  private PolymarketOrderBuilder builder;
+
+  @BeforeEach
+  void setUp() {
+    HftProperties.Polymarket polymarket = new HftProperties.Polymarket(null, null, null, null, 80002, null, null, null,
+        null, null, null, null, null, null, null, null, null, null, null, null,
+        new HftProperties.OrderPresign(true, 2, 64, 60_000L), null, null);
+    HftProperties properties = new HftProperties(null, polymarket, null, null, null);
+    cache = new PresignedOrderCache(properties, new PolybotMetrics(new SimpleMeterRegistry()), Clock.systemUTC());
+    cache.initMetrics();
+    builder = new PolymarketOrderBuilder(80002,
+        Credentials.create("ac0974bec39a17e36ba4a6b4d238ff944bacb478cbed5efcae784d7bf4f2ff80"), 0, null);
+  }
+
+  @AfterEach
+  void tearDown() {
+    cache.shutdown();
+  }
+
+  @Test
+  void servesNeighbouringTickPreSignedAndHandsEachOrderOutOnce() throws Exception {
+    PresignedOrderCache.Terms terms = terms(0L);
+
+    cache.signLimitOrder(builder, TOKEN_ID, OrderSide.BUY, new BigDecimal("0.50"), SIZE, terms);
+    awaitPresigned(5);
+
+    SignedOrder first = cache.signLimitOrder(builder, TOKEN_ID, OrderSide.BUY, new BigDecimal("0.52"), SIZE, terms);
+
+    assertThat(cache.stats().hits()).isEqualTo(1);
+    assertThat(cache.stats().misses()).isEqualTo(1);
+    assertThat(first.takerAmount()).isEqualTo("10000000");
+    assertThat(first.makerAmount()).isEqualTo("5200000");
+
+    SignedOrder second = cache.signLimitOrder(builder, TOKEN_ID, OrderSide.BUY, new BigDecimal("0.52"), SIZE, terms);
+    assertThat(second.salt()).isNotEqualTo(first.salt());
+  }
+
+  @Test
+  void nonceChangeInvalidatesLadder() throws Exception {
+    cache.signLimitOrder(builder, TOKEN_ID, OrderSide.BUY, new BigDecimal("0.50"), SIZE, terms(0L));
+    awaitPresigned(5);
+
+    SignedOrder order = cache.signLimitOrder(builder, TOKEN_ID, OrderSide.BUY, new BigDecimal("0.51"), SIZE, terms(1L));
+
+    assertThat(order.nonce()).isEqualTo("1");
+    assertThat(cache.stats().hits()).isZero();
+  }
+
+  private static PresignedOrderCache.Terms terms(long nonce) {
+    return new PresignedOrderCache.Terms(TICK, false, 0, nonce, 0L, null);
+  }
+
+  private void awaitPresigned(int count) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10_000L;
+    while (cache.stats().presignedOrders() < count && System.currentTimeMillis() < deadline) {
+      Thread.sleep(5);
+    }
+    assertThat(cache.stats().presignedOrders()).isGreaterThanOrEqualTo(count);
+  }
+}
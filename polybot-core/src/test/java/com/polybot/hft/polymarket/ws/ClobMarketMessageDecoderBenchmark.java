@@ -0,0 +1,104 @@
+package com.polybot.hft.polymarket.ws;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming vs tree decode of recorded CLOB market websocket frames.
+ * <p>
+ * Run with {@code mvn -pl polybot-core test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.polybot.hft.polymarket.ws.ClobMarketMessageDecoderBenchmark}; add {@code -prof gc} via
+ * the JMH CLI to compare allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClobMarketMessageDecoderBenchmark {
+
+  private ObjectMapper objectMapper;
+  private ClobMarketMessageDecoder decoder;
+  private String[] frames;
+  private StringBuilder[] frameBuffers;
+
+  @Setup
+  public void setup() throws Exception {
+    objectMapper = new ObjectMapper();
+    decoder = new ClobMarketMessageDecoder(objectMapper.getFactory());
+    List<String> recorded = ClobMarketMessageDecoderTest.readFrames();
+    frames = recorded.toArray(String[]::new);
+    frameBuffers = new StringBuilder[frames.length];
+    for (int i = 0; i < frames.length; i++) {
+      frameBuffers[i] = new StringBuilder(frames[i]);
+    }
+  }
+
+  @Benchmark
+  public void tree(Blackhole bh) throws Exception {
+    BlackholeHandler handler = new BlackholeHandler(bh);
+    for (String frame : frames) {
+      ClobMarketMessageDecoder.decodeTree(objectMapper.readTree(frame), handler);
+    }
+  }
+
+  @Benchmark
+  public void streaming(Blackhole bh) throws Exception {
+    BlackholeHandler handler = new BlackholeHandler(bh);
+    for (StringBuilder frame : frameBuffers) {
+      decoder.decode(frame, handler);
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    new Runner(new OptionsBuilder()
+        .include(ClobMarketMessageDecoderBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+  private record BlackholeHandler(Blackhole bh) implements ClobMarketMessageDecoder.Handler {
+
+    @Override
+    public void onBook(String assetId, long bestBidLevel, long bestAskLevel, int lastTradePriceTicks) {
+      bh.consume(assetId);
+      bh.consume(bestBidLevel);
+      bh.consume(bestAskLevel);
+      bh.consume(lastTradePriceTicks);
+    }
+
+    @Override
+    public void onPriceChangeMessage() {
+    }
+
+    @Override
+    public void onPriceChange(String assetId, int bestBidTicks, int bestAskTicks, long bestBidCentiShares, long bestAskCentiShares) {
+      bh.consume(assetId);
+      bh.consume(bestBidTicks);
+      bh.consume(bestAskTicks);
+      bh.consume(bestBidCentiShares);
+      bh.consume(bestAskCentiShares);
+    }
+
+    @Override
+    public void onLastTradePrice(String assetId, int priceTicks) {
+      bh.consume(assetId);
+      bh.consume(priceTicks);
+    }
+  }
+}
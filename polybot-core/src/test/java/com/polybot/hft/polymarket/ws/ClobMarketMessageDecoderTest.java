@@ -0,0 +1,227 @@
+package com.polybot.hft.polymarket.ws;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.polybot.hft.domain.FixedPoint;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClobMarketMessageDecoderTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final ClobMarketMessageDecoder decoder = new ClobMarketMessageDecoder(objectMapper.getFactory());
+
+  @Test
+  void book_picksBestLevelsRegardlessOfOrder() throws Exception {
+    RecordingHandler handler = new RecordingHandler();
+    decoder.decode("""
+        {"event_type":"book","asset_id":"111","bids":[{"price":"0.01","size":"5"},{"price":"0.52","size":"120.5"},{"price":"0.5","size":"7"}],
+         "asks":[{"price":"0.99","size":"1"},{"price":"0.530","size":"42"},{"price":"0.6","size":"3"}],"last_trade_price":"0.52"}
+        """, handler);
+
+    assertThat(handler.calls).containsExactly(
+        "book 111 bid=5200x12050 ask=5300x4200 last=5200",
+        "depth 111 bids=[100x500, 5200x12050, 5000x700] asks=[9900x100, 5300x4200, 6000x300]"
+    );
+  }
+
+  @Test
+  void book_fallsBackToBuysAndSells() throws Exception {
+    RecordingHandler handler = new RecordingHandler();
+    decoder.decode("""
+        {"asset_id":"111","buys":[{"price":"0.4","size":"1"}],"sells":[{"price":"0.45","size":"2"}],"event_type":"book"}
+        """, handler);
+
+    assertThat(handler.calls).containsExactly(
+        "book 111 bid=4000x100 ask=4500x200 last=null",
+        "depth 111 bids=[4000x100] asks=[4500x200]"
+    );
+  }
+
+  @Test
+  void priceChange_emitsOneCallPerEntry() throws Exception {
+    RecordingHandler handler = new RecordingHandler();
+    decoder.decode("""
+        {"market":"0xabc","price_changes":[
+          {"asset_id":"111","price":"0.5","size":"12.345","side":"BUY","best_bid":"0.5","best_ask":"0.51"},
+          {"price":"0.2"},
+          {"asset_id":"222","best_bid":"0.49","best_ask":"0.5","best_bid_size":"10","best_ask_size":""},
+          {"asset_id":"222","price":"0.52","size":"0","side":"SELL"}
+        ],"event_type":"price_change"}
+        """, handler);
+
+    assertThat(handler.calls).containsExactly(
+        "price_change",
+        "level 111 BUY 5000x1234",
+        "change 111 bid=5000/null ask=5100/null",
+        "change 222 bid=4900/1000 ask=5000/null",
+        "level 222 SELL 5200x0",
+        "change 222 bid=null/null ask=null/null"
+    );
+  }
+
+  @Test
+  void arrayFrame_decodesEachEvent() throws Exception {
+    RecordingHandler handler = new RecordingHandler();
+    decoder.decode("""
+        [{"event_type":"last_trade_price","asset_id":"111","price":"0.61"},{"event_type":"unknown","asset_id":"111"}]
+        """, handler);
+
+    assertThat(handler.calls).containsExactly("last 111 6100");
+  }
+
+  @Test
+  void tickSizeChange_reportsNewTickSizeOnBothPaths() throws Exception {
+    String frame = """
+        {"event_type":"tick_size_change","asset_id":"111","market":"0xabc","old_tick_size":"0.01","new_tick_size":"0.001"}
+        """;
+    RecordingHandler streaming = new RecordingHandler();
+    RecordingHandler tree = new RecordingHandler();
+    decoder.decode(frame, streaming);
+    ClobMarketMessageDecoder.decodeTree(objectMapper.readTree(frame), tree);
+
+    assertThat(streaming.calls).containsExactly("tick 111 0.001");
+    assertThat(tree.calls).isEqualTo(streaming.calls);
+  }
+
+  @Test
+  void eventMeta_reportsServerTimestampAndHash() throws Exception {
+    RecordingHandler handler = new RecordingHandler();
+    decoder.decode("""
+        [{"event_type":"book","asset_id":"111","timestamp":"1760520607950","hash":"0xd178","bids":[],"asks":[]},
+         {"event_type":"price_change","timestamp":1760520608001,"price_changes":[{"asset_id":"111","best_bid":"0.5"}]}]
+        """, handler);
+
+    assertThat(handler.calls).containsExactly(
+        "meta 1760520607950 0xd178",
+        "book 111 bid=null ask=null last=null",
+        "depth 111 bids=[] asks=[]",
+        "meta 1760520608001 null",
+        "price_change",
+        "change 111 bid=5000/null ask=null/null"
+    );
+  }
+
+  @Test
+  void assetIds_areInternedAcrossFrames() throws Exception {
+    RecordingHandler first = new RecordingHandler();
+    RecordingHandler second = new RecordingHandler();
+    decoder.decode("{\"event_type\":\"last_trade_price\",\"asset_id\":\"111\",\"price\":\"0.61\"}", first);
+    decoder.decode("{\"event_type\":\"last_trade_price\",\"asset_id\":\"111\",\"price\":\"0.62\"}", second);
+
+    assertThat(second.assetIds.get(0)).isSameAs(first.assetIds.get(0));
+  }
+
+  @Test
+  void scaledPriceParsing() {
+    assertThat(parseScaled("0.53")).isEqualTo(530_000_000L);
+    assertThat(parseScaled("1")).isEqualTo(1_000_000_000L);
+    assertThat(parseScaled(".5")).isEqualTo(500_000_000L);
+    assertThat(parseScaled("-0.001")).isEqualTo(-1_000_000L);
+    assertThat(parseScaled("1e-2")).isEqualTo(Long.MIN_VALUE);
+    assertThat(parseScaled("0.0000000001")).isEqualTo(Long.MIN_VALUE);
+  }
+
+  @Test
+  void recordedFrames_matchTreeDecoder() throws Exception {
+    List<String> frames = readFrames();
+    assertThat(frames).isNotEmpty();
+
+    for (String frame : frames) {
+      RecordingHandler streaming = new RecordingHandler();
+      RecordingHandler tree = new RecordingHandler();
+      decoder.decode(frame, streaming);
+      ClobMarketMessageDecoder.decodeTree(objectMapper.readTree(frame), tree);
+
+      assertThat(streaming.calls).isNotEmpty().isEqualTo(tree.calls);
+    }
+  }
+
+  static List<String> readFrames() throws Exception {
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+        Objects.requireNonNull(ClobMarketMessageDecoderTest.class.getResourceAsStream("/polymarket/ws/clob-market-frames.jsonl")),
+        StandardCharsets.UTF_8
+    ))) {
+      return reader.lines().filter(l -> !l.isBlank()).toList();
+    }
+  }
+
+  private static long parseScaled(String s) {
+    return ClobMarketMessageDecoder.parseScaled(s.toCharArray(), 0, s.length());
+  }
+
+  private static final class RecordingHandler implements ClobMarketMessageDecoder.Handler {
+    private final List<String> calls = new ArrayList<>();
+    private final List<String> assetIds = new ArrayList<>();
+
+    @Override
+    public void onBook(String assetId, long bestBidLevel, long bestAskLevel, int lastTradePriceTicks) {
+      calls.add("book %s bid=%s ask=%s last=%s".formatted(assetId, level(bestBidLevel), level(bestAskLevel), value(lastTradePriceTicks)));
+    }
+
+    @Override
+    public void onPriceChangeMessage() {
+      calls.add("price_change");
+    }
+
+    @Override
+    public void onPriceChange(String assetId, int bestBidTicks, int bestAskTicks, long bestBidCentiShares, long bestAskCentiShares) {
+      calls.add("change %s bid=%s/%s ask=%s/%s".formatted(assetId, value(bestBidTicks), value(bestBidCentiShares),
+          value(bestAskTicks), value(bestAskCentiShares)));
+    }
+
+    @Override
+    public void onLastTradePrice(String assetId, int priceTicks) {
+      assetIds.add(assetId);
+      calls.add("last %s %s".formatted(assetId, value(priceTicks)));
+    }
+
+    @Override
+    public void onTickSizeChange(String assetId, BigDecimal newTickSize) {
+      calls.add("tick %s %s".formatted(assetId, newTickSize));
+    }
+
+    @Override
+    public void onEventMeta(long serverTimestampMillis, String hash) {
+      if (serverTimestampMillis != 0L || hash != null) {
+        calls.add("meta %d %s".formatted(serverTimestampMillis, hash));
+      }
+    }
+
+    @Override
+    public void onBookDepth(String assetId, ClobMarketMessageDecoder.Levels bids, ClobMarketMessageDecoder.Levels asks) {
+      calls.add("depth %s bids=%s asks=%s".formatted(assetId, format(bids), format(asks)));
+    }
+
+    @Override
+    public void onPriceLevel(String assetId, boolean bid, int priceTicks, long centiShares) {
+      calls.add("level %s %s %dx%d".formatted(assetId, bid ? "BUY" : "SELL", priceTicks, centiShares));
+    }
+
+    private static String level(long level) {
+      return level == FixedPoint.EMPTY_LEVEL
+          ? "null"
+          : FixedPoint.levelPriceTicks(level) + "x" + value(FixedPoint.levelCentiShares(level));
+    }
+
+    private static String value(long ticksOrCentiShares) {
+      return ticksOrCentiShares == FixedPoint.NONE ? "null" : Long.toString(ticksOrCentiShares);
+    }
+
+    private static String format(ClobMarketMessageDecoder.Levels levels) {
+      List<String> out = new ArrayList<>();
+      for (int i = 0; i < levels.count(); i++) {
+        out.add(levels.priceTicks(i) + "x" + levels.centiShares(i));
+      }
+      return out.toString();
+    }
+  }
+}
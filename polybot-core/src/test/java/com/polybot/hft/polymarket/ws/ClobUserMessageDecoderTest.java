@@ -0,0 +1,98 @@
+package com.polybot.hft.polymarket.ws;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.polybot.hft.domain.OrderSide;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClobUserMessageDecoderTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  void order_updateCarriesCumulativeMatchAndStatus() throws Exception {
+    RecordingHandler handler = decode("""
+        {"event_type":"order","id":"0xabc","asset_id":"111","market":"0xm","side":"BUY","price":"0.57",
+         "original_size":"10","size_matched":"4","type":"UPDATE","timestamp":"1672290687"}
+        """);
+
+    assertThat(handler.orders).hasSize(1);
+    UserOrderUpdate update = handler.orders.get(0);
+    assertThat(update.orderId()).isEqualTo("0xabc");
+    assertThat(update.side()).isEqualTo(OrderSide.BUY);
+    assertThat(update.sizeMatched()).isEqualByComparingTo("4");
+    assertThat(update.remainingSize()).isEqualByComparingTo("6");
+    assertThat(update.status()).isEqualTo("LIVE");
+    assertThat(update.timestamp()).isEqualTo(Instant.ofEpochSecond(1672290687L));
+  }
+
+  @Test
+  void order_statusFollowsFillAndCancellation() throws Exception {
+    RecordingHandler handler = decode("""
+        [{"event_type":"order","id":"1","original_size":"10","size_matched":"10","type":"UPDATE","timestamp":1700000000123},
+         {"event_type":"order","id":"2","original_size":"10","size_matched":"3","type":"CANCELLATION"},
+         {"event_type":"order","type":"PLACEMENT"}]
+        """);
+
+    assertThat(handler.orders).hasSize(2);
+    assertThat(handler.orders.get(0).status()).isEqualTo("MATCHED");
+    assertThat(handler.orders.get(0).timestamp()).isEqualTo(Instant.ofEpochMilli(1700000000123L));
+    assertThat(handler.orders.get(1).status()).isEqualTo("CANCELED");
+  }
+
+  @Test
+  void trade_attributesSizePerOrder() throws Exception {
+    RecordingHandler handler = decode("""
+        {"event_type":"trade","id":"t1","status":"MATCHED","taker_order_id":"taker","asset_id":"111","side":"SELL",
+         "price":"0.57","size":"15","maker_orders":[
+           {"order_id":"m1","asset_id":"111","matched_amount":"10","price":"0.57"},
+           {"order_id":"m2","asset_id":"111","matched_amount":"5","price":"0.57"}]}
+        """);
+
+    assertThat(handler.trades).hasSize(1);
+    UserTrade trade = handler.trades.get(0);
+    assertThat(trade.failed()).isFalse();
+    assertThat(trade.matchedFor("taker")).isEqualByComparingTo("15");
+    assertThat(trade.matchedFor("m2")).isEqualByComparingTo("5");
+    assertThat(trade.matchedFor("other")).isNull();
+  }
+
+  @Test
+  void trade_decodesRestRowWithMatchTime() throws Exception {
+    UserTrade trade = ClobUserMessageDecoder.trade(objectMapper.readTree("""
+        {"id":"t2","status":"CONFIRMED","taker_order_id":"taker","size":"3","match_time":"1700000000",
+         "maker_orders":[{"order_id":"m1","matched_amount":"3"}]}
+        """));
+
+    assertThat(trade).isNotNull();
+    assertThat(trade.timestamp()).isEqualTo(Instant.ofEpochSecond(1700000000L));
+    assertThat(trade.matchedFor("m1")).isEqualByComparingTo("3");
+    assertThat(ClobUserMessageDecoder.trade(objectMapper.readTree("{\"status\":\"MATCHED\"}"))).isNull();
+  }
+
+  private RecordingHandler decode(String json) throws Exception {
+    RecordingHandler handler = new RecordingHandler();
+    ClobUserMessageDecoder.decode(objectMapper.readTree(json), handler);
+    return handler;
+  }
+
+  private static final class RecordingHandler implements ClobUserMessageDecoder.Handler {
+    private final List<UserOrderUpdate> orders = new ArrayList<>();
+    private final List<UserTrade> trades = new ArrayList<>();
+
+    @Override
+    public void onOrder(UserOrderUpdate update) {
+      orders.add(update);
+    }
+
+    @Override
+    public void onTrade(UserTrade trade) {
+      trades.add(trade);
+    }
+  }
+}
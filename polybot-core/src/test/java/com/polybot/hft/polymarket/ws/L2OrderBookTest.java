@@ -0,0 +1,208 @@
+package com.polybot.hft.polymarket.ws;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.polybot.hft.domain.FixedPoint;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class L2OrderBookTest {
+
+  private final ClobMarketMessageDecoder decoder = new ClobMarketMessageDecoder(new ObjectMapper().getFactory());
+
+  @Test
+  void snapshot_buildsBestLevelsDepthAndImbalance() throws Exception {
+    L2OrderBook book = decodeInto("""
+        {"event_type":"book","asset_id":"111",
+         "bids":[{"price":"0.48","size":"10"},{"price":"0.5","size":"30"},{"price":"0.45","size":"60"}],
+         "asks":[{"price":"0.53","size":"20"},{"price":"0.51","size":"5"},{"price":"0.6","size":"15"}]}
+        """);
+
+    assertThat(book.bestBidTicks()).isEqualTo(5000);
+    assertThat(book.bestAskTicks()).isEqualTo(5100);
+    assertThat(book.bestBidCentiShares()).isEqualTo(3000);
+    assertThat(book.bestAskCentiShares()).isEqualTo(500);
+    assertThat(book.bidLevelCount()).isEqualTo(3);
+    assertThat(book.totalBidCentiShares()).isEqualTo(10_000);
+    assertThat(book.totalAskCentiShares()).isEqualTo(4_000);
+
+    assertThat(book.bidDepthCentiShares(0)).isEqualTo(3000);
+    assertThat(book.bidDepthCentiShares(200)).isEqualTo(4000);
+    assertThat(book.askDepthCentiShares(200)).isEqualTo(2500);
+    assertThat(book.askDepthCentiShares(FixedPoint.TICKS_PER_UNIT)).isEqualTo(4000);
+
+    assertThat(book.imbalance()).isCloseTo(6_000d / 14_000d, within(1e-12));
+    assertThat(book.topImbalance()).isCloseTo(2_500d / 3_500d, within(1e-12));
+
+    int[] ticks = new int[2];
+    long[] sizes = new long[2];
+    assertThat(book.askLevels(ticks, sizes)).isEqualTo(2);
+    assertThat(ticks).containsExactly(5100, 5300);
+    assertThat(sizes).containsExactly(500L, 2000L);
+  }
+
+  @Test
+  void deltas_updateInPlaceAndMoveBest() throws Exception {
+    L2OrderBook book = decodeInto("""
+        {"event_type":"book","asset_id":"111",
+         "bids":[{"price":"0.48","size":"10"},{"price":"0.5","size":"30"}],
+         "asks":[{"price":"0.51","size":"5"},{"price":"0.53","size":"20"}]}
+        """);
+
+    decodeInto(book, """
+        {"event_type":"price_change","price_changes":[
+          {"asset_id":"111","price":"0.5","size":"0","side":"BUY"},
+          {"asset_id":"111","price":"0.51","size":"7.5","side":"SELL"},
+          {"asset_id":"111","price":"0.505","size":"2","side":"SELL"}
+        ]}
+        """);
+
+    assertThat(book.bestBidTicks()).isEqualTo(4800);
+    assertThat(book.bestAskTicks()).isEqualTo(5050);
+    assertThat(book.askCentiSharesAt(5100)).isEqualTo(750);
+    assertThat(book.totalBidCentiShares()).isEqualTo(1000);
+    assertThat(book.totalAskCentiShares()).isEqualTo(200 + 750 + 2000);
+    assertThat(book.bidLevelCount()).isEqualTo(1);
+
+    decodeInto(book, """
+        {"event_type":"price_change","price_changes":[{"asset_id":"111","price":"0.48","size":"0","side":"BUY"}]}
+        """);
+    assertThat(book.bestBidTicks()).isEqualTo(FixedPoint.NONE);
+    assertThat(book.bestBidCentiShares()).isZero();
+    assertThat(book.topImbalance()).isNaN();
+  }
+
+  @Test
+  void snapshot_replacesPreviousDepth() throws Exception {
+    L2OrderBook book = decodeInto("""
+        {"event_type":"book","asset_id":"111","bids":[{"price":"0.1","size":"1"},{"price":"0.9","size":"1"}],"asks":[]}
+        """);
+    decodeInto(book, """
+        {"event_type":"book","asset_id":"111","bids":[{"price":"0.4","size":"2"}],"asks":[{"price":"0.41","size":"3"}]}
+        """);
+
+    assertThat(book.bestBidTicks()).isEqualTo(4000);
+    assertThat(book.bidCentiSharesAt(1000)).isZero();
+    assertThat(book.bidCentiSharesAt(9000)).isZero();
+    assertThat(book.totalBidCentiShares()).isEqualTo(200);
+    assertThat(book.bestAskTicks()).isEqualTo(4100);
+  }
+
+  @Test
+  void sparseLevels_depthMatchesScanAfterDeltas() {
+    L2OrderBook book = new L2OrderBook();
+    long[] bids = new long[FixedPoint.TICKS_PER_UNIT + 1];
+    long[] asks = new long[FixedPoint.TICKS_PER_UNIT + 1];
+    Random random = new Random(7);
+
+    for (int i = 0; i < 5_000; i++) {
+      boolean bid = random.nextBoolean();
+      int ticks = bid ? 1 + random.nextInt(4_999) : 5_000 + random.nextInt(5_000);
+      long size = random.nextInt(4) == 0 ? 0L : 1 + random.nextInt(10_000);
+      book.applyLevel(bid, ticks, size, i);
+      (bid ? bids : asks)[ticks] = size;
+    }
+
+    assertThat(book.bidLevelCount()).isGreaterThan(16);
+    for (int depth : new int[] {0, 1, 10, 250, 4_999, FixedPoint.TICKS_PER_UNIT}) {
+      assertThat(book.bidDepthCentiShares(depth)).isEqualTo(scan(bids, book.bestBidTicks(), -1, depth));
+      assertThat(book.askDepthCentiShares(depth)).isEqualTo(scan(asks, book.bestAskTicks(), 1, depth));
+    }
+    assertThat(book.bidCentiSharesAt(book.bestBidTicks())).isEqualTo(bids[book.bestBidTicks()]);
+    assertThat(book.askCentiSharesAt(FixedPoint.TICKS_PER_UNIT + 1)).isZero();
+  }
+
+  private static long scan(long[] sizes, int best, int step, int depth) {
+    long sum = 0;
+    for (int t = best, n = 0; t >= 0 && t < sizes.length && n <= depth; t += step, n++) {
+      sum += sizes[t];
+    }
+    return sum;
+  }
+
+  @Test
+  void recordedFrames_keepBookConsistent() throws Exception {
+    Map<String, L2OrderBook> books = new HashMap<>();
+    BookApplier applier = new BookApplier(books);
+    int[] ticks = new int[FixedPoint.TICKS_PER_UNIT + 1];
+    long[] sizes = new long[FixedPoint.TICKS_PER_UNIT + 1];
+
+    for (String frame : ClobMarketMessageDecoderTest.readFrames()) {
+      decoder.decode(frame, applier);
+      for (L2OrderBook book : books.values()) {
+        int n = book.bidLevels(ticks, sizes);
+        assertThat(n).isEqualTo(book.bidLevelCount());
+        assertConsistent(ticks, sizes, n, true, book.bestBidTicks(), book.totalBidCentiShares());
+
+        n = book.askLevels(ticks, sizes);
+        assertThat(n).isEqualTo(book.askLevelCount());
+        assertConsistent(ticks, sizes, n, false, book.bestAskTicks(), book.totalAskCentiShares());
+      }
+    }
+    assertThat(books).isNotEmpty();
+  }
+
+  private static void assertConsistent(int[] ticks, long[] sizes, int n, boolean bids, int best, long total) {
+    assertThat(n == 0 ? FixedPoint.NONE : ticks[0]).isEqualTo(best);
+    long sum = 0;
+    for (int i = 0; i < n; i++) {
+      assertThat(sizes[i]).isPositive();
+      if (i > 0) {
+        assertThat(bids ? ticks[i] < ticks[i - 1] : ticks[i] > ticks[i - 1]).isTrue();
+      }
+      sum += sizes[i];
+    }
+    assertThat(sum).isEqualTo(total);
+  }
+
+  private L2OrderBook decodeInto(String frame) throws Exception {
+    return decodeInto(new L2OrderBook(), frame);
+  }
+
+  private L2OrderBook decodeInto(L2OrderBook book, String frame) throws Exception {
+    decoder.decode(frame, new BookApplier(new HashMap<>(Map.of("111", book))));
+    return book;
+  }
+
+  private static class BookApplier implements ClobMarketMessageDecoder.Handler {
+    private final Map<String, L2OrderBook> books;
+
+    BookApplier(Map<String, L2OrderBook> books) {
+      this.books = books;
+    }
+
+    @Override
+    public void onBook(String assetId, long bestBidLevel, long bestAskLevel, int lastTradePriceTicks) {
+    }
+
+    @Override
+    public void onPriceChangeMessage() {
+    }
+
+    @Override
+    public void onPriceChange(String assetId, int bestBidTicks, int bestAskTicks, long bestBidCentiShares, long bestAskCentiShares) {
+    }
+
+    @Override
+    public void onLastTradePrice(String assetId, int priceTicks) {
+    }
+
+    @Override
+    public void onBookDepth(String assetId, ClobMarketMessageDecoder.Levels bids, ClobMarketMessageDecoder.Levels asks) {
+      books.computeIfAbsent(assetId, k -> new L2OrderBook()).applySnapshot(bids, asks, 1L);
+    }
+
+    @Override
+    public void onPriceLevel(String assetId, boolean bid, int priceTicks, long centiShares) {
+      L2OrderBook book = books.get(assetId);
+      if (book != null) {
+        book.applyLevel(bid, priceTicks, centiShares, 1L);
+      }
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package com.polybot.hft.polymarket.ws;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedTopOfBookCacheTest {
+
+  private static final Instant NOW = Instant.parse("2025-01-01T00:00:00.123456789Z");
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void roundTripsTopOfBooksAndSubscriptions() throws Exception {
+    Path path = dir.resolve("cache.bin");
+    TopOfBook a = new TopOfBook(new BigDecimal("0.51"), new BigDecimal("0.53"), new BigDecimal("1200.5"),
+        new BigDecimal("80"), new BigDecimal("0.52"), NOW, NOW.minusSeconds(3));
+    TopOfBook b = new TopOfBook(null, new BigDecimal("0.07"), null, new BigDecimal("15"), null, NOW, null);
+    Map<String, TopOfBook> tobs = new HashMap<>();
+    tobs.put("a", a);
+    tobs.put("b", b);
+
+    try (MappedTopOfBookCache cache = MappedTopOfBookCache.open(path)) {
+      assertThat(cache.loadedTopOfBooks()).isEmpty();
+      assertThat(cache.flush(tobs, Set.of("a", "c"), NOW)).isEqualTo(3);
+    }
+
+    try (MappedTopOfBookCache cache = MappedTopOfBookCache.open(path)) {
+      assertThat(cache.loadedTopOfBooks()).containsEntry("a", a).containsEntry("b", b).hasSize(2);
+      assertThat(cache.loadedSubscribedAssetIds()).containsExactlyInAnyOrder("a", "c");
+    }
+  }
+
+  @Test
+  void rewritesOnlyChangedAssetsAndReusesFreedSlots() throws Exception {
+    Path path = dir.resolve("cache.bin");
+    Map<String, TopOfBook> tobs = new HashMap<>();
+    for (int i = 0; i < 300; i++) {
+      tobs.put("asset-" + i, tob("0.40"));
+    }
+
+    try (MappedTopOfBookCache cache = MappedTopOfBookCache.open(path)) {
+      assertThat(cache.flush(tobs, Set.of(), NOW)).isEqualTo(300);
+      assertThat(cache.flush(tobs, Set.of(), NOW)).isZero();
+
+      tobs.put("asset-7", tob("0.41"));
+      tobs.remove("asset-8");
+      assertThat(cache.flush(tobs, Set.of(), NOW)).isEqualTo(2);
+
+      tobs.put("asset-new", tob("0.42"));
+      assertThat(cache.flush(tobs, Set.of(), NOW)).isEqualTo(1);
+    }
+    long size = Files.size(path);
+
+    try (MappedTopOfBookCache cache = MappedTopOfBookCache.open(path)) {
+      assertThat(cache.loadedTopOfBooks()).hasSize(300).doesNotContainKey("asset-8");
+      assertThat(cache.loadedTopOfBooks().get("asset-7").bestBid()).isEqualByComparingTo("0.41");
+      assertThat(cache.flush(new HashMap<>(cache.loadedTopOfBooks()), Set.of(), NOW)).isZero();
+    }
+    assertThat(Files.size(path)).isEqualTo(size);
+  }
+
+  @Test
+  void startsEmptyOnForeignFile() throws Exception {
+    Path path = dir.resolve("cache.bin");
+    Files.writeString(path, "{\"topOfBookByAssetId\":{}}");
+
+    try (MappedTopOfBookCache cache = MappedTopOfBookCache.open(path)) {
+      assertThat(cache.loadedTopOfBooks()).isEmpty();
+      assertThat(cache.flush(Map.of("a", tob("0.50")), Set.of(), NOW)).isEqualTo(1);
+    }
+    try (MappedTopOfBookCache cache = MappedTopOfBookCache.open(path)) {
+      assertThat(cache.loadedTopOfBooks()).containsOnlyKeys("a");
+    }
+  }
+
+  private static TopOfBook tob(String bid) {
+    return new TopOfBook(new BigDecimal(bid), new BigDecimal("0.60"), BigDecimal.TEN, BigDecimal.TEN, null, NOW, null);
+  }
+}
@@ -0,0 +1,112 @@
+package com.polybot.hft.polymarket.ws;
+
+import com.polybot.hft.domain.FixedPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One websocket writer against three strategy readers: seqlock {@link TickTopOfBookStore} vs the previous
+ * {@link ConcurrentHashMap} of immutable {@link TickTopOfBook} records.
+ * <p>
+ * Run with {@code mvn -pl polybot-core test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.polybot.hft.polymarket.ws.TickTopOfBookStoreBenchmark}; add {@code -prof gc} via the JMH CLI
+ * to compare allocation rates.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TickTopOfBookStoreBenchmark {
+
+  private static final int ASSETS = 64;
+
+  private String[] assetIds;
+  private TickTopOfBookStore store;
+  private Map<String, TickTopOfBook> map;
+
+  @Setup
+  public void setup() {
+    assetIds = new String[ASSETS];
+    store = new TickTopOfBookStore();
+    map = new ConcurrentHashMap<>();
+    for (int i = 0; i < ASSETS; i++) {
+      assetIds[i] = "7132104567925221259462638553270691275033272857194253228963137931245558399" + (1000 + i);
+      store.write(assetIds[i], FixedPoint.packLevel(5000, 100L), FixedPoint.packLevel(5100, 100L), 5000, 1L, 1L);
+      map.put(assetIds[i], new TickTopOfBook(FixedPoint.packLevel(5000, 100L), FixedPoint.packLevel(5100, 100L), 5000, 1L, 1L));
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Cursor {
+    private final TickTopOfBookStore.Snapshot snapshot = new TickTopOfBookStore.Snapshot();
+    private int next;
+    private long tick;
+
+    int nextAsset() {
+      next = (next + 1) & (ASSETS - 1);
+      return next;
+    }
+  }
+
+  @Benchmark
+  @Group("seqlock")
+  @GroupThreads(1)
+  public void seqlockWrite(Cursor c) {
+    long t = ++c.tick;
+    int ticks = 4000 + (int) (t & 1023);
+    store.write(assetIds[c.nextAsset()], FixedPoint.packLevel(ticks, t & 0xFFFF), FixedPoint.packLevel(ticks + 100, t & 0xFFFF), ticks, t, t);
+  }
+
+  @Benchmark
+  @Group("seqlock")
+  @GroupThreads(3)
+  public int seqlockRead(Cursor c, Blackhole bh) {
+    TickTopOfBookStore.Snapshot s = c.snapshot;
+    store.read(assetIds[c.nextAsset()], s);
+    bh.consume(s.updatedAtMillis());
+    return s.bestAskTicks() - s.bestBidTicks();
+  }
+
+  @Benchmark
+  @Group("map")
+  @GroupThreads(1)
+  public void mapWrite(Cursor c) {
+    long t = ++c.tick;
+    int ticks = 4000 + (int) (t & 1023);
+    map.put(assetIds[c.nextAsset()], new TickTopOfBook(FixedPoint.packLevel(ticks, t & 0xFFFF), FixedPoint.packLevel(ticks + 100, t & 0xFFFF), ticks, t, t));
+  }
+
+  @Benchmark
+  @Group("map")
+  @GroupThreads(3)
+  public int mapRead(Cursor c, Blackhole bh) {
+    TickTopOfBook tob = map.get(assetIds[c.nextAsset()]);
+    bh.consume(tob.updatedAtMillis());
+    return tob.bestAskTicks() - tob.bestBidTicks();
+  }
+
+  public static void main(String[] args) throws Exception {
+    new Runner(new OptionsBuilder()
+        .include(TickTopOfBookStoreBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+}
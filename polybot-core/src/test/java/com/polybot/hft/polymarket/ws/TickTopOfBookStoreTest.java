@@ -0,0 +1,123 @@
+package com.polybot.hft.polymarket.ws;
+
+import com.polybot.hft.domain.FixedPoint;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TickTopOfBookStoreTest {
+
+  @Test
+  void write_isReadBackThroughSnapshotAndRecord() {
+    TickTopOfBookStore store = new TickTopOfBookStore();
+    TopOfBook tob = new TopOfBook(
+        new BigDecimal("0.52"), new BigDecimal("0.53"), new BigDecimal("120.5"), new BigDecimal("42"),
+        new BigDecimal("0.52"), Instant.ofEpochMilli(1_000L), Instant.ofEpochMilli(900L));
+    store.write("111", tob);
+
+    TickTopOfBookStore.Snapshot snapshot = new TickTopOfBookStore.Snapshot();
+    assertThat(store.read("111", snapshot)).isTrue();
+    assertThat(snapshot.bestBidTicks()).isEqualTo(5200);
+    assertThat(snapshot.bestAskTicks()).isEqualTo(5300);
+    assertThat(snapshot.bestBidCentiShares()).isEqualTo(12_050L);
+    assertThat(snapshot.lastTradePriceTicks()).isEqualTo(5200);
+    assertThat(snapshot.updatedAtMillis()).isEqualTo(1_000L);
+    assertThat(snapshot.lastTradeAtMillis()).isEqualTo(900L);
+    assertThat(store.get("111")).isEqualTo(TickTopOfBook.from(tob));
+  }
+
+  @Test
+  void unknownAndPrunedAssets_areAbsent() {
+    TickTopOfBookStore store = new TickTopOfBookStore();
+    store.write("111", FixedPoint.EMPTY_LEVEL, FixedPoint.EMPTY_LEVEL, FixedPoint.NONE, 1L, 0L);
+    store.write("222", FixedPoint.EMPTY_LEVEL, FixedPoint.EMPTY_LEVEL, FixedPoint.NONE, 1L, 0L);
+    int slot = store.slotOf("222");
+
+    store.retainAll(Set.of("111"));
+
+    assertThat(store.get("222")).isNull();
+    assertThat(store.get("333")).isNull();
+    assertThat(store.slotOf("333")).isEqualTo(FixedPoint.NONE);
+    assertThat(store.size()).isEqualTo(1);
+
+    store.write("222", FixedPoint.EMPTY_LEVEL, FixedPoint.EMPTY_LEVEL, FixedPoint.NONE, 2L, 0L);
+    assertThat(store.slotOf("222")).isNotEqualTo(slot);
+  }
+
+  @Test
+  void prunedSlot_isReusedAfterNextPrune_withoutItsOldBook() {
+    TickTopOfBookStore store = new TickTopOfBookStore();
+    store.write("111", FixedPoint.packLevel(5_000, 100L), FixedPoint.packLevel(5_100, 100L), 5_000, 1L, 1L);
+    store.write("222", FixedPoint.packLevel(4_000, 100L), FixedPoint.packLevel(4_100, 100L), 4_000, 1L, 1L);
+    int slot = store.slotOf("222");
+
+    store.retainAll(Set.of("111"));
+    store.write("333", FixedPoint.EMPTY_LEVEL, FixedPoint.EMPTY_LEVEL, FixedPoint.NONE, 2L, 0L);
+    assertThat(store.slotOf("333")).isNotEqualTo(slot);
+
+    store.retainAll(Set.of("111", "333"));
+    store.write("444", FixedPoint.EMPTY_LEVEL, FixedPoint.packLevel(6_000, 50L), FixedPoint.NONE, 3L, 0L);
+
+    assertThat(store.slotOf("444")).isEqualTo(slot);
+    TickTopOfBookStore.Snapshot snapshot = new TickTopOfBookStore.Snapshot();
+    assertThat(store.read("444", snapshot)).isTrue();
+    assertThat(snapshot.bestBidLevel()).isEqualTo(FixedPoint.EMPTY_LEVEL);
+    assertThat(snapshot.bestAskTicks()).isEqualTo(6_000);
+    assertThat(snapshot.lastTradePriceTicks()).isEqualTo(FixedPoint.NONE);
+    assertThat(store.read("222", snapshot)).isFalse();
+    assertThat(store.size()).isEqualTo(3);
+  }
+
+  @Test
+  void slots_spanChunks() {
+    TickTopOfBookStore store = new TickTopOfBookStore();
+    for (int i = 0; i < 1_000; i++) {
+      store.write("a" + i, FixedPoint.packLevel(i % 10_000, i), FixedPoint.EMPTY_LEVEL, FixedPoint.NONE, i + 1L, 0L);
+    }
+    for (int i = 0; i < 1_000; i++) {
+      TickTopOfBook tob = store.get("a" + i);
+      assertThat(tob.bestBidCentiShares()).isEqualTo(i);
+      assertThat(tob.updatedAtMillis()).isEqualTo(i + 1L);
+    }
+  }
+
+  @Test
+  void concurrentReaders_neverSeeTornWrites() throws Exception {
+    TickTopOfBookStore store = new TickTopOfBookStore();
+    store.write("111", FixedPoint.packLevel(0, 0L), FixedPoint.packLevel(0, 0L), 0, 0L, 0L);
+    AtomicBoolean done = new AtomicBoolean();
+    AtomicLong torn = new AtomicLong();
+
+    Thread[] readers = new Thread[3];
+    for (int r = 0; r < readers.length; r++) {
+      readers[r] = new Thread(() -> {
+        TickTopOfBookStore.Snapshot s = new TickTopOfBookStore.Snapshot();
+        while (!done.get()) {
+          store.read("111", s);
+          long v = s.updatedAtMillis();
+          if (s.bestBidCentiShares() != v % 1_000_000 || s.bestAskCentiShares() != v % 1_000_000
+              || s.lastTradePriceTicks() != (int) (v % 10_000) || s.lastTradeAtMillis() != v) {
+            torn.incrementAndGet();
+          }
+        }
+      });
+      readers[r].start();
+    }
+    for (long v = 1; v <= 2_000_000; v++) {
+      store.write("111", FixedPoint.packLevel((int) (v % 10_000), v % 1_000_000),
+          FixedPoint.packLevel((int) (v % 10_000), v % 1_000_000), (int) (v % 10_000), v, v);
+    }
+    done.set(true);
+    for (Thread reader : readers) {
+      reader.join();
+    }
+
+    assertThat(torn.get()).isZero();
+  }
+}
@@ -0,0 +1,107 @@
+package com.polybot.hft.polymarket.ws;
+
+import com.polybot.hft.events.HftEventPublisher;
+import com.polybot.hft.events.payload.MarketTopOfBookEvent;
+import com.polybot.hft.metrics.PolybotMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopOfBookConflatorTest {
+
+  private final MutableClock clock = new MutableClock();
+  private final RecordingPublisher events = new RecordingPublisher();
+  private final TopOfBookConflator conflator = new TopOfBookConflator(events, 250L, clock, new PolybotMetrics(new SimpleMeterRegistry()));
+
+  @Test
+  void publishesLeadingEdgeImmediatelyAndFinalStateOnFlush() {
+    conflator.offer("a", tob("0.50"));
+    clock.advanceMillis(50);
+    conflator.offer("a", tob("0.51"));
+    conflator.offer("a", tob("0.52"));
+    conflator.flush(false);
+
+    assertThat(events.bids).containsExactly("0.50");
+
+    clock.advanceMillis(200);
+    conflator.flush(false);
+    clock.advanceMillis(1_000);
+    conflator.flush(false);
+
+    assertThat(events.bids).containsExactly("0.50", "0.52");
+  }
+
+  @Test
+  void updateAfterWindowSupersedesPendingState() {
+    conflator.offer("a", tob("0.50"));
+    conflator.offer("a", tob("0.51"));
+    clock.advanceMillis(300);
+    conflator.offer("a", tob("0.53"));
+    conflator.flush(false);
+
+    assertThat(events.bids).containsExactly("0.50", "0.53");
+  }
+
+  @Test
+  void forcedFlushAndUnsubscribe() {
+    conflator.offer("a", tob("0.50"));
+    conflator.offer("a", tob("0.51"));
+    conflator.offer("b", tob("0.40"));
+    conflator.offer("b", tob("0.41"));
+    conflator.retainAll(Set.of("a"));
+    conflator.flush(true);
+
+    assertThat(events.bids).containsExactly("0.50", "0.40", "0.51");
+  }
+
+  private TopOfBook tob(String bid) {
+    return new TopOfBook(new BigDecimal(bid), new BigDecimal("0.60"), BigDecimal.TEN, BigDecimal.TEN, null, clock.instant(), null);
+  }
+
+  private static final class RecordingPublisher implements HftEventPublisher {
+    private final List<String> bids = new ArrayList<>();
+
+    @Override
+    public boolean isEnabled() {
+      return true;
+    }
+
+    @Override
+    public void publish(Instant ts, String type, String key, Object data) {
+      bids.add(((MarketTopOfBookEvent) data).bestBid().toPlainString());
+    }
+  }
+
+  private static final class MutableClock extends Clock {
+    private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+    void advanceMillis(long millis) {
+      now = now.plusMillis(millis);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
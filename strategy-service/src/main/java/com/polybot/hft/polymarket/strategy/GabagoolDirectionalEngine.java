@@ -1,6 +1,7 @@
 package com.polybot.hft.polymarket.strategy;
 
 import com.polybot.hft.config.HftProperties;
+import com.polybot.hft.domain.FixedPoint;
 import com.polybot.hft.events.HftEventPublisher;
 import com.polybot.hft.polymarket.strategy.config.GabagoolConfig;
 import com.polybot.hft.polymarket.strategy.model.Direction;
@@ -8,14 +9,17 @@ import com.polybot.hft.polymarket.strategy.model.GabagoolMarket;
 import com.polybot.hft.polymarket.strategy.model.MarketInventory;
 import com.polybot.hft.polymarket.strategy.model.OrderState;
 import com.polybot.hft.polymarket.strategy.service.BankrollService;
+import com.polybot.hft.polymarket.strategy.service.ExposureLedger;
 import com.polybot.hft.polymarket.strategy.service.OrderManager;
 import com.polybot.hft.polymarket.strategy.service.OrderManager.CancelReason;
 import com.polybot.hft.polymarket.strategy.service.OrderManager.PlaceReason;
 import com.polybot.hft.polymarket.strategy.service.PositionTracker;
 import com.polybot.hft.polymarket.strategy.service.QuoteCalculator;
 import com.polybot.hft.polymarket.ws.ClobMarketWebSocketClient;
+import com.polybot.hft.polymarket.ws.TickTopOfBookStore;
 import com.polybot.hft.polymarket.ws.TopOfBook;
 import com.polybot.hft.strategy.executor.ExecutorApiClient;
+import com.polybot.hft.strategy.executor.ExecutorOrderStatusStream;
 import com.polybot.hft.strategy.metrics.StrategyMetricsService;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
@@ -31,6 +35,9 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
@@ -43,10 +50,14 @@ import java.util.stream.Stream;
 public class GabagoolDirectionalEngine {
 
     private static final Duration TICK_SIZE_CACHE_TTL = Duration.ofMinutes(10);
+    private static final long BOOK_STALE_MILLIS = 2_000L;
+    private static final int MAX_TAKE_PRICE_TICKS = FixedPoint.floorTicks(0.99);
+    private static final TickSizeEntry DEFAULT_TICK_SIZE = new TickSizeEntry(BigDecimal.valueOf(0.01), FixedPoint.priceTicks(BigDecimal.valueOf(0.01)), Instant.EPOCH);
 
     private final @NonNull HftProperties properties;
     private final @NonNull ClobMarketWebSocketClient marketWs;
     private final @NonNull ExecutorApiClient executorApi;
+    private final @NonNull ExecutorOrderStatusStream orderStatusStream;
     private final @NonNull HftEventPublisher events;
     private final @NonNull GabagoolMarketDiscovery marketDiscovery;
     private final @NonNull Clock clock;
@@ -57,16 +68,24 @@ public class GabagoolDirectionalEngine {
         t.setDaemon(true);
         return t;
     });
+    // Market evaluation workers; a market always runs on workers[hash(slug) % n] (initialized in startIfEnabled)
+    private volatile ExecutorService[] workers = new ExecutorService[0];
 
     private final String runId = UUID.randomUUID().toString();
     private final AtomicReference<List<GabagoolMarket>> activeMarkets = new AtomicReference<>(List.of());
+    private final AtomicReference<Map<String, GabagoolMarket>> marketsByTokenId = new AtomicReference<>(Map.of());
+    private final Map<String, MarketLane> lanesBySlug = new ConcurrentHashMap<>();
     private final Map<String, TickSizeEntry> tickSizeCache = new ConcurrentHashMap<>();
+    private final Set<String> warmedTokenIds = ConcurrentHashMap.newKeySet();
 
     // Services (initialized in startIfEnabled)
     private BankrollService bankrollService;
+    private ExposureLedger exposureLedger;
     private PositionTracker positionTracker;
     private QuoteCalculator quoteCalculator;
     private OrderManager orderManager;
+    // Last exposure drift seen by checkExposureDrift (scheduler thread only)
+    private ExposureLedger.Drift lastExposureDrift;
 
     @PostConstruct
     void startIfEnabled() {
@@ -85,15 +104,38 @@ public class GabagoolDirectionalEngine {
 
         // Initialize services
         bankrollService = new BankrollService(executorApi, metricsService, clock);
-        positionTracker = new PositionTracker(executorApi, clock);
+        exposureLedger = new ExposureLedger();
+        positionTracker = new PositionTracker(executorApi, exposureLedger, clock);
         quoteCalculator = new QuoteCalculator(bankrollService, properties, metricsService);
-        orderManager = new OrderManager(executorApi, events, clock, runId);
+        orderManager = new OrderManager(executorApi, events, exposureLedger, clock, runId, orderStatusStream::isLive);
+        workers = startWorkers(cfg.evaluationWorkers());
+
+        // Pushed status transitions; checkPendingOrders falls back to polling while the stream is down
+        orderStatusStream.addListener(new ExecutorOrderStatusStream.Listener() {
+            @Override
+            public void onOrderStatus(ExecutorOrderStatusStream.OrderStatusUpdate u) {
+                if (u.error() != null) return;
+                orderManager.onOrderStatus(u.orderId(), u.status(), u.matchedSize(), u.remainingSize(),
+                        GabagoolDirectionalEngine.this::handleFill);
+            }
+
+            @Override
+            public void onResync() {
+                orderManager.resyncOrderStatus();
+            }
+        });
+        orderStatusStream.start();
 
         long periodMs = Math.max(100, cfg.refreshMillis());
         executor.scheduleAtFixedRate(() -> tick(cfg), 1000, periodMs, TimeUnit.MILLISECONDS);
         executor.scheduleAtFixedRate(this::discoverMarkets, 0, 30, TimeUnit.SECONDS);
+        executor.scheduleAtFixedRate(this::checkExposureDrift, 60, 60, TimeUnit.SECONDS);
+        if (cfg.eventDriven()) {
+            marketWs.addTopOfBookListener(assetId -> onTopOfBook(assetId, cfg));
+        }
 
-        log.info("gabagool-directional started (refreshMillis={})", periodMs);
+        log.info("gabagool-directional started (refreshMillis={}, eventDriven={}, evaluationWorkers={})",
+                periodMs, cfg.eventDriven(), workers.length);
     }
 
     public int activeMarketCount() {
@@ -107,6 +149,9 @@ public class GabagoolDirectionalEngine {
     @PreDestroy
     void shutdown() {
         log.info("gabagool-directional shutting down");
+        for (ExecutorService worker : workers) {
+            worker.shutdownNow();
+        }
         if (orderManager != null) {
             orderManager.cancelAll(CancelReason.SHUTDOWN);
         }
@@ -125,16 +170,133 @@ public class GabagoolDirectionalEngine {
             return;
         }
 
-        Instant now = clock.instant();
         for (GabagoolMarket market : activeMarkets.get()) {
+            MarketLane lane = lane(market);
+            // At most one tick per market waits behind a slow evaluation
+            if (!lane.tickQueued.compareAndSet(false, true)) continue;
             try {
-                evaluateMarket(market, cfg, now);
-            } catch (Exception e) {
-                log.error("Error evaluating market {}: {}", market.slug(), e.getMessage());
+                lane.worker.execute(() -> evaluateTick(market, lane, cfg));
+            } catch (RejectedExecutionException e) {
+                lane.tickQueued.set(false);
             }
         }
 
         orderManager.checkPendingOrders(this::handleFill);
+        metricsService.updateTotalExposure(exposureLedger.total());
+    }
+
+    /**
+     * Consistency check of the incrementally maintained exposure against a full recompute. Orders being placed
+     * are reserved before they are tracked, so only a drift that persists unchanged across checks is reported.
+     */
+    private void checkExposureDrift() {
+        try {
+            ExposureLedger.Drift drift =
+                    exposureLedger.drift(orderManager.reservedOrders(), positionTracker.inventoriesView());
+            metricsService.updateExposureDrift(drift.totalUsd());
+            if (!drift.isZero() && drift.equals(lastExposureDrift)) {
+                log.warn("Exposure ledger drift persists: openOrders={} unhedged={} (USD)",
+                        ExposureLedger.toUsd(drift.openOrderMicros()), ExposureLedger.toUsd(drift.unhedgedMicros()));
+            }
+            lastExposureDrift = drift;
+        } catch (Exception e) {
+            log.error("Exposure drift check failed: {}", e.getMessage());
+        }
+    }
+
+    private void evaluateTick(GabagoolMarket market, MarketLane lane, GabagoolConfig cfg) {
+        lane.tickQueued.set(false);
+        try {
+            if (cfg.eventDriven()) {
+                evaluateTimeRules(market, lane, cfg, clock.instant());
+            } else {
+                evaluateMarket(market, lane, cfg, clock.instant());
+            }
+        } catch (Exception e) {
+            log.error("Error evaluating market {}: {}", market.slug(), e.getMessage());
+        }
+    }
+
+    /**
+     * Market WS callback (websocket thread): marks the token's market dirty and schedules one evaluation for it
+     * on the market's worker. Updates arriving before that evaluation starts coalesce into it.
+     */
+    private void onTopOfBook(String assetId, GabagoolConfig cfg) {
+        GabagoolMarket market = marketsByTokenId.get().get(assetId);
+        if (market == null) return;
+        markDirty(market, lane(market), cfg);
+    }
+
+    private void markDirty(GabagoolMarket market, MarketLane lane, GabagoolConfig cfg) {
+        if (!lane.dirtySinceNanos.compareAndSet(0L, System.nanoTime())) return;
+        try {
+            lane.worker.execute(() -> evaluateDirty(market, lane, cfg));
+        } catch (RejectedExecutionException e) {
+            lane.dirtySinceNanos.set(0L);
+        }
+    }
+
+    private void evaluateDirty(GabagoolMarket market, MarketLane lane, GabagoolConfig cfg) {
+        long since = lane.dirtySinceNanos.getAndSet(0L);
+        if (since == 0L || bankrollService.isBelowThreshold(cfg)) return;
+        lane.undecidedSinceNanos = since;
+        try {
+            evaluateMarket(market, lane, cfg, clock.instant());
+        } catch (Exception e) {
+            log.error("Error evaluating market {}: {}", market.slug(), e.getMessage());
+        }
+        // No order action: the decision was to leave the market as it is
+        recordDecision(market);
+    }
+
+    /**
+     * Records the book-to-decision latency of the dirty evaluation running for {@code market}, if any. Called just
+     * before an order action goes out, so the timer stops short of the executor round trip.
+     */
+    private void recordDecision(GabagoolMarket market) {
+        MarketLane lane = lanesBySlug.get(market.slug());
+        if (lane == null || lane.undecidedSinceNanos == 0L) return;
+        metricsService.recordBookToDecisionLatency(System.nanoTime() - lane.undecidedSinceNanos);
+        lane.undecidedSinceNanos = 0L;
+    }
+
+    /**
+     * Event-driven mode only evaluates on book updates, so a change held back by {@code minReplaceMillis} is
+     * re-evaluated once {@code existing} is old enough to replace.
+     */
+    private void reevaluateAfterReplaceWindow(GabagoolMarket market, GabagoolConfig cfg, OrderState existing) {
+        if (!cfg.eventDriven()) return;
+        MarketLane lane = lane(market);
+        if (!lane.replaceRecheckQueued.compareAndSet(false, true)) return;
+        long ageMillis = Duration.between(existing.placedAt(), clock.instant()).toMillis();
+        try {
+            executor.schedule(() -> {
+                lane.replaceRecheckQueued.set(false);
+                if (lanesBySlug.get(market.slug()) == lane) markDirty(market, lane, cfg);
+            }, Math.max(1L, cfg.minReplaceMillis() - ageMillis), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            lane.replaceRecheckQueued.set(false);
+        }
+    }
+
+    private MarketLane lane(GabagoolMarket market) {
+        return lanesBySlug.computeIfAbsent(market.slug(), slug -> {
+            ExecutorService[] w = workers;
+            return new MarketLane(w[Math.floorMod(slug.hashCode(), w.length)]);
+        });
+    }
+
+    private static ExecutorService[] startWorkers(int count) {
+        ExecutorService[] w = new ExecutorService[Math.max(1, count)];
+        AtomicInteger index = new AtomicInteger();
+        for (int i = 0; i < w.length; i++) {
+            w[i] = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "gabagool-eval-" + index.getAndIncrement());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return w;
     }
 
     private void handleFill(OrderState state, BigDecimal filledShares) {
@@ -143,34 +305,45 @@ public class GabagoolDirectionalEngine {
                 state.direction() == Direction.UP, filledShares, state.price());
         log.debug("GABAGOOL: Updated inventory for {} after fill: {} +{} shares",
                 state.market().slug(), state.direction(), filledShares);
+        // Hedge the other leg now instead of waiting for its next book update or tick
+        MarketLane lane = lanesBySlug.get(state.market().slug());
+        if (lane != null) markDirty(state.market(), lane, getConfig());
     }
 
-    private void evaluateMarket(GabagoolMarket market, GabagoolConfig cfg, Instant now) {
+    /**
+     * Rules that must fire without a book update (event-driven mode): lifetime, time window, stale books and the
+     * top-ups that become due with time (fast top-up delay after a fill, near-end top-up).
+     */
+    private void evaluateTimeRules(GabagoolMarket market, MarketLane lane, GabagoolConfig cfg, Instant now) {
         long secondsToEnd = Duration.between(now, market.endTime()).getSeconds();
-        long maxLifetimeSeconds = "updown-15m".equals(market.marketType()) ? 900L : 3600L;
+        if (!withinTradingWindow(market, cfg, secondsToEnd)) {
+            return;
+        }
 
-        if (secondsToEnd < 0 || secondsToEnd > maxLifetimeSeconds) {
-            orderManager.cancelMarketOrders(market, CancelReason.OUTSIDE_LIFETIME, secondsToEnd);
+        TopOfBook upBook = marketWs.getTopOfBook(market.upTokenId()).orElse(null);
+        TopOfBook downBook = marketWs.getTopOfBook(market.downTokenId()).orElse(null);
+        TickTopOfBookStore.Snapshot upTicks = marketWs.readTickTopOfBook(market.upTokenId(), lane.upTicks) ? lane.upTicks : null;
+        TickTopOfBookStore.Snapshot downTicks = marketWs.readTickTopOfBook(market.downTokenId(), lane.downTicks) ? lane.downTicks : null;
+
+        if (cancelIfStale(market, secondsToEnd, upBook, downBook, upTicks, downTicks)) {
             return;
         }
+        evaluateTopUps(market, positionTracker.getInventory(market.slug()), upBook, downBook, upTicks, downTicks,
+                cfg, secondsToEnd);
+    }
 
-        long minSecondsToEnd = Math.max(0L, cfg.minSecondsToEnd());
-        long maxSecondsToEnd = Math.min(maxLifetimeSeconds, Math.max(minSecondsToEnd, cfg.maxSecondsToEnd()));
-        if (secondsToEnd < minSecondsToEnd || secondsToEnd > maxSecondsToEnd) {
-            orderManager.cancelMarketOrders(market, CancelReason.OUTSIDE_TIME_WINDOW, secondsToEnd);
+    private void evaluateMarket(GabagoolMarket market, MarketLane lane, GabagoolConfig cfg, Instant now) {
+        long secondsToEnd = Duration.between(now, market.endTime()).getSeconds();
+        if (!withinTradingWindow(market, cfg, secondsToEnd)) {
             return;
         }
 
         TopOfBook upBook = marketWs.getTopOfBook(market.upTokenId()).orElse(null);
         TopOfBook downBook = marketWs.getTopOfBook(market.downTokenId()).orElse(null);
+        TickTopOfBookStore.Snapshot upTicks = marketWs.readTickTopOfBook(market.upTokenId(), lane.upTicks) ? lane.upTicks : null;
+        TickTopOfBookStore.Snapshot downTicks = marketWs.readTickTopOfBook(market.downTokenId(), lane.downTicks) ? lane.downTicks : null;
 
-        if (upBook == null || downBook == null || isStale(upBook) || isStale(downBook)) {
-            if (upBook == null || isStale(upBook)) {
-                orderManager.cancelOrder(market.upTokenId(), CancelReason.BOOK_STALE, secondsToEnd, upBook, downBook);
-            }
-            if (downBook == null || isStale(downBook)) {
-                orderManager.cancelOrder(market.downTokenId(), CancelReason.BOOK_STALE, secondsToEnd, downBook, upBook);
-            }
+        if (cancelIfStale(market, secondsToEnd, upBook, downBook, upTicks, downTicks)) {
             return;
         }
 
@@ -179,115 +352,198 @@ public class GabagoolDirectionalEngine {
         int skewTicksUp = skew[0];
         int skewTicksDown = skew[1];
 
-        // Fast top-up after recent fill
-        maybeFastTopUp(market, inv, upBook, downBook, cfg, secondsToEnd);
-
-        // Near-end taker top-up
-        if (cfg.completeSetTopUpEnabled() && secondsToEnd <= cfg.completeSetTopUpSecondsToEnd()) {
-            BigDecimal absImbalance = inv.imbalance().abs();
-            if (absImbalance.compareTo(cfg.completeSetTopUpMinShares()) >= 0) {
-                Direction laggingLeg = inv.imbalance().compareTo(BigDecimal.ZERO) > 0 ? Direction.DOWN : Direction.UP;
-                TopOfBook laggingBook = laggingLeg == Direction.UP ? upBook : downBook;
-                String laggingTokenId = laggingLeg == Direction.UP ? market.upTokenId() : market.downTokenId();
-                maybeTopUpLaggingLeg(market, laggingTokenId, laggingLeg, laggingBook,
-                        laggingLeg == Direction.UP ? downBook : upBook, cfg, secondsToEnd, absImbalance, PlaceReason.TOP_UP);
-            }
-        }
+        evaluateTopUps(market, inv, upBook, downBook, upTicks, downTicks, cfg, secondsToEnd);
 
         // Check planned edge
-        BigDecimal upTickSize = getTickSize(market.upTokenId());
-        BigDecimal downTickSize = getTickSize(market.downTokenId());
+        TickSizeEntry upTickSize = getTickSize(market.upTokenId());
+        TickSizeEntry downTickSize = getTickSize(market.downTokenId());
         if (upTickSize == null || downTickSize == null) {
+            recordDecision(market);
             orderManager.cancelMarketOrders(market, CancelReason.BOOK_STALE, secondsToEnd);
             return;
         }
 
-        BigDecimal upEntryPrice = quoteCalculator.calculateEntryPrice(upBook, upTickSize, cfg, skewTicksUp);
-        BigDecimal downEntryPrice = quoteCalculator.calculateEntryPrice(downBook, downTickSize, cfg, skewTicksDown);
-        if (upEntryPrice == null || downEntryPrice == null) {
+        int upEntryPrice = quoteCalculator.calculateEntryPriceTicks(upTicks, upTickSize.tickSizeTicks(), cfg, skewTicksUp);
+        int downEntryPrice = quoteCalculator.calculateEntryPriceTicks(downTicks, downTickSize.tickSizeTicks(), cfg, skewTicksDown);
+        if (upEntryPrice == FixedPoint.NONE || downEntryPrice == FixedPoint.NONE) {
+            recordDecision(market);
             orderManager.cancelMarketOrders(market, CancelReason.BOOK_STALE, secondsToEnd);
             return;
         }
 
         if (!quoteCalculator.hasMinimumEdge(upEntryPrice, downEntryPrice, cfg)) {
             log.debug("GABAGOOL: Skipping {} - insufficient edge", market.slug());
+            recordDecision(market);
             orderManager.cancelMarketOrders(market, CancelReason.INSUFFICIENT_EDGE, secondsToEnd);
             return;
         }
 
         // Optional taker mode
-        BigDecimal plannedEdge = BigDecimal.ONE.subtract(upEntryPrice.add(downEntryPrice));
-        if (shouldTake(plannedEdge, upBook, downBook, cfg)) {
-            Direction takeLeg = decideTakerLeg(inv, upBook, downBook, cfg);
+        int plannedEdge = FixedPoint.TICKS_PER_UNIT - (upEntryPrice + downEntryPrice);
+        if (shouldTake(plannedEdge, upTicks, downTicks, cfg)) {
+            Direction takeLeg = decideTakerLeg(inv, upTicks, downTicks, cfg);
             if (takeLeg == Direction.UP) {
-                maybeTakeToken(market, market.upTokenId(), Direction.UP, upBook, downBook, cfg, secondsToEnd);
-                maybeQuoteToken(market, market.downTokenId(), Direction.DOWN, downBook, upBook, cfg, secondsToEnd, skewTicksDown, downTickSize);
+                maybeTakeToken(market, market.upTokenId(), Direction.UP, upBook, downBook, upTicks, cfg, secondsToEnd);
+                List<OrderManager.PlaceIntent> quote = maybeQuoteToken(market, market.downTokenId(), Direction.DOWN, downBook, upBook, cfg, secondsToEnd, downEntryPrice, downTickSize.tickSize(), new ArrayList<>(1));
+                recordDecision(market);
+                orderManager.placeOrders(quote);
                 return;
             } else if (takeLeg == Direction.DOWN) {
-                maybeTakeToken(market, market.downTokenId(), Direction.DOWN, downBook, upBook, cfg, secondsToEnd);
-                maybeQuoteToken(market, market.upTokenId(), Direction.UP, upBook, downBook, cfg, secondsToEnd, skewTicksUp, upTickSize);
+                maybeTakeToken(market, market.downTokenId(), Direction.DOWN, downBook, upBook, downTicks, cfg, secondsToEnd);
+                List<OrderManager.PlaceIntent> quote = maybeQuoteToken(market, market.upTokenId(), Direction.UP, upBook, downBook, cfg, secondsToEnd, upEntryPrice, upTickSize.tickSize(), new ArrayList<>(1));
+                recordDecision(market);
+                orderManager.placeOrders(quote);
                 return;
             }
         }
 
-        // Maker mode
-        maybeQuoteToken(market, market.upTokenId(), Direction.UP, upBook, downBook, cfg, secondsToEnd, skewTicksUp, upTickSize);
-        maybeQuoteToken(market, market.downTokenId(), Direction.DOWN, downBook, upBook, cfg, secondsToEnd, skewTicksDown, downTickSize);
+        // Maker mode: both legs go out as one batch
+        List<OrderManager.PlaceIntent> quotes = new ArrayList<>(2);
+        maybeQuoteToken(market, market.upTokenId(), Direction.UP, upBook, downBook, cfg, secondsToEnd, upEntryPrice, upTickSize.tickSize(), quotes);
+        maybeQuoteToken(market, market.downTokenId(), Direction.DOWN, downBook, upBook, cfg, secondsToEnd, downEntryPrice, downTickSize.tickSize(), quotes);
+        recordDecision(market);
+        orderManager.placeOrders(quotes);
     }
 
-    private void maybeQuoteToken(GabagoolMarket market, String tokenId, Direction direction,
-                                  TopOfBook book, TopOfBook otherBook, GabagoolConfig cfg,
-                                  long secondsToEnd, int skewTicks, BigDecimal tickSize) {
-        if (tokenId == null || book == null) return;
+    private void evaluateTopUps(GabagoolMarket market, MarketInventory inv, TopOfBook upBook, TopOfBook downBook,
+                                TickTopOfBookStore.Snapshot upTicks, TickTopOfBookStore.Snapshot downTicks, GabagoolConfig cfg, long secondsToEnd) {
+        // Fast top-up after recent fill
+        maybeFastTopUp(market, inv, upBook, downBook, upTicks, downTicks, cfg, secondsToEnd);
+
+        // Near-end taker top-up
+        if (cfg.completeSetTopUpEnabled() && secondsToEnd <= cfg.completeSetTopUpSecondsToEnd()) {
+            long imbalance = QuoteCalculator.imbalanceCentiShares(inv);
+            if (Math.abs(imbalance) >= FixedPoint.centiShares(cfg.completeSetTopUpMinShares())) {
+                Direction laggingLeg = imbalance > 0 ? Direction.DOWN : Direction.UP;
+                TopOfBook laggingBook = laggingLeg == Direction.UP ? upBook : downBook;
+                TickTopOfBookStore.Snapshot laggingTicks = laggingLeg == Direction.UP ? upTicks : downTicks;
+                String laggingTokenId = laggingLeg == Direction.UP ? market.upTokenId() : market.downTokenId();
+                maybeTopUpLaggingLeg(market, laggingTokenId, laggingLeg, laggingBook,
+                        laggingLeg == Direction.UP ? downBook : upBook, laggingTicks, cfg, secondsToEnd,
+                        inv.imbalance().abs(), PlaceReason.TOP_UP);
+            }
+        }
+    }
 
-        BigDecimal entryPrice = quoteCalculator.calculateEntryPrice(book, tickSize, cfg, skewTicks);
-        if (entryPrice == null) return;
+    private boolean withinTradingWindow(GabagoolMarket market, GabagoolConfig cfg, long secondsToEnd) {
+        long maxLifetimeSeconds = "updown-15m".equals(market.marketType()) ? 900L : 3600L;
 
-        BigDecimal exposure = quoteCalculator.calculateExposure(orderManager.getOpenOrders(), positionTracker.getAllInventories());
-        BigDecimal shares = quoteCalculator.calculateShares(market, entryPrice, cfg, secondsToEnd, exposure);
-        if (shares == null) return;
+        if (secondsToEnd < 0 || secondsToEnd > maxLifetimeSeconds) {
+            recordDecision(market);
+            orderManager.cancelMarketOrders(market, CancelReason.OUTSIDE_LIFETIME, secondsToEnd);
+            return false;
+        }
+
+        long minSecondsToEnd = Math.max(0L, cfg.minSecondsToEnd());
+        long maxSecondsToEnd = Math.min(maxLifetimeSeconds, Math.max(minSecondsToEnd, cfg.maxSecondsToEnd()));
+        if (secondsToEnd < minSecondsToEnd || secondsToEnd > maxSecondsToEnd) {
+            recordDecision(market);
+            orderManager.cancelMarketOrders(market, CancelReason.OUTSIDE_TIME_WINDOW, secondsToEnd);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean cancelIfStale(GabagoolMarket market, long secondsToEnd, TopOfBook upBook, TopOfBook downBook,
+                                  TickTopOfBookStore.Snapshot upTicks, TickTopOfBookStore.Snapshot downTicks) {
+        long nowMillis = clock.millis();
+        boolean upStale = upBook == null || isStale(upTicks, nowMillis);
+        boolean downStale = downBook == null || isStale(downTicks, nowMillis);
+        if (upStale || downStale) recordDecision(market);
+        if (upStale) {
+            orderManager.cancelOrder(market.upTokenId(), CancelReason.BOOK_STALE, secondsToEnd, upBook, downBook);
+        }
+        if (downStale) {
+            orderManager.cancelOrder(market.downTokenId(), CancelReason.BOOK_STALE, secondsToEnd, downBook, upBook);
+        }
+        return upStale || downStale;
+    }
 
+    /**
+     * Adds the quote for {@code tokenId} to {@code batch} (with its exposure reserved) if it should be placed or
+     * replaced; returns {@code batch}.
+     */
+    private List<OrderManager.PlaceIntent> maybeQuoteToken(GabagoolMarket market, String tokenId, Direction direction,
+                                                           TopOfBook book, TopOfBook otherBook, GabagoolConfig cfg,
+                                                           long secondsToEnd, int entryPriceTicks, BigDecimal tickSize,
+                                                           List<OrderManager.PlaceIntent> batch) {
+        if (tokenId == null || book == null) return batch;
+
+        BigDecimal entryPrice = FixedPoint.price(entryPriceTicks);
+        if (entryPrice == null) return batch;
+
+        // A replace releases the existing order's resting notional, so it is not counted against the cap twice
         OrderState existing = orderManager.getOrder(tokenId);
+        long replacedMicros = ExposureLedger.remainingMicros(existing);
+        BigDecimal shares = quoteCalculator.calculateShares(market, entryPrice, cfg, secondsToEnd,
+                ExposureLedger.toUsd(exposureLedger.totalMicros() - replacedMicros));
+        if (shares == null) return batch;
+
         OrderManager.ReplaceDecision decision = orderManager.maybeReplaceOrder(
                 tokenId, entryPrice, shares, cfg, CancelReason.REPLACE_PRICE, secondsToEnd, book, otherBook);
         if (decision == OrderManager.ReplaceDecision.SKIP) {
-            return;
+            // Skipped although the quote moved: the existing order is younger than minReplaceMillis
+            if (existing != null && OrderManager.replaceReason(existing, entryPrice, shares) != null) {
+                reevaluateAfterReplaceWindow(market, cfg, existing);
+            }
+            return batch;
+        }
+
+        long credit = decision == OrderManager.ReplaceDecision.REPLACE ? replacedMicros : 0L;
+        if (!exposureLedger.tryReserve(ExposureLedger.micros(entryPrice, shares), credit,
+                quoteCalculator.exposureCapMicros(cfg))) {
+            return batch;
         }
 
-        PlaceReason reason = decision == OrderManager.ReplaceDecision.REPLACE ? PlaceReason.REPLACE : PlaceReason.QUOTE;
-        orderManager.placeOrder(market, tokenId, direction, entryPrice, shares, secondsToEnd, tickSize, book, otherBook, existing, reason);
+        if (decision == OrderManager.ReplaceDecision.REPLACE) {
+            batch.add(new OrderManager.PlaceIntent(market, tokenId, direction, entryPrice, shares, secondsToEnd, tickSize,
+                    book, otherBook, existing, OrderManager.replaceReason(existing, entryPrice, shares), PlaceReason.REPLACE));
+        } else {
+            batch.add(new OrderManager.PlaceIntent(market, tokenId, direction, entryPrice, shares, secondsToEnd, tickSize,
+                    book, otherBook, null, null, PlaceReason.QUOTE));
+        }
+        return batch;
     }
 
     private void maybeTakeToken(GabagoolMarket market, String tokenId, Direction direction,
-                                 TopOfBook book, TopOfBook otherBook, GabagoolConfig cfg, long secondsToEnd) {
-        if (tokenId == null || book == null) return;
+                                 TopOfBook book, TopOfBook otherBook, TickTopOfBookStore.Snapshot ticks,
+                                 GabagoolConfig cfg, long secondsToEnd) {
+        if (tokenId == null || book == null || ticks == null) return;
 
-        BigDecimal bestAsk = book.bestAsk();
-        if (bestAsk == null || bestAsk.compareTo(BigDecimal.valueOf(0.99)) > 0) return;
-
-        BigDecimal exposure = quoteCalculator.calculateExposure(orderManager.getOpenOrders(), positionTracker.getAllInventories());
-        BigDecimal shares = quoteCalculator.calculateShares(market, bestAsk, cfg, secondsToEnd, exposure);
-        if (shares == null) return;
+        int askTicks = ticks.bestAskTicks();
+        if (askTicks == FixedPoint.NONE || askTicks > MAX_TAKE_PRICE_TICKS) return;
+        BigDecimal bestAsk = FixedPoint.price(askTicks);
 
         OrderState existing = orderManager.getOrder(tokenId);
         if (existing != null) {
             long ageMillis = Duration.between(existing.placedAt(), clock.instant()).toMillis();
-            if (ageMillis < cfg.minReplaceMillis()) return;
-            orderManager.cancelOrder(tokenId, CancelReason.REPLACE_PRICE, secondsToEnd, book, otherBook);
+            if (ageMillis < cfg.minReplaceMillis()) {
+                reevaluateAfterReplaceWindow(market, cfg, existing);
+                return;
+            }
+        }
+        long replacedMicros = ExposureLedger.remainingMicros(existing);
+        BigDecimal shares = quoteCalculator.calculateShares(market, bestAsk, cfg, secondsToEnd,
+                ExposureLedger.toUsd(exposureLedger.totalMicros() - replacedMicros));
+        if (shares == null) return;
+        if (!exposureLedger.tryReserve(ExposureLedger.micros(bestAsk, shares), replacedMicros,
+                quoteCalculator.exposureCapMicros(cfg))) {
+            return;
         }
 
         log.info("GABAGOOL: TAKER {} order on {} at ask {} (size={}, secondsToEnd={})",
                 direction, market.slug(), bestAsk, shares, secondsToEnd);
-        orderManager.placeOrder(market, tokenId, direction, bestAsk, shares, secondsToEnd, null, book, otherBook, existing, PlaceReason.TAKER);
+        recordDecision(market);
+        orderManager.placeOrder(market, tokenId, direction, bestAsk, shares, secondsToEnd, null, book, otherBook,
+                existing, CancelReason.REPLACE_PRICE, PlaceReason.TAKER);
     }
 
-    private void maybeFastTopUp(GabagoolMarket market, MarketInventory inv, TopOfBook upBook,
-                                TopOfBook downBook, GabagoolConfig cfg, long secondsToEnd) {
+    private void maybeFastTopUp(GabagoolMarket market, MarketInventory inv, TopOfBook upBook, TopOfBook downBook,
+                                TickTopOfBookStore.Snapshot upTicks, TickTopOfBookStore.Snapshot downTicks, GabagoolConfig cfg, long secondsToEnd) {
         if (!cfg.completeSetFastTopUpEnabled()) return;
 
-        BigDecimal imbalance = inv.imbalance();
-        BigDecimal absImbalance = imbalance.abs();
-        if (absImbalance.compareTo(cfg.completeSetFastTopUpMinShares()) < 0) return;
+        long imbalance = QuoteCalculator.imbalanceCentiShares(inv);
+        if (Math.abs(imbalance) < FixedPoint.centiShares(cfg.completeSetFastTopUpMinShares())) return;
 
         Instant now = clock.instant();
         if (inv.lastTopUpAt() != null &&
@@ -295,7 +551,7 @@ public class GabagoolDirectionalEngine {
             return;
         }
 
-        Direction laggingLeg = imbalance.compareTo(BigDecimal.ZERO) > 0 ? Direction.DOWN : Direction.UP;
+        Direction laggingLeg = imbalance > 0 ? Direction.DOWN : Direction.UP;
         Instant leadFillAt = laggingLeg == Direction.DOWN ? inv.lastUpFillAt() : inv.lastDownFillAt();
         if (leadFillAt == null) return;
 
@@ -310,40 +566,46 @@ public class GabagoolDirectionalEngine {
 
         TopOfBook laggingBook = laggingLeg == Direction.UP ? upBook : downBook;
         TopOfBook otherBook = laggingLeg == Direction.UP ? downBook : upBook;
+        TickTopOfBookStore.Snapshot laggingTicks = laggingLeg == Direction.UP ? upTicks : downTicks;
         String laggingTokenId = laggingLeg == Direction.UP ? market.upTokenId() : market.downTokenId();
 
-        if (laggingBook.bestBid() == null || laggingBook.bestAsk() == null) return;
-        BigDecimal spread = laggingBook.bestAsk().subtract(laggingBook.bestBid());
-        if (spread.compareTo(cfg.takerModeMaxSpread()) > 0) return;
+        if (!laggingTicks.hasBidAndAsk()) return;
+        if (laggingTicks.spreadTicks() > cfg.takerModeMaxSpreadTicks()) return;
 
-        BigDecimal leadFillPrice = laggingLeg == Direction.DOWN ? inv.lastUpFillPrice() : inv.lastDownFillPrice();
-        if (leadFillPrice == null) {
-            leadFillPrice = laggingLeg == Direction.DOWN ? upBook.bestBid() : downBook.bestBid();
+        int leadFillPrice = laggingLeg == Direction.DOWN
+                ? FixedPoint.priceTicks(inv.lastUpFillPrice()) : FixedPoint.priceTicks(inv.lastDownFillPrice());
+        if (leadFillPrice == FixedPoint.NONE) {
+            leadFillPrice = laggingLeg == Direction.DOWN ? upTicks.bestBidTicks() : downTicks.bestBidTicks();
         }
-        if (leadFillPrice != null) {
-            BigDecimal hedgedEdge = BigDecimal.ONE.subtract(leadFillPrice.add(laggingBook.bestAsk()));
-            if (hedgedEdge.compareTo(BigDecimal.valueOf(cfg.completeSetFastTopUpMinEdge())) < 0) return;
+        if (leadFillPrice != FixedPoint.NONE) {
+            int hedgedEdge = FixedPoint.TICKS_PER_UNIT - (leadFillPrice + laggingTicks.bestAskTicks());
+            if (hedgedEdge < cfg.completeSetFastTopUpMinEdgeTicks()) return;
         }
 
         positionTracker.markTopUp(market.slug());
-        maybeTopUpLaggingLeg(market, laggingTokenId, laggingLeg, laggingBook, otherBook, cfg, secondsToEnd, absImbalance, PlaceReason.FAST_TOP_UP);
+        maybeTopUpLaggingLeg(market, laggingTokenId, laggingLeg, laggingBook, otherBook, laggingTicks, cfg, secondsToEnd,
+                inv.imbalance().abs(), PlaceReason.FAST_TOP_UP);
     }
 
     private void maybeTopUpLaggingLeg(GabagoolMarket market, String tokenId, Direction direction,
-                                      TopOfBook book, TopOfBook otherBook, GabagoolConfig cfg,
+                                      TopOfBook book, TopOfBook otherBook, TickTopOfBookStore.Snapshot ticks, GabagoolConfig cfg,
                                       long secondsToEnd, BigDecimal imbalanceShares, PlaceReason reason) {
-        if (tokenId == null || book == null) return;
+        if (tokenId == null || book == null || ticks == null) return;
         if (imbalanceShares == null || imbalanceShares.compareTo(BigDecimal.valueOf(0.01)) < 0) return;
 
-        BigDecimal bestAsk = book.bestAsk();
-        if (bestAsk == null || bestAsk.compareTo(BigDecimal.valueOf(0.99)) > 0) return;
+        int askTicks = ticks.bestAskTicks();
+        if (askTicks == FixedPoint.NONE || askTicks > MAX_TAKE_PRICE_TICKS) return;
 
-        BigDecimal bestBid = book.bestBid();
-        if (bestBid != null) {
-            BigDecimal spread = bestAsk.subtract(bestBid);
-            if (spread.compareTo(cfg.takerModeMaxSpread()) > 0) return;
+        int bidTicks = ticks.bestBidTicks();
+        if (bidTicks != FixedPoint.NONE && askTicks - bidTicks > cfg.takerModeMaxSpreadTicks()) return;
+
+        OrderState existing = orderManager.getOrder(tokenId);
+        if (existing != null && Duration.between(existing.placedAt(), clock.instant()).toMillis() < cfg.minReplaceMillis()) {
+            return;
         }
 
+        BigDecimal bestAsk = FixedPoint.price(askTicks);
+
         BigDecimal topUpShares = imbalanceShares;
         BigDecimal bankrollUsd = bankrollService.resolveEffective(cfg);
 
@@ -355,8 +617,7 @@ public class GabagoolDirectionalEngine {
             }
             if (cfg.maxTotalBankrollFraction() > 0) {
                 BigDecimal totalCap = bankrollUsd.multiply(BigDecimal.valueOf(cfg.maxTotalBankrollFraction()));
-                BigDecimal exposure = quoteCalculator.calculateExposure(orderManager.getOpenOrders(), positionTracker.getAllInventories());
-                BigDecimal remaining = totalCap.subtract(exposure);
+                BigDecimal remaining = totalCap.subtract(exposureLedger.total());
                 if (remaining.compareTo(BigDecimal.ZERO) <= 0) return;
                 BigDecimal capShares = remaining.divide(bestAsk, 2, RoundingMode.DOWN);
                 topUpShares = topUpShares.min(capShares);
@@ -371,56 +632,54 @@ public class GabagoolDirectionalEngine {
 
         topUpShares = topUpShares.setScale(2, RoundingMode.DOWN);
         if (topUpShares.compareTo(BigDecimal.valueOf(0.01)) < 0) return;
-
-        OrderState existing = orderManager.getOrder(tokenId);
-        if (existing != null) {
-            long ageMillis = Duration.between(existing.placedAt(), clock.instant()).toMillis();
-            if (ageMillis < cfg.minReplaceMillis()) return;
-            orderManager.cancelOrder(tokenId, CancelReason.REPLACE_PRICE, secondsToEnd, book, otherBook);
-        }
+        if (!exposureLedger.tryReserve(ExposureLedger.micros(bestAsk, topUpShares), quoteCalculator.exposureCapMicros(cfg))) return;
 
         log.info("GABAGOOL: TOP-UP {} on {} at ask {} (imbalance={}, topUpShares={}, secondsToEnd={})",
                 direction, market.slug(), bestAsk, imbalanceShares, topUpShares, secondsToEnd);
-        orderManager.placeOrder(market, tokenId, direction, bestAsk, topUpShares, secondsToEnd, null, book, otherBook, existing, reason);
+        recordDecision(market);
+        orderManager.placeOrder(market, tokenId, direction, bestAsk, topUpShares, secondsToEnd, null, book, otherBook,
+                existing, CancelReason.REPLACE_PRICE, reason);
     }
 
-    private boolean shouldTake(BigDecimal edge, TopOfBook upBook, TopOfBook downBook, GabagoolConfig cfg) {
+    private boolean shouldTake(int edgeTicks, TickTopOfBookStore.Snapshot upBook, TickTopOfBookStore.Snapshot downBook, GabagoolConfig cfg) {
         if (!cfg.takerModeEnabled()) return false;
-        if (edge.doubleValue() > cfg.takerModeMaxEdge()) return false;
+        if (edgeTicks > cfg.takerModeMaxEdgeTicks()) return false;
 
-        BigDecimal maxSpread = cfg.takerModeMaxSpread();
-        BigDecimal upSpread = upBook.bestAsk().subtract(upBook.bestBid());
-        BigDecimal downSpread = downBook.bestAsk().subtract(downBook.bestBid());
+        int maxSpread = cfg.takerModeMaxSpreadTicks();
+        int upSpread = upBook.spreadTicks();
+        int downSpread = downBook.spreadTicks();
 
-        if (upSpread.compareTo(maxSpread) > 0 || downSpread.compareTo(maxSpread) > 0) return false;
+        if (upSpread > maxSpread || downSpread > maxSpread) return false;
 
-        log.debug("GABAGOOL: Taker mode triggered - edge={}, upSpread={}, downSpread={}", edge, upSpread, downSpread);
+        if (log.isDebugEnabled()) {
+            log.debug("GABAGOOL: Taker mode triggered - edge={}, upSpread={}, downSpread={}",
+                    FixedPoint.price(edgeTicks), FixedPoint.price(upSpread), FixedPoint.price(downSpread));
+        }
         return true;
     }
 
-    private Direction decideTakerLeg(MarketInventory inv, TopOfBook upBook, TopOfBook downBook, GabagoolConfig cfg) {
-        BigDecimal bidUp = upBook.bestBid(), askUp = upBook.bestAsk();
-        BigDecimal bidDown = downBook.bestBid(), askDown = downBook.bestAsk();
-        if (bidUp == null || askUp == null || bidDown == null || askDown == null) return null;
+    private Direction decideTakerLeg(MarketInventory inv, TickTopOfBookStore.Snapshot upBook, TickTopOfBookStore.Snapshot downBook, GabagoolConfig cfg) {
+        if (!upBook.hasBidAndAsk() || !downBook.hasBidAndAsk()) return null;
+        int bidUp = upBook.bestBidTicks(), askUp = upBook.bestAskTicks();
+        int bidDown = downBook.bestBidTicks(), askDown = downBook.bestAskTicks();
 
-        BigDecimal edgeTakeUp = BigDecimal.ONE.subtract(askUp.add(bidDown));
-        BigDecimal edgeTakeDown = BigDecimal.ONE.subtract(bidUp.add(askDown));
-        BigDecimal minEdge = BigDecimal.valueOf(cfg.completeSetFastTopUpMinEdge());
+        int edgeTakeUp = FixedPoint.TICKS_PER_UNIT - (askUp + bidDown);
+        int edgeTakeDown = FixedPoint.TICKS_PER_UNIT - (bidUp + askDown);
+        int minEdge = cfg.completeSetFastTopUpMinEdgeTicks();
 
-        boolean upOk = edgeTakeUp.compareTo(minEdge) >= 0;
-        boolean downOk = edgeTakeDown.compareTo(minEdge) >= 0;
+        boolean upOk = edgeTakeUp >= minEdge;
+        boolean downOk = edgeTakeDown >= minEdge;
 
         if (!upOk && !downOk) return null;
         if (upOk && !downOk) return Direction.UP;
         if (downOk && !upOk) return Direction.DOWN;
 
-        int cmp = edgeTakeUp.compareTo(edgeTakeDown);
-        if (cmp > 0) return Direction.UP;
-        if (cmp < 0) return Direction.DOWN;
+        if (edgeTakeUp > edgeTakeDown) return Direction.UP;
+        if (edgeTakeUp < edgeTakeDown) return Direction.DOWN;
 
-        BigDecimal imbalance = inv.imbalance();
-        if (imbalance.compareTo(BigDecimal.ZERO) > 0) return Direction.DOWN;
-        if (imbalance.compareTo(BigDecimal.ZERO) < 0) return Direction.UP;
+        long imbalance = QuoteCalculator.imbalanceCentiShares(inv);
+        if (imbalance > 0) return Direction.DOWN;
+        if (imbalance < 0) return Direction.UP;
         return Direction.UP;
     }
 
@@ -451,6 +710,15 @@ public class GabagoolDirectionalEngine {
             }
 
             activeMarkets.set(markets);
+            Map<String, GabagoolMarket> byToken = new HashMap<>();
+            for (GabagoolMarket m : markets) {
+                if (m.upTokenId() != null) byToken.put(m.upTokenId(), m);
+                if (m.downTokenId() != null) byToken.put(m.downTokenId(), m);
+            }
+            marketsByTokenId.set(Map.copyOf(byToken));
+            List<String> slugs = markets.stream().map(GabagoolMarket::slug).toList();
+            lanesBySlug.keySet().retainAll(slugs);
+            positionTracker.retainMarkets(slugs);
             metricsService.updateActiveMarketsCount(markets.size());
             if (cfg.bankrollUsd() != null) metricsService.updateBankroll(cfg.bankrollUsd());
 
@@ -461,6 +729,7 @@ public class GabagoolDirectionalEngine {
                     .distinct()
                     .toList();
             if (!assetIds.isEmpty()) marketWs.setSubscribedAssets(assetIds);
+            warmTokenMetadata(assetIds);
 
             if (!markets.isEmpty()) {
                 log.debug("GABAGOOL: Tracking {} markets ({} discovered, {} configured)",
@@ -471,28 +740,40 @@ public class GabagoolDirectionalEngine {
         }
     }
 
+    private void warmTokenMetadata(List<String> assetIds) {
+        warmedTokenIds.retainAll(assetIds);
+        List<String> fresh = assetIds.stream().filter(warmedTokenIds::add).toList();
+        if (fresh.isEmpty()) return;
+        executorApi.warmTokenMetadataAsync(fresh).exceptionally(e -> {
+            warmedTokenIds.removeAll(fresh);
+            log.debug("GABAGOOL: Token metadata warm-up failed for {} tokens: {}", fresh.size(), e.toString());
+            return null;
+        });
+    }
+
     private GabagoolConfig getConfig() {
         return GabagoolConfig.from(properties.strategy().gabagool());
     }
 
-    private BigDecimal getTickSize(String tokenId) {
+    private TickSizeEntry getTickSize(String tokenId) {
         TickSizeEntry cached = tickSizeCache.get(tokenId);
         if (cached != null && Duration.between(cached.fetchedAt(), clock.instant()).compareTo(TICK_SIZE_CACHE_TTL) < 0) {
-            return cached.tickSize();
+            return cached;
         }
         try {
             BigDecimal tickSize = executorApi.getTickSize(tokenId);
-            tickSizeCache.put(tokenId, new TickSizeEntry(tickSize, clock.instant()));
-            return tickSize;
+            if (tickSize == null) return null;
+            TickSizeEntry entry = new TickSizeEntry(tickSize, FixedPoint.priceTicks(tickSize), clock.instant());
+            tickSizeCache.put(tokenId, entry);
+            return entry;
         } catch (Exception e) {
             log.warn("Failed to get tick size for {}: {}", tokenId, e.getMessage());
-            return BigDecimal.valueOf(0.01);
+            return DEFAULT_TICK_SIZE;
         }
     }
 
-    private boolean isStale(TopOfBook tob) {
-        if (tob == null || tob.updatedAt() == null) return true;
-        return Duration.between(tob.updatedAt(), clock.instant()).toMillis() > 2_000;
+    private static boolean isStale(TickTopOfBookStore.Snapshot tob, long nowMillis) {
+        return tob == null || tob.isStale(nowMillis, BOOK_STALE_MILLIS);
     }
 
     private void logStartupConfig(GabagoolConfig cfg) {
@@ -505,5 +786,25 @@ public class GabagoolDirectionalEngine {
                 cfg.takerModeEnabled(), cfg.takerModeMaxEdge(), cfg.takerModeMaxSpread());
     }
 
-    public record TickSizeEntry(BigDecimal tickSize, Instant fetchedAt) {}
+    public record TickSizeEntry(BigDecimal tickSize, int tickSizeTicks, Instant fetchedAt) {}
+
+    /**
+     * Per-market scheduling state; all evaluations of a market run on {@code worker}, which alone touches the
+     * top-of-book snapshots they read into.
+     */
+    private static final class MarketLane {
+        private final ExecutorService worker;
+        private final TickTopOfBookStore.Snapshot upTicks = new TickTopOfBookStore.Snapshot();
+        private final TickTopOfBookStore.Snapshot downTicks = new TickTopOfBookStore.Snapshot();
+        // nanoTime of the oldest book update (or fill) not yet evaluated; 0 when clean.
+        private final AtomicLong dirtySinceNanos = new AtomicLong();
+        private final AtomicBoolean tickQueued = new AtomicBoolean();
+        private final AtomicBoolean replaceRecheckQueued = new AtomicBoolean();
+        // Start of the dirty evaluation in progress until it records its latency; worker-confined.
+        private long undecidedSinceNanos;
+
+        private MarketLane(ExecutorService worker) {
+            this.worker = worker;
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package com.polybot.hft.polymarket.strategy.config;
 
 import com.polybot.hft.config.HftProperties;
+import com.polybot.hft.domain.FixedPoint;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -40,7 +41,9 @@ public record GabagoolConfig(
                 cfg.refreshMillis(),
                 cfg.minReplaceMillis(),
                 cfg.minSecondsToEnd(),
-                cfg.maxSecondsToEnd()
+                cfg.maxSecondsToEnd(),
+                cfg.eventDrivenEvaluation(),
+                cfg.evaluationWorkers()
         );
 
         SizingConfig sizing = new SizingConfig(
@@ -105,6 +108,8 @@ public record GabagoolConfig(
     public long minReplaceMillis() { return timing.minReplaceMillis(); }
     public long minSecondsToEnd() { return timing.minSecondsToEnd(); }
     public long maxSecondsToEnd() { return timing.maxSecondsToEnd(); }
+    public boolean eventDriven() { return timing.eventDriven(); }
+    public int evaluationWorkers() { return timing.evaluationWorkers(); }
 
     public BigDecimal quoteSize() { return sizing.quoteSize(); }
     public double quoteSizeBankrollFraction() { return sizing.quoteSizeBankrollFraction(); }
@@ -135,9 +140,15 @@ public record GabagoolConfig(
     public long completeSetFastTopUpCooldownMillis() { return completeSet.fastTopUpCooldownMillis(); }
     public double completeSetFastTopUpMinEdge() { return completeSet.fastTopUpMinEdge(); }
 
+    // Fixed-point views (FixedPoint price ticks) for the evaluation loop
+    public int completeSetMinEdgeTicks() { return FixedPoint.ceilTicks(completeSet.minEdge()); }
+    public int completeSetFastTopUpMinEdgeTicks() { return FixedPoint.ceilTicks(completeSet.fastTopUpMinEdge()); }
+
     public boolean takerModeEnabled() { return taker.enabled(); }
     public double takerModeMaxEdge() { return taker.maxEdge(); }
     public BigDecimal takerModeMaxSpread() { return taker.maxSpread(); }
+    public int takerModeMaxEdgeTicks() { return FixedPoint.floorTicks(taker.maxEdge()); }
+    public int takerModeMaxSpreadTicks() { return FixedPoint.floorTicks(taker.maxSpread().doubleValue()); }
 
     public record GabagoolMarketConfig(
             String slug,
@@ -7,9 +7,11 @@ public record TimingConfig(
         long refreshMillis,
         long minReplaceMillis,
         long minSecondsToEnd,
-        long maxSecondsToEnd
+        long maxSecondsToEnd,
+        boolean eventDriven,
+        int evaluationWorkers
 ) {
     public static TimingConfig defaults() {
-        return new TimingConfig(250, 1000, 0, 3600);
+        return new TimingConfig(250, 1000, 0, 3600, false, 4);
     }
 }
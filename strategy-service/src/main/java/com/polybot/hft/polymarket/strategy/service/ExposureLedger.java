@@ -0,0 +1,141 @@
+package com.polybot.hft.polymarket.strategy.service;
+
+import com.polybot.hft.domain.FixedPoint;
+import com.polybot.hft.polymarket.strategy.model.MarketInventory;
+import com.polybot.hft.polymarket.strategy.model.OrderState;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Running total of strategy exposure (open order notional + unhedged inventory), in micro-USD
+ * (price ticks x centi-shares).
+ * <p>
+ * Market workers reserve an order's notional before placing it, so concurrent quotes cannot overshoot the total
+ * exposure cap; the reservation is released when the order is cancelled, fails or fills (filled notional moves to
+ * inventory).
+ * <p>
+ * Every change is applied where it happens (reserve on place, release on cancel/fail/fill, inventory on fill and
+ * position refresh), so reads are O(1). {@link #drift} recomputes everything only to check those running totals.
+ */
+public class ExposureLedger {
+
+    public static final long NO_CAP = Long.MAX_VALUE;
+
+    private static final int UNHEDGED_PRICE_TICKS = FixedPoint.TICKS_PER_UNIT / 2;
+
+    private final AtomicLong openOrderMicros = new AtomicLong();
+    private final AtomicLong unhedgedMicros = new AtomicLong();
+    private final Map<String, Long> unhedgedMicrosByMarket = new ConcurrentHashMap<>();
+
+    /**
+     * Reserve {@code micros} of open order notional unless the total would exceed {@code capMicros};
+     * nothing is reserved when it returns false.
+     */
+    public boolean tryReserve(long micros, long capMicros) {
+        return tryReserve(micros, 0L, capMicros);
+    }
+
+    /**
+     * Like {@link #tryReserve(long, long)} for an order that replaces one still holding {@code replacedMicros}. The
+     * full {@code micros} is reserved, but the replaced notional is released once the replace completes, so it is not
+     * counted against the cap a second time.
+     */
+    public boolean tryReserve(long micros, long replacedMicros, long capMicros) {
+        if (micros <= 0) return false;
+        while (true) {
+            long open = openOrderMicros.get();
+            if (capMicros != NO_CAP && open + micros - replacedMicros + unhedgedMicros.get() > capMicros) return false;
+            if (openOrderMicros.compareAndSet(open, open + micros)) return true;
+        }
+    }
+
+    public void release(long micros) {
+        if (micros > 0) openOrderMicros.addAndGet(-micros);
+    }
+
+    /**
+     * Record the latest inventory of a market; must be called under that market's inventory update.
+     */
+    public void updateInventory(String marketSlug, MarketInventory inv) {
+        long micros = Math.abs(QuoteCalculator.imbalanceCentiShares(inv)) * UNHEDGED_PRICE_TICKS;
+        Long prev = unhedgedMicrosByMarket.put(marketSlug, micros);
+        unhedgedMicros.addAndGet(micros - (prev == null ? 0L : prev));
+    }
+
+    /**
+     * Forget a market that is no longer tracked, taking its unhedged inventory off the total; must be called under
+     * that market's inventory update, like {@link #updateInventory}.
+     */
+    public void removeMarket(String marketSlug) {
+        Long prev = unhedgedMicrosByMarket.remove(marketSlug);
+        if (prev != null) unhedgedMicros.addAndGet(-prev);
+    }
+
+    /**
+     * How far the running totals are from a full recompute over {@code openOrders} and {@code inventories}; the totals
+     * are not corrected. Reservations for orders still being placed show up as transient positive open-order drift.
+     */
+    public Drift drift(Iterable<OrderState> openOrders, Iterable<MarketInventory> inventories) {
+        long open = 0L;
+        for (OrderState order : openOrders) {
+            open += remainingMicros(order);
+        }
+        long unhedged = 0L;
+        for (MarketInventory inv : inventories) {
+            if (inv != null) unhedged += Math.abs(QuoteCalculator.imbalanceCentiShares(inv)) * UNHEDGED_PRICE_TICKS;
+        }
+        return new Drift(openOrderMicros.get() - open, unhedgedMicros.get() - unhedged);
+    }
+
+    public long totalMicros() {
+        return openOrderMicros.get() + unhedgedMicros.get();
+    }
+
+    public BigDecimal total() {
+        return toUsd(totalMicros());
+    }
+
+    /**
+     * Notional of {@code shares} at {@code price}, rounded down to whole ticks and centi-shares.
+     */
+    public static long micros(BigDecimal price, BigDecimal shares) {
+        int ticks = FixedPoint.priceTicks(price);
+        long centiShares = FixedPoint.centiShares(shares);
+        if (ticks == FixedPoint.NONE || centiShares == FixedPoint.NONE) return 0L;
+        return ticks * centiShares;
+    }
+
+    /**
+     * Notional still resting on the book for {@code order}.
+     */
+    public static long remainingMicros(OrderState order) {
+        if (order == null || order.price() == null || order.size() == null) return 0L;
+        BigDecimal matched = order.matchedSize() == null ? BigDecimal.ZERO : order.matchedSize();
+        return micros(order.price(), order.size().subtract(matched).max(BigDecimal.ZERO));
+    }
+
+    public static BigDecimal toUsd(long micros) {
+        return BigDecimal.valueOf(micros, FixedPoint.PRICE_SCALE + FixedPoint.SIZE_SCALE);
+    }
+
+    public static long fromUsd(BigDecimal usd) {
+        return usd.movePointRight(FixedPoint.PRICE_SCALE + FixedPoint.SIZE_SCALE).longValue();
+    }
+
+    /**
+     * Running total minus recomputed value, per component, in micro-USD.
+     */
+    public record Drift(long openOrderMicros, long unhedgedMicros) {
+
+        public boolean isZero() {
+            return openOrderMicros == 0L && unhedgedMicros == 0L;
+        }
+
+        public BigDecimal totalUsd() {
+            return toUsd(openOrderMicros + unhedgedMicros);
+        }
+    }
+}
@@ -21,39 +21,66 @@ import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
 
 /**
- * Manages order placement, cancellation, and status polling.
+ * Manages order placement, cancellation, and status tracking.
+ * <p>
+ * Status arrives either pushed from the executor's order-status stream ({@link #onOrderStatus}) or by polling each
+ * open order; while the stream is live, polling drops to a periodic reconcile.
+ * <p>
+ * An order is only untracked once its cancel resolved: the cancel succeeded, or the CLOB refused it because the order
+ * was already matched or cancelled. When a cancel fails otherwise the order may still rest on the book, so it moves
+ * to a cancel-pending set that keeps its reservation, credits its fills and retries the cancel on every poll.
  */
 @Slf4j
 public class OrderManager {
 
     private static final Duration ORDER_STALE_TIMEOUT = Duration.ofSeconds(300);
     private static final Duration ORDER_STATUS_POLL_INTERVAL = Duration.ofSeconds(1);
+    private static final Duration ORDER_STATUS_RECONCILE_INTERVAL = Duration.ofSeconds(30);
     private static final int ERROR_MAX_LEN = 512;
 
     private final ExecutorApiClient executorApi;
     private final HftEventPublisher events;
+    private final ExposureLedger exposureLedger;
     private final Clock clock;
     private final String runId;
+    private final BooleanSupplier statusStreamLive;
 
     private final Map<String, OrderState> ordersByTokenId = new ConcurrentHashMap<>();
+    private final Map<String, OrderState> cancelPendingByOrderId = new ConcurrentHashMap<>();
 
-    public OrderManager(ExecutorApiClient executorApi, HftEventPublisher events, Clock clock, String runId) {
+    public OrderManager(ExecutorApiClient executorApi, HftEventPublisher events, ExposureLedger exposureLedger,
+                        Clock clock, String runId, BooleanSupplier statusStreamLive) {
         this.executorApi = executorApi;
         this.events = events;
+        this.exposureLedger = exposureLedger;
         this.clock = clock;
         this.runId = runId;
+        this.statusStreamLive = statusStreamLive;
     }
 
     public Map<String, OrderState> getOpenOrders() {
         return Map.copyOf(ordersByTokenId);
     }
 
+    /**
+     * Live read-only view of the open orders (no copy).
+     */
+    public Collection<OrderState> openOrdersView() {
+        return Collections.unmodifiableCollection(ordersByTokenId.values());
+    }
+
     public OrderState getOrder(String tokenId) {
         return ordersByTokenId.get(tokenId);
     }
@@ -63,75 +90,163 @@ public class OrderManager {
     }
 
     /**
-     * Place a maker order for a token.
+     * Every order holding an exposure reservation: the open orders plus those whose cancel is still pending.
+     */
+    public List<OrderState> reservedOrders() {
+        List<OrderState> orders = new ArrayList<>(ordersByTokenId.size() + cancelPendingByOrderId.size());
+        orders.addAll(ordersByTokenId.values());
+        orders.addAll(cancelPendingByOrderId.values());
+        return orders;
+    }
+
+    /**
+     * Place a maker order for a token. The caller must have reserved {@code price * size} on the
+     * {@link ExposureLedger}; the reservation is released here if the order is not placed.
+     * <p>
+     * When {@code replaced} is set, its cancel is sent concurrently with the new order and both are reconciled
+     * once they complete, so a replace costs one round-trip instead of two.
      */
     public void placeOrder(GabagoolMarket market, String tokenId, Direction direction,
                            BigDecimal price, BigDecimal size, long secondsToEnd,
                            BigDecimal tickSize, TopOfBook book, TopOfBook otherBook,
-                           OrderState replaced, PlaceReason placeReason) {
-        String reason = replaced == null ? PlaceReason.QUOTE.name() : PlaceReason.REPLACE.name();
-        if (placeReason != null) reason = placeReason.name();
-
-        String replacedOrderId = replaced == null ? null : replaced.orderId();
-        BigDecimal replacedPrice = replaced == null ? null : replaced.price();
-        BigDecimal replacedSize = replaced == null ? null : replaced.size();
-        Long replacedAgeMillis = replaced == null ? null : Duration.between(replaced.placedAt(), clock.instant()).toMillis();
+                           OrderState replaced, CancelReason replacedReason, PlaceReason placeReason) {
+        placeOrders(List.of(new PlaceIntent(market, tokenId, direction, price, size, secondsToEnd, tickSize,
+                book, otherBook, replaced, replacedReason, placeReason)));
+    }
 
-        String otherTokenId = direction == Direction.UP ? market.downTokenId() : market.upTokenId();
+    /**
+     * Place several orders (typically both legs of one market) as one executor batch, with the orders they replace
+     * cancelled by one concurrent batch cancel. Same reservation contract as {@link #placeOrder}, per intent.
+     */
+    public void placeOrders(List<PlaceIntent> intents) {
+        if (intents == null || intents.isEmpty()) return;
 
+        List<PlaceIntent> replacing = intents.stream().filter(p -> p.replaced() != null).toList();
+        CompletableFuture<List<Throwable>> cancelled = replacing.isEmpty() ? null
+                : cancelAsync(replacing.stream().map(PlaceIntent::replaced).toList());
+        boolean[] placed = new boolean[intents.size()];
         try {
-            log.info("GABAGOOL: Placing {} order on {} at {} (size={}, secondsToEnd={})",
-                    direction, market.slug(), price, size, secondsToEnd);
+            for (PlaceIntent p : intents) {
+                log.info("GABAGOOL: Placing {} order on {} at {} (size={}, secondsToEnd={})",
+                        p.direction(), p.market().slug(), p.price(), p.size(), p.secondsToEnd());
+            }
+            CompletableFuture<List<OrderSubmissionResult>> submitted = submit(intents);
 
-            LimitOrderRequest request = new LimitOrderRequest(
-                    tokenId, OrderSide.BUY, price, size, ClobOrderType.GTC,
-                    null, null, null, null, null, null, null
-            );
+            if (cancelled != null) {
+                List<Throwable> cancelErrors = cancelled.join();
+                cancelled = null;
+                reconcileCancels(replacing, cancelErrors);
+            }
 
-            OrderSubmissionResult result = executorApi.placeLimitOrder(request);
-            String orderId = resolveOrderId(result);
-
-            if (orderId == null) {
-                log.warn("GABAGOOL: Order submission returned null orderId for {}", market.slug());
-                publishOrderEvent(new OrderLifecycleEvent(
-                        "gabagool-directional", runId, "PLACE", reason,
-                        market.slug(), market.marketType(), tokenId, direction.name(),
-                        secondsToEnd, tickSize, false, "orderId null",
-                        null, price, size, replacedOrderId, replacedPrice, replacedSize,
-                        replacedAgeMillis, null, book, otherTokenId, otherBook
-                ));
-                return;
+            List<OrderSubmissionResult> results = null;
+            Exception error = null;
+            try {
+                results = ExecutorApiClient.await(submitted);
+            } catch (Exception e) {
+                error = e;
+            }
+            for (int i = 0; i < intents.size(); i++) {
+                OrderSubmissionResult result = results == null || i >= results.size() ? null : results.get(i);
+                placed[i] = recordPlacement(intents.get(i), result, error);
+            }
+        } finally {
+            if (cancelled != null) {
+                reconcileCancels(replacing, cancelled.join());
             }
+            for (int i = 0; i < intents.size(); i++) {
+                if (!placed[i]) exposureLedger.release(ExposureLedger.micros(intents.get(i).price(), intents.get(i).size()));
+            }
+        }
+    }
 
-            ordersByTokenId.put(tokenId, new OrderState(
-                    orderId, market, tokenId, direction, price, size,
-                    clock.instant(), BigDecimal.ZERO, null, secondsToEnd
-            ));
+    private CompletableFuture<List<OrderSubmissionResult>> submit(List<PlaceIntent> intents) {
+        try {
+            List<LimitOrderRequest> requests = intents.stream()
+                    .map(p -> new LimitOrderRequest(
+                            p.tokenId(), OrderSide.BUY, p.price(), p.size(), ClobOrderType.GTC,
+                            null, null, null, null, null, null, null
+                    ))
+                    .toList();
+            return requests.size() == 1
+                    ? executorApi.placeLimitOrderAsync(requests.get(0)).thenApply(Collections::singletonList)
+                    : executorApi.placeLimitOrdersAsync(requests);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void reconcileCancels(List<PlaceIntent> replacing, List<Throwable> errors) {
+        for (int i = 0; i < replacing.size(); i++) {
+            PlaceIntent p = replacing.get(i);
+            if (ordersByTokenId.remove(p.tokenId(), p.replaced())) settleCancel(p.replaced(), errors.get(i));
+            publishCancelEvent(p.replaced(), p.replacedReason(), p.secondsToEnd(), p.book(), p.otherBook(), errors.get(i));
+        }
+    }
+
+    /**
+     * Track and publish the outcome of one submitted order; true when it was placed.
+     */
+    private boolean recordPlacement(PlaceIntent p, OrderSubmissionResult result, Exception error) {
+        GabagoolMarket market = p.market();
+        OrderState replaced = p.replaced();
+        String reason = replaced == null ? PlaceReason.QUOTE.name() : PlaceReason.REPLACE.name();
+        if (p.placeReason() != null) reason = p.placeReason().name();
+
+        String replacedOrderId = replaced == null ? null : replaced.orderId();
+        BigDecimal replacedPrice = replaced == null ? null : replaced.price();
+        BigDecimal replacedSize = replaced == null ? null : replaced.size();
+        Long replacedAgeMillis = replaced == null ? null : Duration.between(replaced.placedAt(), clock.instant()).toMillis();
 
-            log.info("GABAGOOL: Order placed successfully: {} (direction={}, price={}, size={})",
-                    orderId, direction, price, size);
+        String otherTokenId = p.direction() == Direction.UP ? market.downTokenId() : market.upTokenId();
 
+        if (error != null) {
+            log.error("GABAGOOL: Failed to place order on {}: {}", market.slug(), error.getMessage());
             publishOrderEvent(new OrderLifecycleEvent(
                     "gabagool-directional", runId, "PLACE", reason,
-                    market.slug(), market.marketType(), tokenId, direction.name(),
-                    secondsToEnd, tickSize, true, null,
-                    orderId, price, size, replacedOrderId, replacedPrice, replacedSize,
-                    replacedAgeMillis, null, book, otherTokenId, otherBook
+                    market.slug(), market.marketType(), p.tokenId(), p.direction().name(),
+                    p.secondsToEnd(), p.tickSize(), false, truncateError(error),
+                    null, p.price(), p.size(), replacedOrderId, replacedPrice, replacedSize,
+                    replacedAgeMillis, null, p.book(), otherTokenId, p.otherBook()
             ));
-        } catch (Exception e) {
-            log.error("GABAGOOL: Failed to place order on {}: {}", market.slug(), e.getMessage());
+            return false;
+        }
+
+        String orderId = resolveOrderId(result);
+        if (orderId == null) {
+            String rejection = result == null ? null : firstText(result.clobResponse(), "errorMsg", "error");
+            log.warn("GABAGOOL: Order submission returned null orderId for {}", market.slug());
             publishOrderEvent(new OrderLifecycleEvent(
                     "gabagool-directional", runId, "PLACE", reason,
-                    market.slug(), market.marketType(), tokenId, direction.name(),
-                    secondsToEnd, tickSize, false, truncateError(e),
-                    null, price, size, replacedOrderId, replacedPrice, replacedSize,
-                    replacedAgeMillis, null, book, otherTokenId, otherBook
+                    market.slug(), market.marketType(), p.tokenId(), p.direction().name(),
+                    p.secondsToEnd(), p.tickSize(), false, rejection != null ? rejection : "orderId null",
+                    null, p.price(), p.size(), replacedOrderId, replacedPrice, replacedSize,
+                    replacedAgeMillis, null, p.book(), otherTokenId, p.otherBook()
             ));
+            return false;
         }
+
+        OrderState previous = ordersByTokenId.put(p.tokenId(), new OrderState(
+                orderId, market, p.tokenId(), p.direction(), p.price(), p.size(),
+                clock.instant(), BigDecimal.ZERO, null, p.secondsToEnd()
+        ));
+        exposureLedger.release(ExposureLedger.remainingMicros(previous));
+
+        log.info("GABAGOOL: Order placed successfully: {} (direction={}, price={}, size={})",
+                orderId, p.direction(), p.price(), p.size());
+
+        publishOrderEvent(new OrderLifecycleEvent(
+                "gabagool-directional", runId, "PLACE", reason,
+                market.slug(), market.marketType(), p.tokenId(), p.direction().name(),
+                p.secondsToEnd(), p.tickSize(), true, null,
+                orderId, p.price(), p.size(), replacedOrderId, replacedPrice, replacedSize,
+                replacedAgeMillis, null, p.book(), otherTokenId, p.otherBook()
+        ));
+        return true;
     }
 
     /**
-     * Cancel and replace an existing order if price/size changed.
+     * Decide whether an existing order should be replaced because price/size changed. On {@code REPLACE} the
+     * existing order stays tracked; pass it to {@link #placeOrder} to cancel it alongside the new order.
      */
     public ReplaceDecision maybeReplaceOrder(String tokenId, BigDecimal newPrice, BigDecimal newSize,
                                              GabagoolConfig cfg, CancelReason cancelReason,
@@ -146,19 +261,24 @@ public class OrderManager {
             return ReplaceDecision.SKIP; // Too soon to replace
         }
 
-        boolean samePrice = existing.price() != null && existing.price().compareTo(newPrice) == 0;
-        boolean sameSize = existing.size() != null && existing.size().compareTo(newSize) == 0;
-        if (samePrice && sameSize) {
+        if (replaceReason(existing, newPrice, newSize) == null) {
             return ReplaceDecision.SKIP; // No change needed
         }
+        return ReplaceDecision.REPLACE;
+    }
 
-        CancelReason reason = (!samePrice && !sameSize)
+    /**
+     * Cancel reason for replacing {@code existing} with an order at {@code newPrice}/{@code newSize},
+     * or null when nothing changed.
+     */
+    public static CancelReason replaceReason(OrderState existing, BigDecimal newPrice, BigDecimal newSize) {
+        boolean samePrice = existing.price() != null && existing.price().compareTo(newPrice) == 0;
+        boolean sameSize = existing.size() != null && existing.size().compareTo(newSize) == 0;
+        if (samePrice && sameSize) return null;
+
+        return (!samePrice && !sameSize)
                 ? CancelReason.REPLACE_PRICE_AND_SIZE
                 : (!samePrice ? CancelReason.REPLACE_PRICE : CancelReason.REPLACE_SIZE);
-
-        safeCancel(existing, reason, secondsToEnd, book, otherBook);
-        ordersByTokenId.remove(tokenId);
-        return ReplaceDecision.REPLACE;
     }
 
     /**
@@ -167,7 +287,8 @@ public class OrderManager {
     public void cancelOrder(String tokenId, CancelReason reason, Long secondsToEnd, TopOfBook book, TopOfBook otherBook) {
         if (tokenId == null || tokenId.isBlank()) return;
         OrderState state = ordersByTokenId.remove(tokenId);
-        safeCancel(state, reason, secondsToEnd, book, otherBook);
+        if (state == null) return;
+        settleCancel(state, safeCancel(state, reason, secondsToEnd, book, otherBook));
     }
 
     /**
@@ -183,22 +304,32 @@ public class OrderManager {
      * Cancel all orders (shutdown).
      */
     public void cancelAll(CancelReason reason) {
-        ordersByTokenId.values().forEach(state -> safeCancel(state, reason, null, null, null));
-        ordersByTokenId.clear();
+        ordersByTokenId.forEach((tokenId, state) -> {
+            Throwable error = safeCancel(state, reason, null, null, null);
+            if (ordersByTokenId.remove(tokenId, state)) settleCancel(state, error);
+        });
+        cancelPendingByOrderId.forEach((orderId, state) -> {
+            if (cancelResolved(safeCancel(state, reason, null, null, null))) untrack(cancelPendingByOrderId, orderId, state);
+        });
     }
 
     /**
      * Check pending orders for fills/timeout and invoke callback on fill.
+     * <p>
+     * Runs concurrently with the market workers, so entries are only updated or removed if a worker has not
+     * replaced them in the meantime.
      */
     public void checkPendingOrders(BiConsumer<OrderState, BigDecimal> onFill) {
         Instant now = clock.instant();
+        Duration pollInterval = statusStreamLive.getAsBoolean()
+                ? ORDER_STATUS_RECONCILE_INTERVAL : ORDER_STATUS_POLL_INTERVAL;
 
         for (Map.Entry<String, OrderState> entry : ordersByTokenId.entrySet()) {
             String tokenId = entry.getKey();
             OrderState state = entry.getValue();
             if (state == null) continue;
 
-            refreshOrderStatusIfDue(tokenId, state, now, onFill);
+            refreshOrderStatusIfDue(ordersByTokenId, tokenId, state, now, pollInterval, onFill);
             state = ordersByTokenId.get(tokenId);
             if (state == null) continue;
 
@@ -208,31 +339,50 @@ public class OrderManager {
                         state.orderId(), tokenId, pendingTime.getSeconds());
                 Long secondsToEndNow = state.market() == null ? null
                         : Duration.between(now, state.market().endTime()).getSeconds();
-                safeCancel(state, CancelReason.STALE_TIMEOUT, secondsToEndNow, null, null);
-                ordersByTokenId.remove(tokenId);
+                Throwable error = safeCancel(state, CancelReason.STALE_TIMEOUT, secondsToEndNow, null, null);
+                if (ordersByTokenId.remove(tokenId, state)) settleCancel(state, error);
+            }
+        }
+
+        for (Map.Entry<String, OrderState> entry : cancelPendingByOrderId.entrySet()) {
+            String orderId = entry.getKey();
+            if (!refreshOrderStatusIfDue(cancelPendingByOrderId, orderId, entry.getValue(), now,
+                    ORDER_STATUS_POLL_INTERVAL, onFill)) {
+                continue;
+            }
+            OrderState state = cancelPendingByOrderId.get(orderId);
+            if (state == null) continue; // Filled or cancelled since the failed cancel
+
+            Long secondsToEndNow = state.market() == null ? null
+                    : Duration.between(now, state.market().endTime()).getSeconds();
+            if (cancelResolved(safeCancel(state, CancelReason.CANCEL_RETRY, secondsToEndNow, null, null))) {
+                untrack(cancelPendingByOrderId, orderId, state);
             }
         }
     }
 
-    private void refreshOrderStatusIfDue(String tokenId, OrderState state, Instant now,
-                                         BiConsumer<OrderState, BigDecimal> onFill) {
-        if (state == null || state.orderId() == null || state.orderId().isBlank()) return;
+    /**
+     * Polls {@code state}'s order when its poll is due; false when it was not due.
+     */
+    private boolean refreshOrderStatusIfDue(Map<String, OrderState> orders, String key, OrderState state, Instant now,
+                                            Duration pollInterval, BiConsumer<OrderState, BigDecimal> onFill) {
+        if (state == null || state.orderId() == null || state.orderId().isBlank()) return false;
 
         if (state.lastStatusCheckAt() != null &&
-                Duration.between(state.lastStatusCheckAt(), now).compareTo(ORDER_STATUS_POLL_INTERVAL) < 0) {
-            return;
+                Duration.between(state.lastStatusCheckAt(), now).compareTo(pollInterval) < 0) {
+            return false;
         }
 
         JsonNode order;
         try {
             order = executorApi.getOrder(state.orderId());
         } catch (Exception e) {
-            ordersByTokenId.put(tokenId, new OrderState(
+            orders.replace(key, state, new OrderState(
                     state.orderId(), state.market(), state.tokenId(), state.direction(),
                     state.price(), state.size(), state.placedAt(), state.matchedSize(),
                     now, state.secondsToEndAtEntry()
             ));
-            return;
+            return true;
         }
 
         String status = firstText(order, "status", "state", "order_status", "orderStatus");
@@ -240,43 +390,186 @@ public class OrderManager {
                 "sizeMatched", "filled_size", "filledSize", "size_filled", "sizeFilled");
         BigDecimal remaining = firstDecimal(order, "remaining_size", "remainingSize",
                 "size_remaining", "sizeRemaining");
+        applyStatus(orders, key, state, status, matched, remaining, now, onFill);
+        return true;
+    }
 
+    /**
+     * Applies a status transition pushed by the executor (stream thread).
+     */
+    public void onOrderStatus(String orderId, String status, BigDecimal matched, BigDecimal remaining,
+                              BiConsumer<OrderState, BigDecimal> onFill) {
+        if (orderId == null) return;
+        OrderState pending = cancelPendingByOrderId.get(orderId);
+        if (pending != null) {
+            applyStatus(cancelPendingByOrderId, orderId, pending, status, matched, remaining, clock.instant(), onFill);
+            return;
+        }
+        // Open orders are few (two per active market), so a scan beats maintaining a second index
+        for (Map.Entry<String, OrderState> entry : ordersByTokenId.entrySet()) {
+            OrderState state = entry.getValue();
+            if (state != null && orderId.equals(state.orderId())) {
+                applyStatus(ordersByTokenId, entry.getKey(), state, status, matched, remaining, clock.instant(), onFill);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Makes the next {@link #checkPendingOrders} re-read every open order, e.g. after status pushes were missed.
+     */
+    public void resyncOrderStatus() {
+        resyncOrderStatus(ordersByTokenId);
+        resyncOrderStatus(cancelPendingByOrderId);
+    }
+
+    private static void resyncOrderStatus(Map<String, OrderState> orders) {
+        for (Map.Entry<String, OrderState> entry : orders.entrySet()) {
+            OrderState state = entry.getValue();
+            if (state == null || state.lastStatusCheckAt() == null) continue;
+            orders.replace(entry.getKey(), state, new OrderState(
+                    state.orderId(), state.market(), state.tokenId(), state.direction(),
+                    state.price(), state.size(), state.placedAt(), state.matchedSize(),
+                    null, state.secondsToEndAtEntry()
+            ));
+        }
+    }
+
+    /**
+     * Applies one observation of {@code state}'s order (tracked in {@code orders} under {@code key}), from a poll or a
+     * push. The fill callback only runs if this call won the update, so a poll and a push reporting the same fill
+     * credit it once; matched size never moves backwards.
+     */
+    private void applyStatus(Map<String, OrderState> orders, String key, OrderState state, String status, BigDecimal matched,
+                             BigDecimal remaining, Instant now, BiConsumer<OrderState, BigDecimal> onFill) {
+        BigDecimal prevMatched = state.matchedSize() == null ? BigDecimal.ZERO : state.matchedSize();
+        if (matched != null && matched.compareTo(prevMatched) < 0) {
+            matched = prevMatched;
+            remaining = null;
+        }
         if (remaining == null && matched != null && state.size() != null) {
             remaining = state.size().subtract(matched).max(BigDecimal.ZERO);
         }
 
-        BigDecimal prevMatched = state.matchedSize() == null ? BigDecimal.ZERO : state.matchedSize();
+        BigDecimal delta = null;
         if (matched != null && matched.compareTo(prevMatched) > 0 && state.price() != null) {
-            BigDecimal delta = matched.subtract(prevMatched);
-            if (onFill != null) {
-                onFill.accept(state, delta);
-            }
+            delta = matched.subtract(prevMatched);
         }
 
         if (isTerminalOrderStatus(status, matched, remaining, state.size())) {
-            ordersByTokenId.remove(tokenId);
+            if (!untrack(orders, key, state)) return;
+        } else {
+            OrderState next = new OrderState(
+                    state.orderId(), state.market(), state.tokenId(), state.direction(),
+                    state.price(), state.size(), state.placedAt(),
+                    matched != null ? matched : prevMatched, now, state.secondsToEndAtEntry()
+            );
+            if (!orders.replace(key, state, next)) return;
+            // Filled notional is now inventory
+            exposureLedger.release(ExposureLedger.remainingMicros(state) - ExposureLedger.remainingMicros(next));
+        }
+
+        if (delta != null && onFill != null) {
+            onFill.accept(state, delta);
+        }
+    }
+
+    /**
+     * Stop tracking {@code state} and release its resting notional, unless it was already replaced or removed.
+     */
+    private boolean untrack(Map<String, OrderState> orders, String key, OrderState state) {
+        if (orders.remove(key, state)) {
+            exposureLedger.release(ExposureLedger.remainingMicros(state));
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Finishes a cancel of {@code state}, which the caller already removed from the open orders: its notional is
+     * released if the cancel resolved, otherwise it is kept in the cancel-pending set.
+     */
+    private void settleCancel(OrderState state, Throwable error) {
+        if (cancelResolved(error)) {
+            exposureLedger.release(ExposureLedger.remainingMicros(state));
             return;
         }
+        log.warn("GABAGOOL: Cancel of order {} tokenId={} failed, retrying: {}",
+                state.orderId(), state.tokenId(), error.toString());
+        cancelPendingByOrderId.put(state.orderId(), state);
+    }
 
-        ordersByTokenId.put(tokenId, new OrderState(
-                state.orderId(), state.market(), state.tokenId(), state.direction(),
-                state.price(), state.size(), state.placedAt(),
-                matched != null ? matched : prevMatched, now, state.secondsToEndAtEntry()
-        ));
+    /**
+     * True when nothing is left resting after a cancel: it succeeded, or the order was already matched or cancelled.
+     */
+    private static boolean cancelResolved(Throwable error) {
+        if (error == null) return true;
+        if (!(error instanceof NotCanceledException notCanceled)) return false;
+        String why = notCanceled.reason.toLowerCase(Locale.ROOT);
+        return why.contains("matched") || why.contains("canceled") || why.contains("cancelled")
+                || why.contains("not found") || why.contains("can't be found");
     }
 
-    private void safeCancel(OrderState state, CancelReason reason, Long secondsToEndNow,
-                           TopOfBook book, TopOfBook otherBook) {
-        if (state == null || state.orderId() == null || state.orderId().isBlank()) return;
+    /**
+     * Cancels {@code state} and publishes the outcome; returns the failure, or null on success.
+     */
+    private Throwable safeCancel(OrderState state, CancelReason reason, Long secondsToEndNow,
+                                 TopOfBook book, TopOfBook otherBook) {
+        if (state == null || state.orderId() == null || state.orderId().isBlank()) return null;
+        Throwable error = cancelAsync(state).join();
+        publishCancelEvent(state, reason, secondsToEndNow, book, otherBook, error);
+        return error;
+    }
 
-        boolean success = false;
-        String error = null;
+    /**
+     * Sends the cancel for {@code state}; completes with the failure, or null on success.
+     */
+    private CompletableFuture<Throwable> cancelAsync(OrderState state) {
+        if (state.orderId() == null || state.orderId().isBlank()) {
+            return CompletableFuture.completedFuture(null);
+        }
         try {
-            executorApi.cancelOrder(state.orderId());
-            success = true;
+            return executorApi.cancelOrderAsync(state.orderId())
+                    .handle((resp, e) -> e != null ? ExecutorApiClient.unwrap(e) : notCanceled(resp, state.orderId()));
         } catch (Exception e) {
-            error = truncateError(e);
+            return CompletableFuture.completedFuture(e);
         }
+    }
+
+    /**
+     * Sends the cancels for {@code states} (one batch request when there are several); completes with one failure
+     * (or null) per state, in order.
+     */
+    private CompletableFuture<List<Throwable>> cancelAsync(List<OrderState> states) {
+        if (states.size() == 1) {
+            return cancelAsync(states.get(0)).thenApply(Collections::singletonList);
+        }
+        List<String> orderIds = states.stream().map(OrderState::orderId).toList();
+        CompletableFuture<JsonNode> sent;
+        try {
+            sent = executorApi.cancelOrdersAsync(orderIds);
+        } catch (Exception e) {
+            sent = CompletableFuture.failedFuture(e);
+        }
+        return sent.handle((resp, e) -> {
+            Throwable failure = e == null ? null : ExecutorApiClient.unwrap(e);
+            List<Throwable> errors = new ArrayList<>(orderIds.size());
+            for (String orderId : orderIds) {
+                errors.add(failure != null ? failure : notCanceled(resp, orderId));
+            }
+            return errors;
+        });
+    }
+
+    private static NotCanceledException notCanceled(JsonNode cancelResponse, String orderId) {
+        JsonNode notCanceled = cancelResponse == null ? null : cancelResponse.get("not_canceled");
+        JsonNode why = notCanceled == null || orderId == null ? null : notCanceled.get(orderId);
+        return why == null ? null : new NotCanceledException(why.asText());
+    }
+
+    private void publishCancelEvent(OrderState state, CancelReason reason, Long secondsToEndNow,
+                                    TopOfBook book, TopOfBook otherBook, Throwable error) {
+        if (state.orderId() == null || state.orderId().isBlank()) return;
 
         String otherTokenId = null;
         if (state.market() != null && state.direction() != null) {
@@ -289,7 +582,7 @@ public class OrderManager {
                 state.market() == null ? null : state.market().slug(),
                 state.market() == null ? null : state.market().marketType(),
                 state.tokenId(), state.direction() == null ? null : state.direction().name(),
-                secondsToEndNow, null, success, error,
+                secondsToEndNow, null, error == null, truncateError(error),
                 state.orderId(), state.price(), state.size(), null, null, null, null,
                 Duration.between(state.placedAt(), clock.instant()).toMillis(),
                 book, otherTokenId, otherBook
@@ -364,6 +657,36 @@ public class OrderManager {
         return s.length() <= ERROR_MAX_LEN ? s : s.substring(0, ERROR_MAX_LEN) + "...";
     }
 
+    /**
+     * The CLOB refused to cancel an order, with its stated reason.
+     */
+    private static final class NotCanceledException extends IllegalStateException {
+        private final String reason;
+
+        private NotCanceledException(String reason) {
+            super("not canceled: " + reason);
+            this.reason = reason == null ? "" : reason;
+        }
+    }
+
+    /**
+     * One order to place; see {@link #placeOrder} for the fields.
+     */
+    public record PlaceIntent(
+            GabagoolMarket market,
+            String tokenId,
+            Direction direction,
+            BigDecimal price,
+            BigDecimal size,
+            long secondsToEnd,
+            BigDecimal tickSize,
+            TopOfBook book,
+            TopOfBook otherBook,
+            OrderState replaced,
+            CancelReason replacedReason,
+            PlaceReason placeReason
+    ) {}
+
     public enum PlaceReason {
         QUOTE, REPLACE, TOP_UP, FAST_TOP_UP, TAKER
     }
@@ -375,6 +698,6 @@ public class OrderManager {
     public enum CancelReason {
         BOOK_STALE, OUTSIDE_TIME_WINDOW, OUTSIDE_LIFETIME,
         REPLACE_PRICE, REPLACE_SIZE, REPLACE_PRICE_AND_SIZE,
-        STALE_TIMEOUT, SHUTDOWN, INSUFFICIENT_EDGE
+        STALE_TIMEOUT, SHUTDOWN, INSUFFICIENT_EDGE, CANCEL_RETRY
     }
 }
@@ -10,6 +10,8 @@ import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,6 +27,7 @@ public class PositionTracker {
     private static final Duration CACHE_TTL = Duration.ofSeconds(5);
 
     private final ExecutorApiClient executorApi;
+    private final ExposureLedger exposureLedger;
     private final Clock clock;
 
     private final AtomicReference<PositionsCache> positionsCache = new AtomicReference<>(
@@ -35,8 +38,9 @@ public class PositionTracker {
     private final Map<String, BigDecimal> fillsSinceRefresh = new ConcurrentHashMap<>();
     private final AtomicReference<BigDecimal> fillsNotionalSinceRefresh = new AtomicReference<>(BigDecimal.ZERO);
 
-    public PositionTracker(ExecutorApiClient executorApi, Clock clock) {
+    public PositionTracker(ExecutorApiClient executorApi, ExposureLedger exposureLedger, Clock clock) {
         this.executorApi = executorApi;
+        this.exposureLedger = exposureLedger;
         this.clock = clock;
     }
 
@@ -85,12 +89,25 @@ public class PositionTracker {
 
             inventoryByMarket.compute(market.slug(), (k, prev) -> {
                 MarketInventory current = prev == null ? MarketInventory.empty() : prev;
-                return new MarketInventory(
+                return track(k, new MarketInventory(
                         upShares, downShares,
                         current.lastUpFillAt(), current.lastDownFillAt(),
                         current.lastUpFillPrice(), current.lastDownFillPrice(),
                         current.lastTopUpAt()
-                );
+                ));
+            });
+        }
+    }
+
+    /**
+     * Drop the inventory of markets no longer tracked, so their unhedged shares stop counting against the exposure cap.
+     */
+    public void retainMarkets(Collection<String> marketSlugs) {
+        for (String slug : inventoryByMarket.keySet()) {
+            if (marketSlugs.contains(slug)) continue;
+            inventoryByMarket.computeIfPresent(slug, (k, inv) -> {
+                exposureLedger.removeMarket(k);
+                return null;
             });
         }
     }
@@ -109,9 +126,9 @@ public class PositionTracker {
         Instant now = clock.instant();
         inventoryByMarket.compute(marketSlug, (k, inv) -> {
             MarketInventory current = inv == null ? MarketInventory.empty() : inv;
-            return isUp
+            return track(k, isUp
                     ? current.addUp(shares, now, price)
-                    : current.addDown(shares, now, price);
+                    : current.addDown(shares, now, price));
         });
     }
 
@@ -133,6 +150,18 @@ public class PositionTracker {
         return Map.copyOf(inventoryByMarket);
     }
 
+    /**
+     * Live read-only view of all inventories (no copy).
+     */
+    public Collection<MarketInventory> inventoriesView() {
+        return Collections.unmodifiableCollection(inventoryByMarket.values());
+    }
+
+    private MarketInventory track(String marketSlug, MarketInventory inv) {
+        exposureLedger.updateInventory(marketSlug, inv);
+        return inv;
+    }
+
     private PositionsCache fetchPositions(Instant now) {
         int limit = 200;
         int maxOffset = 2_000;
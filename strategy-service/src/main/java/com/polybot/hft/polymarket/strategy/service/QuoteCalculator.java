@@ -1,22 +1,25 @@
 package com.polybot.hft.polymarket.strategy.service;
 
 import com.polybot.hft.config.HftProperties;
+import com.polybot.hft.domain.FixedPoint;
 import com.polybot.hft.polymarket.strategy.config.GabagoolConfig;
 import com.polybot.hft.polymarket.strategy.model.GabagoolMarket;
 import com.polybot.hft.polymarket.strategy.model.MarketInventory;
-import com.polybot.hft.polymarket.strategy.model.OrderState;
-import com.polybot.hft.polymarket.ws.TopOfBook;
+import com.polybot.hft.polymarket.ws.TickTopOfBookStore;
 import com.polybot.hft.strategy.metrics.StrategyMetricsService;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.Map;
 
 /**
  * Calculates quote prices and order sizes for the Gabagool strategy.
  */
 public class QuoteCalculator {
 
+    private static final int WIDE_SPREAD_TICKS = FixedPoint.ceilTicks(0.06);
+    private static final int MIN_PRICE_TICKS = FixedPoint.ceilTicks(0.01);
+    private static final int MAX_PRICE_TICKS = FixedPoint.floorTicks(0.99);
+
     private final BankrollService bankrollService;
     private final HftProperties properties;
     private final StrategyMetricsService metricsService;
@@ -29,36 +32,38 @@ public class QuoteCalculator {
 
     /**
      * Calculate maker entry price with inventory skew adjustment.
+     * Prices are {@link FixedPoint} price ticks; returns {@link FixedPoint#NONE} when there is no sane quote.
      */
-    public BigDecimal calculateEntryPrice(TopOfBook book, BigDecimal tickSize, GabagoolConfig cfg, int skewTicks) {
-        BigDecimal bestBid = book.bestBid();
-        BigDecimal bestAsk = book.bestAsk();
+    public int calculateEntryPriceTicks(TickTopOfBookStore.Snapshot book, int tickSizeTicks, GabagoolConfig cfg, int skewTicks) {
+        int bestBid = book.bestBidTicks();
+        int bestAsk = book.bestAskTicks();
 
-        if (bestBid == null || bestAsk == null) return null;
+        if (bestBid == FixedPoint.NONE || bestAsk == FixedPoint.NONE || tickSizeTicks <= 0) return FixedPoint.NONE;
 
-        BigDecimal mid = bestBid.add(bestAsk).divide(BigDecimal.valueOf(2), 4, RoundingMode.HALF_UP);
-        BigDecimal spread = bestAsk.subtract(bestBid);
+        // Work in half ticks so the mid stays exact
+        int mid2 = bestBid + bestAsk;
+        int spread = bestAsk - bestBid;
 
         int effectiveImproveTicks = cfg.improveTicks() + skewTicks;
 
-        BigDecimal entryPrice;
-        if (spread.compareTo(BigDecimal.valueOf(0.06)) >= 0) {
+        int entry2;
+        if (spread >= WIDE_SPREAD_TICKS) {
             // Wide book (6+ ticks) - quote near mid, as target does
-            entryPrice = mid.subtract(tickSize.multiply(BigDecimal.valueOf(Math.max(0, cfg.improveTicks() - skewTicks))));
+            entry2 = mid2 - 2 * tickSizeTicks * Math.max(0, cfg.improveTicks() - skewTicks);
         } else {
             // Tight/normal book - improve bid
-            BigDecimal improvedBid = bestBid.add(tickSize.multiply(BigDecimal.valueOf(effectiveImproveTicks)));
-            entryPrice = improvedBid.min(mid);
+            entry2 = Math.min(2 * (bestBid + tickSizeTicks * effectiveImproveTicks), mid2);
         }
 
-        entryPrice = roundToTick(entryPrice, tickSize, RoundingMode.DOWN);
+        // Round down to the tick (toward zero, like RoundingMode.DOWN)
+        int entryPrice = (entry2 / (2 * tickSizeTicks)) * tickSizeTicks;
 
         // Sanity checks
-        if (entryPrice.compareTo(BigDecimal.valueOf(0.01)) < 0) return null;
-        if (entryPrice.compareTo(BigDecimal.valueOf(0.99)) > 0) return null;
-        if (entryPrice.compareTo(bestAsk) >= 0) {
-            entryPrice = bestAsk.subtract(tickSize);
-            if (entryPrice.compareTo(BigDecimal.valueOf(0.01)) < 0) return null;
+        if (entryPrice < MIN_PRICE_TICKS) return FixedPoint.NONE;
+        if (entryPrice > MAX_PRICE_TICKS) return FixedPoint.NONE;
+        if (entryPrice >= bestAsk) {
+            entryPrice = bestAsk - tickSizeTicks;
+            if (entryPrice < MIN_PRICE_TICKS) return FixedPoint.NONE;
         }
 
         return entryPrice;
@@ -112,22 +117,22 @@ public class QuoteCalculator {
      * Calculate inventory skew ticks.
      */
     public int[] calculateSkewTicks(MarketInventory inv, GabagoolConfig cfg) {
-        BigDecimal imbalance = inv.imbalance();
+        long imbalance = imbalanceCentiShares(inv);
         int skewTicksUp = 0;
         int skewTicksDown = 0;
 
-        BigDecimal imbalanceForMax = cfg.completeSetImbalanceSharesForMaxSkew();
+        long imbalanceForMax = FixedPoint.centiShares(cfg.completeSetImbalanceSharesForMaxSkew());
         int maxSkew = cfg.completeSetMaxSkewTicks();
 
-        if (imbalanceForMax.compareTo(BigDecimal.ZERO) > 0 && maxSkew > 0) {
-            double skewRatio = Math.min(1.0, Math.abs(imbalance.doubleValue()) / imbalanceForMax.doubleValue());
+        if (imbalanceForMax > 0 && maxSkew > 0) {
+            double skewRatio = Math.min(1.0, (double) Math.abs(imbalance) / imbalanceForMax);
             int skewTicks = (int) Math.round(skewRatio * maxSkew);
 
-            if (imbalance.compareTo(BigDecimal.ZERO) > 0) {
+            if (imbalance > 0) {
                 // More UP → improve DOWN, penalize UP
                 skewTicksDown = skewTicks;
                 skewTicksUp = -skewTicks;
-            } else if (imbalance.compareTo(BigDecimal.ZERO) < 0) {
+            } else if (imbalance < 0) {
                 // More DOWN → improve UP, penalize DOWN
                 skewTicksUp = skewTicks;
                 skewTicksDown = -skewTicks;
@@ -138,38 +143,29 @@ public class QuoteCalculator {
     }
 
     /**
-     * Calculate current exposure (only unhedged positions).
+     * Total exposure cap ({@code maxTotalBankrollFraction} of the effective bankroll) in micro-USD,
+     * or {@link ExposureLedger#NO_CAP} when disabled.
      */
-    public BigDecimal calculateExposure(Map<String, OrderState> openOrders, Map<String, MarketInventory> inventories) {
-        BigDecimal openOrdersNotional = BigDecimal.ZERO;
-        for (OrderState o : openOrders.values()) {
-            if (o == null || o.price() == null || o.size() == null) continue;
-            BigDecimal matched = o.matchedSize() == null ? BigDecimal.ZERO : o.matchedSize();
-            BigDecimal remaining = o.size().subtract(matched).max(BigDecimal.ZERO);
-            openOrdersNotional = openOrdersNotional.add(o.price().multiply(remaining));
-        }
-
-        BigDecimal unhedgedNotional = BigDecimal.ZERO;
-        for (MarketInventory inv : inventories.values()) {
-            if (inv == null) continue;
-            BigDecimal imbalance = inv.imbalance().abs();
-            if (imbalance.compareTo(BigDecimal.ZERO) > 0) {
-                unhedgedNotional = unhedgedNotional.add(imbalance.multiply(BigDecimal.valueOf(0.50)));
-            }
-        }
-
-        BigDecimal total = openOrdersNotional.add(unhedgedNotional);
-        metricsService.updateTotalExposure(total);
-        return total;
+    public long exposureCapMicros(GabagoolConfig cfg) {
+        if (cfg.maxTotalBankrollFraction() <= 0) return ExposureLedger.NO_CAP;
+        BigDecimal bankrollUsd = bankrollService.resolveEffective(cfg);
+        if (bankrollUsd == null || bankrollUsd.compareTo(BigDecimal.ZERO) <= 0) return ExposureLedger.NO_CAP;
+        return ExposureLedger.fromUsd(bankrollUsd.multiply(BigDecimal.valueOf(cfg.maxTotalBankrollFraction())));
     }
 
     /**
      * Check if complete-set edge is sufficient.
      */
-    public boolean hasMinimumEdge(BigDecimal upPrice, BigDecimal downPrice, GabagoolConfig cfg) {
-        BigDecimal cost = upPrice.add(downPrice);
-        BigDecimal edge = BigDecimal.ONE.subtract(cost);
-        return edge.compareTo(BigDecimal.valueOf(cfg.completeSetMinEdge())) >= 0;
+    public boolean hasMinimumEdge(int upPriceTicks, int downPriceTicks, GabagoolConfig cfg) {
+        int edge = FixedPoint.TICKS_PER_UNIT - (upPriceTicks + downPriceTicks);
+        return edge >= cfg.completeSetMinEdgeTicks();
+    }
+
+    /**
+     * UP minus DOWN shares in centi-shares (no {@link BigDecimal} allocation).
+     */
+    public static long imbalanceCentiShares(MarketInventory inv) {
+        return FixedPoint.signedCentiShares(inv.upShares()) - FixedPoint.signedCentiShares(inv.downShares());
     }
 
     private BigDecimal calculateNotional(GabagoolConfig cfg, BigDecimal currentExposure) {
@@ -250,10 +246,4 @@ public class QuoteCalculator {
         }
         return null;
     }
-
-    public static BigDecimal roundToTick(BigDecimal value, BigDecimal tickSize, RoundingMode mode) {
-        if (tickSize.compareTo(BigDecimal.ZERO) <= 0) return value;
-        BigDecimal ticks = value.divide(tickSize, 0, mode);
-        return ticks.multiply(tickSize);
-    }
 }
@@ -4,13 +4,21 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.polybot.hft.config.HftProperties;
 import com.polybot.hft.domain.HftHeaders;
+import com.polybot.hft.polymarket.api.BatchCancelOrderRequest;
+import com.polybot.hft.polymarket.api.BatchLimitOrderRequest;
+import com.polybot.hft.polymarket.api.ExecutorGateway;
+import com.polybot.hft.polymarket.api.TokenMetadataWarmUpRequest;
 import com.polybot.hft.polymarket.api.PolymarketAccountResponse;
 import com.polybot.hft.polymarket.api.PolymarketBankrollResponse;
 import com.polybot.hft.polymarket.api.LimitOrderRequest;
 import com.polybot.hft.polymarket.api.OrderSubmissionResult;
 import com.polybot.hft.polymarket.data.PolymarketPosition;
 import com.polybot.hft.polymarket.http.HttpRequestFactory;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -19,10 +27,25 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
+/**
+ * The strategy's client for the executor: JSON over HTTP at {@code hft.executor.base-url}, or, when the strategy runs
+ * inside the executor JVM and {@link HftProperties.Executor#inProcess()} is set, direct calls to its
+ * {@link ExecutorGateway} (no encoding, HTTP or servlet dispatch). The live-trading acknowledgement that the executor's
+ * HTTP filter enforces is checked here for in-process order calls. The order-status stream stays on HTTP either way.
+ */
 @Component
+@Slf4j
 @RequiredArgsConstructor
 public class ExecutorApiClient {
 
@@ -31,6 +54,38 @@ public class ExecutorApiClient {
   private final HftProperties properties;
   private final HttpClient httpClient;
   private final ObjectMapper objectMapper;
+  private final ObjectProvider<ExecutorGateway> inProcessGateway;
+
+  // Runs in-process calls off the caller's thread, as the HTTP client does for async requests
+  private final ExecutorService inProcessPool = Executors.newCachedThreadPool(r -> {
+    Thread t = new Thread(r, "executor-in-process");
+    t.setDaemon(true);
+    return t;
+  });
+
+  private volatile HttpRequestFactory requestFactory;
+  private volatile ExecutorGateway inProcess;
+
+  @PostConstruct
+  public void resolveTransport() {
+    ExecutorGateway gateway = properties.executor().inProcess() ? inProcessGateway.getIfAvailable() : null;
+    inProcess = gateway;
+    if (gateway != null) {
+      log.info("Executor calls are in-process ({})", gateway.getClass().getSimpleName());
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    inProcessPool.shutdownNow();
+  }
+
+  /**
+   * True when calls go straight to a co-located executor rather than over HTTP.
+   */
+  public boolean isInProcess() {
+    return inProcess != null;
+  }
 
   private static String truncate(String s) {
     if (s == null) {
@@ -40,37 +95,153 @@ public class ExecutorApiClient {
   }
 
   public BigDecimal getTickSize(String tokenId) {
+    ExecutorGateway gateway = inProcess;
+    if (gateway != null) {
+      return gateway.getTickSize(tokenId);
+    }
     String path = "/api/polymarket/tick-size/" + tokenId;
     HttpRequest request = baseRequest(path, Map.of()).GET().timeout(HTTP_TIMEOUT).header("Accept", "application/json").build();
     return sendJson(request, BigDecimal.class);
   }
 
+  /**
+   * Asks the executor to prefetch order metadata (tick size, neg-risk, fee rate) for the given tokens.
+   */
+  public CompletableFuture<Void> warmTokenMetadataAsync(List<String> tokenIds) {
+    ExecutorGateway gateway = inProcess;
+    if (gateway != null) {
+      return callAsync(() -> {
+        gateway.warmTokenMetadata(tokenIds);
+        return null;
+      });
+    }
+    String path = "/api/polymarket/token-metadata/warm";
+    String body = writeJson(new TokenMetadataWarmUpRequest(tokenIds));
+    HttpRequest request = baseRequest(path, Map.of()).POST(HttpRequest.BodyPublishers.ofString(body)).timeout(HTTP_TIMEOUT).header("Content-Type", "application/json").build();
+    return sendStringAsync(request).thenApply(b -> null);
+  }
+
   public OrderSubmissionResult placeLimitOrder(LimitOrderRequest requestBody) {
+    return await(placeLimitOrderAsync(requestBody));
+  }
+
+  /**
+   * Non-blocking {@link #placeLimitOrder}; the future fails with the same exceptions the blocking call throws.
+   */
+  public CompletableFuture<OrderSubmissionResult> placeLimitOrderAsync(LimitOrderRequest requestBody) {
+    ExecutorGateway gateway = inProcess;
+    if (gateway != null) {
+      return callAsync(() -> {
+        requireLiveAck();
+        return gateway.placeLimitOrder(requestBody);
+      });
+    }
     String path = "/api/polymarket/orders/limit";
     String body = writeJson(requestBody);
     HttpRequest request = baseRequest(path, Map.of()).POST(HttpRequest.BodyPublishers.ofString(body)).timeout(HTTP_TIMEOUT).header("Content-Type", "application/json").header("Accept", "application/json").build();
-    return sendJson(request, OrderSubmissionResult.class);
+    return sendJsonAsync(request, OrderSubmissionResult.class);
+  }
+
+  /**
+   * Places up to {@link BatchLimitOrderRequest#MAX_ORDERS} limit orders in one executor (and CLOB) request;
+   * results are in request order.
+   */
+  public CompletableFuture<List<OrderSubmissionResult>> placeLimitOrdersAsync(List<LimitOrderRequest> requests) {
+    ExecutorGateway gateway = inProcess;
+    if (gateway != null) {
+      return callAsync(() -> {
+        requireLiveAck();
+        return gateway.placeLimitOrders(requests);
+      });
+    }
+    String path = "/api/polymarket/orders/batch";
+    String body = writeJson(new BatchLimitOrderRequest(requests));
+    HttpRequest request = baseRequest(path, Map.of()).POST(HttpRequest.BodyPublishers.ofString(body)).timeout(HTTP_TIMEOUT).header("Content-Type", "application/json").header("Accept", "application/json").build();
+    return sendJsonAsync(request, OrderSubmissionResult[].class).thenApply(Arrays::asList);
   }
 
   public void cancelOrder(String orderId) {
+    await(cancelOrderAsync(orderId));
+  }
+
+  /**
+   * Cancels one order; like {@link #cancelOrdersAsync}, the CLOB response lists it under {@code canceled} or
+   * {@code not_canceled}.
+   */
+  public CompletableFuture<JsonNode> cancelOrderAsync(String orderId) {
+    ExecutorGateway gateway = inProcess;
+    if (gateway != null) {
+      return callAsync(() -> {
+        requireLiveAck();
+        return gateway.cancelOrder(orderId);
+      });
+    }
     String path = "/api/polymarket/orders/" + orderId;
     HttpRequest request = baseRequest(path, Map.of()).DELETE().timeout(HTTP_TIMEOUT).header("Accept", "application/json").build();
-    sendString(request);
+    return sendJsonAsync(request, JsonNode.class);
+  }
+
+  /**
+   * Cancels several orders in one request; the response lists {@code canceled} ids and {@code not_canceled} reasons.
+   */
+  public CompletableFuture<JsonNode> cancelOrdersAsync(List<String> orderIds) {
+    ExecutorGateway gateway = inProcess;
+    if (gateway != null) {
+      return callAsync(() -> {
+        requireLiveAck();
+        return gateway.cancelOrders(orderIds);
+      });
+    }
+    String path = "/api/polymarket/orders/cancel-batch";
+    String body = writeJson(new BatchCancelOrderRequest(orderIds));
+    HttpRequest request = baseRequest(path, Map.of()).POST(HttpRequest.BodyPublishers.ofString(body)).timeout(HTTP_TIMEOUT).header("Content-Type", "application/json").header("Accept", "application/json").build();
+    return sendJsonAsync(request, JsonNode.class);
   }
 
   public JsonNode getOrder(String orderId) {
+    return await(getOrderAsync(orderId));
+  }
+
+  public CompletableFuture<JsonNode> getOrderAsync(String orderId) {
+    ExecutorGateway gateway = inProcess;
+    if (gateway != null) {
+      return callAsync(() -> gateway.getOrder(orderId));
+    }
     String path = "/api/polymarket/orders/" + orderId;
     HttpRequest request = baseRequest(path, Map.of()).GET().timeout(HTTP_TIMEOUT).header("Accept", "application/json").build();
-    return sendJson(request, JsonNode.class);
+    return sendJsonAsync(request, JsonNode.class);
+  }
+
+  /**
+   * Opens the executor's server-sent order-status stream; the response body yields raw SSE lines until the stream
+   * ends. No request timeout applies.
+   */
+  public CompletableFuture<HttpResponse<Stream<String>>> openOrderStatusStreamAsync(String epoch, Long since) {
+    String path = "/api/polymarket/orders/status-stream";
+    Map<String, String> query = new LinkedHashMap<>();
+    if (epoch != null && since != null) {
+      query.put("epoch", epoch);
+      query.put("since", Long.toString(since));
+    }
+    HttpRequest request = baseRequest(path, query).GET().header("Accept", "text/event-stream").build();
+    return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofLines());
   }
 
   public PolymarketAccountResponse getAccount() {
+    ExecutorGateway gateway = inProcess;
+    if (gateway != null) {
+      return gateway.getAccount();
+    }
     String path = "/api/polymarket/account";
     HttpRequest request = baseRequest(path, Map.of()).GET().timeout(HTTP_TIMEOUT).header("Accept", "application/json").build();
     return sendJson(request, PolymarketAccountResponse.class);
   }
 
   public PolymarketBankrollResponse getBankroll() {
+    ExecutorGateway gateway = inProcess;
+    if (gateway != null) {
+      return gateway.getBankroll();
+    }
     String path = "/api/polymarket/bankroll";
     HttpRequest request = baseRequest(path, Map.of()).GET().timeout(HTTP_TIMEOUT).header("Accept", "application/json").build();
     return sendJson(request, PolymarketBankrollResponse.class);
@@ -81,6 +252,10 @@ public class ExecutorApiClient {
   }
 
   public PolymarketPosition[] getPositions(String user, int limit, int offset) {
+    ExecutorGateway gateway = inProcess;
+    if (gateway != null) {
+      return gateway.getPositions(user, Math.max(1, limit), Math.max(0, offset));
+    }
     String path = "/api/polymarket/positions";
     Map<String, String> query = new LinkedHashMap<>();
     if (user != null && !user.isBlank()) {
@@ -93,6 +268,19 @@ public class ExecutorApiClient {
     return sendJson(request, PolymarketPosition[].class);
   }
 
+  private <T> CompletableFuture<T> callAsync(Supplier<T> call) {
+    return CompletableFuture.supplyAsync(call, inProcessPool);
+  }
+
+  /**
+   * Same rule as the executor's {@code LiveTradingGuardFilter}, which in-process calls do not pass through.
+   */
+  private void requireLiveAck() {
+    if (properties.mode() == HftProperties.TradingMode.LIVE && !Boolean.TRUE.equals(properties.executor().sendLiveAck())) {
+      throw new IllegalStateException("Refusing LIVE trading request without " + HftHeaders.LIVE_ACK + ": true");
+    }
+  }
+
   private HttpRequest.Builder baseRequest(String path, Map<String, String> query) {
     HttpRequest.Builder builder = requestFactory().request(path, query);
     if (Boolean.TRUE.equals(properties.executor().sendLiveAck())) {
@@ -102,11 +290,52 @@ public class ExecutorApiClient {
   }
 
   private HttpRequestFactory requestFactory() {
-    return new HttpRequestFactory(URI.create(properties.executor().baseUrl()));
+    HttpRequestFactory factory = requestFactory;
+    if (factory == null) {
+      factory = new HttpRequestFactory(URI.create(properties.executor().baseUrl()));
+      requestFactory = factory;
+    }
+    return factory;
+  }
+
+  /**
+   * Waits for {@code future}, rethrowing its failure unwrapped (as the blocking calls always have).
+   */
+  public static <T> T await(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      throw unwrap(e) instanceof RuntimeException re ? re : e;
+    }
+  }
+
+  /**
+   * The failure behind a {@link CompletionException}, as seen by {@code handle}/{@code whenComplete} callbacks.
+   */
+  public static Throwable unwrap(Throwable t) {
+    return t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+  }
+
+  private <T> CompletableFuture<T> sendJsonAsync(HttpRequest request, Class<T> type) {
+    return sendStringAsync(request).thenApply(body -> decodeJson(request, body, type));
+  }
+
+  private CompletableFuture<String> sendStringAsync(HttpRequest request) {
+    return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+        .handle((response, error) -> {
+          if (error != null) {
+            Throwable cause = unwrap(error);
+            throw cause instanceof RuntimeException re ? re : new RuntimeException("Executor request failed: " + request.uri(), cause);
+          }
+          return checkStatus(request, response);
+        });
   }
 
   private <T> T sendJson(HttpRequest request, Class<T> type) {
-    String body = sendString(request);
+    return decodeJson(request, sendString(request), type);
+  }
+
+  private <T> T decodeJson(HttpRequest request, String body, Class<T> type) {
     try {
       return objectMapper.readValue(body, type);
     } catch (Exception e) {
@@ -116,11 +345,7 @@ public class ExecutorApiClient {
 
   private String sendString(HttpRequest request) {
     try {
-      HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-      if (response.statusCode() >= 200 && response.statusCode() < 300) {
-        return response.body();
-      }
-      throw new RuntimeException("HTTP " + response.statusCode() + " from " + request.method() + " " + request.uri() + ": " + truncate(response.body()));
+      return checkStatus(request, httpClient.send(request, HttpResponse.BodyHandlers.ofString()));
     } catch (Exception e) {
       if (e instanceof RuntimeException re) {
         throw re;
@@ -129,6 +354,13 @@ public class ExecutorApiClient {
     }
   }
 
+  private static String checkStatus(HttpRequest request, HttpResponse<String> response) {
+    if (response.statusCode() >= 200 && response.statusCode() < 300) {
+      return response.body();
+    }
+    throw new RuntimeException("HTTP " + response.statusCode() + " from " + request.method() + " " + request.uri() + ": " + truncate(response.body()));
+  }
+
   private String writeJson(Object value) {
     try {
       return objectMapper.writeValueAsString(value);
@@ -0,0 +1,270 @@
+package com.polybot.hft.strategy.executor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.polybot.hft.config.HftProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.net.http.HttpResponse;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Follows the executor's {@code /orders/status-stream} (server-sent events) and hands each order status transition
+ * to {@link Listener}s, replacing per-order status polling.
+ * <p>
+ * Reconnects resume from the last sequence seen. When the executor cannot resume (it restarted, or the gap is too
+ * large) {@link Listener#onResync()} is called so open orders are re-read once. Keepalives arrive every 15s; a
+ * stream silent for {@value #STALE_MILLIS}ms is dropped and reopened.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ExecutorOrderStatusStream {
+
+  private static final long STALE_MILLIS = 45_000L;
+  private static final long RECONNECT_BACKOFF_MILLIS = 1_000L;
+  private static final long MAX_RECONNECT_BACKOFF_MILLIS = 15_000L;
+
+  private final @NonNull HftProperties properties;
+  private final @NonNull ExecutorApiClient executorApi;
+  private final @NonNull ObjectMapper objectMapper;
+
+  private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+  private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+    Thread t = new Thread(r, "executor-order-status-watchdog");
+    t.setDaemon(true);
+    return t;
+  });
+
+  private volatile Thread reader;
+  private volatile Stream<String> current;
+  private volatile boolean live;
+  private volatile boolean stopped;
+  private volatile long lastLineAtMillis;
+  private String epoch;
+  private Long lastSeq;
+
+  public void addListener(Listener listener) {
+    if (listener != null) {
+      listeners.add(listener);
+    }
+  }
+
+  /**
+   * Starts following the stream unless disabled by {@code hft.executor.order-status-stream-enabled}.
+   */
+  public synchronized void start() {
+    if (!properties.executor().orderStatusStreamEnabled() || reader != null) {
+      return;
+    }
+    Thread t = new Thread(this::run, "executor-order-status-stream");
+    t.setDaemon(true);
+    reader = t;
+    t.start();
+    watchdog.scheduleAtFixedRate(this::dropIfStale, 5, 5, TimeUnit.SECONDS);
+  }
+
+  /**
+   * True while the stream is connected and has been heard from recently.
+   */
+  public boolean isLive() {
+    return live && System.currentTimeMillis() - lastLineAtMillis <= STALE_MILLIS;
+  }
+
+  @PreDestroy
+  void shutdown() {
+    stopped = true;
+    watchdog.shutdownNow();
+    closeCurrent();
+    Thread t = reader;
+    if (t != null) {
+      t.interrupt();
+    }
+  }
+
+  private void run() {
+    long backoffMillis = RECONNECT_BACKOFF_MILLIS;
+    while (!stopped) {
+      try {
+        if (follow()) {
+          backoffMillis = RECONNECT_BACKOFF_MILLIS;
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (Exception e) {
+        log.debug("Order status stream failed: {}", e.toString());
+      }
+      live = false;
+      if (stopped) {
+        return;
+      }
+      try {
+        Thread.sleep(backoffMillis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      backoffMillis = Math.min(MAX_RECONNECT_BACKOFF_MILLIS, backoffMillis * 2);
+    }
+  }
+
+  /**
+   * Reads one connection until it ends; returns whether it got as far as the {@code hello} event.
+   */
+  private boolean follow() throws Exception {
+    HttpResponse<Stream<String>> response = executorApi.openOrderStatusStreamAsync(epoch, lastSeq)
+        .get(10, TimeUnit.SECONDS);
+    if (response.statusCode() != 200) {
+      response.body().close();
+      log.warn("Order status stream rejected (HTTP {})", response.statusCode());
+      return false;
+    }
+    boolean greeted = false;
+    try (Stream<String> lines = response.body()) {
+      current = lines;
+      lastLineAtMillis = System.currentTimeMillis();
+      String event = null;
+      String id = null;
+      StringBuilder data = new StringBuilder();
+      Iterator<String> it = lines.iterator();
+      while (!stopped && it.hasNext()) {
+        String line = it.next();
+        lastLineAtMillis = System.currentTimeMillis();
+        if (line.isEmpty()) {
+          if (data.length() > 0) {
+            greeted |= dispatch(event, id, data.toString());
+          }
+          event = null;
+          id = null;
+          data.setLength(0);
+        } else if (line.startsWith("event:")) {
+          event = line.substring(6).trim();
+        } else if (line.startsWith("id:")) {
+          id = line.substring(3).trim();
+        } else if (line.startsWith("data:")) {
+          if (data.length() > 0) {
+            data.append('\n');
+          }
+          data.append(line.substring(5).trim());
+        }
+      }
+    } finally {
+      current = null;
+      live = false;
+    }
+    if (!stopped) {
+      log.warn("Order status stream ended; reconnecting (lastSeq={})", lastSeq);
+    }
+    return greeted;
+  }
+
+  private boolean dispatch(String event, String id, String data) throws Exception {
+    JsonNode node = objectMapper.readTree(data);
+    if ("hello".equals(event)) {
+      boolean resumed = node.path("resumed").asBoolean(false);
+      epoch = node.path("epoch").asText(null);
+      lastSeq = node.path("seq").asLong();
+      live = true;
+      log.info("Order status stream connected (resumed={}, seq={})", resumed, lastSeq);
+      if (!resumed) {
+        for (Listener listener : listeners) {
+          listener.onResync();
+        }
+      }
+      return true;
+    }
+    if (!"order-status".equals(event)) {
+      return false;
+    }
+    OrderStatusUpdate update = new OrderStatusUpdate(
+        node.path("orderId").asText(null),
+        node.path("exchangeStatus").asText(null),
+        decimal(node.get("matchedSize")),
+        decimal(node.get("remainingSize")),
+        node.path("error").asText(null)
+    );
+    if (id != null) {
+      lastSeq = Long.parseLong(id);
+    }
+    if (update.orderId() == null) {
+      return false;
+    }
+    for (Listener listener : listeners) {
+      try {
+        listener.onOrderStatus(update);
+      } catch (Exception e) {
+        log.warn("Order status listener failed for {}: {}", update.orderId(), e.toString());
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Closes a connection that has gone quiet so the reader reconnects.
+   */
+  private void dropIfStale() {
+    if (current != null && System.currentTimeMillis() - lastLineAtMillis > STALE_MILLIS) {
+      log.warn("Order status stream silent for {}ms; reconnecting", System.currentTimeMillis() - lastLineAtMillis);
+      closeCurrent();
+    }
+  }
+
+  private void closeCurrent() {
+    Stream<String> s = current;
+    if (s != null) {
+      try {
+        s.close();
+      } catch (Exception ignored) {
+      }
+    }
+  }
+
+  private static BigDecimal decimal(JsonNode v) {
+    if (v == null || v.isNull()) {
+      return null;
+    }
+    if (v.isNumber()) {
+      return v.decimalValue();
+    }
+    String s = v.asText("");
+    try {
+      return s.isBlank() ? null : new BigDecimal(s.trim());
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  public interface Listener {
+
+    /**
+     * Called on the stream thread for every status transition.
+     */
+    void onOrderStatus(OrderStatusUpdate update);
+
+    /**
+     * Transitions may have been missed; open orders should be re-read.
+     */
+    void onResync();
+  }
+
+  public record OrderStatusUpdate(
+      String orderId,
+      String status,
+      BigDecimal matchedSize,
+      BigDecimal remainingSize,
+      String error
+  ) {
+  }
+}
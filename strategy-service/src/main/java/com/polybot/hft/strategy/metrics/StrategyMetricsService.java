@@ -1,12 +1,14 @@
 package com.polybot.hft.strategy.metrics;
 
 import com.polybot.hft.metrics.PolybotMetrics;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -27,12 +29,14 @@ public class StrategyMetricsService {
 
     // Position/Risk Gauges
     private AtomicReference<BigDecimal> totalExposure;
+    private AtomicReference<BigDecimal> exposureDrift;
     private AtomicReference<BigDecimal> bankroll;
     private AtomicReference<BigDecimal> inventoryImbalance;
 
     // Strategy-specific gauges (Gabagool)
     private AtomicReference<BigDecimal> completeSetEdge;
     private AtomicReference<BigDecimal> activeMarketsCount;
+    private Timer bookToDecisionLatency;
 
     @PostConstruct
     public void initializeMetrics() {
@@ -64,6 +68,12 @@ public class StrategyMetricsService {
                 BigDecimal.ZERO
         );
 
+        exposureDrift = metrics.registerAtomicBigDecimalGauge(
+                "polybot_strategy_exposure_drift_usd",
+                "Running exposure total minus a full recompute from open orders and inventories, in USD",
+                BigDecimal.ZERO
+        );
+
         bankroll = metrics.registerAtomicBigDecimalGauge(
                 "polybot_strategy_bankroll_usd",
                 "Current bankroll in USD",
@@ -89,6 +99,11 @@ public class StrategyMetricsService {
                 BigDecimal.ZERO
         );
 
+        bookToDecisionLatency = metrics.createHistogramTimer(
+                "polybot_gabagool_book_to_decision_latency",
+                "Time from a market WS book update (or fill) to the end of the market evaluation it triggered"
+        );
+
         log.info("Strategy metrics initialized successfully");
     }
 
@@ -116,6 +131,10 @@ public class StrategyMetricsService {
         totalExposure.set(exposure != null ? exposure : BigDecimal.ZERO);
     }
 
+    public void updateExposureDrift(BigDecimal drift) {
+        exposureDrift.set(drift != null ? drift : BigDecimal.ZERO);
+    }
+
     public void updateBankroll(BigDecimal amount) {
         bankroll.set(amount != null ? amount : BigDecimal.ZERO);
     }
@@ -132,4 +151,8 @@ public class StrategyMetricsService {
     public void updateActiveMarketsCount(int count) {
         activeMarketsCount.set(BigDecimal.valueOf(count));
     }
+
+    public void recordBookToDecisionLatency(long nanos) {
+        bookToDecisionLatency.record(nanos, TimeUnit.NANOSECONDS);
+    }
 }
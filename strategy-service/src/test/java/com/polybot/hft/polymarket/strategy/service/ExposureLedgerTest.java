@@ -0,0 +1,57 @@
+package com.polybot.hft.polymarket.strategy.service;
+
+import com.polybot.hft.polymarket.strategy.model.MarketInventory;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExposureLedgerTest {
+
+    private static final BigDecimal SIZE = new BigDecimal("10");
+
+    private final ExposureLedger ledger = new ExposureLedger();
+
+    @Test
+    void replaceNearCap_countsReplacedNotionalOnce() {
+        long cap = ExposureLedger.micros(new BigDecimal("0.50"), SIZE);
+        long resting = ExposureLedger.micros(new BigDecimal("0.40"), SIZE);
+        long replacement = ExposureLedger.micros(new BigDecimal("0.45"), SIZE);
+        assertThat(ledger.tryReserve(resting, cap)).isTrue();
+
+        assertThat(ledger.tryReserve(replacement, cap)).isFalse();
+        assertThat(ledger.tryReserve(replacement, resting, cap)).isTrue();
+        assertThat(ledger.totalMicros()).isEqualTo(resting + replacement);
+
+        ledger.release(resting);
+        assertThat(ledger.totalMicros()).isEqualTo(replacement);
+    }
+
+    @Test
+    void replaceAboveCap_isRejectedAndReservesNothing() {
+        long cap = ExposureLedger.micros(new BigDecimal("0.50"), SIZE);
+        long resting = ExposureLedger.micros(new BigDecimal("0.40"), SIZE);
+        assertThat(ledger.tryReserve(resting, cap)).isTrue();
+
+        assertThat(ledger.tryReserve(ExposureLedger.micros(new BigDecimal("0.55"), SIZE), resting, cap)).isFalse();
+        assertThat(ledger.totalMicros()).isEqualTo(resting);
+    }
+
+    @Test
+    void removeMarket_takesItsUnhedgedInventoryOffTheTotal() {
+        MarketInventory rolledOff = new MarketInventory(SIZE, BigDecimal.ZERO, null, null, null, null, null);
+        MarketInventory active = new MarketInventory(BigDecimal.ZERO, SIZE, null, null, null, null, null);
+        ledger.updateInventory("btc-1", rolledOff);
+        ledger.updateInventory("btc-2", active);
+        long perMarket = ledger.totalMicros() / 2;
+        assertThat(perMarket).isPositive();
+
+        ledger.removeMarket("btc-1");
+        ledger.removeMarket("btc-1");
+
+        assertThat(ledger.totalMicros()).isEqualTo(perMarket);
+        assertThat(ledger.drift(List.of(), List.of(active)).isZero()).isTrue();
+    }
+}
@@ -0,0 +1,347 @@
+package com.polybot.hft.polymarket.strategy.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.polybot.hft.config.HftProperties;
+import com.polybot.hft.events.HftEventPublisher;
+import com.polybot.hft.polymarket.api.ExecutorGateway;
+import com.polybot.hft.polymarket.api.LimitOrderRequest;
+import com.polybot.hft.polymarket.api.OrderSubmissionResult;
+import com.polybot.hft.polymarket.api.PolymarketAccountResponse;
+import com.polybot.hft.polymarket.api.PolymarketBankrollResponse;
+import com.polybot.hft.polymarket.data.PolymarketPosition;
+import com.polybot.hft.polymarket.strategy.model.Direction;
+import com.polybot.hft.polymarket.strategy.model.GabagoolMarket;
+import com.polybot.hft.polymarket.strategy.model.OrderState;
+import com.polybot.hft.polymarket.strategy.service.OrderManager.CancelReason;
+import com.polybot.hft.polymarket.strategy.service.OrderManager.PlaceIntent;
+import com.polybot.hft.polymarket.strategy.service.OrderManager.PlaceReason;
+import com.polybot.hft.strategy.executor.ExecutorApiClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.math.BigDecimal;
+import java.net.http.HttpClient;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderManagerTest {
+
+    private static final GabagoolMarket MARKET = new GabagoolMarket(
+            "btc-updown-15m", "up", "down", Instant.parse("2025-01-01T00:15:00Z"), "updown-15m");
+    private static final BigDecimal SIZE = new BigDecimal("10");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final StubGateway gateway = new StubGateway(objectMapper);
+    private final ExposureLedger ledger = new ExposureLedger();
+    private ExecutorApiClient executorApi;
+    private OrderManager orderManager;
+
+    @BeforeEach
+    void setUp() {
+        HftProperties properties = new HftProperties(null, null,
+                new HftProperties.Executor("http://127.0.0.1:1", false, false, true), null, null);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("executorGateway", gateway));
+        executorApi = new ExecutorApiClient(properties, HttpClient.newHttpClient(), objectMapper,
+                beans.getBeanProvider(ExecutorGateway.class));
+        executorApi.resolveTransport();
+        Clock clock = Clock.fixed(Instant.parse("2025-01-01T00:05:00Z"), ZoneOffset.UTC);
+        orderManager = new OrderManager(executorApi, new DisabledEvents(), ledger, clock, "test-run", () -> false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorApi.shutdown();
+    }
+
+    @Test
+    void replace_placeFailsCancelSucceeds_releasesBothOrders() {
+        OrderState old = place("up", "0.40");
+
+        gateway.placeFailure = new IllegalStateException("rejected");
+        replace(old, "0.45");
+
+        assertThat(gateway.cancelled).containsExactly(old.orderId());
+        assertThat(orderManager.getOrder("up")).isNull();
+        assertThat(ledger.totalMicros()).isZero();
+    }
+
+    @Test
+    void replace_cancelFailsPlaceSucceeds_keepsOldOrderReservedUntilCancelRetrySucceeds() {
+        OrderState old = place("up", "0.40");
+
+        gateway.cancelFailure = new IllegalStateException("cancel timed out");
+        replace(old, "0.45");
+
+        OrderState current = orderManager.getOrder("up");
+        assertThat(current).isNotNull();
+        assertThat(current.orderId()).isNotEqualTo(old.orderId());
+        assertThat(orderManager.reservedOrders()).contains(old, current);
+        assertThat(ledger.totalMicros()).isEqualTo(
+                ExposureLedger.micros(new BigDecimal("0.40"), SIZE) + ExposureLedger.micros(new BigDecimal("0.45"), SIZE));
+
+        gateway.cancelFailure = null;
+        gateway.orders.put(old.orderId(), status("LIVE", "0"));
+        gateway.orders.put(current.orderId(), status("LIVE", "0"));
+        orderManager.checkPendingOrders((s, filled) -> {});
+
+        assertThat(gateway.cancelled).containsExactly(old.orderId());
+        assertThat(orderManager.reservedOrders()).hasSize(1);
+        assertThat(orderManager.reservedOrders().get(0).orderId()).isEqualTo(current.orderId());
+        assertThat(ledger.totalMicros()).isEqualTo(ExposureLedger.micros(new BigDecimal("0.45"), SIZE));
+    }
+
+    @Test
+    void replace_cancelRefusedBecauseMatched_untracksOldOrder() {
+        OrderState old = place("up", "0.40");
+
+        gateway.notCanceledReason = "order can't be found - already canceled or matched";
+        replace(old, "0.45");
+
+        assertThat(orderManager.reservedOrders()).containsExactly(orderManager.getOrder("up"));
+        assertThat(ledger.totalMicros()).isEqualTo(ExposureLedger.micros(new BigDecimal("0.45"), SIZE));
+    }
+
+    @Test
+    void cancel_refusedForOtherReason_pollsAndCreditsFillsUntilTerminal() {
+        OrderState order = place("up", "0.40");
+        List<BigDecimal> fills = new ArrayList<>();
+
+        gateway.notCanceledReason = "market paused";
+        orderManager.cancelOrder("up", CancelReason.BOOK_STALE, 60L, null, null);
+
+        assertThat(orderManager.getOrder("up")).isNull();
+        assertThat(orderManager.reservedOrders()).containsExactly(order);
+        assertThat(ledger.totalMicros()).isEqualTo(ExposureLedger.micros(new BigDecimal("0.40"), SIZE));
+
+        orderManager.onOrderStatus(order.orderId(), "LIVE", new BigDecimal("4"), null, (s, filled) -> fills.add(filled));
+        assertThat(ledger.totalMicros()).isEqualTo(ExposureLedger.micros(new BigDecimal("0.40"), new BigDecimal("6")));
+
+        gateway.orders.put(order.orderId(), status("CANCELED", "4"));
+        orderManager.resyncOrderStatus();
+        orderManager.checkPendingOrders((s, filled) -> fills.add(filled));
+
+        assertThat(fills).hasSize(1);
+        assertThat(fills.get(0)).isEqualByComparingTo("4");
+        assertThat(orderManager.reservedOrders()).isEmpty();
+        assertThat(ledger.totalMicros()).isZero();
+    }
+
+    @Test
+    void replace_bothSucceed_leavesOnlyNewReservation() {
+        OrderState old = place("up", "0.40");
+
+        replace(old, "0.45");
+
+        assertThat(orderManager.getOrder("up").price()).isEqualByComparingTo("0.45");
+        assertThat(ledger.totalMicros()).isEqualTo(ExposureLedger.micros(new BigDecimal("0.45"), SIZE));
+    }
+
+    @Test
+    void batch_partialResult_releasesUnplacedLegs() {
+        gateway.maxResults = 1;
+        reserve("0.40");
+        reserve("0.55");
+
+        orderManager.placeOrders(List.of(intent("up", Direction.UP, "0.40", null), intent("down", Direction.DOWN, "0.55", null)));
+
+        assertThat(orderManager.getOrder("up")).isNotNull();
+        assertThat(orderManager.getOrder("down")).isNull();
+        assertThat(ledger.totalMicros()).isEqualTo(ExposureLedger.micros(new BigDecimal("0.40"), SIZE));
+    }
+
+    @Test
+    void batch_rejectedLeg_releasesItsReservation() {
+        gateway.rejectTokenId = "down";
+        reserve("0.40");
+        reserve("0.55");
+
+        orderManager.placeOrders(List.of(intent("up", Direction.UP, "0.40", null), intent("down", Direction.DOWN, "0.55", null)));
+
+        assertThat(orderManager.getOrder("down")).isNull();
+        assertThat(ledger.totalMicros()).isEqualTo(ExposureLedger.micros(new BigDecimal("0.40"), SIZE));
+    }
+
+    @Test
+    void fill_pushedThenPolled_isCreditedOnce() {
+        OrderState order = place("up", "0.40");
+        List<BigDecimal> fills = new ArrayList<>();
+
+        orderManager.onOrderStatus(order.orderId(), "LIVE", new BigDecimal("4"), null, (s, filled) -> fills.add(filled));
+        gateway.orders.put(order.orderId(), status("LIVE", "4"));
+        orderManager.resyncOrderStatus();
+        orderManager.checkPendingOrders((s, filled) -> fills.add(filled));
+
+        assertThat(fills).hasSize(1);
+        assertThat(fills.get(0)).isEqualByComparingTo("4");
+        assertThat(orderManager.getOrder("up").matchedSize()).isEqualByComparingTo("4");
+        assertThat(ledger.totalMicros()).isEqualTo(ExposureLedger.micros(new BigDecimal("0.40"), new BigDecimal("6")));
+    }
+
+    @Test
+    void status_ofReplacedOrder_doesNotTouchItsReplacement() {
+        OrderState old = place("up", "0.40");
+        replace(old, "0.45");
+        OrderState current = orderManager.getOrder("up");
+
+        orderManager.onOrderStatus(old.orderId(), "CANCELED", BigDecimal.ZERO, BigDecimal.ZERO, null);
+
+        assertThat(orderManager.getOrder("up")).isEqualTo(current);
+        assertThat(ledger.totalMicros()).isEqualTo(ExposureLedger.micros(new BigDecimal("0.45"), SIZE));
+    }
+
+    @Test
+    void status_terminalFill_untracksAndReleasesRemainderOnce() {
+        OrderState order = place("up", "0.40");
+        List<BigDecimal> fills = new ArrayList<>();
+
+        orderManager.onOrderStatus(order.orderId(), "MATCHED", SIZE, BigDecimal.ZERO, (s, filled) -> fills.add(filled));
+        orderManager.onOrderStatus(order.orderId(), "MATCHED", SIZE, BigDecimal.ZERO, (s, filled) -> fills.add(filled));
+
+        assertThat(fills).hasSize(1);
+        assertThat(orderManager.getOrder("up")).isNull();
+        assertThat(ledger.totalMicros()).isZero();
+    }
+
+    private OrderState place(String tokenId, String price) {
+        reserve(price);
+        orderManager.placeOrders(List.of(intent(tokenId, Direction.UP, price, null)));
+        OrderState state = orderManager.getOrder(tokenId);
+        assertThat(state).isNotNull();
+        return state;
+    }
+
+    private void replace(OrderState replaced, String price) {
+        reserve(price);
+        orderManager.placeOrders(List.of(intent(replaced.tokenId(), replaced.direction(), price, replaced)));
+    }
+
+    private void reserve(String price) {
+        assertThat(ledger.tryReserve(ExposureLedger.micros(new BigDecimal(price), SIZE), ExposureLedger.NO_CAP)).isTrue();
+    }
+
+    private static PlaceIntent intent(String tokenId, Direction direction, String price, OrderState replaced) {
+        return new PlaceIntent(MARKET, tokenId, direction, new BigDecimal(price), SIZE, 600L, new BigDecimal("0.01"),
+                null, null, replaced, replaced == null ? null : CancelReason.REPLACE_PRICE,
+                replaced == null ? PlaceReason.QUOTE : PlaceReason.REPLACE);
+    }
+
+    private JsonNode status(String status, String matched) {
+        return objectMapper.createObjectNode().put("status", status).put("size_matched", matched);
+    }
+
+    private static final class DisabledEvents implements HftEventPublisher {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public void publish(Instant ts, String type, String key, Object data) {
+        }
+    }
+
+    /**
+     * Executor order entry with scripted failures; orders are acked with sequential ids.
+     */
+    private static final class StubGateway implements ExecutorGateway {
+        private final ObjectMapper objectMapper;
+        private final AtomicInteger nextOrderId = new AtomicInteger();
+        private final List<String> cancelled = new ArrayList<>();
+        private final Map<String, JsonNode> orders = new ConcurrentHashMap<>();
+        private volatile RuntimeException placeFailure;
+        private volatile RuntimeException cancelFailure;
+        private volatile String rejectTokenId;
+        private volatile String notCanceledReason;
+        private volatile int maxResults = Integer.MAX_VALUE;
+
+        private StubGateway(ObjectMapper objectMapper) {
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public OrderSubmissionResult placeLimitOrder(LimitOrderRequest request) {
+            if (placeFailure != null) throw placeFailure;
+            ObjectNode ack = objectMapper.createObjectNode();
+            if (request.tokenId().equals(rejectTokenId)) {
+                ack.put("success", false).put("errorMsg", "not enough balance");
+            } else {
+                ack.put("success", true).put("orderID", "0x" + nextOrderId.incrementAndGet());
+            }
+            return new OrderSubmissionResult(HftProperties.TradingMode.PAPER, null, ack);
+        }
+
+        @Override
+        public List<OrderSubmissionResult> placeLimitOrders(List<LimitOrderRequest> requests) {
+            if (placeFailure != null) throw placeFailure;
+            return requests.stream().limit(maxResults).map(this::placeLimitOrder).toList();
+        }
+
+        @Override
+        public JsonNode cancelOrder(String orderId) {
+            return cancelOrders(List.of(orderId));
+        }
+
+        @Override
+        public JsonNode cancelOrders(List<String> orderIds) {
+            if (cancelFailure != null) throw cancelFailure;
+            ObjectNode resp = objectMapper.createObjectNode();
+            ArrayNode canceled = resp.putArray("canceled");
+            ObjectNode notCanceled = resp.putObject("not_canceled");
+            for (String orderId : orderIds) {
+                if (notCanceledReason != null) {
+                    notCanceled.put(orderId, notCanceledReason);
+                    continue;
+                }
+                synchronized (cancelled) {
+                    cancelled.add(orderId);
+                }
+                canceled.add(orderId);
+            }
+            return resp;
+        }
+
+        @Override
+        public JsonNode getOrder(String orderId) {
+            JsonNode order = orders.get(orderId);
+            if (order == null) throw new IllegalStateException("unknown order " + orderId);
+            return order;
+        }
+
+        @Override
+        public BigDecimal getTickSize(String tokenId) {
+            return new BigDecimal("0.01");
+        }
+
+        @Override
+        public void warmTokenMetadata(List<String> tokenIds) {
+        }
+
+        @Override
+        public PolymarketAccountResponse getAccount() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public PolymarketBankrollResponse getBankroll() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public PolymarketPosition[] getPositions(String user, int limit, int offset) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
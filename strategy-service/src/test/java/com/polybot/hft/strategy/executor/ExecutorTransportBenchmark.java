@@ -0,0 +1,178 @@
+package com.polybot.hft.strategy.executor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.polybot.hft.config.HftProperties;
+import com.polybot.hft.domain.OrderSide;
+import com.polybot.hft.polymarket.api.BatchLimitOrderRequest;
+import com.polybot.hft.polymarket.api.ExecutorGateway;
+import com.polybot.hft.polymarket.api.LimitOrderRequest;
+import com.polybot.hft.polymarket.api.OrderSubmissionResult;
+import com.polybot.hft.polymarket.api.PolymarketAccountResponse;
+import com.polybot.hft.polymarket.api.PolymarketBankrollResponse;
+import com.polybot.hft.polymarket.data.PolymarketPosition;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decision-to-post latency through {@link ExecutorApiClient}: from the strategy handing over a two-leg quote to the
+ * executor's order entry receiving it and the result coming back, over loopback HTTP vs in-process. The CLOB post is
+ * stubbed so only the strategy/executor boundary is measured.
+ * <p>
+ * The HTTP side is served by the JDK HTTP server doing the executor's JSON decode/encode, so it excludes Spring MVC
+ * dispatch and the live-trading filter: the real gap is at least what this reports.
+ * <p>
+ * Run with {@code mvn -pl strategy-service -am test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.polybot.hft.strategy.executor.ExecutorTransportBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecutorTransportBenchmark {
+
+  @Param({"http", "in-process"})
+  public String transport;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final StubGateway gateway = new StubGateway(objectMapper);
+
+  private HttpServer server;
+  private ExecutorService serverPool;
+  private ExecutorApiClient client;
+  private List<LimitOrderRequest> quote;
+
+  @Setup
+  public void setup() throws Exception {
+    serverPool = Executors.newFixedThreadPool(4);
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext("/api/polymarket/orders/batch", exchange -> {
+      try (InputStream in = exchange.getRequestBody(); OutputStream out = exchange.getResponseBody()) {
+        BatchLimitOrderRequest request = objectMapper.readValue(in, BatchLimitOrderRequest.class);
+        byte[] body = objectMapper.writeValueAsBytes(gateway.placeLimitOrders(request.orders()));
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        out.write(body);
+      }
+    });
+    server.setExecutor(serverPool);
+    server.start();
+
+    boolean inProcess = "in-process".equals(transport);
+    HftProperties properties = new HftProperties(null, null,
+        new HftProperties.Executor("http://127.0.0.1:" + server.getAddress().getPort(), false, false, inProcess),
+        null, null);
+    StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("executorGateway", gateway));
+    client = new ExecutorApiClient(properties, HttpClient.newHttpClient(), objectMapper,
+        beans.getBeanProvider(ExecutorGateway.class));
+    client.resolveTransport();
+
+    quote = List.of(
+        new LimitOrderRequest("1111", OrderSide.BUY, new BigDecimal("0.47"), new BigDecimal("10"), null,
+            new BigDecimal("0.01"), false, 0, null, null, null, null),
+        new LimitOrderRequest("2222", OrderSide.BUY, new BigDecimal("0.51"), new BigDecimal("10"), null,
+            new BigDecimal("0.01"), false, 0, null, null, null, null)
+    );
+  }
+
+  @TearDown
+  public void tearDown() {
+    client.shutdown();
+    server.stop(0);
+    serverPool.shutdownNow();
+  }
+
+  @Benchmark
+  public List<OrderSubmissionResult> placeQuote() {
+    return ExecutorApiClient.await(client.placeLimitOrdersAsync(quote));
+  }
+
+  public static void main(String[] args) throws Exception {
+    new Runner(new OptionsBuilder()
+        .include(ExecutorTransportBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+  /**
+   * Executor order entry with the CLOB post stubbed to an immediate ack.
+   */
+  private record StubGateway(ObjectMapper objectMapper) implements ExecutorGateway {
+
+    @Override
+    public List<OrderSubmissionResult> placeLimitOrders(List<LimitOrderRequest> requests) {
+      return requests.stream().map(this::placeLimitOrder).toList();
+    }
+
+    @Override
+    public OrderSubmissionResult placeLimitOrder(LimitOrderRequest request) {
+      JsonNode ack = objectMapper.createObjectNode().put("success", true).put("orderID", "0x" + request.tokenId());
+      return new OrderSubmissionResult(HftProperties.TradingMode.PAPER, null, ack);
+    }
+
+    @Override
+    public BigDecimal getTickSize(String tokenId) {
+      return new BigDecimal("0.01");
+    }
+
+    @Override
+    public void warmTokenMetadata(List<String> tokenIds) {
+    }
+
+    @Override
+    public JsonNode cancelOrder(String orderId) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public JsonNode cancelOrders(List<String> orderIds) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public JsonNode getOrder(String orderId) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public PolymarketAccountResponse getAccount() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public PolymarketBankrollResponse getBankroll() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public PolymarketPosition[] getPositions(String user, int limit, int offset) {
+      throw new UnsupportedOperationException();
+    }
+  }
+}